@@ -28,7 +28,6 @@ import io.mapsmessaging.api.message.Message;
 import io.mapsmessaging.dto.rest.analytics.StatisticsConfigDTO;
 import io.mapsmessaging.engine.schema.SchemaManager;
 import io.mapsmessaging.schemas.formatters.MessageFormatter;
-import io.mapsmessaging.schemas.formatters.ParseException;
 import io.mapsmessaging.selector.IdentifierResolver;
 import org.jetbrains.annotations.NotNull;
 
@@ -83,7 +82,7 @@ public class StatisticalAnalyser implements Analyser {
     }
     if(formatter != null) {
       try {
-        IdentifierResolver resolver = formatter.parse(event.getOpaqueData(), SchemaManager.getInstance().getDefaultParseMode());
+        IdentifierResolver resolver = event.getParsedObject(formatter);
         if(statistics.isEmpty()) {
           loadEntries(resolver);
         }
@@ -96,7 +95,7 @@ public class StatisticalAnalyser implements Analyser {
             entry.getValue().incrementMismatch();
           }
         }
-      } catch (ParseException e) {
+      } catch (IOException e) {
         // log this
       }
 
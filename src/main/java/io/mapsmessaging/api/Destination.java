@@ -34,6 +34,7 @@ import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Generic destination class
@@ -52,6 +53,28 @@ public class Destination implements BaseDestination {
 
   @Override
   public int storeMessage(@NonNull @NotNull Message message) throws IOException {
+    prepareForStore(message);
+    return destinationImpl.storeMessage(message);
+  }
+
+  /**
+   * Applies the same schema and permission checks as storeMessage, then queues the message for storage without waiting for
+   * the destination to complete the store and the subscription processing
+   *
+   * @param message to store
+   * @return a future that completes with the number of interested subscribers or exceptionally if the store failed
+   */
+  @Override
+  public CompletableFuture<Integer> storeMessageAsync(@NonNull @NotNull Message message) {
+    try {
+      prepareForStore(message);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return destinationImpl.storeMessageAsync(message);
+  }
+
+  private void prepareForStore(@NonNull @NotNull Message message) throws IOException {
     if(destinationImpl.getSchema() != null) {
       // Ensure the schema is applied to the incoming message
       String schemaId = destinationImpl.getSchema().getUniqueId();
@@ -71,16 +94,15 @@ public class Destination implements BaseDestination {
 
 
     if(message.isRetain()){
-      if (!AuthManager.getInstance().canAccess(securityContext.getIdentity(), ServerPermissions.RETAIN, protectedResource)) {
+      if (!AuthManager.getInstance().canAccess(securityContext, ServerPermissions.RETAIN, protectedResource)) {
         throw new IOException("You don't have permission to publish retain events to this resource");
       }
     }
     else {
-      if (!AuthManager.getInstance().canAccess(securityContext.getIdentity(), ServerPermissions.PUBLISH, protectedResource)) {
+      if (!AuthManager.getInstance().canAccess(securityContext, ServerPermissions.PUBLISH, protectedResource)) {
         throw new IOException("You don't have permission to publish to this resource");
       }
     }
-    return destinationImpl.storeMessage(message);
   }
 
   @Override
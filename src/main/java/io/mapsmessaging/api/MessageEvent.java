@@ -30,4 +30,10 @@ public class MessageEvent {
   private final SubscribedEventManager subscription;
   private final Message message;
   private final Runnable completionTask;
+  // Set when no further messages are waiting for this subscription, carried per delivery since the message is shared
+  private final boolean lastMessage;
+
+  public MessageEvent(String destinationName, SubscribedEventManager subscription, Message message, Runnable completionTask) {
+    this(destinationName, subscription, message, completionTask, false);
+  }
 }
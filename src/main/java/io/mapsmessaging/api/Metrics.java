@@ -26,6 +26,7 @@ import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public class Metrics extends Destination {
 
@@ -39,6 +40,11 @@ public class Metrics extends Destination {
     return 0;
   }
 
+  @Override
+  public CompletableFuture<Integer> storeMessageAsync(@NonNull @NotNull Message message) {
+    return CompletableFuture.completedFuture(0);
+  }
+
   @Override
   public long getStoredMessages() throws IOException {
     return 0; // We have no persistent stored messages
@@ -29,6 +29,7 @@ import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public class Schema extends Destination {
 
@@ -49,6 +50,15 @@ public class Schema extends Destination {
     return 1;
   }
 
+  @Override
+  public CompletableFuture<Integer> storeMessageAsync(@NonNull @NotNull Message message) {
+    try {
+      return CompletableFuture.completedFuture(storeMessage(message));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   @Override
   public long getStoredMessages() throws IOException {
     return 1; // We only have 1 schema per destination
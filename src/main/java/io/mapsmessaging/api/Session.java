@@ -37,7 +37,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -57,7 +56,7 @@ public class Session {
   Session(@NonNull @NotNull SessionImpl session, @NonNull @NotNull MessageListener listener) {
     this.sessionImpl = session;
     this.listener = listener;
-    clientTransactions = new LinkedHashMap<>();
+    clientTransactions = new ConcurrentHashMap<>();
     session.setMessageCallback(new MessageCallbackImpl());
     destinations = new ConcurrentHashMap<>();
   }
@@ -268,7 +267,7 @@ public class Session {
 
     @Override
     public void sendMessage(@NonNull @NotNull DestinationImpl destinationImpl, @NonNull @NotNull SubscribedEventManager subscription, @NonNull @NotNull Message message,
-        @NonNull @NotNull Runnable completionTask) {
+        boolean lastMessage, @NonNull @NotNull Runnable completionTask) {
       Destination destination = destinations.get(destinationImpl.getFullyQualifiedNamespace());
       if (destination == null) {
         destination = new Destination(destinationImpl, sessionImpl.getSecurityContext());
@@ -279,7 +278,7 @@ public class Session {
         normalisedName = subscription.getContext().getDestinationMode().getNamespace() + normalisedName;
         normalisedName = normalisedName.replace("//", "/");
       }
-      MessageEvent event = new MessageEvent(normalisedName, subscription, message, completionTask);
+      MessageEvent event = new MessageEvent(normalisedName, subscription, message, completionTask, lastMessage);
       listener.sendMessage(event);
     }
   }
@@ -32,6 +32,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -154,6 +155,36 @@ public class Transaction {
    * @throws IOException Is raised if unable to store the message to the specified destination
    */
   public void add(@NonNull @NotNull Destination destination, @NonNull @NotNull Message message) throws IOException {
+    prepareForAdd(destination, message);
+    if(destination instanceof Schema){
+      destination.storeMessage(message);
+    }
+    else {
+      destination.destinationImpl.storeTransactionalMessage(internalId, message);
+    }
+  }
+
+  /**
+   * Adds a new message within this transaction to the specified destination, as per add, however the caller does not wait for the
+   * message to be stored. The returned future completes once the destination has stored the message
+   *
+   * @param destination Destination that this message is bound to
+   * @param message Message to store on the Destination
+   * @return a future that completes when the message has been stored or exceptionally if the store failed
+   */
+  public CompletableFuture<Integer> addAsync(@NonNull @NotNull Destination destination, @NonNull @NotNull Message message) {
+    try {
+      prepareForAdd(destination, message);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    if(destination instanceof Schema){
+      return destination.storeMessageAsync(message);
+    }
+    return destination.destinationImpl.storeTransactionalMessageAsync(internalId, message);
+  }
+
+  private void prepareForAdd(@NonNull @NotNull Destination destination, @NonNull @NotNull Message message) throws IOException {
     if (complete) {
       throw new TransactionException(EXCEPTION_MESSAGE);
     }
@@ -173,15 +204,9 @@ public class Transaction {
       list.put(destination.getFullyQualifiedNamespace(), destination);
     }
 
-    if(destination instanceof Schema){
-      destination.storeMessage(message);
-    }
-    else {
-      if(destination.destinationImpl.getSchema() != null) {
-        // Ensure the schema is applied to the incoming message
-        message.setSchemaId(destination.destinationImpl.getSchema().getUniqueId());
-      }
-      destination.destinationImpl.storeTransactionalMessage(internalId, message);
+    if(!(destination instanceof Schema) && destination.destinationImpl.getSchema() != null) {
+      // Ensure the schema is applied to the incoming message
+      message.setSchemaId(destination.destinationImpl.getSchema().getUniqueId());
     }
   }
 
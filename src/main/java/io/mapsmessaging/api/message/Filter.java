@@ -23,7 +23,6 @@ import io.mapsmessaging.engine.destination.DestinationImpl;
 import io.mapsmessaging.engine.schema.SchemaManager;
 import io.mapsmessaging.schemas.config.SchemaConfig;
 import io.mapsmessaging.schemas.config.SchemaResource;
-import io.mapsmessaging.schemas.formatters.MessageFormatter;
 import io.mapsmessaging.selector.IdentifierResolver;
 import io.mapsmessaging.selector.operators.ParserExecutor;
 
@@ -46,13 +45,16 @@ public class Filter {
       return true;
     }
     if (message != null) {
-      String lookup = getSchemaId(message, destination);
-      Resolver resolver = new Resolver(getResolver(lookup, message), message);
-      return selector.evaluate(resolver);
+      return selector.evaluate(getResolver(message, destination));
     }
     return false;
   }
 
+  public IdentifierResolver getResolver(Message message, DestinationImpl destination) {
+    String lookup = getSchemaId(message, destination);
+    return new Resolver(getResolver(lookup, message), message);
+  }
+
   private String getSchemaId(Message message, DestinationImpl destination) {
     String lookup = message.getSchemaId();
     if (lookup == null) {
@@ -77,10 +79,7 @@ public class Filter {
 
   public static IdentifierResolver getResolver(String lookup, Message message) {
     try {
-      MessageFormatter formatter = SchemaManager.getInstance().getMessageFormatter(lookup);
-      if (formatter != null) {
-        return formatter.parse(message.getOpaqueData(), SchemaManager.getInstance().getDefaultParseMode());
-      }
+      return message.getParsedObject(lookup);
     } catch (IOException e) {
       // log
     }
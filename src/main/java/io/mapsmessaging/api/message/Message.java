@@ -19,6 +19,7 @@
 
 package io.mapsmessaging.api.message;
 
+import com.google.gson.JsonElement;
 import io.mapsmessaging.MessageDaemon;
 import io.mapsmessaging.api.MessageBuilder;
 import io.mapsmessaging.api.features.Constants;
@@ -26,7 +27,6 @@ import io.mapsmessaging.api.features.Priority;
 import io.mapsmessaging.api.features.QualityOfService;
 import io.mapsmessaging.engine.schema.SchemaManager;
 import io.mapsmessaging.location.LocationManager;
-import io.mapsmessaging.schemas.config.SchemaConfig;
 import io.mapsmessaging.schemas.formatters.MessageFormatter;
 import io.mapsmessaging.schemas.formatters.ParsedObject;
 import io.mapsmessaging.selector.IdentifierResolver;
@@ -46,6 +46,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class Message implements IdentifierResolver, Storable {
 
@@ -54,6 +56,7 @@ public class Message implements IdentifierResolver, Storable {
   private static final int CORRELATION_BYTE_ARRAY_BIT = 2;
   private static final int SCHEMA_ID_PRESENT = 3;
   private static final int COMPRESSED_PACK = 4;
+  private static final int MAX_PARSED_SCHEMAS = 4;
 
 
   @Getter
@@ -89,11 +92,6 @@ public class Message implements IdentifierResolver, Storable {
   @Getter
   private long delayed; // This is set via the engine on the way through
 
-  // <editor-fold desc="Transient data">
-  @Getter
-  @Setter
-  private boolean lastMessage; // This is set via the engine as it is delivered to the client
-  // </editor-fold>
   // <editor-fold desc="Persistent data">
   @Getter
   @Setter
@@ -105,7 +103,11 @@ public class Message implements IdentifierResolver, Storable {
   private transient boolean bound;
 
 
-  private transient ParsedObject parsedObject;
+  // Payload parsed per schema id, created on first use and limited to MAX_PARSED_SCHEMAS entries
+  private transient volatile Map<Object, ParsedPayload> parsedPayloads;
+
+  // Protocol encodings shared by every subscriber that sends this message with the same encoding key
+  private transient volatile Map<Object, Object> encodedFrames;
 
   public Message(MessageBuilder builder) {
     flags = new BitSet(8);
@@ -113,12 +115,7 @@ public class Message implements IdentifierResolver, Storable {
     identifier = builder.getId();
     meta = builder.getMeta();
     if (meta != null &&  ( MessageDaemon.getInstance() == null || MessageDaemon.getInstance().isTagMetaData())) {
-      meta.put("time_ms", "" + System.currentTimeMillis());
-      if (LocationManager.getInstance().isSet()) {
-        meta.put("longitude", "" + LocationManager.getInstance().getLongitude());
-        meta.put("latitude", "" + LocationManager.getInstance().getLatitude());
-        meta.put("server",  MessageDaemon.getInstance() == null ? "":MessageDaemon.getInstance().getId());
-      }
+      tagMeta(meta);
     }
     Map<String, TypedData> map = builder.getDataMap();
     if (map instanceof DataMap) {
@@ -159,7 +156,6 @@ public class Message implements IdentifierResolver, Storable {
     if (builder.isPayloadUTF8()) {
       flags.set(UTF8_BIT);
     }
-    lastMessage = false;
     schemaId = builder.getSchemaId();
     if (schemaId != null) {
       flags.set(SCHEMA_ID_PRESENT);
@@ -167,6 +163,41 @@ public class Message implements IdentifierResolver, Storable {
     bound = false;
   }
 
+  // Shares the payload, meta and correlation data with the source, only the small header map is copied so its
+  // field lookups resolve against this instance
+  private Message(Message source) {
+    flags = (BitSet) source.flags.clone();
+    flags.clear(SCHEMA_ID_PRESENT);
+    identifier = 0;
+    meta = source.meta;
+    dataMap = new DataMap(source.dataMap);
+    ((DataMap) dataMap).setMessage(this);
+    opaqueData = source.opaqueData;
+    priority = source.priority;
+    storeOffline = source.storeOffline;
+    qualityOfService = source.qualityOfService;
+    correlationData = source.correlationData;
+    contentType = source.contentType;
+    expiry = source.expiry;
+    delayed = source.delayed > System.currentTimeMillis() ? source.delayed : 0;
+    creation = source.creation;
+    responseTopic = source.responseTopic;
+    schemaId = null;
+    parsedPayloads = source.parsedPayloads;
+    bound = false;
+  }
+
+  /**
+   * Creates an unbound copy of this message that can be stored in another destination without copying the payload.
+   * The identifier, schema and any protocol encodings are reset since they belong to the destination the message was
+   * delivered from.
+   *
+   * @return a new unbound message sharing this message's content
+   */
+  public Message rebind() {
+    return new Message(this);
+  }
+
   Message(ByteBuffer[] packed) throws IOException {
     BufferObjectReader header = new BufferObjectReader(packed[0]);
     BufferObjectReader optional = new BufferObjectReader(packed[1]);
@@ -219,7 +250,6 @@ public class Message implements IdentifierResolver, Storable {
       opaqueData = null;
     }
     storeOffline = true;
-    lastMessage = false;
     bound = false;
   }
 
@@ -308,6 +338,189 @@ public class Message implements IdentifierResolver, Storable {
   }
 
 
+  // <editor-fold desc="Encoded frame cache">
+
+  /**
+   * Returns the protocol encoding of this message for the key, encoding it once and sharing the result with every
+   * subscriber that asks with an equal key. The key identifies the protocol and version, a constant key avoids any
+   * allocation on the send path. Per subscriber fields, such as packet ids, are written by the caller.
+   *
+   * @param key identifies the encoding
+   * @param encoder builds the encoding on first request
+   * @return the shared encoding, callers must not modify it
+   */
+  @SuppressWarnings("unchecked")
+  public <K, V> V computeEncodedFrame(K key, Function<K, V> encoder) {
+    Map<Object, Object> frames = encodedFrames;
+    if (frames == null) {
+      synchronized (this) {
+        frames = encodedFrames;
+        if (frames == null) {
+          frames = new ConcurrentHashMap<>(4);
+          encodedFrames = frames;
+        }
+      }
+    }
+    return (V) frames.computeIfAbsent(key, k -> encoder.apply((K) k));
+  }
+
+  /**
+   * Drops any protocol encodings, so a message held for later reads does not keep them for its lifetime.
+   */
+  public void clearEncodedFrames() {
+    encodedFrames = null;
+  }
+  // </editor-fold>
+
+  // <editor-fold desc="Parsed payload cache">
+
+  /**
+   * Returns the payload parsed with the formatter registered for the schema id, parsing at most once
+   * per message for the same schema. Selectors, analysers and transformations all resolve through here
+   * so a message fanned out to many consumers is only decoded once.
+   *
+   * @param lookupSchemaId the schema to parse the payload against
+   * @return the parsed payload or null if no formatter exists for the schema
+   * @throws IOException if the payload could not be parsed by the formatter
+   */
+  public @Nullable ParsedObject getParsedObject(String lookupSchemaId) throws IOException {
+    if (lookupSchemaId == null) {
+      return null;
+    }
+    MessageFormatter formatter = SchemaManager.getInstance().getMessageFormatter(lookupSchemaId);
+    if (formatter == null) {
+      return null;
+    }
+    return getParsedPayload(lookupSchemaId, formatter).getParsedObject(opaqueData);
+  }
+
+  /**
+   * Parses the payload with the formatter, use the schema id variant where the id is known so the result is shared
+   * with consumers that look the schema up by id
+   */
+  public ParsedObject getParsedObject(MessageFormatter formatter) throws IOException {
+    return getParsedPayload(formatter, formatter).getParsedObject(opaqueData);
+  }
+
+  /**
+   * Returns the payload converted to JSON by the formatter, converting at most once per message. The
+   * returned element is shared, so callers that modify it must take a deepCopy() first.
+   *
+   * @param formatter the formatter to convert the payload with
+   * @return the shared JSON view of the payload
+   * @throws IOException if the payload could not be parsed by the formatter
+   */
+  public JsonElement getParsedJson(MessageFormatter formatter) throws IOException {
+    return getParsedPayload(formatter, formatter).getParsedJson(opaqueData);
+  }
+
+  /**
+   * As per getParsedJson(MessageFormatter) but cached against the schema id the formatter was loaded for
+   *
+   * @param lookupSchemaId the schema id the formatter belongs to
+   * @param formatter the formatter to convert the payload with
+   * @return the shared JSON view of the payload
+   * @throws IOException if the payload could not be parsed by the formatter
+   */
+  public JsonElement getParsedJson(String lookupSchemaId, MessageFormatter formatter) throws IOException {
+    return getParsedPayload(lookupSchemaId, formatter).getParsedJson(opaqueData);
+  }
+
+  private ParsedPayload getParsedPayload(Object key, MessageFormatter formatter) {
+    Map<Object, ParsedPayload> payloads = parsedPayloads;
+    if (payloads == null) {
+      synchronized (this) {
+        payloads = parsedPayloads;
+        if (payloads == null) {
+          payloads = new ConcurrentHashMap<>(4);
+          parsedPayloads = payloads;
+        }
+      }
+    }
+    ParsedPayload payload = payloads.get(key);
+    if (payload != null && payload.formatter == formatter) {
+      return payload;
+    }
+    payload = new ParsedPayload(formatter);
+    // A message is only ever read against a handful of schemas, past that parse without caching
+    if (payloads.size() < MAX_PARSED_SCHEMAS || payloads.containsKey(key)) {
+      payloads.put(key, payload);
+    }
+    return payload;
+  }
+
+  private static final class ParsedPayload {
+
+    private final MessageFormatter formatter;
+    private ParsedObject parsedObject;
+    private JsonElement parsedJson;
+    private IOException parseFailure;
+    private IOException jsonFailure;
+
+    private ParsedPayload(MessageFormatter formatter) {
+      this.formatter = formatter;
+    }
+
+    private synchronized ParsedObject getParsedObject(byte[] data) throws IOException {
+      if (parseFailure != null) {
+        throw parseFailure;
+      }
+      if (parsedObject == null) {
+        try {
+          parsedObject = formatter.parse(data, SchemaManager.getInstance().getDefaultParseMode());
+        } catch (Exception e) {
+          parseFailure = asIOException(e);
+          throw parseFailure;
+        }
+      }
+      return parsedObject;
+    }
+
+    private synchronized JsonElement getParsedJson(byte[] data) throws IOException {
+      if (jsonFailure != null) {
+        throw jsonFailure;
+      }
+      if (parsedJson == null) {
+        try {
+          parsedJson = formatter.parseToJson(data, SchemaManager.getInstance().getDefaultParseMode());
+        } catch (Exception e) {
+          jsonFailure = asIOException(e);
+          throw jsonFailure;
+        }
+      }
+      return parsedJson;
+    }
+
+    private static IOException asIOException(Exception e) {
+      if (e instanceof IOException ioException) {
+        return ioException;
+      }
+      return new IOException(e.getMessage(), e);
+    }
+  }
+  // </editor-fold>
+
+  // The typed meta defers rendering the values to Strings until they are requested
+  private static void tagMeta(Map<String, String> meta) {
+    long now = System.currentTimeMillis();
+    LocationManager locationManager = LocationManager.getInstance();
+    String server = MessageDaemon.getInstance() == null ? "" : MessageDaemon.getInstance().getId();
+    if (meta instanceof MessageMeta messageMeta) {
+      messageMeta.setTimeMs(now);
+      if (locationManager.isSet()) {
+        messageMeta.setLocation(locationManager.getLongitude(), locationManager.getLatitude());
+        messageMeta.setServer(server);
+      }
+    } else {
+      meta.put(MessageMeta.TIME_MS, Long.toString(now));
+      if (locationManager.isSet()) {
+        meta.put(MessageMeta.LONGITUDE, Double.toString(locationManager.getLongitude()));
+        meta.put(MessageMeta.LATITUDE, Double.toString(locationManager.getLatitude()));
+        meta.put(MessageMeta.SERVER, server);
+      }
+    }
+  }
+
   private long calculateExpiry(long dly, long exp) {
     long calc = 0;
     if (exp > 0) {
@@ -355,20 +568,16 @@ public class Message implements IdentifierResolver, Storable {
     if (meta != null) {
       val = meta.get(key);
     }
-    if(parsedObject == null && val == null && schemaId != null){
-      SchemaConfig config = SchemaManager.getInstance().getSchema(schemaId);
-      if(config != null){
-        try {
-          MessageFormatter formatter = SchemaManager.getInstance().getMessageFormatter(config);
-          parsedObject = formatter.parse(getOpaqueData(), SchemaManager.getInstance().getDefaultParseMode());
-        } catch (IOException e) {
-          parsedObject = null;
+    if (val == null && schemaId != null) {
+      try {
+        ParsedObject parsedObject = getParsedObject(schemaId);
+        if (parsedObject != null) {
+          val = parsedObject.get(key);
         }
+      } catch (IOException e) {
+        // Payload does not match the schema, nothing to resolve against
       }
     }
-    if (parsedObject != null) {
-      val = parsedObject.get(key);
-    }
 
     return val;
   }
@@ -0,0 +1,367 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.api.message;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A Map of message meta data that holds the keys the server adds to every message, such as the protocol, session and time,
+ * in fixed slots. Numeric values are held as primitives and only rendered to a String when a consumer asks for them, any other
+ * key is held in a LinkedHashMap that is only created once such a key is added. Iteration returns the fixed slots first, in
+ * the order they are declared, followed by any other keys in insertion order.
+ */
+public class MessageMeta extends AbstractMap<String, String> {
+
+  public static final String PROTOCOL = "protocol";
+  public static final String VERSION = "version";
+  public static final String SESSION_ID = "sessionId";
+  public static final String TIME_MS = "time_ms";
+  public static final String LONGITUDE = "longitude";
+  public static final String LATITUDE = "latitude";
+  public static final String SERVER = "server";
+
+  private static final String[] SLOT_KEYS = {PROTOCOL, VERSION, SESSION_ID, TIME_MS, LONGITUDE, LATITUDE, SERVER};
+  private static final int PROTOCOL_SLOT = 0;
+  private static final int VERSION_SLOT = 1;
+  private static final int SESSION_ID_SLOT = 2;
+  private static final int TIME_SLOT = 3;
+  private static final int LONGITUDE_SLOT = 4;
+  private static final int LATITUDE_SLOT = 5;
+  private static final int SERVER_SLOT = 6;
+
+  private final String[] text;
+  private int present;   // bit per slot that has a value
+  private int typed;     // bit per slot whose value is held as a primitive and is yet to be rendered
+
+  private long timeMs;
+  private double longitude;
+  private double latitude;
+
+  private Map<String, String> extra;
+  private EntrySet entrySet;
+
+  public MessageMeta() {
+    text = new String[SLOT_KEYS.length];
+  }
+
+  public MessageMeta(@NotNull Map<String, String> meta) {
+    this();
+    putAll(meta);
+  }
+
+  //<editor-fold desc="Typed slot access">
+  public MessageMeta setProtocol(String protocol) {
+    setText(PROTOCOL_SLOT, protocol);
+    return this;
+  }
+
+  public MessageMeta setVersion(String version) {
+    setText(VERSION_SLOT, version);
+    return this;
+  }
+
+  public MessageMeta setSessionId(String sessionId) {
+    setText(SESSION_ID_SLOT, sessionId);
+    return this;
+  }
+
+  public MessageMeta setServer(String server) {
+    setText(SERVER_SLOT, server);
+    return this;
+  }
+
+  public MessageMeta setTimeMs(long time) {
+    timeMs = time;
+    setTyped(TIME_SLOT);
+    return this;
+  }
+
+  public MessageMeta setLocation(double longitude, double latitude) {
+    this.longitude = longitude;
+    this.latitude = latitude;
+    setTyped(LONGITUDE_SLOT);
+    setTyped(LATITUDE_SLOT);
+    return this;
+  }
+
+  /**
+   * @return the time_ms value without rendering it to a String, or -1 if it is not set or is not numeric
+   */
+  public long getTimeMs() {
+    int bit = 1 << TIME_SLOT;
+    if ((typed & bit) != 0) {
+      return timeMs;
+    }
+    if ((present & bit) != 0 && text[TIME_SLOT] != null) {
+      try {
+        return Long.parseLong(text[TIME_SLOT]);
+      } catch (NumberFormatException e) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+  //</editor-fold>
+
+  //<editor-fold desc="Map implementation">
+  @Override
+  public String get(Object key) {
+    int slot = slotOf(key);
+    if (slot >= 0) {
+      return render(slot);
+    }
+    return extra == null ? null : extra.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int slot = slotOf(key);
+    if (slot >= 0) {
+      return (present & (1 << slot)) != 0;
+    }
+    return extra != null && extra.containsKey(key);
+  }
+
+  @Override
+  public String put(String key, String value) {
+    int slot = slotOf(key);
+    if (slot >= 0) {
+      String previous = render(slot);
+      setText(slot, value);
+      return previous;
+    }
+    if (extra == null) {
+      extra = new LinkedHashMap<>();
+    }
+    return extra.put(key, value);
+  }
+
+  @Override
+  public String remove(Object key) {
+    int slot = slotOf(key);
+    if (slot >= 0) {
+      String previous = render(slot);
+      clearSlot(slot);
+      return previous;
+    }
+    return extra == null ? null : extra.remove(key);
+  }
+
+  @Override
+  public int size() {
+    return Integer.bitCount(present) + (extra == null ? 0 : extra.size());
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return present == 0 && (extra == null || extra.isEmpty());
+  }
+
+  @Override
+  public void clear() {
+    present = 0;
+    typed = 0;
+    Arrays.fill(text, null);
+    if (extra != null) {
+      extra.clear();
+    }
+  }
+
+  @Override
+  public @NotNull Set<Entry<String, String>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+  //</editor-fold>
+
+  //<editor-fold desc="Slot handling">
+  private static int slotOf(Object key) {
+    if (!(key instanceof String name)) {
+      return -1;
+    }
+    return switch (name) {
+      case PROTOCOL -> PROTOCOL_SLOT;
+      case VERSION -> VERSION_SLOT;
+      case SESSION_ID -> SESSION_ID_SLOT;
+      case TIME_MS -> TIME_SLOT;
+      case LONGITUDE -> LONGITUDE_SLOT;
+      case LATITUDE -> LATITUDE_SLOT;
+      case SERVER -> SERVER_SLOT;
+      default -> -1;
+    };
+  }
+
+  private void setText(int slot, String value) {
+    text[slot] = value;
+    present |= 1 << slot;
+    typed &= ~(1 << slot);
+  }
+
+  private void setTyped(int slot) {
+    text[slot] = null;
+    present |= 1 << slot;
+    typed |= 1 << slot;
+  }
+
+  private void clearSlot(int slot) {
+    text[slot] = null;
+    present &= ~(1 << slot);
+    typed &= ~(1 << slot);
+  }
+
+  // Reads never write, the same meta is read concurrently by every subscriber a message fans out to. Typed slots are
+  // rendered into a new String on each read, which only happens for the few consumers that want them as text
+  private String render(int slot) {
+    int bit = 1 << slot;
+    if ((present & bit) == 0) {
+      return null;
+    }
+    if ((typed & bit) != 0) {
+      return switch (slot) {
+        case TIME_SLOT -> Long.toString(timeMs);
+        case LONGITUDE_SLOT -> Double.toString(longitude);
+        case LATITUDE_SLOT -> Double.toString(latitude);
+        default -> text[slot];
+      };
+    }
+    return text[slot];
+  }
+  //</editor-fold>
+
+  private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+    @Override
+    public @NotNull Iterator<Entry<String, String>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+      return MessageMeta.this.size();
+    }
+
+    @Override
+    public void clear() {
+      MessageMeta.this.clear();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+    private int nextSlot;
+    private int lastSlot = -1;
+    private Iterator<Entry<String, String>> extraIterator;
+    private boolean inExtra;
+
+    EntryIterator() {
+      nextSlot = advance(0);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextSlot < SLOT_KEYS.length) {
+        return true;
+      }
+      if (extraIterator == null && extra != null) {
+        extraIterator = extra.entrySet().iterator();
+      }
+      return extraIterator != null && extraIterator.hasNext();
+    }
+
+    @Override
+    public Entry<String, String> next() {
+      if (nextSlot < SLOT_KEYS.length) {
+        lastSlot = nextSlot;
+        inExtra = false;
+        nextSlot = advance(nextSlot + 1);
+        return new SlotEntry(lastSlot);
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      inExtra = true;
+      return extraIterator.next();
+    }
+
+    @Override
+    public void remove() {
+      if (inExtra) {
+        extraIterator.remove();
+      } else if (lastSlot >= 0) {
+        clearSlot(lastSlot);
+        lastSlot = -1;
+      } else {
+        throw new IllegalStateException();
+      }
+    }
+
+    private int advance(int slot) {
+      while (slot < SLOT_KEYS.length && (present & (1 << slot)) == 0) {
+        slot++;
+      }
+      return slot;
+    }
+  }
+
+  private final class SlotEntry implements Entry<String, String> {
+
+    private final int slot;
+
+    SlotEntry(int slot) {
+      this.slot = slot;
+    }
+
+    @Override
+    public String getKey() {
+      return SLOT_KEYS[slot];
+    }
+
+    @Override
+    public String getValue() {
+      return render(slot);
+    }
+
+    @Override
+    public String setValue(String value) {
+      String previous = render(slot);
+      setText(slot, value);
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Entry<?, ?> entry && Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
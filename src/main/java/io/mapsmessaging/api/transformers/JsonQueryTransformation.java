@@ -90,7 +90,8 @@ public class JsonQueryTransformation implements InterServerTransformation {
     JsonElement jsonElement;
     if (messageFormatter != null) {
       try {
-        jsonElement = messageFormatter.parseToJson(message.getMessage().getOpaqueData(), SchemaManager.getInstance().getDefaultParseMode());
+        // The parsed JSON is shared with other consumers of the message, copy before adding the meta
+        jsonElement = message.getMessage().getParsedJson(messageFormatter).deepCopy();
       } catch (Exception e) {
         logger.log(JSON_QUERY_EXECUTION_EXCEPTION, jsonQuery, e.getMessage(), e);
         return null; // fail safe: don't drop on formatter failure
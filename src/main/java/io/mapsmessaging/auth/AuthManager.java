@@ -31,6 +31,8 @@ import io.mapsmessaging.config.AuthManagerConfig;
 import io.mapsmessaging.configuration.ConfigurationProperties;
 import io.mapsmessaging.dto.rest.system.Status;
 import io.mapsmessaging.dto.rest.system.SubSystemStatusDTO;
+import io.mapsmessaging.engine.session.security.AuthorisationCache;
+import io.mapsmessaging.engine.session.security.SecurityContext;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.security.access.AuthContext;
@@ -57,6 +59,8 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Principal;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import static io.mapsmessaging.engine.audit.AuditEvent.AUTHORISATION_FAILED;
 import static io.mapsmessaging.logging.ServerLogMessages.*;
@@ -87,6 +91,11 @@ public class AuthManager implements Agent {
   private AuthenticationStorage authenticationStorage;
   private final Map<String, Subject> subjectMap = new WeakHashMap<>();
 
+  // Moved on by every ACL or group membership change, invalidating the cached decisions held by the sessions
+  private final AtomicLong authorisationVersion = new AtomicLong();
+  private final LongAdder authorisationCacheHits = new LongAdder();
+  private final LongAdder authorisationCacheMisses = new LongAdder();
+
   @Getter
   private final boolean authenticationEnabled;
   @Getter
@@ -160,7 +169,10 @@ public class AuthManager implements Agent {
   public boolean delUser(String username) {
     if (authenticationStorage != null) {
       logger.log(AUTH_DELETED_USER, username);
-      return authenticationStorage.delUser(username);
+      boolean deleted = authenticationStorage.delUser(username);
+      // Only invalidate once the user is gone, so a concurrent check can not cache the old decision under the new version
+      invalidateAuthorisationCache();
+      return deleted;
     }
     return false;
   }
@@ -197,6 +209,54 @@ public class AuthManager implements Agent {
     return result;
   }
 
+  /**
+   * Checks access using the decision cache held by the security context, only evaluating the ACL model on a miss or
+   * after the ACLs have changed.
+   */
+  public boolean canAccess(SecurityContext securityContext, Permission permission, ProtectedResource resource) {
+    if(!authorisationEnabled) return true;
+    Identity identity = securityContext.getIdentity();
+    if(identity == null) {
+      return canAccess(identity, permission, resource);
+    }
+    AuthorisationCache cache = securityContext.getAuthorisationCache();
+    AuthorisationCache.Key key = AuthorisationCache.Key.of(identity.getId(), permission, resource);
+    long version = authorisationVersion.get();
+    Boolean cached = cache.get(version, key);
+    boolean result;
+    if(cached != null) {
+      authorisationCacheHits.increment();
+      result = cached;
+    }
+    else {
+      authorisationCacheMisses.increment();
+      result = authenticationStorage.canAccess(identity, permission, resource);
+      cache.put(version, key, result);
+    }
+    if(!result){
+      logger.log(AUTHORISATION_FAILED, identity.getUsername(), permission.getName(), resource.getResourceId());
+    }
+    return result;
+  }
+
+  public void invalidateAuthorisationCache() {
+    authorisationVersion.incrementAndGet();
+  }
+
+  public long getAuthorisationCacheHits() {
+    return authorisationCacheHits.sum();
+  }
+
+  public long getAuthorisationCacheMisses() {
+    return authorisationCacheMisses.sum();
+  }
+
+  public double getAuthorisationCacheHitRatio() {
+    long hits = authorisationCacheHits.sum();
+    long total = hits + authorisationCacheMisses.sum();
+    return total == 0 ? 0.0 : (double) hits / total;
+  }
+
   public boolean hasAllAccess(List<AuthRequest> request) {
     if(!authorisationEnabled) return true;
     boolean result = authenticationStorage.hasAllAccess(request);
@@ -220,27 +280,33 @@ public class AuthManager implements Agent {
 
   public void grant(Identity identity, Permission permission, ProtectedResource resource) {
     authenticationStorage.grant(identity, permission, resource);
+    invalidateAuthorisationCache();
   }
 
   public void grant(Group group, Permission permission, ProtectedResource resource) {
     authenticationStorage.grant(group, permission, resource);
+    invalidateAuthorisationCache();
   }
 
   public void deny(Identity identity, Permission permission, ProtectedResource resource) {
     authenticationStorage.deny(identity, permission, resource);
+    invalidateAuthorisationCache();
   }
 
   public void deny(Group group, Permission permission, ProtectedResource resource) {
     authenticationStorage.deny(group, permission, resource);
+    invalidateAuthorisationCache();
   }
 
 
   public void revoke(Identity identity, Permission permission, ProtectedResource resource) {
     authenticationStorage.revoke(identity, permission, resource);
+    invalidateAuthorisationCache();
   }
 
   public void revoke(Group group, Permission permission, ProtectedResource resource) {
     authenticationStorage.revoke(group, permission, resource);
+    invalidateAuthorisationCache();
   }
 
   private AuthManager() {
@@ -400,6 +466,7 @@ public class AuthManager implements Agent {
   public void delGroup(String groupName) throws IOException {
     logger.log(AUTH_DELETED_GROUP, groupName);
     authenticationStorage.delGroup(groupName);
+    invalidateAuthorisationCache();
   }
 
   public GroupIdMap addGroup(String groupName) throws IOException {
@@ -410,11 +477,13 @@ public class AuthManager implements Agent {
   public void addUserToGroup(String user, String group) throws IOException {
     logger.log(AUTH_MODIFIED_GROUP, user, "added to",  group);
     authenticationStorage.addUserToGroup(user, group);
+    invalidateAuthorisationCache();
   }
 
   public void removeUserFromGroup(String username, String groupName) throws IOException {
     logger.log(AUTH_MODIFIED_GROUP, username, "removed from",  groupName);
     authenticationStorage.removeUserFromGroup(username, groupName);
+    invalidateAuthorisationCache();
   }
 
   @Override
@@ -424,6 +493,9 @@ public class AuthManager implements Agent {
     status.setComment("");
     if (authenticationEnabled) {
       status.setStatus(Status.OK);
+      if(authorisationEnabled){
+        status.setComment(String.format("Authorisation cache hit ratio %.1f%%", getAuthorisationCacheHitRatio() * 100.0));
+      }
       if(!errMessage.isEmpty()){
         status.setComment(errMessage);
         status.setStatus(Status.ERROR);
@@ -32,6 +32,7 @@ public class ConfigHelper {
       case "memory" -> buildMemoryStorageConfig(properties);
       case "file", "partition" -> buildPartitionStorageConfig(properties);
       case "memorytier" -> buildMemoryTierStorageConfig(properties);
+      case "commitlog" -> buildCommitLogStorageConfig(properties);
       default -> null;
     };
     if (storageConfig != null) {
@@ -99,6 +100,18 @@ public class ConfigHelper {
     }
   }
 
+  private static CommitLogStorageConfigDTO buildCommitLogStorageConfig(ConfigurationProperties properties) {
+    CommitLogStorageConfigDTO commitLogStorageConfig = new CommitLogStorageConfigDTO();
+    commitLogStorageConfig.setSegmentSize(properties.getLongProperty("segmentSize", commitLogStorageConfig.getSegmentSize()));
+    commitLogStorageConfig.setSync(properties.getProperty("sync", "disable").equalsIgnoreCase("enable"));
+    return commitLogStorageConfig;
+  }
+
+  private static void packCommitLogStorageConfig(ConfigurationProperties properties, CommitLogStorageConfigDTO storageConfig) {
+    properties.put("segmentSize", storageConfig.getSegmentSize());
+    properties.put("sync", storageConfig.isSync()? "enable" : "disable");
+  }
+
   private static MemoryStorageConfigDTO buildMemoryStorageConfig(ConfigurationProperties properties) {
     MemoryStorageConfigDTO memoryStorageConfig = new MemoryStorageConfigDTO();
     memoryStorageConfig.setCapacity( properties.getIntProperty("capacity", -1));
@@ -127,6 +140,9 @@ public class ConfigHelper {
       else if (storageConfig instanceof MemoryTierConfigDTO){
         packMemoryTierConfig(properties, (MemoryTierConfigDTO) storageConfig);
       }
+      else if (storageConfig instanceof CommitLogStorageConfigDTO){
+        packCommitLogStorageConfig(properties, (CommitLogStorageConfigDTO) storageConfig);
+      }
       properties.put("debug", storageConfig.isDebug());
     }
   }
@@ -38,7 +38,7 @@ public class DestinationConfig extends DestinationConfigDTO implements Config {
     this.namespace = properties.getProperty("namespace", namespace);
     this.type = properties.getProperty("type", "");
     if(!featureManager.isEnabled("storage.fileSupport")
-        && type.equalsIgnoreCase("file")) {
+        && (type.equalsIgnoreCase("file") || type.equalsIgnoreCase("commitLog"))) {
       type = "memory"; // File is not supported
     }
     this.autoPauseTimeout = properties.getIntProperty("autoPauseTimeout", autoPauseTimeout);
@@ -33,6 +33,7 @@ public class CoapConfig extends CoapConfigDTO implements Config {
     // Initialize CoAP-specific fields from config
     this.maxBlockSize = config.getIntProperty("maxBlockSize", maxBlockSize);
     this.idleTime = config.getIntProperty("idleTimePeriod", idleTime);
+    this.maxMessageSize = config.getIntProperty("maxMessageSize", maxMessageSize);
   }
 
   @Override
@@ -50,6 +51,10 @@ public class CoapConfig extends CoapConfigDTO implements Config {
         this.idleTime = newConfig.getIdleTime();
         hasChanged = true;
       }
+      if (this.maxMessageSize != newConfig.getMaxMessageSize()) {
+        this.maxMessageSize = newConfig.getMaxMessageSize();
+        hasChanged = true;
+      }
 
       // Update fields from ProtocolConfigFactory if needed
       if (ProtocolConfigFactory.update(this, newConfig)) {
@@ -65,6 +70,7 @@ public class CoapConfig extends CoapConfigDTO implements Config {
     ProtocolConfigFactory.pack(properties, this);
     properties.put("maxBlockSize", this.maxBlockSize);
     properties.put("idleTimePeriod", this.idleTime);
+    properties.put("maxMessageSize", this.maxMessageSize);
     return properties;
   }
 }
@@ -0,0 +1,26 @@
+package io.mapsmessaging.dto.rest.config.destination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class CommitLogStorageConfigDTO extends StorageConfigDTO {
+
+  @Schema(
+      description = "Wait for the shared log to be flushed to disk before acknowledging a write, concurrent writers share a single flush",
+      defaultValue = "false"
+  )
+  private boolean sync;
+
+  @Schema(
+      description = "Size in bytes of each memory mapped log segment",
+      defaultValue = "67108864"
+  )
+  private long segmentSize = 67108864L;
+
+  public CommitLogStorageConfigDTO() {
+    super("commitLog");
+  }
+}
@@ -47,7 +47,7 @@ public class DestinationConfigDTO extends BaseConfigDTO {
   @Schema(
       description = "Type of destination",
       example = "Partition",
-      allowableValues = {"Partition", "Memory", "MemoryTier"},
+      allowableValues = {"Partition", "Memory", "MemoryTier", "CommitLog"},
       defaultValue = "Partition",
       requiredMode = Schema.RequiredMode.REQUIRED
   )
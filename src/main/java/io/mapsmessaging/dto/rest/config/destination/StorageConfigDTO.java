@@ -23,11 +23,14 @@ import lombok.EqualsAndHashCode;
 ), @JsonSubTypes.Type(
     value = MemoryTierConfigDTO.class,
     name = "tieredMemory"
+), @JsonSubTypes.Type(
+    value = CommitLogStorageConfigDTO.class,
+    name = "commitLog"
 )})
 @Schema(
     description = "Base class for all storage configurations",
     discriminatorProperty = "type",
-    oneOf = {MemoryStorageConfigDTO.class, PartitionStorageConfigDTO.class, MemoryTierConfigDTO.class},
+    oneOf = {MemoryStorageConfigDTO.class, PartitionStorageConfigDTO.class, MemoryTierConfigDTO.class, CommitLogStorageConfigDTO.class},
     discriminatorMapping = {@DiscriminatorMapping(
         value = "memory",
         schema = MemoryStorageConfigDTO.class
@@ -37,6 +40,9 @@ import lombok.EqualsAndHashCode;
     ), @DiscriminatorMapping(
         value = "tieredMemory",
         schema = MemoryTierConfigDTO.class
+    ), @DiscriminatorMapping(
+        value = "commitLog",
+        schema = CommitLogStorageConfigDTO.class
     )}
 )
 
@@ -48,7 +54,7 @@ public abstract class StorageConfigDTO extends BaseConfigDTO {
       description = "Type of storage configuration",
       requiredMode = Schema.RequiredMode.REQUIRED,
       example = "memory",
-      allowableValues = {"memory", "partition", "tieredMemory"}
+      allowableValues = {"memory", "partition", "tieredMemory", "commitLog"}
   )
   protected String type;
 
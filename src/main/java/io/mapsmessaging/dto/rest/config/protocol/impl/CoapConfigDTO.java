@@ -39,4 +39,7 @@ public class CoapConfigDTO extends ProtocolConfigDTO {
   @Schema(description = "Idle time period for CoAP connections in seconds", example = "120")
   protected int idleTime = 120;
 
+  @Schema(description = "Maximum size, in bytes, of a message reassembled from a block-wise transfer", example = "1048576")
+  protected int maxMessageSize = 1024 * 1024;
+
 }
@@ -72,6 +72,16 @@ public class SubscriptionRequestDTO {
       nullable = true)
   private int maxDepth = 1;
 
+  @QueryParam("batchSize")
+  @Schema(
+      title = "Batch Size",
+      description =
+          "SSE only, the maximum number of messages sent in a single event. When greater than 1 every event carries a JSON array of messages.",
+      example = "50",
+      defaultValue = "1",
+      nullable = true)
+  private int batchSize = 1;
+
   @Schema(
       title = "Transactional subscription",
       description = "Flag to indicate the subscription is transactional",
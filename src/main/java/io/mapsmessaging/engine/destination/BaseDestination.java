@@ -24,11 +24,20 @@ import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public interface BaseDestination {
 
   int storeMessage(@NonNull @NotNull Message message) throws IOException;
 
+  default CompletableFuture<Integer> storeMessageAsync(@NonNull @NotNull Message message) {
+    try {
+      return CompletableFuture.completedFuture(storeMessage(message));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   String getFullyQualifiedNamespace();
 
 }
@@ -50,7 +50,13 @@ public interface DestinationFactory {
 
   Map<String, DestinationImpl> get(DestinationFilter filter);
 
+  Map<String, DestinationImpl> getMatching(String wildcard);
+
   void addListener(DestinationManagerListener subscriptionController);
 
   boolean removeListener(DestinationManagerListener subscriptionController);
+
+  void addInterest(String filter, DestinationManagerListener subscriptionController);
+
+  boolean removeInterest(String filter, DestinationManagerListener subscriptionController);
 }
@@ -83,6 +83,11 @@ public class DestinationGlobalStats {
     totalPublishedMessagesAverages.increment();
   }
 
+  public void messagesPublished(int count) {
+    totalPublishedMessages.add(count);
+    totalPublishedMessagesAverages.add(count);
+  }
+
   public void messageSubscribed(int counter) {
     totalSubscribedMessages.add(counter);
     totalSubscribedMessagesAverages.add(counter);
@@ -93,6 +98,11 @@ public class DestinationGlobalStats {
     totalNoInterestMessagesAverages.increment();
   }
 
+  public void noInterest(int count) {
+    totalNoInterestMessages.add(count);
+    totalNoInterestMessagesAverages.add(count);
+  }
+
   public void expiredMessage() {
     totalExpiredMessages.increment();
     totalExpiredMessagesAverages.increment();
@@ -35,20 +35,25 @@ import io.mapsmessaging.engine.destination.subscription.Subscription;
 import io.mapsmessaging.engine.destination.subscription.impl.DestinationSubscription;
 import io.mapsmessaging.engine.destination.subscription.impl.shared.SharedSubscriptionManager;
 import io.mapsmessaging.engine.destination.subscription.impl.shared.SharedSubscriptionRegister;
+import io.mapsmessaging.engine.destination.subscription.state.MessageInterestIndex;
 import io.mapsmessaging.engine.destination.tasks.*;
 import io.mapsmessaging.engine.resources.*;
 import io.mapsmessaging.engine.schema.Schema;
 import io.mapsmessaging.engine.schema.SchemaManager;
+import io.mapsmessaging.engine.tasks.CompletableTask;
 import io.mapsmessaging.engine.tasks.EngineTask;
 import io.mapsmessaging.engine.tasks.FutureResponse;
 import io.mapsmessaging.engine.tasks.LongResponse;
 import io.mapsmessaging.engine.tasks.Response;
 import io.mapsmessaging.engine.utils.FilePathHelper;
 import io.mapsmessaging.schemas.config.SchemaConfig;
+import io.mapsmessaging.utilities.SystemProperties;
 import io.mapsmessaging.utilities.collections.NaturalOrderedLongList;
+import io.mapsmessaging.utilities.collections.NaturalOrderedLongQueue;
 import io.mapsmessaging.utilities.collections.bitset.BitSetFactory;
 import io.mapsmessaging.utilities.collections.bitset.BitSetFactoryImpl;
 import io.mapsmessaging.utilities.queue.EventReaperQueue;
+import io.mapsmessaging.utilities.scheduler.TimingWheel;
 import io.mapsmessaging.utilities.stats.StatsFactory;
 import io.mapsmessaging.utilities.threads.SimpleTaskScheduler;
 import io.mapsmessaging.utilities.threads.tasks.PriorityConcurrentTaskScheduler;
@@ -68,6 +73,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class represents a mechanism for clients to publish to a known point, subscribe to this point and the complex mechanisms around that, including transactional publishing,
@@ -87,6 +93,10 @@ public class DestinationImpl implements BaseDestination {
   public static final int PUBLISH_PRIORITY = 0;
   public static final int DELETE_PRIORITY = 1;
   public static final int RETRIEVE_PRIORITY = 1;
+  private static final long REAPER_DELAY = 5;         // seconds between a completion and the removal pass
+  private static final long DELAY_RECHECK = 1000;     // milliseconds before re-checking buckets still being released
+  // Seconds a store may take, including the nested subscription update, before the caller gives up
+  private static final long STORE_TIMEOUT = Math.max(1, SystemProperties.getInstance().getLongProperty("DESTINATION_STORE_TIMEOUT", 60));
   //</editor-fold>
 
   //<editor-fold desc="Destination specific fields">
@@ -98,13 +108,15 @@ public class DestinationImpl implements BaseDestination {
   private final RetainManager retainManager;
 
   protected final DestinationJMX destinationJMXBean;
-  private final ScheduledFuture<?> reaperFuture;
+  private final AtomicBoolean reaperScheduled;
+  private volatile TimingWheel.Timeout reaperTimeout;
 
   private final PriorityTaskScheduler resourceTaskQueue;
   private final TaskScheduler subscriptionTaskQueue;
 
   private final DelayedMessageManager delayedMessageManager;
   private final TransactionalMessageManager transactionMessageManager;
+  private final PublishBatcher publishBatcher;
   /**
    * -- GETTER --
    *  Returns the stats object for this destination. All metrics about this destination are maintained in this class
@@ -116,6 +128,9 @@ public class DestinationImpl implements BaseDestination {
   @Getter
   private final EventReaperQueue completionQueue;
 
+  @Getter
+  private final MessageInterestIndex interestIndex;
+
   @Getter
   private final ResourceStatistics resourceStatistics;
   private final Resource resource;
@@ -131,12 +146,16 @@ public class DestinationImpl implements BaseDestination {
   private final String fullyQualifiedNamespace;       // This is the actual name of this resource within the servers namespace
   private final String fullyQualifiedDirectoryRoot;   // This is the physical root directory for all files associated with this destination
 
-  private final ScheduledFuture<?> delayScheduler;
+  private final Object delayLock = new Object();
+  private TimingWheel.Timeout delayTimeout;
+  private long delayDeadline;
 
   @Getter
   private final Schema schema;
   @Getter
   private volatile boolean closed;
+  // Messages the subscriptions still reference in a store that has not been opened yet, the store holds no others
+  private volatile long unloadedMessageCount;
   //</editor-fold>
 
   //<editor-fold desc="Constructors">
@@ -167,26 +186,28 @@ public class DestinationImpl implements BaseDestination {
     resourceTaskQueue = new PriorityConcurrentTaskScheduler(RESOURCE_TASK_KEY, TASK_QUEUE_PRIORITY_SIZE);
     subscriptionTaskQueue = new SingleConcurrentTaskScheduler(SUBSCRIPTION_TASK_KEY);
     this.destinationType = destinationType;
+    interestIndex = new MessageInterestIndex(this::released);
     subscriptionManager = new DestinationSubscriptionManager(name);
     schemaSubscriptionManager = new DestinationSubscriptionManager(name);
+    publishBatcher = new PublishBatcher(this, subscriptionManager);
     resource = ResourceFactory.getInstance().create(new MessageExpiryHandler(this), name, pathManager, fullyQualifiedDirectoryRoot, uuid, destinationType, config);
     resource.getResourceProperties().setSchemaId(config.getUniqueId());
     retainManager = new RetainManager(isPersistent(), getPhysicalLocation());
 
     stats = new DestinationStats(StatsFactory.getDefaultType());
+    trackCacheReferences();
     resourceStatistics = new ResourceStatistics(resource, StatsFactory.getDefaultType());
     destinationJMXBean = new DestinationJMX(this, resourceTaskQueue, subscriptionTaskQueue);
     sharedSubscriptionRegistry = new SharedSubscriptionRegister();
 
     subscriptionBitsetFactory = DestinationStateManagerFactory.createSubscriptionFactory(this, true, "subscriptions");
     delayedMessageManager = DestinationStateManagerFactory.createDelayed(this, true, "delayed");
-    delayScheduler = SimpleTaskScheduler.getInstance().scheduleAtFixedRate(new DelayProcessor(), 990, 1000, TimeUnit.MILLISECONDS);
 
     transactionMessageManager = DestinationStateManagerFactory.createTransaction(this, true, "transactions");
     closed = false;
     completionQueue = new EventReaperQueue();
+    reaperScheduled = new AtomicBoolean(false);
     loadSchema();
-    reaperFuture = queueReaper();
   }
 
   /**
@@ -205,11 +226,14 @@ public class DestinationImpl implements BaseDestination {
     resourceTaskQueue = new PriorityConcurrentTaskScheduler(RESOURCE_TASK_KEY, TASK_QUEUE_PRIORITY_SIZE);
     subscriptionTaskQueue = new SingleConcurrentTaskScheduler(SUBSCRIPTION_TASK_KEY);
     this.destinationType = destinationType;
+    interestIndex = new MessageInterestIndex(this::released);
     subscriptionManager = new DestinationSubscriptionManager(name);
     schemaSubscriptionManager = new DestinationSubscriptionManager(name);
+    publishBatcher = new PublishBatcher(this, subscriptionManager);
     this.resource = resource;
     retainManager = new RetainManager(isPersistent(), getPhysicalLocation());
     stats = new DestinationStats(StatsFactory.getDefaultType());
+    trackCacheReferences();
     resourceStatistics = new ResourceStatistics(resource,StatsFactory.getDefaultType());
     destinationJMXBean = new DestinationJMX(this, resourceTaskQueue, subscriptionTaskQueue);
     sharedSubscriptionRegistry = new SharedSubscriptionRegister();
@@ -224,12 +248,14 @@ public class DestinationImpl implements BaseDestination {
     }
     // Delayed Messages are automatically dealt with once the structure has been reloaded
     delayedMessageManager = DestinationStateManagerFactory.createDelayed(this, true, "delayed");
-    delayScheduler = SimpleTaskScheduler.getInstance().scheduleAtFixedRate(new DelayProcessor(), 990, 1000, TimeUnit.MILLISECONDS);
+    if (!delayedMessageManager.isEmpty()) {
+      scheduleDelayedEvents(System.currentTimeMillis() + 1000);
+    }
     subscriptionBitsetFactory = DestinationStateManagerFactory.createSubscriptionFactory(this, true, "subscriptions");
     transactionMessageManager = DestinationStateManagerFactory.createTransaction(this, true, "transactions");
     rollbackTransactionsOnReload();
     closed = false;
-    reaperFuture = queueReaper();
+    reaperScheduled = new AtomicBoolean(false);
   }
 
   /**
@@ -247,8 +273,10 @@ public class DestinationImpl implements BaseDestination {
     resourceTaskQueue = new PriorityConcurrentTaskScheduler(RESOURCE_TASK_KEY, TASK_QUEUE_PRIORITY_SIZE);
     subscriptionTaskQueue = new SingleConcurrentTaskScheduler(SUBSCRIPTION_TASK_KEY);
     this.destinationType = destinationType;
+    interestIndex = new MessageInterestIndex(this::released);
     subscriptionManager = new DestinationSubscriptionManager(name);
     schemaSubscriptionManager = new DestinationSubscriptionManager(name);
+    publishBatcher = new PublishBatcher(this, subscriptionManager);
     resource = new ResourceImpl();
     retainManager = new RetainManager(isPersistent(), getPhysicalLocation());
 
@@ -258,23 +286,23 @@ public class DestinationImpl implements BaseDestination {
     destinationJMXBean = new DestinationJMX(this, resourceTaskQueue, subscriptionTaskQueue);
     sharedSubscriptionRegistry = new SharedSubscriptionRegister();
     delayedMessageManager = null;
-    delayScheduler = null;
     subscriptionBitsetFactory = DestinationStateManagerFactory.createSubscriptionFactory(this, false, "subscriptions");
     transactionMessageManager = null;
     closed = false;
     completionQueue = new EventReaperQueue();
-    reaperFuture = queueReaper();
+    reaperScheduled = new AtomicBoolean(false);
   }
   //</editor-fold>
 
   //<editor-fold desc="Shutdown functions">
   public void close() throws IOException {
     closed = true;
-    reaperFuture.cancel(true);
+    publishBatcher.close();
+    cancelReaper();
     resource.close();
     retainManager.close();
     if (delayedMessageManager != null) {
-      delayScheduler.cancel(true);
+      cancelDelayedEvents();
       delayedMessageManager.close();
     }
     if (transactionMessageManager != null) {
@@ -295,8 +323,17 @@ public class DestinationImpl implements BaseDestination {
     return resource.getResourceProperties();
   }
 
-  private ScheduledFuture<?> queueReaper() {
-    return SimpleTaskScheduler.getInstance().scheduleAtFixedRate(new EventReaper(), 5, 5, TimeUnit.SECONDS);
+  private void queueReaper() {
+    if (!closed && reaperScheduled.compareAndSet(false, true)) {
+      reaperTimeout = TimingWheel.getInstance().schedule(new EventReaper(), REAPER_DELAY, TimeUnit.SECONDS);
+    }
+  }
+
+  private void cancelReaper() {
+    TimingWheel.Timeout timeout = reaperTimeout;
+    if (timeout != null) {
+      timeout.cancel();
+    }
   }
 
   private void loadSchema() throws IOException {
@@ -364,20 +401,51 @@ public class DestinationImpl implements BaseDestination {
   //
   public void scanForOrphanedMessages() throws IOException{
     if(fullyQualifiedNamespace.startsWith("$SYS"))return;
+    if (!resource.isLoaded()) {
+      unloadedMessageCount = getInterestedMessages().size();
+    }
+    // Resources reloaded lazily are scanned once they are first opened, rather than opening them all on start up. The
+    // scan runs as a task on this destination's queue, not on whichever thread happened to open the store. The keys are
+    // captured as the store opens, before the store that opened it runs, so messages published after the load, whose
+    // interest may not be registered yet, are never candidates for removal
+    resource.onLoad(() -> submit(new OrphanedMessageScanTask(this, resource.getKeys())));
+  }
+
+  /**
+   * Removes any of the candidate messages that neither a subscription nor the retain manager still references, and
+   * expires any referenced message that is no longer in the store.
+   *
+   * @param candidates the keys held in the store when it was opened
+   * @throws IOException if the underlying resource fails
+   */
+  public void removeOrphanedMessages(List<Long> candidates) throws IOException {
+    List<Long> list = getInterestedMessages();
+    Queue<Long> orphans = new NaturalOrderedLongQueue(0, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE));
+    for (Long key : candidates) {
+      if (!list.contains(key)) {
+        orphans.add(key);
+      }
+    }
+    if (!orphans.isEmpty()) {
+      submit(new BulkRemoveMessageTask(this, orphans), DELETE_PRIORITY);
+    }
+    if (list.size() + orphans.size() != candidates.size()) {
+      for (Long subId : list) {
+        if (!resource.contains(subId)) {
+          subscriptionManager.expired(subId);
+        }
+      }
+    }
+  }
+
+  private List<Long> getInterestedMessages() {
     List<Long> list = new NaturalOrderedLongList(0, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE));
     long retain = retainManager.current();
     if(retain > -1) {
       list.add(retainManager.current()); // we only have 1 retain event
     }
     list.addAll(subscriptionManager.getAll());
-    if(list.size() != resource.size()) {
-      resource.keepOnly(list);
-      for(Long subId:list){
-        if(!resource.contains(subId)){
-          subscriptionManager.expired(subId);
-        }
-      }
-    }
+    return list;
   }
 
   public List<SubscriptionStateDTO> getSubscriptionStates() {
@@ -399,11 +467,13 @@ public class DestinationImpl implements BaseDestination {
   public void delete() throws IOException {
     if (!closed) {
       closed = true;
+      publishBatcher.close();
       if (transactionMessageManager != null) transactionMessageManager.delete();
       if (subscriptionManager != null ) subscriptionManager.close();
       if (schemaSubscriptionManager != null)schemaSubscriptionManager.close();
+      cancelReaper();
       if (delayedMessageManager != null) {
-        delayScheduler.cancel(true);
+        cancelDelayedEvents();
         delayedMessageManager.delete();
       }
       if(retainManager != null) retainManager.close();
@@ -534,6 +604,10 @@ public class DestinationImpl implements BaseDestination {
    * @throws IOException If unable to get the size from the underlying resource implementation
    */
   public long getStoredMessages() throws IOException {
+    // Statistics and management calls should not be what forces a lazily loaded store open
+    if (!resource.isLoaded()) {
+      return unloadedMessageCount;
+    }
     resource.getStatistics();
     return resource.size();
   }
@@ -564,10 +638,10 @@ public class DestinationImpl implements BaseDestination {
     Subscribable subscription = subscriptionManager.remove(subscriptionId);
     if (subscription != null) {
       Queue<Long> eventQueue = subscription.getAllAtRest();
-      // We now need to filter this queue against other subscriptions. If they have interest we MUST NOT remove the event
-      // If no other subscriptions have any interest in the event, we must remove it
+      // The subscription being removed still holds these events, so any with an interest count greater than one
+      // are required by another subscription and MUST NOT be removed, the remainder are only held by this subscription
       if (!eventQueue.isEmpty()) {
-        eventQueue = subscriptionManager.scanForInterest(eventQueue);
+        eventQueue.removeIf(messageId -> interestIndex.count(messageId) > 1);
         if (!eventQueue.isEmpty()) {
           stats.storedMessages(eventQueue.size());
           submit(new BulkRemoveMessageTask(this, eventQueue), PUBLISH_PRIORITY);
@@ -590,6 +664,13 @@ public class DestinationImpl implements BaseDestination {
 
   //<editor-fold desc="Message delivery and completion APIs">
 
+  // Messages still referenced by a subscriber are the last to be evicted from the hot message cache
+  private void trackCacheReferences() {
+    if (resource instanceof CachedResource cachedResource) {
+      cachedResource.setReferenceCheck(interestIndex::hasInterest);
+    }
+  }
+
   /**
    * Retrieves a message from this destination that matches the unique message Id.
    *
@@ -617,16 +698,26 @@ public class DestinationImpl implements BaseDestination {
   }
 
   /**
-   * Called when the completion task for the message delivery is called, we than scan to see if any other subscriptions require the message, if not, then we simply schedule a
-   * removal of the message from the destination
+   * Called when the completion task for the message delivery is called. The subscription has already released its interest in
+   * the message, if that was the last interest then the message has been queued for removal via released
    *
    * @param messageId that the delivery is complete
    */
   public void complete(long messageId) {
+    stats.deliveredMessage();
+  }
+
+  /**
+   * Called by the interest index once no subscription holds the message, unless it is the current retained message it is queued
+   * for removal by the event reaper
+   *
+   * @param messageId that no longer has any interest
+   */
+  private void released(long messageId) {
     if (retainManager.current() != messageId) {
       completionQueue.add(messageId);
+      queueReaper();
     }
-    stats.deliveredMessage();
   }
   //</editor-fold>
 
@@ -642,21 +733,64 @@ public class DestinationImpl implements BaseDestination {
    */
   @Override
   public int storeMessage(@NonNull @NotNull Message message) throws IOException {
+    message = prepareMessage(message);
+    if (isDelayed(message)) {
+      long delay = message.getDelayed();
+      int count = handleTask(new DelayedStoreMessageTask(this, message, delayedMessageManager, delay));
+      scheduleDelayedEvents(delay);
+      return count;
+    }
+    return waitForCompletion(publishBatcher.add(message));
+  }
+
+  /**
+   * Queues a task to store the supplied message, as per storeMessage, however the calling thread does not wait for the store
+   * and subscription processing to complete. The returned future is completed, on the destination's task threads, with the
+   * number of subscribers that had interest in the message
+   *
+   * @param message to store
+   * @return a future that completes with the number of subscribers interested in this message, or exceptionally with an IOException
+   */
+  @Override
+  public CompletableFuture<Integer> storeMessageAsync(@NonNull @NotNull Message message) {
+    try {
+      message = prepareMessage(message);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    if (isDelayed(message)) {
+      long delay = message.getDelayed();
+      return handleTaskAsync(new DelayedStoreMessageTask(this, message, delayedMessageManager, delay))
+          .whenComplete((count, throwable) -> scheduleDelayedEvents(delay));
+    }
+    return publishBatcher.add(message).orTimeout(STORE_TIMEOUT, TimeUnit.SECONDS);
+  }
+
+  private Message prepareMessage(@NonNull @NotNull Message message) throws IOException {
     if(message.isBound()){
       throw new IOException("Message is bound to another destination, can not loop events");
     }
-    message = MessageOverrides.setOverrides(messageOverrides, message);
-    Callable<Response> task;
-    if (message.getDelayed() > 0 && delayedMessageManager != null) {
-      task = new DelayedStoreMessageTask(this, message, delayedMessageManager, message.getDelayed());
-    } else {
-      if (getResourceType().isTopic()) {
-        task = new NonDelayedStoreMessageTask(this, subscriptionManager, message);
-      } else {
-        task = new QueueBasedStoreMessageTask(this, subscriptionManager, message);
+    return MessageOverrides.setOverrides(messageOverrides, message);
+  }
+
+  private boolean isDelayed(@NonNull @NotNull Message message) {
+    return message.getDelayed() > 0 && delayedMessageManager != null;
+  }
+
+  private int waitForCompletion(CompletableFuture<Integer> future) throws IOException {
+    try {
+      return future.get(STORE_TIMEOUT, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Thread interrupted");
+    } catch (TimeoutException timeout) {
+      throw new IOException("Store did not complete within " + STORE_TIMEOUT + " seconds", timeout);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
       }
+      throw new IOException(e.getMessage(), e);
     }
-    return handleTask(task);
   }
   //</editor-fold>
 
@@ -691,13 +825,25 @@ public class DestinationImpl implements BaseDestination {
    * @throws IOException If the file system raises any File I/O exceptions during the operation
    */
   public void storeTransactionalMessage(long transactionId, @NonNull @NotNull Message message) throws IOException {
-    Callable<Response> task;
+    handleTask(createTransactionalStoreTask(transactionId, message));
+  }
+
+  /**
+   * Queues a new message to the resource, registered against the transaction Id, without waiting for the store to complete
+   *
+   * @param transactionId The unique transaction Id to register this message with
+   * @param message The message to store but not forward to subscribers yet
+   * @return a future that completes once the message has been stored, or exceptionally with an IOException
+   */
+  public CompletableFuture<Integer> storeTransactionalMessageAsync(long transactionId, @NonNull @NotNull Message message) {
+    return handleTaskAsync(createTransactionalStoreTask(transactionId, message));
+  }
+
+  private Callable<Response> createTransactionalStoreTask(long transactionId, @NonNull @NotNull Message message) {
     if (transactionMessageManager != null) {
-      task = new DelayedStoreMessageTask(this, message, transactionMessageManager, transactionId);
-    } else {
-      task = new NonDelayedStoreMessageTask(this, subscriptionManager, message);
+      return new DelayedStoreMessageTask(this, message, transactionMessageManager, transactionId);
     }
-    handleTask(task);
+    return new NonDelayedStoreMessageTask(this, subscriptionManager, message);
   }
   //</editor-fold>
 
@@ -720,24 +866,64 @@ public class DestinationImpl implements BaseDestination {
     return delayedMessageManager;
   }
 
+  /**
+   * Submits a processor for every delayed bucket that has expired and then re-arms the timing wheel for the next bucket. While
+   * expired buckets are still being released the wheel is re-armed to check again shortly, so nothing is left behind
+   */
   public void processDelayedEvents(){
-    if (delayedMessageManager != null && !delayedMessageManager.isEmpty()) {
-      List<Long> waiting = delayedMessageManager.getBucketIds();
-      for (Long expiry : waiting) {
-        if (expiry < System.currentTimeMillis()) {
-          submit(new DelayedMessageProcessor(this, this.subscriptionManager, delayedMessageManager, expiry));
-        } else {
-          break;
+    synchronized (delayLock) {
+      delayTimeout = null;
+      delayDeadline = 0;
+    }
+    if (closed || delayedMessageManager == null || delayedMessageManager.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long next = 0;
+    for (Long expiry : delayedMessageManager.getBucketIds()) {
+      if (expiry < now) {
+        submit(new DelayedMessageProcessor(this, this.subscriptionManager, delayedMessageManager, expiry));
+        next = now + DELAY_RECHECK;
+      } else {
+        if (next == 0 || expiry < next) {
+          next = expiry;
         }
+        break;
       }
     }
+    if (next != 0) {
+      scheduleDelayedEvents(next);
+    }
   }
 
-  public class DelayProcessor implements Runnable {
+  /**
+   * Ensures the delayed buckets are checked no later than the supplied deadline. Only a single timeout is held per destination,
+   * it is only replaced if the new deadline is earlier than the one already scheduled
+   *
+   * @param deadline the time, in milliseconds since the epoch, that a delayed bucket becomes deliverable
+   */
+  public void scheduleDelayedEvents(long deadline) {
+    if (closed || delayedMessageManager == null) {
+      return;
+    }
+    synchronized (delayLock) {
+      if (delayTimeout != null && !delayTimeout.isExpired() && delayDeadline <= deadline) {
+        return;
+      }
+      if (delayTimeout != null) {
+        delayTimeout.cancel();
+      }
+      delayDeadline = deadline;
+      delayTimeout = TimingWheel.getInstance().scheduleAt(this::processDelayedEvents, deadline);
+    }
+  }
 
-    @Override
-    public void run() {
-      processDelayedEvents();
+  private void cancelDelayedEvents() {
+    synchronized (delayLock) {
+      if (delayTimeout != null) {
+        delayTimeout.cancel();
+        delayTimeout = null;
+      }
     }
   }
   //</editor-fold>
@@ -778,20 +964,39 @@ public class DestinationImpl implements BaseDestination {
   }
 
   /**
-   * Internal helper function that manages the publishing of events into the resource
+   * Submits a task onto the subscription task queue, as per submit, but returns a CompletableFuture that is completed when the task
+   * has run so that callers can chain further processing rather than block
+   *
+   * @param task to add on the subscription task queue.
+   * @return the completable response of the task that has been queued
+   */
+  public CompletableFuture<Response> submitAsync(@NonNull @NotNull Callable<Response> task) {
+    CompletableTask completableTask = new CompletableTask(task);
+    Future<Response> future = subscriptionTaskQueue.submit(completableTask);
+    if (future.isCancelled()) {
+      completableTask.getCompletion().cancel(false);
+    }
+    return completableTask.getCompletion();
+  }
+
+  /**
+   * Internal helper function that manages the publishing of events into the resource. The calling thread waits for the
+   * store and for any nested subscription update the store hands back, both share a single deadline of
+   * DESTINATION_STORE_TIMEOUT seconds (default 60) after which an IOException is raised
    *
    * @param task to submit to the task queue
    * @return the number of times the message was delivered to subscribers
-   * @throws IOException if, at any point, an exception was raised because of file I/O exceptions
+   * @throws IOException if, at any point, an exception was raised because of file I/O exceptions or the store timed out
    */
   public int handleTask(@NonNull @NotNull Callable<Response> task) throws IOException {
-    Future<Response> future = submit(task, PUBLISH_PRIORITY);
+    Future<Response> future = publishBatcher.submit(task);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STORE_TIMEOUT);
     try {
-      Response response = future.get(60, TimeUnit.SECONDS);
+      Response response = future.get(STORE_TIMEOUT, TimeUnit.SECONDS);
       if (response instanceof LongResponse) {
         return (int) ((LongResponse) response).getResponse();
       } else if (response instanceof FutureResponse) {
-        response = ((FutureResponse) response).getResponse().get();
+        response = ((FutureResponse) response).getResponse().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
         if (response instanceof LongResponse) {
           return (int) ((LongResponse) response).getResponse();
         }
@@ -807,11 +1012,35 @@ public class DestinationImpl implements BaseDestination {
       Thread.currentThread().interrupt();
       throw new IOException("Thread interrupted");
     } catch (TimeoutException timeout) {
-      throw new IOException(timeout.getCause());
+      throw new IOException("Store did not complete within " + STORE_TIMEOUT + " seconds", timeout);
     } catch (ExecutionException e) {
       throw new IOException(e.getMessage(), e);
     }
   }
+
+  /**
+   * Internal helper function that manages the publishing of events into the resource without blocking the calling thread
+   *
+   * @param task to submit to the task queue
+   * @return a future that completes with the number of times the message was delivered to subscribers
+   */
+  public CompletableFuture<Integer> handleTaskAsync(@NonNull @NotNull Callable<Response> task) {
+    return publishBatcher.submit(task)
+        .orTimeout(STORE_TIMEOUT, TimeUnit.SECONDS)
+        .handle((response, throwable) -> {
+          if (throwable == null) {
+            return (response instanceof LongResponse longResponse) ? (int) longResponse.getResponse() : 0;
+          }
+          Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+          if (cause instanceof CancellationException && isClosed()) {
+            return 0;
+          }
+          if (cause instanceof IOException) {
+            throw new CompletionException(cause);
+          }
+          throw new CompletionException(new IOException(cause.getMessage(), cause));
+        });
+  }
   //</editor-fold>
 
   //<editor-fold desc="Resource operations">
@@ -844,19 +1073,48 @@ public class DestinationImpl implements BaseDestination {
     long nano = System.nanoTime();
     resource.add(message);
     if (message.isRetain()) {
-      if (message.getOpaqueData() == null || message.getOpaqueData().length == 0) {
-        retainManager.replace(-1);
-        stats.retainedMessages(-1);
-      } else {
-        retainManager.replace(message.getIdentifier());
-        stats.retainedMessages(1);
-      }
+      updateRetained(message);
     }
 
     nano = (System.nanoTime() - nano) / 1000;
     getStats().messageWriteTime(nano);
   }
 
+  /**
+   * Adds a batch of messages to the resource in a single operation, should not be used directly
+   *
+   * @param messages The messages to add to the resource, in publish order
+   * @return the identifiers of any previously retained messages that have been replaced by this batch and can now be removed
+   * @throws IOException If any File I/O exceptions raised during the operation
+   */
+  public List<Long> addMessages(List<Message> messages) throws IOException {
+    long nano = System.nanoTime();
+    resource.addAll(messages);
+    List<Long> replaced = new ArrayList<>();
+    for (Message message : messages) {
+      if (message.isRetain()) {
+        long previous = retainManager.current();
+        if (previous != -1) {
+          replaced.add(previous);
+        }
+        updateRetained(message);
+      }
+    }
+    nano = (System.nanoTime() - nano) / 1000;
+    getStats().messageWriteTime(nano / messages.size());
+    return replaced;
+  }
+
+  private void updateRetained(Message message) {
+    if (message.getOpaqueData() == null || message.getOpaqueData().length == 0) {
+      retainManager.replace(-1);
+      stats.retainedMessages(-1);
+    } else {
+      retainManager.replace(message.getIdentifier());
+      stats.retainedMessages(1);
+    }
+  }
+
   public DestinationSubscription getSubscription(String subscriptionName) {
     Subscribable subscribable = subscriptionManager.getSubscription(subscriptionName);
     if (subscribable instanceof DestinationSubscription) {
@@ -867,31 +1125,23 @@ public class DestinationImpl implements BaseDestination {
 
   //</editor-fold>
 
+  /**
+   * Scheduled on the timing wheel once the first message is released, it removes any released messages that have not since been
+   * registered by a subscriber. The flag is cleared before the queue is drained so a completion that arrives while running schedules the next pass
+   */
   private final class EventReaper implements Runnable {
 
-    private int countDown = 0;
-    private int idleCount =0;
-
     @Override
     public void run() {
-      if(countDown <= 0) {
-        Queue<Long> completedQueue = completionQueue.getAndClear();
+      reaperScheduled.set(false);
+      Queue<Long> completedQueue = completionQueue.getAndClear();
+      if (!completedQueue.isEmpty()) {
+        completedQueue.removeIf(interestIndex::hasInterest);
         if (!completedQueue.isEmpty()) {
-          idleCount = 0;
-          countDown =0;
-          Queue<Long> interested = subscriptionManager.getAll();
-          completedQueue.removeAll(interested);
-          if (!completedQueue.isEmpty()) {
-            BulkRemoveMessageTask bulkRemoveMessageTask = new BulkRemoveMessageTask(DestinationImpl.this, completedQueue);
-            subscriptionTaskQueue.submit(bulkRemoveMessageTask);
-          }
-        }
-        else{
-          idleCount = (idleCount+1) % 20;
-          countDown = 5 * idleCount;
+          BulkRemoveMessageTask bulkRemoveMessageTask = new BulkRemoveMessageTask(DestinationImpl.this, completedQueue);
+          subscriptionTaskQueue.submit(bulkRemoveMessageTask);
         }
       }
-      countDown--;
     }
   }
 
@@ -0,0 +1,68 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination;
+
+import io.mapsmessaging.engine.destination.subscription.set.TopicTrie;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read mostly view of every destination held by the pipelines. Lookups are served directly from here without a hop through
+ * the owning pipeline, while the pipelines remain the only writers so creation and deletion stay serialised per name.
+ */
+class DestinationIndex {
+
+  private final Map<String, DestinationImpl> destinations;
+  private final TopicTrie<DestinationImpl> topicTrie;
+
+  DestinationIndex() {
+    destinations = new ConcurrentHashMap<>();
+    topicTrie = new TopicTrie<>();
+  }
+
+  void put(@NonNull @NotNull DestinationImpl destinationImpl) {
+    String name = destinationImpl.getFullyQualifiedNamespace();
+    DestinationImpl previous = destinations.put(name, destinationImpl);
+    if (previous != destinationImpl) {
+      if (previous != null) {
+        topicTrie.remove(name, previous);
+      }
+      topicTrie.put(name, destinationImpl);
+    }
+  }
+
+  void remove(@NonNull @NotNull DestinationImpl destinationImpl) {
+    String name = destinationImpl.getFullyQualifiedNamespace();
+    destinations.remove(name, destinationImpl);
+    topicTrie.remove(name, destinationImpl);
+  }
+
+  DestinationImpl get(String name) {
+    return destinations.get(name);
+  }
+
+  Set<DestinationImpl> findMatching(String wildcard) {
+    return topicTrie.findMatching(wildcard);
+  }
+}
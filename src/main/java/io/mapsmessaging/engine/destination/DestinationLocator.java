@@ -18,6 +18,7 @@
  */
 package io.mapsmessaging.engine.destination;
 
+import io.mapsmessaging.dto.rest.config.destination.CommitLogStorageConfigDTO;
 import io.mapsmessaging.dto.rest.config.destination.DestinationConfigDTO;
 import io.mapsmessaging.engine.resources.ResourceFactory;
 import lombok.Getter;
@@ -101,7 +102,9 @@ public class DestinationLocator {
     File data = new File(name + File.separator + "message.data");
     File resource = new File(name + File.separator + ResourceFactory.RESOURCE_FILE_NAME);
 
-    boolean isDestinationDirectory = (data.exists() && resource.exists());
+    // Destinations stored in the shared commit log have no data file of their own
+    boolean hasData = data.exists() || pathManager.getStorageConfig() instanceof CommitLogStorageConfigDTO;
+    boolean isDestinationDirectory = (hasData && resource.exists());
     if (!isDestinationDirectory) {
       rejected.add(directory);
     }
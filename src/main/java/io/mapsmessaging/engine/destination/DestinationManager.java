@@ -37,6 +37,7 @@ import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.utilities.Agent;
+import io.mapsmessaging.utilities.SystemProperties;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
@@ -45,7 +46,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class DestinationManager implements DestinationFactory, Agent {
@@ -59,6 +60,7 @@ public class DestinationManager implements DestinationFactory, Agent {
   private final Logger logger;
   private final DestinationConfigDTO rootPath;
   private final DestinationManagerPipeline[] creatorPipelines;
+  private final DestinationIndex destinationIndex;
 
   private final boolean topicsSupported;
   private final boolean queuesSupported;
@@ -68,6 +70,11 @@ public class DestinationManager implements DestinationFactory, Agent {
   private final int maxQueues;
   private final int maxTopics;
 
+  private final AtomicInteger recoveryTotal = new AtomicInteger();
+  private final AtomicInteger recovered = new AtomicInteger();
+  private final AtomicInteger recoveryFailed = new AtomicInteger();
+  private volatile long recoveryTime;
+
   public DestinationManager(FeatureManager featureManager) {
     logger = LoggerFactory.getLogger(DestinationManager.class);
     topicsSupported = featureManager.isEnabled("engine.topicSupport");
@@ -88,8 +95,9 @@ public class DestinationManager implements DestinationFactory, Agent {
     }
     destinationManagerListeners = new DestinationUpdateManager();
     rootPath = rootPathLookup;
+    destinationIndex = new DestinationIndex();
     creatorPipelines = new DestinationManagerPipeline[Runtime.getRuntime().availableProcessors() * 2];
-    Arrays.setAll(creatorPipelines, x -> new DestinationManagerPipeline(rootPath, properties, destinationManagerListeners));
+    Arrays.setAll(creatorPipelines, x -> new DestinationManagerPipeline(rootPath, properties, destinationManagerListeners, destinationIndex));
   }
 
   int getIndex(String name) {
@@ -97,6 +105,11 @@ public class DestinationManager implements DestinationFactory, Agent {
     return Math.abs(hash);
   }
 
+  // Registers a destination rebuilt from an existing store, as the start up scan does
+  void addRecovered(DestinationImpl destination) {
+    creatorPipelines[getIndex(destination.getFullyQualifiedNamespace())].put(destination);
+  }
+
   public void addSystemTopic(SystemTopic systemTopic) {
     logger.log(ServerLogMessages.DESTINATION_MANAGER_ADD_SYSTEM_TOPIC, systemTopic.getFullyQualifiedNamespace());
     creatorPipelines[getIndex(systemTopic.getFullyQualifiedNamespace())].put(systemTopic);
@@ -104,6 +117,11 @@ public class DestinationManager implements DestinationFactory, Agent {
 
   @Override
   public CompletableFuture<DestinationImpl> find(String name) {
+    DestinationImpl destination = destinationIndex.get(name);
+    if (destination != null) {
+      return CompletableFuture.completedFuture(destination);
+    }
+    // Not known yet, so queue behind any create or delete that is in flight for this name
     return creatorPipelines[getIndex(name)].find(name);
   }
 
@@ -117,9 +135,7 @@ public class DestinationManager implements DestinationFactory, Agent {
   public CompletableFuture<DestinationImpl> findOrCreate(String name, DestinationType destinationType, DestinationAuthorisationCheck authCheck) {
     DestinationImpl destination = find(name).get();
     if (destination != null) {
-      CompletableFuture<DestinationImpl> future = new CompletableFuture<>();
-      future.complete(destination);
-      return future;
+      return CompletableFuture.completedFuture(destination);
     } else {
       return create(name, destinationType, authCheck);
     }
@@ -171,6 +187,15 @@ public class DestinationManager implements DestinationFactory, Agent {
     return response;
   }
 
+  @Override
+  public Map<String, DestinationImpl> getMatching(String wildcard) {
+    Map<String, DestinationImpl> response = new LinkedHashMap<>();
+    for (DestinationImpl destinationImpl : destinationIndex.findMatching(wildcard)) {
+      response.put(destinationImpl.getFullyQualifiedNamespace(), destinationImpl);
+    }
+    return response;
+  }
+
   @SneakyThrows
   public int size() {
     int size = 0;
@@ -192,19 +217,43 @@ public class DestinationManager implements DestinationFactory, Agent {
 
   public void initialise() {
     logger.log(ServerLogMessages.DESTINATION_MANAGER_STARTING);
+    // Locate everything first so all the namespaces share the one pool of loaders
+    List<RecoveryEntry> entries = new ArrayList<>();
     for (Map.Entry<String, DestinationConfigDTO> entry : properties.entrySet()) {
       DestinationConfigDTO mapManager = entry.getValue();
       DestinationLocator destinationLocator = new DestinationLocator(mapManager, mapManager.getTrailingPath());
       destinationLocator.parse();
-      processFileList(destinationLocator.getValid(), mapManager);
+      for (File directory : destinationLocator.getValid()) {
+        entries.add(new RecoveryEntry(directory, mapManager));
+      }
     }
+    new ResourceLoaderManagement(entries).start();
+  }
+
+  public int getRecoveryTotal() {
+    return recoveryTotal.get();
+  }
+
+  public int getRecovered() {
+    return recovered.get();
+  }
+
+  public int getRecoveryFailed() {
+    return recoveryFailed.get();
+  }
+
+  /**
+   * @return time taken, in milliseconds, to reload the destinations found on start up
+   */
+  public long getRecoveryTime() {
+    return recoveryTime;
   }
 
   @Override
   public SubSystemStatusDTO getStatus() {
     SubSystemStatusDTO status = new SubSystemStatusDTO();
     status.setName(getName());
-    status.setComment("Running Pipelines:"+creatorPipelines.length);
+    status.setComment("Running Pipelines:" + creatorPipelines.length + ", Reloaded:" + recovered.get() + "/" + recoveryTotal.get() + ", Failed:" + recoveryFailed.get());
     status.setStatus(Status.OK);
     return status;
   }
@@ -254,18 +303,21 @@ public class DestinationManager implements DestinationFactory, Agent {
     return destinationManagerListeners.remove(listener);
   }
 
-  public List<DestinationManagerListener> getListeners() {
-    return destinationManagerListeners.get();
+  @Override
+  public void addInterest(String filter, DestinationManagerListener listener) {
+    destinationManagerListeners.addInterest(filter, listener);
   }
 
-  private void processFileList(List<File> directories, DestinationConfigDTO pathManager) {
-    if (directories != null) {
-      ResourceLoaderManagement resourceLoaderManagement = new ResourceLoaderManagement(directories, pathManager);
-      resourceLoaderManagement.start();
-    }
+  @Override
+  public boolean removeInterest(String filter, DestinationManagerListener listener) {
+    return destinationManagerListeners.removeInterest(filter, listener);
   }
 
-  private void parseDirectoryPath(File directory, DestinationConfigDTO pathManager) {
+  public List<DestinationManagerListener> getListeners() {
+    return destinationManagerListeners.get();
+  }
+
+  private boolean parseDirectoryPath(File directory, DestinationConfigDTO pathManager) {
     if (directory.isDirectory()) {
       try {
         DestinationImpl destinationImpl = scanDirectory(directory, pathManager);
@@ -277,10 +329,12 @@ public class DestinationManager implements DestinationFactory, Agent {
           creatorPipelines[getIndex(destinationImpl.getFullyQualifiedNamespace())].put(destinationImpl);
           logger.log(ServerLogMessages.DESTINATION_MANAGER_STARTED_TOPIC, destinationImpl.getFullyQualifiedNamespace());
         }
-      } catch (IOException error) {
+        return true;
+      } catch (IOException | RuntimeException error) {
         logger.log(ServerLogMessages.DESTINATION_MANAGER_EXCEPTION_ON_START, error);
       }
     }
+    return false;
   }
 
   private DestinationImpl scanDirectory(File directory, DestinationConfigDTO pathManager) throws IOException {
@@ -356,82 +410,64 @@ public class DestinationManager implements DestinationFactory, Agent {
     return count;
   }
 
+  private record RecoveryEntry(File directory, DestinationConfigDTO pathManager) {
+  }
+
+  /**
+   * Reloads the destinations found on disk across a bounded pool of loader threads. Since the resources themselves are
+   * opened lazily each task only has to read the resource.yaml and rebuild the destination structures.
+   */
   public class ResourceLoaderManagement {
 
-    private final Queue<File> fileList;
-    private final DestinationConfigDTO pathManager;
+    private final Queue<RecoveryEntry> entries;
     private final int initialSize;
 
-    public ResourceLoaderManagement(List<File> list, DestinationConfigDTO pathManager) {
-      this.fileList = new ConcurrentLinkedQueue<>(list);
-      this.pathManager = pathManager;
+    private ResourceLoaderManagement(List<RecoveryEntry> list) {
+      this.entries = new ConcurrentLinkedQueue<>(list);
       initialSize = list.size();
     }
 
     public void start() {
-      if (fileList.isEmpty()) {
+      long startTime = System.currentTimeMillis();
+      recoveryTotal.set(initialSize);
+      if (entries.isEmpty()) {
         return;
       }
       // We need to ensure the underlying storage component has loaded and warmed up
-      File file = fileList.poll();
-      if (file != null) {
-        parseDirectoryPath(file, pathManager);
-      }
-
-      long report = System.currentTimeMillis() + 1000;
-      ResourceLoader[] loaders = new ResourceLoader[Runtime.getRuntime().availableProcessors() * 2];
-      for (int x = 0; x < loaders.length; x++) {
-        loaders[x] = new ResourceLoader(fileList, pathManager);
-        loaders[x].start();
+      recover(entries.poll());
+
+      int threads = (int) SystemProperties.getInstance().getLongProperty("DESTINATION_RECOVERY_THREADS", Runtime.getRuntime().availableProcessors() * 2L);
+      ExecutorService loaders = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+        Thread thread = new Thread(runnable, "Resource Loader Thread");
+        thread.setDaemon(true);
+        return thread;
+      });
+      RecoveryEntry entry = entries.poll();
+      while (entry != null) {
+        RecoveryEntry task = entry;
+        loaders.execute(() -> recover(task));
+        entry = entries.poll();
       }
-      while (!process(loaders)) {
-        if (report <= System.currentTimeMillis()) {
-          report = System.currentTimeMillis() + 1000;
-          logger.log(ServerLogMessages.DESTINATION_MANAGER_RELOADED, (initialSize - fileList.size()), initialSize);
-        }
-      }
-    }
-    private boolean process(ResourceLoader[] loaders) {
-      boolean complete = true;
-      for (ResourceLoader loader : loaders) {
-        if (!loader.complete.get()) {
-          complete = false;
-          try {
-            loader.join(10);
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            if (Thread.currentThread().isInterrupted()) {
-              logger.log(ServerLogMessages.DESTINATION_MANAGER_RELOAD_INTERRUPTED);
-              return complete;
-            }
-          }
+      loaders.shutdown();
+      try {
+        while (!loaders.awaitTermination(1, TimeUnit.SECONDS)) {
+          logger.log(ServerLogMessages.DESTINATION_MANAGER_RELOADED, recovered.get() + recoveryFailed.get(), initialSize);
         }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        loaders.shutdownNow();
+        logger.log(ServerLogMessages.DESTINATION_MANAGER_RELOAD_INTERRUPTED);
       }
-      return complete;
-    }
-  }
-
-  public class ResourceLoader extends Thread {
-
-    private final Queue<File> fileList;
-    private final DestinationConfigDTO pathManager;
-    private final AtomicBoolean complete;
-
-    public ResourceLoader(Queue<File> fileList, DestinationConfigDTO pathManager) {
-      this.fileList = fileList;
-      this.pathManager = pathManager;
-      complete = new AtomicBoolean(false);
-      setName("Resource Loader Thread");
+      recoveryTime = System.currentTimeMillis() - startTime;
+      logger.log(ServerLogMessages.DESTINATION_MANAGER_RELOAD_COMPLETE, recovered.get(), recoveryFailed.get(), recoveryTime);
     }
 
-    @Override
-    public void run() {
-      File file = fileList.poll();
-      while (file != null) {
-        parseDirectoryPath(file, pathManager);
-        file = fileList.poll();
+    private void recover(RecoveryEntry entry) {
+      if (parseDirectoryPath(entry.directory(), entry.pathManager())) {
+        recovered.incrementAndGet();
+      } else {
+        recoveryFailed.incrementAndGet();
       }
-      complete.set(true);
     }
   }
 }
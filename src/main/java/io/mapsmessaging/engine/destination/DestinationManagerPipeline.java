@@ -56,19 +56,23 @@ public class DestinationManagerPipeline {
   private final DestinationConfigDTO rootPath;
   private final Map<String, DestinationConfigDTO> properties;
   private final DestinationUpdateManager destinationManagerListeners;
+  private final DestinationIndex destinationIndex;
   private final ExecutorService taskScheduler;
 
 
-  DestinationManagerPipeline(DestinationConfigDTO rootPath, Map<String, DestinationConfigDTO> properties, DestinationUpdateManager destinationManagerListeners) {
+  DestinationManagerPipeline(DestinationConfigDTO rootPath, Map<String, DestinationConfigDTO> properties, DestinationUpdateManager destinationManagerListeners,
+                             DestinationIndex destinationIndex) {
     this.rootPath = rootPath;
     this.properties = properties;
     this.destinationManagerListeners = destinationManagerListeners;
+    this.destinationIndex = destinationIndex;
     taskScheduler = new SingleConcurrentTaskScheduler("DestinationManagerPipeline");
     destinationList = new LinkedHashMap<>();
   }
 
   public synchronized void put(DestinationImpl destinationImpl) {
     destinationList.put(destinationImpl.getFullyQualifiedNamespace(), destinationImpl);
+    destinationIndex.put(destinationImpl);
   }
 
   public CompletableFuture<DestinationImpl> create(@NonNull @NotNull String name, @NonNull @NotNull DestinationType destinationType) {
@@ -206,8 +210,9 @@ public class DestinationManagerPipeline {
     }
 
     //
-    // let the listeners know there is a new destination
+    // Now it is ready for use, make it visible to lookups and let the listeners know there is a new destination
     //
+    destinationIndex.put(destinationImpl);
     destinationManagerListeners.created(destinationImpl);
     logger.log(ServerLogMessages.DESTINATION_MANAGER_CREATED_TOPIC, name);
     return destinationImpl;
@@ -215,6 +220,9 @@ public class DestinationManagerPipeline {
 
   private DestinationImpl deleteInternal(@NonNull @NotNull DestinationImpl destination) {
     DestinationImpl delete = destinationList.remove(destination.getFullyQualifiedNamespace());
+    if (delete != null) {
+      destinationIndex.remove(delete);
+    }
     StoreMessageTask deleteDestinationTask = new ShutdownPhase1Task(delete, destinationManagerListeners, logger);
     Future<Response> response = destination.submit(deleteDestinationTask, TASK_QUEUE_PRIORITY_SIZE - 1);
     long timeout = System.currentTimeMillis() + 10000;
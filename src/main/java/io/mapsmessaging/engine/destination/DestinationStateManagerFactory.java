@@ -46,9 +46,9 @@ public class DestinationStateManagerFactory {
       factory =  new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE);
     }
     if(maxAtRest > 0){
-      return new LimitedMessageStateManager(name, uniqueSessionId, factory, maxAtRest, destinationImpl.getCompletionQueue());
+      return new LimitedMessageStateManager(name, uniqueSessionId, factory, maxAtRest, destinationImpl.getCompletionQueue(), destinationImpl.getInterestIndex());
     }
-    return new MessageStateManagerImpl(name, uniqueSessionId, factory);
+    return new MessageStateManagerImpl(name, uniqueSessionId, factory, destinationImpl.getInterestIndex());
   }
 
   public static DelayedMessageManager createDelayed(DestinationImpl destinationImpl, boolean persistent, String name) throws IOException {
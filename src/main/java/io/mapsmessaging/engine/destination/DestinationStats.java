@@ -92,17 +92,33 @@ public class DestinationStats extends Statistics {
     DestinationImpl.getGlobalStats().messagePublished();
   }
 
+  public void messagesPublished(int count) {
+    publishedMessageAverages.add(count);
+    DestinationImpl.getGlobalStats().messagesPublished(count);
+  }
+
   public void messageSubscribed(int counter) {
     storedMessageAverages.increment();
     subscribedMessageAverages.add(counter);
     DestinationImpl.getGlobalStats().messageSubscribed(counter);
   }
 
+  public void messagesSubscribed(int messages, int counter) {
+    storedMessageAverages.add(messages);
+    subscribedMessageAverages.add(counter);
+    DestinationImpl.getGlobalStats().messageSubscribed(counter);
+  }
+
   public void noInterest() {
     noInterestMessageAverages.increment();
     DestinationImpl.getGlobalStats().noInterest();
   }
 
+  public void noInterest(int count) {
+    noInterestMessageAverages.add(count);
+    DestinationImpl.getGlobalStats().noInterest(count);
+  }
+
   public void expiredMessage() {
     expiredMessagesAverages.increment();
     DestinationImpl.getGlobalStats().expiredMessage();
@@ -19,16 +19,26 @@
 
 package io.mapsmessaging.engine.destination;
 
+import io.mapsmessaging.engine.destination.subscription.set.TopicTrie;
+
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DestinationUpdateManager {
 
   private final List<DestinationManagerListener> destinationManagerListeners;
 
+  //
+  // Listeners that only need to hear about destinations that match their filters
+  //
+  private final TopicTrie<DestinationManagerListener> interestIndex;
+
   public DestinationUpdateManager() {
     destinationManagerListeners = new CopyOnWriteArrayList<>();
+    interestIndex = new TopicTrie<>();
   }
 
   public List<DestinationManagerListener> get() {
@@ -36,13 +46,13 @@ public class DestinationUpdateManager {
   }
 
   public void created(DestinationImpl destination) {
-    for (DestinationManagerListener listener : destinationManagerListeners) {
+    for (DestinationManagerListener listener : locate(destination)) {
       listener.created(destination);
     }
   }
 
   public void deleted(DestinationImpl destination) {
-    for (DestinationManagerListener listener : destinationManagerListeners) {
+    for (DestinationManagerListener listener : locate(destination)) {
       listener.deleted(destination);
     }
   }
@@ -55,4 +65,18 @@ public class DestinationUpdateManager {
     return destinationManagerListeners.remove(listener);
   }
 
+  public void addInterest(String filter, DestinationManagerListener listener) {
+    interestIndex.put(filter, listener);
+  }
+
+  public boolean removeInterest(String filter, DestinationManagerListener listener) {
+    return interestIndex.remove(filter, listener);
+  }
+
+  private Set<DestinationManagerListener> locate(DestinationImpl destination) {
+    Set<DestinationManagerListener> listeners = new LinkedHashSet<>(destinationManagerListeners);
+    listeners.addAll(interestIndex.findInterested(destination.getFullyQualifiedNamespace()));
+    return listeners;
+  }
+
 }
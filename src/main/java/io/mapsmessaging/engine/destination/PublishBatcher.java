@@ -0,0 +1,174 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.destination.subscription.DestinationSubscriptionManager;
+import io.mapsmessaging.engine.destination.tasks.BatchStoreMessageTask;
+import io.mapsmessaging.engine.tasks.CompletableTask;
+import io.mapsmessaging.engine.tasks.Response;
+import io.mapsmessaging.utilities.SystemProperties;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces non-delayed publishes to a single destination into batches. Publishers simply queue the message, and only one
+ * BatchStoreMessageTask is outstanding on the resource queue at any time. When that task runs it drains whatever has accumulated,
+ * up to the configured batch size, so the batch size adapts to the publish rate: under light load each batch holds a single
+ * message, under heavy load the storage append, subscription registration and statistics updates are amortised over many messages.
+ * There is no linger, a batch is cut as soon as the task reaches the head of the queue, so a lone publish is stored as soon as the
+ * destination's queue is idle.
+ * <p>
+ * Other publish priority tasks, delayed, transactional and schema stores, are queued here as well so that they reach the store in
+ * the order they were published relative to the batched messages. A batch never extends past one of these tasks, it is run by the
+ * batch task once the messages ahead of it have been stored.
+ */
+public class PublishBatcher {
+
+  private static final int MAX_BATCH_SIZE = (int) Math.max(1, SystemProperties.getInstance().getLongProperty("PUBLISH_BATCH_SIZE", 128));
+
+  private final DestinationImpl destination;
+  private final DestinationSubscriptionManager subscriptionManager;
+  private final Queue<Pending> pending;
+  private final AtomicBoolean scheduled;
+  private volatile boolean closed;
+
+  public PublishBatcher(DestinationImpl destination, DestinationSubscriptionManager subscriptionManager) {
+    this.destination = destination;
+    this.subscriptionManager = subscriptionManager;
+    pending = new ConcurrentLinkedQueue<>();
+    scheduled = new AtomicBoolean(false);
+    closed = false;
+  }
+
+  /**
+   * Queues the message for the next batch
+   *
+   * @param message to store
+   * @return a future that completes with the number of subscribers interested in the message
+   */
+  public CompletableFuture<Integer> add(Message message) {
+    PendingPublish publish = new PendingPublish(message, new CompletableFuture<>());
+    enqueue(publish);
+    return publish.completion();
+  }
+
+  /**
+   * Queues a publish priority task behind any messages already waiting, so it runs in publish order
+   *
+   * @param task to run once the messages queued before it have been stored
+   * @return a future that completes with the task's response, or is cancelled if the destination closes first
+   */
+  public CompletableFuture<Response> submit(Callable<Response> task) {
+    PendingTask pendingTask = new PendingTask(new CompletableTask(task));
+    enqueue(pendingTask);
+    return pendingTask.task().getCompletion();
+  }
+
+  /**
+   * Removes up to the maximum batch size of pending publishes, called by the BatchStoreMessageTask. The batch stops at the
+   * first queued task so that it is not overtaken
+   *
+   * @return the publishes that make up this batch, in the order they were added
+   */
+  public List<PendingPublish> drain() {
+    List<PendingPublish> batch = new ArrayList<>();
+    // Only the single outstanding batch task consumes, so peek then poll is safe
+    while (batch.size() < MAX_BATCH_SIZE && pending.peek() instanceof PendingPublish publish) {
+      pending.poll();
+      batch.add(publish);
+    }
+    return batch;
+  }
+
+  /**
+   * Runs the queued task at the head of the queue, if there is one, called by the BatchStoreMessageTask after storing its batch
+   */
+  public void runPendingTask() {
+    if (pending.peek() instanceof PendingTask pendingTask) {
+      pending.poll();
+      try {
+        pendingTask.task().call();
+      } catch (Exception e) {
+        // The task's completion has already been failed with this exception
+      }
+    }
+  }
+
+  /**
+   * Called once the current batch has been drained, if more publishes have arrived a new task is scheduled to pick them up
+   */
+  public void drainComplete() {
+    scheduled.set(false);
+    schedule();
+  }
+
+  /**
+   * Fails any publishes that are still waiting, and cancels any waiting tasks, called when the destination is closed or deleted.
+   * Anything queued after this point is failed immediately rather than left to time out
+   */
+  public void close() {
+    closed = true;
+    Pending next;
+    while ((next = pending.poll()) != null) {
+      if (next instanceof PendingPublish publish) {
+        publish.completion().completeExceptionally(new IOException("Destination has been closed"));
+      } else if (next instanceof PendingTask pendingTask) {
+        pendingTask.task().getCompletion().cancel(false);
+      }
+    }
+  }
+
+  private void enqueue(Pending entry) {
+    pending.offer(entry);
+    if (closed || destination.isClosed()) {
+      close();
+    } else {
+      schedule();
+    }
+  }
+
+  private void schedule() {
+    if (!pending.isEmpty() && !closed && scheduled.compareAndSet(false, true)) {
+      Future<Response> future = destination.submit(new BatchStoreMessageTask(destination, subscriptionManager, this), DestinationImpl.PUBLISH_PRIORITY);
+      if (future.isCancelled()) {
+        // The task queue has been shut down, nothing queued here will ever run
+        close();
+      }
+    }
+  }
+
+  private sealed interface Pending permits PendingPublish, PendingTask {
+  }
+
+  public record PendingPublish(Message message, CompletableFuture<Integer> completion) implements Pending {
+  }
+
+  private record PendingTask(CompletableTask task) implements Pending {
+  }
+}
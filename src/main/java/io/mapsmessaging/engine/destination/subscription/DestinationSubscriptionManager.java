@@ -19,12 +19,16 @@
 
 package io.mapsmessaging.engine.destination.subscription;
 
+import io.mapsmessaging.api.message.Filter;
 import io.mapsmessaging.api.message.Message;
 import io.mapsmessaging.dto.rest.session.SubscriptionStateDTO;
 import io.mapsmessaging.engine.Constants;
+import io.mapsmessaging.engine.destination.DestinationImpl;
+import io.mapsmessaging.engine.destination.subscription.impl.SelectorDestinationSubscription;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.logging.ServerLogMessages;
+import io.mapsmessaging.selector.IdentifierResolver;
 import io.mapsmessaging.utilities.collections.NaturalOrderedLongQueue;
 import io.mapsmessaging.utilities.collections.bitset.BitSetFactoryImpl;
 
@@ -35,11 +39,16 @@ public class DestinationSubscriptionManager implements Subscribable {
 
   private final Logger logger;
   private final Map<String, Subscribable> subscriptions;
+  private final Map<String, Subscribable> unindexed;
+  private final SelectorIndex<Subscribable> selectorIndex;
   private final String name;
+  private DestinationImpl indexedDestination;
 
   public DestinationSubscriptionManager(String name) {
     logger = LoggerFactory.getLogger(DestinationSubscriptionManager.class);
     subscriptions = new LinkedHashMap<>();
+    unindexed = new LinkedHashMap<>();
+    selectorIndex = new SelectorIndex<>();
     this.name = name;
   }
 
@@ -70,14 +79,27 @@ public class DestinationSubscriptionManager implements Subscribable {
   public void put(String name, Subscribable subscription) {
     subscriptions.computeIfAbsent(name, k -> {
       logger.log(ServerLogMessages.DESTINATION_SUBSCRIPTION_PUT, subscription.getSessionId(), name, subscription.getName());
+      index(k, subscription);
       return subscription;
     });
   }
 
+  // Selector subscriptions with an indexable predicate are only offered the messages that could match them
+  private void index(String key, Subscribable subscription) {
+    if (subscription instanceof SelectorDestinationSubscription selectorSubscription &&
+        selectorIndex.add(key, subscription, selectorSubscription.getSelectorText())) {
+      indexedDestination = selectorSubscription.getDestinationImpl();
+    } else {
+      unindexed.put(key, subscription);
+    }
+  }
+
   public Subscribable remove(String name) {
 
     Subscribable subscribable = subscriptions.remove(name);
     if (subscribable != null) {
+      unindexed.remove(name);
+      selectorIndex.remove(name);
       logger.log(ServerLogMessages.SUBSCRIPTION_MGR_REMOVED, name, subscribable.getName());
     }
     return subscribable;
@@ -85,15 +107,20 @@ public class DestinationSubscriptionManager implements Subscribable {
 
   public void clear() {
     subscriptions.clear();
+    unindexed.clear();
+    selectorIndex.clear();
   }
 
   @Override
   public int register(Message message) {
     int count = 0;
-    for (Subscribable subscribable : subscriptions.values()) {
-      int updated = subscribable.register(message);
-      if (updated != 0) {
-        count += updated;
+    for (Subscribable subscribable : unindexed.values()) {
+      count += subscribable.register(message);
+    }
+    if (!selectorIndex.isEmpty()) {
+      IdentifierResolver resolver = Filter.getInstance().getResolver(message, indexedDestination);
+      for (Subscribable subscribable : selectorIndex.getCandidates(resolver)) {
+        count += subscribable.register(message);
       }
     }
     return count;
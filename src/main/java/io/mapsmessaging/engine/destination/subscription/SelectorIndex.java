@@ -0,0 +1,409 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription;
+
+import io.mapsmessaging.selector.IdentifierResolver;
+
+import java.util.*;
+
+/**
+ * Indexes selector subscriptions by a single predicate taken from the top level conjunction of the selector, so
+ * a message only needs to be evaluated against the subscriptions that could possibly match it. Equality predicates
+ * are held in hash buckets, range and BETWEEN predicates in sorted bound maps. The index only narrows the candidates,
+ * each candidate still evaluates its full selector, so anything the index does not understand is simply not indexed.
+ *
+ * @param <T> the subscription type held by the index
+ */
+public class SelectorIndex<T> {
+
+  private static final Set<String> KEYWORDS = Set.of("AND", "OR", "NOT", "BETWEEN", "LIKE", "IN", "IS", "NULL", "TRUE", "FALSE", "ESCAPE");
+
+  private final Map<String, IdentifierIndex<T>> identifiers;
+  private final Map<String, Entry<T>> entries;
+
+  public SelectorIndex() {
+    identifiers = new LinkedHashMap<>();
+    entries = new HashMap<>();
+  }
+
+  /**
+   * Adds the subscription to the index if the selector has an indexable predicate
+   *
+   * @param name the unique name of the subscription
+   * @param subscription the subscription to return as a candidate
+   * @param selector the selector text the subscription was compiled from
+   * @return true if indexed, false if the subscription needs to be evaluated for every message
+   */
+  public boolean add(String name, T subscription, String selector) {
+    Predicate predicate = extract(selector);
+    if (predicate == null) {
+      return false;
+    }
+    remove(name);
+    Entry<T> entry = new Entry<>(name, subscription, predicate);
+    entries.put(name, entry);
+    identifiers.computeIfAbsent(predicate.identifier(), k -> new IdentifierIndex<>()).add(entry);
+    return true;
+  }
+
+  public boolean remove(String name) {
+    Entry<T> entry = entries.remove(name);
+    if (entry == null) {
+      return false;
+    }
+    IdentifierIndex<T> index = identifiers.get(entry.predicate().identifier());
+    if (index != null && index.remove(entry)) {
+      identifiers.remove(entry.predicate().identifier());
+    }
+    return true;
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.clear();
+    identifiers.clear();
+  }
+
+  /**
+   * Looks up each indexed identifier once in the message and returns the subscriptions whose indexed predicate
+   * could be satisfied by the value.
+   *
+   * @param resolver resolves the identifiers against the message
+   * @return the candidate subscriptions, each of which must still evaluate its selector
+   */
+  public List<T> getCandidates(IdentifierResolver resolver) {
+    List<T> candidates = new ArrayList<>();
+    for (Map.Entry<String, IdentifierIndex<T>> entry : identifiers.entrySet()) {
+      Object value = resolver.get(entry.getKey());
+      if (value != null) {
+        entry.getValue().collect(value, candidates);
+      }
+    }
+    return candidates;
+  }
+
+  // <editor-fold desc="Index structures">
+  private static final class IdentifierIndex<T> {
+
+    private final Map<Object, Map<String, T>> equals = new HashMap<>();
+    private final NavigableMap<Double, Map<String, T>> lowerBounds = new TreeMap<>();
+    private final NavigableMap<Double, Map<String, T>> upperBounds = new TreeMap<>();
+    private int size;
+
+    void add(Entry<T> entry) {
+      Predicate predicate = entry.predicate();
+      Map<String, T> bucket = switch (predicate.type()) {
+        case EQUALS -> equals.computeIfAbsent(predicate.key(), k -> new LinkedHashMap<>());
+        case LOWER_BOUND -> lowerBounds.computeIfAbsent(predicate.bound(), k -> new LinkedHashMap<>());
+        case UPPER_BOUND -> upperBounds.computeIfAbsent(predicate.bound(), k -> new LinkedHashMap<>());
+      };
+      bucket.put(entry.name(), entry.subscription());
+      size++;
+    }
+
+    // Returns true when the identifier no longer has any subscriptions
+    boolean remove(Entry<T> entry) {
+      Predicate predicate = entry.predicate();
+      switch (predicate.type()) {
+        case EQUALS -> removeFrom(equals, predicate.key(), entry.name());
+        case LOWER_BOUND -> removeFrom(lowerBounds, predicate.bound(), entry.name());
+        case UPPER_BOUND -> removeFrom(upperBounds, predicate.bound(), entry.name());
+      }
+      size--;
+      return size <= 0;
+    }
+
+    void collect(Object value, List<T> candidates) {
+      Object key = normalise(value);
+      Map<String, T> bucket = equals.get(key);
+      if (bucket != null) {
+        candidates.addAll(bucket.values());
+      }
+      if (key instanceof Double number) {
+        for (Map<String, T> lower : lowerBounds.headMap(number, true).values()) {
+          candidates.addAll(lower.values());
+        }
+        for (Map<String, T> upper : upperBounds.tailMap(number, true).values()) {
+          candidates.addAll(upper.values());
+        }
+      }
+    }
+
+    private static <K, T> void removeFrom(Map<K, Map<String, T>> map, K key, String name) {
+      Map<String, T> bucket = map.get(key);
+      if (bucket != null) {
+        bucket.remove(name);
+        if (bucket.isEmpty()) {
+          map.remove(key);
+        }
+      }
+    }
+  }
+
+  enum Type {
+    EQUALS,
+    LOWER_BOUND,
+    UPPER_BOUND
+  }
+
+  record Predicate(String identifier, Type type, Object key, Double bound) {
+  }
+
+  private record Entry<T>(String name, T subscription, Predicate predicate) {
+  }
+
+  // Numbers and numeric strings share one key space so the selector's own type coercion can never be narrower
+  static Object normalise(Object value) {
+    if (value instanceof Number number) {
+      return normalise(number.doubleValue());
+    }
+    String text = value.toString();
+    Double number = parseNumber(text);
+    return number != null ? number : text;
+  }
+
+  private static Object normalise(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    return value == 0.0 ? 0.0 : value;
+  }
+  // </editor-fold>
+
+  // <editor-fold desc="Selector decomposition">
+
+  /**
+   * Splits the selector on its top level ANDs and returns the most selective simple predicate found, preferring
+   * equality over ranges. Selectors with a top level OR cannot be narrowed by a single predicate and return null.
+   */
+  static Predicate extract(String selector) {
+    if (selector == null || selector.isBlank()) {
+      return null;
+    }
+    List<Token> tokens = tokenize(selector);
+    if (tokens == null) {
+      return null;
+    }
+    List<List<Token>> conjuncts = new ArrayList<>();
+    List<Token> current = new ArrayList<>();
+    int depth = 0;
+    boolean between = false;
+    for (Token token : tokens) {
+      if (token.is("(")) {
+        depth++;
+      } else if (token.is(")")) {
+        depth--;
+      } else if (depth == 0 && token.isKeyword("OR")) {
+        return null;
+      } else if (depth == 0 && token.isKeyword("BETWEEN")) {
+        between = true;
+      } else if (depth == 0 && token.isKeyword("AND")) {
+        if (!between) {
+          conjuncts.add(current);
+          current = new ArrayList<>();
+          continue;
+        }
+        between = false;
+      }
+      current.add(token);
+    }
+    conjuncts.add(current);
+
+    Predicate best = null;
+    for (List<Token> conjunct : conjuncts) {
+      Predicate predicate = match(conjunct);
+      if (predicate != null && (best == null || (best.type() != Type.EQUALS && predicate.type() == Type.EQUALS))) {
+        best = predicate;
+      }
+    }
+    return best;
+  }
+
+  private static Predicate match(List<Token> tokens) {
+    if (tokens.size() < 3 || tokens.get(0).kind() != Kind.IDENTIFIER) {
+      return null;
+    }
+    String identifier = tokens.get(0).text();
+    Token operator = tokens.get(1);
+    if (operator.isKeyword("BETWEEN")) {
+      int[] index = {2};
+      Double low = readNumber(tokens, index);
+      if (low == null || index[0] >= tokens.size() || !tokens.get(index[0]).isKeyword("AND")) {
+        return null;
+      }
+      index[0]++;
+      Double high = readNumber(tokens, index);
+      if (high == null || index[0] != tokens.size()) {
+        return null;
+      }
+      return new Predicate(identifier, Type.LOWER_BOUND, null, low);
+    }
+    if (operator.is("=") && tokens.size() == 3 && tokens.get(2).kind() == Kind.STRING) {
+      return new Predicate(identifier, Type.EQUALS, normalise(tokens.get(2).text()), null);
+    }
+    int[] index = {2};
+    Double value = readNumber(tokens, index);
+    if (value == null || index[0] != tokens.size()) {
+      return null;
+    }
+    if (operator.is("=")) {
+      return new Predicate(identifier, Type.EQUALS, normalise(value.doubleValue()), null);
+    }
+    if (operator.is(">") || operator.is(">=")) {
+      return new Predicate(identifier, Type.LOWER_BOUND, null, value);
+    }
+    if (operator.is("<") || operator.is("<=")) {
+      return new Predicate(identifier, Type.UPPER_BOUND, null, value);
+    }
+    return null;
+  }
+
+  private static Double readNumber(List<Token> tokens, int[] index) {
+    boolean negate = false;
+    if (index[0] < tokens.size() && tokens.get(index[0]).is("-")) {
+      negate = true;
+      index[0]++;
+    }
+    if (index[0] >= tokens.size() || tokens.get(index[0]).kind() != Kind.NUMBER) {
+      return null;
+    }
+    Double value = parseNumber(tokens.get(index[0]).text());
+    index[0]++;
+    if (value == null || value.isNaN()) {
+      return null;
+    }
+    return negate ? -value : value;
+  }
+
+  private static Double parseNumber(String text) {
+    if (text.isEmpty()) {
+      return null;
+    }
+    char first = text.charAt(0);
+    if (!Character.isDigit(first) && first != '.' && first != '-' && first != '+') {
+      return null;
+    }
+    String number = text;
+    char last = number.charAt(number.length() - 1);
+    if ("lLfFdD".indexOf(last) >= 0) {
+      number = number.substring(0, number.length() - 1);
+    }
+    try {
+      return Double.parseDouble(number);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static List<Token> tokenize(String selector) {
+    List<Token> tokens = new ArrayList<>();
+    int pos = 0;
+    int len = selector.length();
+    while (pos < len) {
+      char ch = selector.charAt(pos);
+      if (Character.isWhitespace(ch)) {
+        pos++;
+      } else if (ch == '\'') {
+        StringBuilder sb = new StringBuilder();
+        pos++;
+        boolean closed = false;
+        while (pos < len) {
+          char next = selector.charAt(pos++);
+          if (next == '\'') {
+            if (pos < len && selector.charAt(pos) == '\'') {
+              sb.append('\'');
+              pos++;
+            } else {
+              closed = true;
+              break;
+            }
+          } else {
+            sb.append(next);
+          }
+        }
+        if (!closed) {
+          return null;
+        }
+        tokens.add(new Token(Kind.STRING, sb.toString()));
+      } else if (ch == '"' || ch == '`') {
+        return null; // Quoting we do not understand, leave the selector to the full evaluation
+      } else if (Character.isDigit(ch) || (ch == '.' && pos + 1 < len && Character.isDigit(selector.charAt(pos + 1)))) {
+        int start = pos;
+        while (pos < len) {
+          char next = selector.charAt(pos);
+          if (Character.isLetterOrDigit(next) || next == '.') {
+            pos++;
+          } else if ((next == '+' || next == '-') && (selector.charAt(pos - 1) == 'e' || selector.charAt(pos - 1) == 'E')) {
+            pos++;
+          } else {
+            break;
+          }
+        }
+        tokens.add(new Token(Kind.NUMBER, selector.substring(start, pos)));
+      } else if (Character.isLetter(ch) || ch == '_' || ch == '$') {
+        int start = pos;
+        while (pos < len) {
+          char next = selector.charAt(pos);
+          if (Character.isLetterOrDigit(next) || next == '_' || next == '$' || next == '.') {
+            pos++;
+          } else {
+            break;
+          }
+        }
+        String word = selector.substring(start, pos);
+        tokens.add(new Token(KEYWORDS.contains(word.toUpperCase(Locale.ROOT)) ? Kind.KEYWORD : Kind.IDENTIFIER, word));
+      } else if ((ch == '<' || ch == '>' || ch == '!') && pos + 1 < len && (selector.charAt(pos + 1) == '=' || (ch == '<' && selector.charAt(pos + 1) == '>'))) {
+        tokens.add(new Token(Kind.SYMBOL, selector.substring(pos, pos + 2)));
+        pos += 2;
+      } else {
+        tokens.add(new Token(Kind.SYMBOL, String.valueOf(ch)));
+        pos++;
+      }
+    }
+    return tokens;
+  }
+
+  private enum Kind {
+    IDENTIFIER,
+    KEYWORD,
+    STRING,
+    NUMBER,
+    SYMBOL
+  }
+
+  private record Token(Kind kind, String text) {
+
+    boolean is(String symbol) {
+      return kind == Kind.SYMBOL && text.equals(symbol);
+    }
+
+    boolean isKeyword(String keyword) {
+      return kind == Kind.KEYWORD && text.equalsIgnoreCase(keyword);
+    }
+  }
+  // </editor-fold>
+}
@@ -30,7 +30,6 @@ import io.mapsmessaging.dto.rest.session.SubscriptionContextDTO;
 import io.mapsmessaging.dto.rest.session.SubscriptionInformationDTO;
 import io.mapsmessaging.dto.rest.session.SubscriptionStateDTO;
 import io.mapsmessaging.engine.destination.DestinationFactory;
-import io.mapsmessaging.engine.destination.DestinationFilter;
 import io.mapsmessaging.engine.destination.DestinationImpl;
 import io.mapsmessaging.engine.destination.DestinationManagerListener;
 import io.mapsmessaging.engine.destination.subscription.impl.DestinationSubscription;
@@ -39,6 +38,7 @@ import io.mapsmessaging.engine.destination.subscription.set.DestinationSet;
 import io.mapsmessaging.engine.session.SessionContext;
 import io.mapsmessaging.engine.session.SessionImpl;
 import io.mapsmessaging.engine.session.persistence.SessionDetails;
+import io.mapsmessaging.engine.session.security.SecurityContext;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.logging.ServerLogMessages;
@@ -80,6 +80,11 @@ public class SubscriptionController implements DestinationManagerListener {
   //
   private final Map<String, DestinationSet> subscriptions;
 
+  //
+  // Filters registered with the destination manager so we are told about matching destinations
+  //
+  private final Set<String> registeredInterest;
+
   //
   // Flat list of subscriptions to destinations
   //
@@ -91,6 +96,7 @@ public class SubscriptionController implements DestinationManagerListener {
   private SessionImpl sessionImpl;
 
   private Identity identity;
+  private SecurityContext securityContext;
 
   private Future<?> schedule;
 
@@ -100,9 +106,10 @@ public class SubscriptionController implements DestinationManagerListener {
     this.contextMap = contextMap;
     uniqueSessionId = sessionContext.getUniqueId();
     subscriptions = new ConcurrentHashMap<>();
+    registeredInterest = ConcurrentHashMap.newKeySet();
     subscriptionModeManager = constructModeManagers();
-    identity = sessionContext.getSecurityContext().getIdentity();
-    destinationManager.addListener(this);
+    securityContext = sessionContext.getSecurityContext();
+    identity = securityContext.getIdentity();
     isPersistent = sessionContext.isPersistentSession();
     subscriptionControllerJMX = new SubscriptionControllerJMX(this);
   }
@@ -114,9 +121,9 @@ public class SubscriptionController implements DestinationManagerListener {
     this.destinationManager = destinationManager;
     this.contextMap = contextMap;
     subscriptions = new LinkedHashMap<>();
+    registeredInterest = ConcurrentHashMap.newKeySet();
     subscriptionModeManager = constructModeManagers();
 
-    destinationManager.addListener(this);
     isPersistent = true;
     int counter = 0;
     int total = contextMap.size();
@@ -142,7 +149,7 @@ public class SubscriptionController implements DestinationManagerListener {
 
   public void shutdown(){
     logger.log(ServerLogMessages.SUBSCRIPTION_MGR_CLOSE, sessionId);
-    destinationManager.removeListener(this);
+    releaseInterest(registeredInterest);
     for(SubscriptionModeManager managers: subscriptionModeManager.values()){
       managers.shutdown();
     }
@@ -154,7 +161,7 @@ public class SubscriptionController implements DestinationManagerListener {
 
   public void close() {
     logger.log(ServerLogMessages.SUBSCRIPTION_MGR_CLOSE, sessionId);
-    destinationManager.removeListener(this);
+    releaseInterest(registeredInterest);
     for(SubscriptionModeManager managers: subscriptionModeManager.values()){
       managers.close();
     }
@@ -194,6 +201,7 @@ public class SubscriptionController implements DestinationManagerListener {
         contextMap.remove(managers.getMode().getNamespace()+id);
       }
     }
+    releaseUnusedInterest();
     return found;
   }
 
@@ -217,6 +225,7 @@ public class SubscriptionController implements DestinationManagerListener {
     for(SubscriptionModeManager managers: subscriptionModeManager.values()){
       managers.deleted(destinationImpl, subscriptions);
     }
+    releaseUnusedInterest();
   }
 
   public void hibernateAll() {
@@ -234,7 +243,8 @@ public class SubscriptionController implements DestinationManagerListener {
     }
     if (this.sessionImpl == null) {
       this.sessionImpl = sessionImpl;
-      identity = sessionImpl.getSecurityContext().getIdentity();
+      securityContext = sessionImpl.getSecurityContext();
+      identity = securityContext.getIdentity();
     }
   }
 
@@ -347,8 +357,23 @@ public class SubscriptionController implements DestinationManagerListener {
         }
       }
 
-      DestinationFilter destinationFilter = name -> DestinationSet.matches(context, name);
-      DestinationSet destinationSet = new DestinationSet(context, destinationManager.get(destinationFilter));
+      //
+      // Register interest before taking the snapshot so destinations created from here on are passed to us
+      //
+      if (registeredInterest.add(filter)) {
+        destinationManager.addInterest(filter, this);
+      }
+      Map<String, DestinationImpl> matching;
+      if (context.containsWildcard()) {
+        matching = destinationManager.getMatching(filter);
+      } else {
+        matching = new LinkedHashMap<>();
+        DestinationImpl destination = destinationManager.find(filter).get();
+        if (destination != null) {
+          matching.put(destination.getFullyQualifiedNamespace(), destination);
+        }
+      }
+      DestinationSet destinationSet = new DestinationSet(context, matching);
       List<DestinationImpl> authorisedSet = new ArrayList<>();
 
       for(DestinationImpl destination:destinationSet) {
@@ -404,11 +429,36 @@ public class SubscriptionController implements DestinationManagerListener {
     return dto;
   }
 
+  private void releaseUnusedInterest() {
+    Set<String> active = new HashSet<>();
+    for (DestinationSet destinationSet : subscriptions.values()) {
+      active.add(destinationSet.getContext().getFilter());
+    }
+    List<String> unused = new ArrayList<>();
+    for (String filter : registeredInterest) {
+      if (!active.contains(filter)) {
+        unused.add(filter);
+      }
+    }
+    releaseInterest(unused);
+  }
+
+  private void releaseInterest(Collection<String> filters) {
+    for (String filter : new ArrayList<>(filters)) {
+      if (registeredInterest.remove(filter)) {
+        destinationManager.removeInterest(filter, this);
+      }
+    }
+  }
+
   private boolean canAccess(DestinationImpl destination, String type, Permission permission) {
     if(identity == null){
       return true; // no auth
     }
     ProtectedResource protectedResource = new ProtectedResource(type, destination.getFullyQualifiedNamespace(), null);
+    if(securityContext != null){
+      return AuthManager.getInstance().canAccess(securityContext, permission, protectedResource);
+    }
     return AuthManager.getInstance().canAccess(identity, permission, protectedResource);
   }
 
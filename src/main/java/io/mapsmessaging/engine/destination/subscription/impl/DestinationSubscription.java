@@ -33,6 +33,7 @@ import io.mapsmessaging.engine.session.ClientConnection;
 import io.mapsmessaging.engine.session.MessageCallback;
 import io.mapsmessaging.engine.session.SessionImpl;
 import io.mapsmessaging.engine.tasks.Response;
+import io.mapsmessaging.logging.ConnectionLogContext;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.logging.ServerLogMessages;
@@ -62,6 +63,7 @@ public class DestinationSubscription extends Subscription {
   protected final Logger logger;
   private final SubscriptionJMX mbean;
   private final String sessionId;
+  private final ConnectionLogContext logContext;
 
   @Getter
   protected final DestinationImpl destinationImpl;
@@ -102,6 +104,7 @@ public class DestinationSubscription extends Subscription {
     this.messageStateManager = messageStateManager;
     this.acknowledgementController = acknowledgementController;
     this.sessionId = sessionId;
+    logContext = new ConnectionLogContext("session", "protocol", "endpoint", "version");
     activeSubscription = this;
     messagesSent = 0;
     messagesRegistered = 0;
@@ -287,7 +290,6 @@ public class DestinationSubscription extends Subscription {
     if (session == null) {
       return;
     }
-    ThreadContext.put("session", sessionId);
     String name = "";
     String endpoint = "";
     String version = "";
@@ -298,10 +300,9 @@ public class DestinationSubscription extends Subscription {
       endpoint = clientConnection.getUniqueName();
       version = clientConnection.getVersion();
     }
-    ThreadContext.put("protocol", name);
-    ThreadContext.put("endpoint", endpoint);
-    ThreadContext.put("version", version);
-    callback.sendMessage(destinationImpl, eventStateManager, prepareMessage(message), completionTask);
+    logContext.install(sessionId, name, endpoint, version);
+    prepareMessage(message);
+    callback.sendMessage(destinationImpl, eventStateManager, message, !hasAtRestMessages(), completionTask);
     logger.log(ServerLogMessages.DESTINATION_SUBSCRIPTION_SEND, destinationImpl.getFullyQualifiedNamespace(), sessionId, message.getIdentifier());
     ThreadContext.clear();
   }
@@ -337,17 +338,14 @@ public class DestinationSubscription extends Subscription {
     return null;
   }
 
-  private Message prepareMessage(Message message) {
+  private void prepareMessage(Message message) {
     //
-    // Update state in an atomic fashion and then send the message
+    // Update state in an atomic fashion and then send the message, the message may be shared with other
+    // subscribers so anything specific to this delivery travels with the event rather than the message
     //
-    if (!hasAtRestMessages()) {
-      message.setLastMessage(true);
-    }
     acknowledgementController.sent(message);
     eventStateManager.setSubscription(activeSubscription);
     message.setBound(true);
-    return message;
   }
 
   @Override
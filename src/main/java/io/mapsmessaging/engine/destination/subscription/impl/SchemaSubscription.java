@@ -201,7 +201,7 @@ public class SchemaSubscription extends Subscription {
     //
     // Update state in an atomic fashion and then send the message
     //
-    callback.sendMessage(destinationImpl, eventManager, message, () -> {
+    callback.sendMessage(destinationImpl, eventManager, message, false, () -> {
       // Nothing to do
     });
     ThreadContext.clear();
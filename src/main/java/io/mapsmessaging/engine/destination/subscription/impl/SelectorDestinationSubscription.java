@@ -27,10 +27,13 @@ import io.mapsmessaging.engine.destination.subscription.state.MessageStateManage
 import io.mapsmessaging.engine.destination.subscription.transaction.AcknowledgementController;
 import io.mapsmessaging.engine.session.SessionImpl;
 import io.mapsmessaging.selector.operators.ParserExecutor;
+import lombok.Getter;
 
 public class SelectorDestinationSubscription extends DestinationSubscription {
 
   private final ParserExecutor selector;
+  @Getter
+  private final String selectorText;
 
   public SelectorDestinationSubscription(
       DestinationImpl destinationImpl,
@@ -42,6 +45,7 @@ public class SelectorDestinationSubscription extends DestinationSubscription {
       ParserExecutor selector) {
     super(destinationImpl, context, sessionImpl, sessionid, acknowledgementController, messageStateManager);
     this.selector = selector;
+    this.selectorText = context.getSelector();
   }
 
   @Override
@@ -211,11 +211,8 @@ public class SessionSharedSubscription extends Subscription {
     ThreadContext.put("endpoint", endpoint);
     ThreadContext.put("version", version);
     acknowledgementController.sent(message);
-    if (!sharedSubscription.hasAtRestMessages()) {
-      message.setLastMessage(true);
-    }
     message.setBound(true);
-    sessionImpl.getMessageCallback().sendMessage(sharedSubscription.getDestinationImpl(), this, message, completionTask);
+    sessionImpl.getMessageCallback().sendMessage(sharedSubscription.getDestinationImpl(), this, message, !sharedSubscription.hasAtRestMessages(), completionTask);
     ThreadContext.clearMap();
   }
 
@@ -40,9 +40,8 @@ public class DestinationSet implements Set<DestinationImpl> {
     matching = new LinkedHashMap<>(destinationMap);
   }
 
-  // The wildcard loop has 3 break statements, but it is clearer to leave it here
-  // than to try and break up the code to reduce the breaks
-  @java.lang.SuppressWarnings("squid:S135")
+  // Walks both names level by level in place, rather than splitting them, since this is called for every
+  // wildcard subscription against every candidate destination
   public static boolean matches(String wildcard, String destinationName) {
     if (wildcard == null || destinationName == null) {
       return false;
@@ -50,36 +49,54 @@ public class DestinationSet implements Set<DestinationImpl> {
     if (!wildcard.startsWith("$") && destinationName.startsWith("$")) {
       return false; // Can not match $ topics with a wildcard
     }
-    String[] nameList = destinationName.split("/");
-    String[] subList = wildcard.split("/");
-    boolean found = true;
-    String lastLevel = "";
-
-    for (int x = 0; x < subList.length; x++) {
-      String level = subList[x];
-      if (nameList.length == x) {
-        // We are at the end of the topic name list, so simply skip any further tests
-        break;
+    int wildcardEnd = trimSeparators(wildcard);
+    int nameEnd = trimSeparators(destinationName);
+    int wildcardPos = 0;
+    int namePos = 0;
+    while (true) {
+      int wildcardLevelEnd = levelEnd(wildcard, wildcardPos, wildcardEnd);
+      if (containsMultiLevel(wildcard, wildcardPos, wildcardLevelEnd)) {
+        return true; // This level contains a global inclusive wildcard so everything below matches
       }
-
-      String check = nameList[x];
-      lastLevel = level;
-      if (!level.equals("+")) {
-        if (level.contains("#")) {
-          // This level contains a global inclusive wildcard so jump to the next level
-          break;
-        } else if (!level.equals(check)) {
-          found = false;
-          // The wildcard list doesn't match so break fast and exit
-          break;
-        }
+      if (namePos > nameEnd) {
+        return false; // The destination has fewer levels than the wildcard
+      }
+      int nameLevelEnd = levelEnd(destinationName, namePos, nameEnd);
+      int length = wildcardLevelEnd - wildcardPos;
+      boolean singleLevel = length == 1 && wildcard.charAt(wildcardPos) == '+';
+      if (!singleLevel &&
+          (length != nameLevelEnd - namePos || !wildcard.regionMatches(wildcardPos, destinationName, namePos, length))) {
+        return false;
+      }
+      wildcardPos = wildcardLevelEnd + 1;
+      namePos = nameLevelEnd + 1;
+      if (wildcardPos > wildcardEnd) {
+        return namePos > nameEnd; // Only a match if the destination has no more levels
       }
     }
+  }
 
-    if (lastLevel.equals("+") && nameList.length != subList.length) {
-      found = false;
+  // Trailing separators are ignored, the same as String.split
+  private static int trimSeparators(String name) {
+    int end = name.length();
+    while (end > 0 && name.charAt(end - 1) == '/') {
+      end--;
     }
-    return found;
+    return end;
+  }
+
+  private static int levelEnd(String name, int start, int end) {
+    int idx = name.indexOf('/', start);
+    return (idx < 0 || idx > end) ? end : idx;
+  }
+
+  private static boolean containsMultiLevel(String wildcard, int start, int end) {
+    for (int x = start; x < end; x++) {
+      if (wildcard.charAt(x) == '#') {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -0,0 +1,181 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription.set;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent index of values keyed by topic name, with one node per topic level. It can be searched in both directions,
+ * with a wildcard to find the values stored against the topic names it matches, or with a topic name to find the values
+ * stored against the wildcard filters that match it. The cost of either search is proportional to the depth of the topic rather
+ * than the number of entries held.
+ * <p>
+ * Updates are serialised while lookups walk the concurrent structure without locking, so a lookup running alongside an
+ * update may or may not see that update.
+ *
+ * @param <T> the type of value held against each topic name or filter
+ */
+public class TopicTrie<T> {
+
+  private static final String LEVEL_SEPARATOR = "/";
+  private static final String SINGLE_LEVEL = "+";
+  private static final String MULTI_LEVEL = "#";
+  private static final String SYSTEM_PREFIX = "$";
+
+  private final Node<T> root;
+
+  public TopicTrie() {
+    root = new Node<>();
+  }
+
+  public synchronized void put(@NonNull @NotNull String key, @NonNull @NotNull T value) {
+    Node<T> node = root;
+    for (String level : levels(key)) {
+      node = node.children.computeIfAbsent(level, k -> new Node<>());
+    }
+    node.values.add(value);
+  }
+
+  public synchronized boolean remove(@NonNull @NotNull String key, @NonNull @NotNull T value) {
+    String[] levels = levels(key);
+    List<Node<T>> path = new ArrayList<>(levels.length + 1);
+    Node<T> node = root;
+    path.add(node);
+    for (String level : levels) {
+      node = node.children.get(level);
+      if (node == null) {
+        return false;
+      }
+      path.add(node);
+    }
+    boolean removed = node.values.remove(value);
+
+    // Prune any levels that no longer hold values or children
+    for (int x = levels.length; x > 0 && path.get(x).isEmpty(); x--) {
+      path.get(x - 1).children.remove(levels[x - 1]);
+    }
+    return removed;
+  }
+
+  /**
+   * Finds the values stored against topic names that the supplied wildcard filter matches. Wildcards that do not start
+   * with a $ will not match topic names that do.
+   *
+   * @param filter the subscription filter, may contain + and # wildcards
+   * @return the set of values stored against matching topic names
+   */
+  public Set<T> findMatching(@NonNull @NotNull String filter) {
+    Set<T> result = new LinkedHashSet<>();
+    collectMatching(root, levels(filter), 0, !filter.startsWith(SYSTEM_PREFIX), result);
+    return result;
+  }
+
+  /**
+   * Finds the values stored against filters that match the supplied topic name, this includes filters that are
+   * simply the topic name itself.
+   *
+   * @param topicName the fully qualified topic name
+   * @return the set of values stored against matching filters
+   */
+  public Set<T> findInterested(@NonNull @NotNull String topicName) {
+    Set<T> result = new LinkedHashSet<>();
+    collectInterested(root, levels(topicName), 0, topicName.startsWith(SYSTEM_PREFIX), result);
+    return result;
+  }
+
+  public boolean isEmpty() {
+    return root.isEmpty();
+  }
+
+  private void collectMatching(Node<T> node, String[] levels, int index, boolean excludeSystem, Set<T> result) {
+    if (index == levels.length) {
+      result.addAll(node.values);
+      return;
+    }
+    String level = levels[index];
+    boolean skipSystem = excludeSystem && index == 0;
+    if (level.contains(MULTI_LEVEL)) {
+      collectAll(node, skipSystem, result);
+    } else if (level.equals(SINGLE_LEVEL)) {
+      for (Map.Entry<String, Node<T>> entry : node.children.entrySet()) {
+        if (!skipSystem || !entry.getKey().startsWith(SYSTEM_PREFIX)) {
+          collectMatching(entry.getValue(), levels, index + 1, excludeSystem, result);
+        }
+      }
+    } else {
+      Node<T> child = node.children.get(level);
+      if (child != null) {
+        collectMatching(child, levels, index + 1, excludeSystem, result);
+      }
+    }
+  }
+
+  private void collectAll(Node<T> node, boolean skipSystem, Set<T> result) {
+    result.addAll(node.values);
+    for (Map.Entry<String, Node<T>> entry : node.children.entrySet()) {
+      if (!skipSystem || !entry.getKey().startsWith(SYSTEM_PREFIX)) {
+        collectAll(entry.getValue(), false, result);
+      }
+    }
+  }
+
+  private void collectInterested(Node<T> node, String[] levels, int index, boolean isSystem, Set<T> result) {
+    // Wildcards at the root level can not match $ topics
+    boolean wildcardAllowed = !isSystem || index != 0;
+    if (wildcardAllowed) {
+      Node<T> multiLevel = node.children.get(MULTI_LEVEL);
+      if (multiLevel != null) {
+        result.addAll(multiLevel.values);
+      }
+    }
+    if (index == levels.length) {
+      result.addAll(node.values);
+      return;
+    }
+    if (wildcardAllowed) {
+      Node<T> singleLevel = node.children.get(SINGLE_LEVEL);
+      if (singleLevel != null) {
+        collectInterested(singleLevel, levels, index + 1, isSystem, result);
+      }
+    }
+    Node<T> child = node.children.get(levels[index]);
+    if (child != null) {
+      collectInterested(child, levels, index + 1, isSystem, result);
+    }
+  }
+
+  // Keep the same level semantics as String.split, trailing empty levels are dropped
+  private static String[] levels(String key) {
+    return key.split(LEVEL_SEPARATOR);
+  }
+
+  private static final class Node<T> {
+    private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+    private final Set<T> values = ConcurrentHashMap.newKeySet();
+
+    private boolean isEmpty() {
+      return values.isEmpty() && children.isEmpty();
+    }
+  }
+}
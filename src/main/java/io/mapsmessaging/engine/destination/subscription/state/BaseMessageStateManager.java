@@ -42,9 +42,15 @@ public abstract class BaseMessageStateManager implements MessageStateManager {
   protected final PriorityQueue<Long> messagesAtRest;
   protected final PriorityCollection<Long> messagesInFlight;
   protected final String name;
+  protected final MessageInterestIndex interestIndex;
 
   protected BaseMessageStateManager(String name, long uniqueSessionId, BitSetFactory priorityBitSetFactory, BitSetFactory inflightBitSetFactory) {
+    this(name, uniqueSessionId, priorityBitSetFactory, inflightBitSetFactory, null);
+  }
+
+  protected BaseMessageStateManager(String name, long uniqueSessionId, BitSetFactory priorityBitSetFactory, BitSetFactory inflightBitSetFactory, MessageInterestIndex interestIndex) {
     this.name = name;
+    this.interestIndex = interestIndex;
     logger = LoggerFactory.getLogger(MessageStateManagerImpl.class);
     NaturalOrderedLongQueue[] priorityLists = new NaturalOrderedLongQueue[Priority.HIGHEST.getValue()+1];
     for (int x = 0; x < priorityLists.length; x++) {
@@ -58,13 +64,41 @@ public abstract class BaseMessageStateManager implements MessageStateManager {
       priorityLists[x] = new ConcurrentNaturalOrderedLongQueue(x, inflightBitSetFactory);
     }
     messagesInFlight = new PriorityQueue<>(priorityLists, null);
+
+    // Persistent state may have been reloaded, so any messages we already hold need to be counted
+    if (interestIndex != null) {
+      for (Long messageId : getAll()) {
+        interestIndex.acquire(messageId);
+      }
+    }
   }
 
   public void close() throws IOException {
+    discardInterest();
     messagesAtRest.clear();
     messagesInFlight.clear();
   }
 
+  protected synchronized void discardInterest() {
+    if (interestIndex != null) {
+      for (Long messageId : getAll()) {
+        interestIndex.discard(messageId);
+      }
+    }
+  }
+
+  protected void acquireInterest(long messageId) {
+    if (interestIndex != null && !hasMessage(messageId)) {
+      interestIndex.acquire(messageId);
+    }
+  }
+
+  protected void releaseInterest(long messageId) {
+    if (interestIndex != null) {
+      interestIndex.release(messageId);
+    }
+  }
+
   public boolean isEmpty() {
     return messagesAtRest.isEmpty() && messagesInFlight.isEmpty();
   }
@@ -101,12 +135,14 @@ public abstract class BaseMessageStateManager implements MessageStateManager {
 
   @Override
   public synchronized void register(Message message) {
+    acquireInterest(message.getIdentifier());
     messagesAtRest.add(message.getIdentifier(), message.getPriority().getValue());
     logger.log(ServerLogMessages.MESSAGE_STATE_MANAGER_REGISTER, name, message.getIdentifier());
   }
 
   @Override
   public synchronized void register(long messageId) {
+    acquireInterest(messageId);
     messagesAtRest.add(messageId, Priority.ONE_BELOW_HIGHEST.getValue());
     logger.log(ServerLogMessages.MESSAGE_STATE_MANAGER_REGISTER, name, messageId);
   }
@@ -122,7 +158,9 @@ public abstract class BaseMessageStateManager implements MessageStateManager {
 
   @Override
   public synchronized void commit(long messageId) {
-    messagesInFlight.remove(messageId);
+    if (messagesInFlight.remove(messageId)) {
+      releaseInterest(messageId);
+    }
     logger.log(ServerLogMessages.MESSAGE_STATE_MANAGER_COMMIT, name, messageId);
   }
 
@@ -188,7 +226,10 @@ public abstract class BaseMessageStateManager implements MessageStateManager {
 
   @Override
   public synchronized void expired(long messageIdentifier) {
-    messagesAtRest.remove(messageIdentifier);
-    messagesInFlight.remove(messageIdentifier);
+    boolean held = messagesAtRest.remove(messageIdentifier);
+    held = messagesInFlight.remove(messageIdentifier) || held;
+    if (held) {
+      releaseInterest(messageIdentifier);
+    }
   }
 }
\ No newline at end of file
@@ -31,7 +31,11 @@ public class LimitedMessageStateManager extends MessageStateManagerImpl {
   private final EventReaperQueue eventReaperQueue;
 
   public LimitedMessageStateManager(String name, long uniqueSessionId, BitSetFactory bitsetFactory, int limit, EventReaperQueue eventReaperQueue) {
-    super(name, uniqueSessionId, bitsetFactory);
+    this(name, uniqueSessionId, bitsetFactory, limit, eventReaperQueue, null);
+  }
+
+  public LimitedMessageStateManager(String name, long uniqueSessionId, BitSetFactory bitsetFactory, int limit, EventReaperQueue eventReaperQueue, MessageInterestIndex interestIndex) {
+    super(name, uniqueSessionId, bitsetFactory, interestIndex);
     this.limit = limit;
     this.eventReaperQueue = eventReaperQueue;
   }
@@ -47,6 +51,7 @@ public class LimitedMessageStateManager extends MessageStateManagerImpl {
   }
 
   private void register(long id, int priority){
+    acquireInterest(id);
     messagesAtRest.add(id, priority);
     logger.log(ServerLogMessages.MESSAGE_STATE_MANAGER_REGISTER, name, id);
     trimAtRest();
@@ -56,6 +61,7 @@ public class LimitedMessageStateManager extends MessageStateManagerImpl {
     while(messagesAtRest.size() > limit){
       long firstEntry = messagesAtRest.last();
       eventReaperQueue.add(firstEntry);
+      releaseInterest(firstEntry);
     }
   }
 }
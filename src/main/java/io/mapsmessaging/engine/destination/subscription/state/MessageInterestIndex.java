@@ -0,0 +1,177 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription.state;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Maintains, per message identifier, the number of subscription state managers that currently hold the message either at rest
+ * or in flight. The state managers acquire interest as a message is registered and release it as the message is committed,
+ * expired or trimmed, so the destination can tell if a message is still required without scanning every subscription.
+ * <p>
+ * When a release takes the count to zero the supplied listener is called, outside the index lock, so the destination can
+ * queue the message for removal. Interest dropped via discard, such as when a subscription is closed, does not notify the
+ * listener since those messages are dealt with by the subscription removal logic.
+ */
+public class MessageInterestIndex {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final LongConsumer releasedListener;
+
+  private long[] keys;
+  private int[] counts;
+  private int size;
+
+  public MessageInterestIndex() {
+    this(null);
+  }
+
+  public MessageInterestIndex(LongConsumer releasedListener) {
+    this.releasedListener = releasedListener;
+    allocate(INITIAL_CAPACITY);
+  }
+
+  public void acquire(long messageId) {
+    synchronized (this) {
+      int index = locate(messageId);
+      if (keys[index] == messageId) {
+        counts[index]++;
+      } else {
+        keys[index] = messageId;
+        counts[index] = 1;
+        size++;
+        if (size * 4 > keys.length * 3) {
+          resize(keys.length * 2);
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases a single holder of the message and notifies the listener if no holders remain
+   *
+   * @param messageId of the message being released
+   * @return true if this was the last holder of the message
+   */
+  public boolean release(long messageId) {
+    boolean released = decrement(messageId);
+    if (released && releasedListener != null) {
+      releasedListener.accept(messageId);
+    }
+    return released;
+  }
+
+  /**
+   * Releases a single holder of the message without notifying the listener
+   *
+   * @param messageId of the message being released
+   */
+  public void discard(long messageId) {
+    decrement(messageId);
+  }
+
+  public synchronized int count(long messageId) {
+    int index = locate(messageId);
+    return keys[index] == messageId ? counts[index] : 0;
+  }
+
+  public boolean hasInterest(long messageId) {
+    return count(messageId) > 0;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  public synchronized void clear() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  private synchronized boolean decrement(long messageId) {
+    int index = locate(messageId);
+    if (keys[index] != messageId) {
+      return false;
+    }
+    counts[index]--;
+    if (counts[index] > 0) {
+      return false;
+    }
+    removeAt(index);
+    return true;
+  }
+
+  // Linear probing, returns either the slot holding the id or the empty slot it would be placed in
+  private int locate(long messageId) {
+    int mask = keys.length - 1;
+    int index = hash(messageId) & mask;
+    while (keys[index] != EMPTY && keys[index] != messageId) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  // Backward shift deletion keeps the probe chains intact without the need for tombstones
+  private void removeAt(int index) {
+    int mask = keys.length - 1;
+    int gap = index;
+    int next = (gap + 1) & mask;
+    while (keys[next] != EMPTY) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        counts[gap] = counts[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[gap] = EMPTY;
+    counts[gap] = 0;
+    size--;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldCounts = counts;
+    allocate(capacity);
+    for (int x = 0; x < oldKeys.length; x++) {
+      if (oldKeys[x] != EMPTY) {
+        int index = locate(oldKeys[x]);
+        keys[index] = oldKeys[x];
+        counts[index] = oldCounts[x];
+        size++;
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    counts = new int[capacity];
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+  }
+
+  private static int hash(long messageId) {
+    long h = messageId * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -32,7 +32,11 @@ public class MessageStateManagerImpl extends BaseMessageStateManager {
   private final List<MessageStateManagerListener> listeners;
 
   public MessageStateManagerImpl(String name, long uniqueSessionId, BitSetFactory bitsetFactory) {
-    super(name, uniqueSessionId, bitsetFactory, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE));
+    this(name, uniqueSessionId, bitsetFactory, null);
+  }
+
+  public MessageStateManagerImpl(String name, long uniqueSessionId, BitSetFactory bitsetFactory, MessageInterestIndex interestIndex) {
+    super(name, uniqueSessionId, bitsetFactory, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE), interestIndex);
     listeners = new ArrayList<>();
   }
 
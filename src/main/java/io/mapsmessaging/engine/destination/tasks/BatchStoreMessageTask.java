@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.tasks;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.destination.DestinationImpl;
+import io.mapsmessaging.engine.destination.PublishBatcher;
+import io.mapsmessaging.engine.destination.PublishBatcher.PendingPublish;
+import io.mapsmessaging.engine.destination.subscription.DestinationSubscriptionManager;
+import io.mapsmessaging.engine.tasks.LongResponse;
+import io.mapsmessaging.engine.tasks.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchStoreMessageTask extends StoreMessageTask {
+
+  private final DestinationImpl destination;
+  private final DestinationSubscriptionManager subscriptionManager;
+  private final PublishBatcher batcher;
+
+  public BatchStoreMessageTask(DestinationImpl destination, DestinationSubscriptionManager subscriptionManager, PublishBatcher batcher) {
+    super();
+    this.destination = destination;
+    this.subscriptionManager = subscriptionManager;
+    this.batcher = batcher;
+  }
+
+  @Override
+  public Response taskCall() throws Exception {
+    List<PendingPublish> batch = batcher.drain();
+    try {
+      if (batch.isEmpty()) {
+        return new LongResponse(0);
+      }
+      destination.getStats().messagesPublished(batch.size());
+
+      // Topics with no subscribers have no need to store the event, unless it is to be retained
+      boolean storeAll = !destination.getResourceType().isTopic() || subscriptionManager.hasSubscriptions();
+      List<PendingPublish> toStore = new ArrayList<>(batch.size());
+      for (PendingPublish publish : batch) {
+        if (storeAll || publish.message().isRetain()) {
+          toStore.add(publish);
+        } else {
+          publish.completion().complete(0);
+        }
+      }
+      int noInterest = batch.size() - toStore.size();
+      if (noInterest > 0) {
+        destination.getStats().noInterest(noInterest);
+      }
+      if (!toStore.isEmpty()) {
+        storeBatch(toStore);
+        destination.submit(new BatchSubscriptionUpdateTask(destination, subscriptionManager, toStore));
+      }
+      return new LongResponse(batch.size());
+    } finally {
+      try {
+        batcher.runPendingTask();
+      } finally {
+        batcher.drainComplete();
+      }
+    }
+  }
+
+  private void storeBatch(List<PendingPublish> toStore) throws IOException {
+    List<Message> messages = new ArrayList<>(toStore.size());
+    for (PendingPublish publish : toStore) {
+      messages.add(publish.message());
+    }
+    try {
+      storeMessages(destination, messages);
+    } catch (IOException | RuntimeException e) {
+      for (PendingPublish publish : toStore) {
+        publish.completion().completeExceptionally(e);
+      }
+      throw e;
+    }
+  }
+}
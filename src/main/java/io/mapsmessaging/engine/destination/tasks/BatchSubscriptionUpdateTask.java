@@ -0,0 +1,83 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.tasks;
+
+import io.mapsmessaging.engine.Constants;
+import io.mapsmessaging.engine.destination.DestinationImpl;
+import io.mapsmessaging.engine.destination.PublishBatcher.PendingPublish;
+import io.mapsmessaging.engine.destination.subscription.DestinationSubscriptionManager;
+import io.mapsmessaging.engine.tasks.LongResponse;
+import io.mapsmessaging.engine.tasks.Response;
+import io.mapsmessaging.utilities.collections.NaturalOrderedLongQueue;
+import io.mapsmessaging.utilities.collections.bitset.BitSetFactoryImpl;
+
+import java.util.List;
+import java.util.Queue;
+
+public class BatchSubscriptionUpdateTask extends SubscriptionTask {
+
+  private final DestinationSubscriptionManager subscriptionManager;
+  private final DestinationImpl destination;
+  private final List<PendingPublish> batch;
+
+  public BatchSubscriptionUpdateTask(DestinationImpl destination, DestinationSubscriptionManager subscriptionManager, List<PendingPublish> batch) {
+    super();
+    this.destination = destination;
+    this.subscriptionManager = subscriptionManager;
+    this.batch = batch;
+  }
+
+  @Override
+  public Response taskCall() {
+    long retained = destination.getRetainedIdentifier();
+    Queue<Long> noInterest = null;
+    int subscribed = 0;
+    int total = 0;
+    for (PendingPublish publish : batch) {
+      int counter;
+      try {
+        counter = subscriptionManager.register(publish.message());
+      } catch (RuntimeException e) {
+        publish.completion().completeExceptionally(e);
+        continue;
+      }
+      if (counter == 0) {
+        if (publish.message().getIdentifier() != retained) {
+          if (noInterest == null) {
+            noInterest = new NaturalOrderedLongQueue(0, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE));
+          }
+          noInterest.add(publish.message().getIdentifier());
+        }
+      } else {
+        subscribed++;
+        total += counter;
+      }
+      publish.completion().complete(counter);
+    }
+    if (noInterest != null) {
+      destination.getStats().noInterest(noInterest.size());
+      destination.submit(new BulkRemoveMessageTask(destination, noInterest), DestinationImpl.DELETE_PRIORITY);
+    }
+    if (subscribed > 0) {
+      destination.getStats().messagesSubscribed(subscribed, total);
+    }
+    return new LongResponse(total);
+  }
+}
@@ -45,7 +45,7 @@ public class NextMessageTask extends EngineTask {
 
     Message msg = subscription.rawGetNext();
     if(msg != null){
-      MessageEvent messageEvent = new MessageEvent(subscription.getDestinationImpl().getFullyQualifiedNamespace(), subscription, msg, subscription.getCompletionTask());
+      MessageEvent messageEvent = new MessageEvent(subscription.getDestinationImpl().getFullyQualifiedNamespace(), subscription, msg, subscription.getCompletionTask(), !subscription.hasAtRestMessages());
       return new MessageResponse(messageEvent);
     }
     return new MessageResponse(null);
@@ -46,7 +46,7 @@ public class NonDelayedStoreMessageTask extends StoreMessageTask {
     destination.getStats().messagePublished();
     if (subscriptionManager.hasSubscriptions() || message.isRetain()) {
       storeMessage(destination, message);
-      Future<Response> response = destination.submit(new SubscriptionUpdateTask(destination, subscriptionManager, message));
+      Future<Response> response = destination.submitAsync(new SubscriptionUpdateTask(destination, subscriptionManager, message));
       return new FutureResponse(response);
     }
     // We are also complete here, no queue required
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.tasks;
+
+import io.mapsmessaging.engine.destination.DestinationImpl;
+import io.mapsmessaging.engine.tasks.EngineTask;
+import io.mapsmessaging.engine.tasks.LongResponse;
+import io.mapsmessaging.engine.tasks.Response;
+import io.mapsmessaging.logging.Logger;
+import io.mapsmessaging.logging.LoggerFactory;
+import io.mapsmessaging.logging.ServerLogMessages;
+
+import java.io.IOException;
+import java.util.List;
+
+public class OrphanedMessageScanTask extends EngineTask {
+
+  private static final Logger logger = LoggerFactory.getLogger(OrphanedMessageScanTask.class);
+
+  private final DestinationImpl destination;
+  private final List<Long> candidates;
+
+  public OrphanedMessageScanTask(DestinationImpl destination, List<Long> candidates) {
+    super();
+    this.destination = destination;
+    this.candidates = candidates;
+  }
+
+  @Override
+  public Response taskCall() throws Exception {
+    if (destination.isClosed()) {
+      return new LongResponse(-1);
+    }
+    try {
+      destination.removeOrphanedMessages(candidates);
+    } catch (IOException | RuntimeException e) {
+      logger.log(ServerLogMessages.DESTINATION_MANAGER_DEFERRED_LOAD_FAILED, destination.getFullyQualifiedNamespace(), e);
+      return new LongResponse(-1);
+    }
+    return new LongResponse(1);
+  }
+}
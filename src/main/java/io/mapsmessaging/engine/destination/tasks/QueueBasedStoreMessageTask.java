@@ -44,7 +44,7 @@ public class QueueBasedStoreMessageTask extends StoreMessageTask {
   public Response taskCall() throws Exception {
     storeMessage(destination, message);
     destination.getStats().messagePublished();
-    Future<Response> response = destination.submit(new SubscriptionUpdateTask(destination, subscriptionManager, message));
+    Future<Response> response = destination.submitAsync(new SubscriptionUpdateTask(destination, subscriptionManager, message));
     return new FutureResponse(response);
   }
 }
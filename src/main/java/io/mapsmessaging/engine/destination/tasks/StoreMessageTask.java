@@ -24,6 +24,7 @@ import io.mapsmessaging.engine.destination.DestinationImpl;
 import io.mapsmessaging.engine.tasks.EngineTask;
 
 import java.io.IOException;
+import java.util.List;
 
 public abstract class StoreMessageTask extends EngineTask {
 
@@ -38,4 +39,11 @@ public abstract class StoreMessageTask extends EngineTask {
     destination.addMessage(message);
   }
 
+  protected void storeMessages(DestinationImpl destination, List<Message> messages) throws IOException {
+    for (Long previous : destination.addMessages(messages)) {
+      RemoveMessageTask remove = new RemoveMessageTask(destination, previous);
+      destination.submit(remove, DestinationImpl.DELETE_PRIORITY);
+    }
+  }
+
 }
\ No newline at end of file
@@ -40,6 +40,7 @@ public class TransactionalMessageProcessor extends MessageProcessor {
       delayed = System.currentTimeMillis() + delayed;
       message.setDelayed(delayed);
       destination.getDelayedStatus().register(delayed, message);
+      destination.scheduleDelayedEvents(delayed);
       return 0;
     } else {
       destination.getStats().messagePublished();
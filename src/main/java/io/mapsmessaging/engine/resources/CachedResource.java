@@ -0,0 +1,313 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.storage.Statistics;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * Keeps the most recently stored or read messages of a file backed resource in memory, so subscribers reading near
+ * the head of the destination share the same deserialised message rather than each going to the store. The cache is
+ * bounded by an estimate of the heap its messages hold, both for this resource and against a budget shared by every
+ * cached resource. When full, the least recently used message that no subscriber still references is evicted first.
+ */
+public class CachedResource implements Resource {
+
+  // Number of least recently used entries examined when looking for an unreferenced message to evict
+  private static final int EVICTION_SCAN = 8;
+
+  // Rough heap held by a message beyond its payload, its header fields, maps and the cache entry itself
+  private static final int MESSAGE_OVERHEAD = 512;
+
+  private final Resource resource;
+  private final long capacity;
+  private final MessageCacheBudget budget;
+  private final Map<Long, Message> cache;
+  private long cachedBytes; // guarded by cache
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private long removals; // guarded by cache, moved on by every removal so in flight reads are not cached
+  private volatile LongPredicate referenceCheck;
+
+  /**
+   * @param resource the store to cache
+   * @param capacity the most bytes this resource may cache
+   * @param budget the budget shared with the other cached resources
+   */
+  public CachedResource(Resource resource, long capacity, MessageCacheBudget budget) {
+    this.resource = resource;
+    this.capacity = capacity;
+    this.budget = budget;
+    cache = new LinkedHashMap<>(16, 0.75f, true);
+    hits = new LongAdder();
+    misses = new LongAdder();
+    referenceCheck = id -> false;
+  }
+
+  /**
+   * @param referenceCheck returns true while a subscriber still references the message id
+   */
+  public void setReferenceCheck(LongPredicate referenceCheck) {
+    this.referenceCheck = referenceCheck;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public int getCacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  public long getCachedBytes() {
+    synchronized (cache) {
+      return cachedBytes;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    clearCache();
+    resource.close();
+  }
+
+  @Override
+  public void add(Message message) throws IOException {
+    resource.add(message);
+    cache(message);
+  }
+
+  @Override
+  public void addAll(List<Message> messages) throws IOException {
+    resource.addAll(messages);
+    for (Message message : messages) {
+      cache(message);
+    }
+  }
+
+  @Override
+  public void keepOnly(List<Long> validKeys) throws IOException {
+    resource.keepOnly(validKeys);
+    Set<Long> valid = new HashSet<>(validKeys);
+    synchronized (cache) {
+      removals++;
+      Iterator<Map.Entry<Long, Message>> iterator = cache.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Long, Message> entry = iterator.next();
+        if (!valid.contains(entry.getKey())) {
+          iterator.remove();
+          released(entry.getValue());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void checkLoaded() {
+    resource.checkLoaded();
+  }
+
+  @Override
+  public long getNextIdentifier() {
+    return resource.getNextIdentifier();
+  }
+
+  @Override
+  public void remove(long key) throws IOException {
+    resource.remove(key);
+    synchronized (cache) {
+      removals++;
+      released(cache.remove(key));
+    }
+  }
+
+  @Override
+  public void delete() throws IOException {
+    clearCache();
+    resource.delete();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return resource.isEmpty();
+  }
+
+  @Override
+  public Message get(long key) throws IOException {
+    Message message;
+    long mark;
+    synchronized (cache) {
+      message = cache.get(key);
+      mark = removals;
+    }
+    if (message != null) {
+      hits.increment();
+      return message;
+    }
+    misses.increment();
+    message = resource.get(key);
+    if (message != null) {
+      synchronized (cache) {
+        // Only cache the read if nothing was removed while loading, otherwise a removed message could return
+        if (mark == removals) {
+          insert(message);
+        }
+      }
+    }
+    return message;
+  }
+
+  @Override
+  public boolean contains(Long id) throws IOException {
+    synchronized (cache) {
+      if (cache.containsKey(id)) {
+        return true;
+      }
+    }
+    return resource.contains(id);
+  }
+
+  @Override
+  public List<Long> getKeys() throws IOException {
+    return resource.getKeys();
+  }
+
+  @Override
+  public long size() throws IOException {
+    return resource.size();
+  }
+
+  @Override
+  public @Nullable Statistics getStatistics() {
+    return resource.getStatistics();
+  }
+
+  @Override
+  public String getName() {
+    return resource.getName();
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return resource.isPersistent();
+  }
+
+  @Override
+  public ResourceProperties getResourceProperties() {
+    return resource.getResourceProperties();
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return resource.isLoaded();
+  }
+
+  @Override
+  public void onLoad(LoadListener listener) throws IOException {
+    resource.onLoad(listener);
+  }
+
+  private void cache(Message message) {
+    synchronized (cache) {
+      insert(message);
+    }
+  }
+
+  private void insert(Message message) {
+    message.clearEncodedFrames();
+    released(cache.remove(message.getIdentifier()));
+    long weight = weigh(message);
+    if (weight > capacity) {
+      return;
+    }
+    while (cachedBytes + weight > capacity) {
+      evict();
+    }
+    // Other destinations hold the rest of the budget, so only our own messages can make room
+    while (!budget.reserve(weight)) {
+      if (cache.isEmpty()) {
+        return;
+      }
+      evict();
+    }
+    cache.put(message.getIdentifier(), message);
+    cachedBytes += weight;
+  }
+
+  private void evict() {
+    LongPredicate check = referenceCheck;
+    Iterator<Map.Entry<Long, Message>> iterator = cache.entrySet().iterator();
+    Map.Entry<Long, Message> victim = null;
+    for (int x = 0; x < EVICTION_SCAN && iterator.hasNext(); x++) {
+      Map.Entry<Long, Message> entry = iterator.next();
+      if (victim == null) {
+        victim = entry;
+      }
+      if (!check.test(entry.getKey())) {
+        iterator.remove();
+        released(entry.getValue());
+        return;
+      }
+    }
+    // Everything examined is still referenced, fall back to plain LRU
+    if (victim != null) {
+      released(cache.remove(victim.getKey()));
+    }
+  }
+
+  private void released(Message message) {
+    if (message != null) {
+      long weight = weigh(message);
+      cachedBytes -= weight;
+      budget.release(weight);
+    }
+  }
+
+  static long weigh(Message message) {
+    byte[] payload = message.getOpaqueData();
+    return MESSAGE_OVERHEAD + (payload != null ? payload.length : 0L);
+  }
+
+  private void clearCache() {
+    synchronized (cache) {
+      removals++;
+      cache.clear();
+      budget.release(cachedBytes);
+      cachedBytes = 0;
+    }
+  }
+}
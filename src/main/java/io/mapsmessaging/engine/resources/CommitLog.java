@@ -0,0 +1,521 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+/**
+ * A single append only log shared by all destinations that live in the same directory. Each record is tagged with
+ * the destination's UUID and every destination keeps an in memory index of key to log position, rebuilt by replaying
+ * the segments on start up. Segments are memory mapped and only ever reclaimed from the oldest end, once nothing in
+ * them is still referenced, so a delete record can never outlive the segment holding the message it removes. So that a
+ * few long lived records in the oldest segment cannot pin every later segment on disk, the oldest segment is compacted
+ * by copying its live records to the head of the log whenever less than half of the reclaimable space is still live.
+ * <p>
+ * When sync is enabled writers wait for their record to be forced to disk, the first writer to arrive performs the
+ * force for everything appended so far while the others wait on it, so concurrent publishers share one fsync.
+ */
+public class CommitLog {
+
+  private static final String SEGMENT_PREFIX = "commit-";
+  private static final String SEGMENT_SUFFIX = ".log";
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+  private static final byte DROP = 3;
+
+  // length + crc
+  private static final int RECORD_HEADER = 8;
+  // type + stream uuid + key + buffer count
+  private static final int BODY_HEADER = 1 + 16 + 8 + 4;
+
+  private static final Map<String, CommitLog> ACTIVE_LOGS = new HashMap<>();
+
+  /**
+   * Returns the log for the directory, opening it on first use. Every destination sharing the directory must be
+   * configured with the same segment size and sync setting.
+   *
+   * @throws IOException if the log could not be opened or is already open with different settings
+   */
+  public static CommitLog acquire(File directory, long segmentSize, boolean sync) throws IOException {
+    String path = directory.getCanonicalPath();
+    synchronized (ACTIVE_LOGS) {
+      CommitLog log = ACTIVE_LOGS.get(path);
+      if (log == null) {
+        log = new CommitLog(directory, segmentSize, sync);
+        ACTIVE_LOGS.put(path, log);
+      } else if (log.segmentSize != segmentSize(segmentSize) || log.sync != sync) {
+        throw new IOException("Commit log " + path + " is already open with segment size " + log.segmentSize + " and sync " + log.sync
+            + ", requested segment size " + segmentSize + " and sync " + sync);
+      }
+      log.references++;
+      return log;
+    }
+  }
+
+  private final File directory;
+  private final String path;
+  private final int segmentSize;
+  @Getter
+  private final boolean sync;
+
+  private final Object writeLock = new Object();
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+  private final Set<Segment> dirtySegments = new LinkedHashSet<>();
+  private final Map<UUID, Stream> streams = new ConcurrentHashMap<>();
+  private Segment active;
+  private long appendSequence;
+
+  private final Object syncLock = new Object();
+  private boolean syncing;
+  private long durableSequence;
+
+  private int references;
+
+  private CommitLog(File directory, long segmentSize, boolean sync) throws IOException {
+    this.directory = directory;
+    this.path = directory.getCanonicalPath();
+    this.segmentSize = segmentSize(segmentSize);
+    this.sync = sync;
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Unable to construct directory path " + directory);
+    }
+    replay();
+  }
+
+  private static int segmentSize(long requested) {
+    return (int) Math.min(Math.max(requested, 4096), Integer.MAX_VALUE);
+  }
+
+  public Stream openStream(UUID id) {
+    return streams.computeIfAbsent(id, Stream::new);
+  }
+
+  public void release() throws IOException {
+    synchronized (ACTIVE_LOGS) {
+      references--;
+      if (references > 0) {
+        return;
+      }
+      ACTIVE_LOGS.remove(path);
+    }
+    synchronized (writeLock) {
+      for (Segment segment : segments.values()) {
+        segment.force();
+      }
+      dirtySegments.clear();
+    }
+  }
+
+  public int getSegmentCount() {
+    synchronized (writeLock) {
+      return segments.size();
+    }
+  }
+
+  //<editor-fold desc="Stream operations">
+  long put(Stream stream, long key, ByteBuffer[] buffers) throws IOException {
+    int bodyLength = BODY_HEADER;
+    for (ByteBuffer buffer : buffers) {
+      bodyLength += 4 + buffer.remaining();
+    }
+    ByteBuffer body = ByteBuffer.allocate(bodyLength);
+    writeBodyHeader(body, PUT, stream.id, key);
+    body.putInt(buffers.length);
+    for (ByteBuffer buffer : buffers) {
+      body.putInt(buffer.remaining());
+    }
+    for (ByteBuffer buffer : buffers) {
+      body.put(buffer.duplicate());
+    }
+    long sequence;
+    synchronized (writeLock) {
+      Location location = append(body.array());
+      Location previous = stream.index.put(key, location);
+      location.retain();
+      if (previous != null) {
+        previous.release();
+      }
+      sequence = appendSequence;
+    }
+    return sequence;
+  }
+
+  long remove(Stream stream, long key) throws IOException {
+    synchronized (writeLock) {
+      Location location = stream.index.remove(key);
+      if (location == null) {
+        return 0;
+      }
+      ByteBuffer body = ByteBuffer.allocate(BODY_HEADER);
+      writeBodyHeader(body, DELETE, stream.id, key);
+      body.putInt(0);
+      append(body.array());
+      location.release();
+      reclaim();
+      return appendSequence;
+    }
+  }
+
+  long drop(Stream stream) throws IOException {
+    synchronized (writeLock) {
+      ByteBuffer body = ByteBuffer.allocate(BODY_HEADER);
+      writeBodyHeader(body, DROP, stream.id, 0);
+      body.putInt(0);
+      append(body.array());
+      for (Location location : stream.index.values()) {
+        location.release();
+      }
+      stream.index.clear();
+      streams.remove(stream.id);
+      reclaim();
+      return appendSequence;
+    }
+  }
+
+  ByteBuffer[] read(Location location) {
+    byte[] body = new byte[location.length];
+    location.segment.buffer.get(location.position + RECORD_HEADER, body);
+    ByteBuffer reader = ByteBuffer.wrap(body);
+    reader.position(BODY_HEADER - 4);
+    int count = reader.getInt();
+    int[] lengths = new int[count];
+    for (int x = 0; x < count; x++) {
+      lengths[x] = reader.getInt();
+    }
+    // Each part gets its own array since the message unpacking reads the backing array directly
+    ByteBuffer[] buffers = new ByteBuffer[count];
+    int offset = reader.position();
+    for (int x = 0; x < count; x++) {
+      buffers[x] = ByteBuffer.wrap(Arrays.copyOfRange(body, offset, offset + lengths[x]));
+      offset += lengths[x];
+    }
+    return buffers;
+  }
+
+  /**
+   * Blocks until every record up to and including the sequence has been forced to disk. Only one thread forces at a
+   * time, the rest wait for it and will usually find their record was covered by that force.
+   */
+  void awaitDurable(long sequence) throws IOException {
+    while (true) {
+      synchronized (syncLock) {
+        while (syncing && durableSequence < sequence) {
+          try {
+            syncLock.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the commit log to sync", e);
+          }
+        }
+        if (durableSequence >= sequence) {
+          return;
+        }
+        syncing = true;
+      }
+      long target;
+      List<Segment> toForce;
+      synchronized (writeLock) {
+        target = appendSequence;
+        toForce = new ArrayList<>(dirtySegments);
+        dirtySegments.clear();
+      }
+      boolean success = false;
+      try {
+        for (Segment segment : toForce) {
+          segment.force();
+        }
+        success = true;
+      } finally {
+        if (!success) {
+          synchronized (writeLock) {
+            dirtySegments.addAll(toForce);
+          }
+        }
+        synchronized (syncLock) {
+          syncing = false;
+          if (success && target > durableSequence) {
+            durableSequence = target;
+          }
+          syncLock.notifyAll();
+        }
+      }
+    }
+  }
+  //</editor-fold>
+
+  //<editor-fold desc="Segment management">
+  private Location append(byte[] body) throws IOException {
+    int recordLength = RECORD_HEADER + body.length;
+    if (active == null || active.capacity() - active.writePosition < recordLength) {
+      long id = active == null ? 0 : active.id + 1;
+      active = createSegment(id, Math.max(segmentSize, recordLength));
+    }
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    int position = active.writePosition;
+    MappedByteBuffer buffer = active.buffer;
+    buffer.putInt(position + 4, (int) crc.getValue());
+    buffer.put(position + RECORD_HEADER, body);
+    // Length is written last, replay treats a zero length as the end of the segment
+    buffer.putInt(position, body.length);
+    active.writePosition += recordLength;
+    appendSequence++;
+    if (sync) {
+      dirtySegments.add(active);
+    }
+    return new Location(active, position, body.length);
+  }
+
+  private Segment createSegment(long id, int size) throws IOException {
+    Segment segment = mapSegment(id, new File(directory, SEGMENT_PREFIX + id + SEGMENT_SUFFIX), size);
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private void reclaim() throws IOException {
+    // Bounded so records moved by a compaction are never chased round the log
+    int compactions = segments.size();
+    while (!segments.isEmpty()) {
+      Segment oldest = segments.firstEntry().getValue();
+      if (oldest == active) {
+        return;
+      }
+      if (oldest.live > 0) {
+        if (compactions == 0 || !worthCompacting()) {
+          return;
+        }
+        compact(oldest);
+        compactions--;
+      }
+      segments.pollFirstEntry();
+      dirtySegments.remove(oldest);
+      try {
+        Files.deleteIfExists(oldest.file.toPath());
+      } catch (IOException e) {
+        // Still mapped on some platforms, it will be retried on the next start up
+        oldest.file.deleteOnExit();
+      }
+    }
+  }
+
+  private boolean worthCompacting() {
+    long liveBytes = 0;
+    long reclaimable = 0;
+    for (Segment segment : segments.values()) {
+      liveBytes += segment.liveBytes;
+      if (segment != active) {
+        reclaimable += segment.capacity();
+      }
+    }
+    return liveBytes * 2 < reclaimable;
+  }
+
+  // Copies the segment's live records to the head of the log, leaving nothing in it referenced
+  private void compact(Segment segment) throws IOException {
+    Set<Segment> written = new LinkedHashSet<>();
+    for (Stream stream : streams.values()) {
+      for (Map.Entry<Long, Location> entry : stream.index.entrySet()) {
+        Location location = entry.getValue();
+        if (location.segment == segment) {
+          byte[] body = new byte[location.length];
+          segment.buffer.get(location.position + RECORD_HEADER, body);
+          Location moved = append(body);
+          stream.index.put(entry.getKey(), moved);
+          moved.retain();
+          location.release();
+          written.add(moved.segment);
+        }
+      }
+    }
+    // The copies must be on disk before the segment holding the originals is deleted
+    for (Segment target : written) {
+      target.force();
+    }
+  }
+
+  private void replay() throws IOException {
+    File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        try {
+          long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+          segments.put(id, mapSegment(id, file, (int) Math.min(file.length(), Integer.MAX_VALUE)));
+        } catch (NumberFormatException e) {
+          // Not one of ours
+        }
+      }
+    }
+    for (Segment segment : segments.values()) {
+      replay(segment);
+      active = segment;
+    }
+    reclaim();
+  }
+
+  private void replay(Segment segment) {
+    MappedByteBuffer buffer = segment.buffer;
+    int position = 0;
+    while (position + RECORD_HEADER + BODY_HEADER <= segment.capacity()) {
+      int length = buffer.getInt(position);
+      if (length < BODY_HEADER || position + RECORD_HEADER + length > segment.capacity()) {
+        break;
+      }
+      byte[] body = new byte[length];
+      buffer.get(position + RECORD_HEADER, body);
+      CRC32 crc = new CRC32();
+      crc.update(body);
+      if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+        break; // torn write, nothing after this point was acknowledged
+      }
+      ByteBuffer reader = ByteBuffer.wrap(body);
+      byte type = reader.get();
+      UUID id = new UUID(reader.getLong(), reader.getLong());
+      long key = reader.getLong();
+      Stream stream = openStream(id);
+      switch (type) {
+        case PUT -> {
+          Location location = new Location(segment, position, length);
+          Location previous = stream.index.put(key, location);
+          location.retain();
+          if (previous != null) {
+            previous.release();
+          }
+        }
+        case DELETE -> {
+          Location previous = stream.index.remove(key);
+          if (previous != null) {
+            previous.release();
+          }
+        }
+        case DROP -> {
+          for (Location location : stream.index.values()) {
+            location.release();
+          }
+          streams.remove(id);
+        }
+        default -> {
+          // Unknown record type, skip it
+        }
+      }
+      position += RECORD_HEADER + length;
+    }
+    segment.writePosition = position;
+  }
+
+  private static void writeBodyHeader(ByteBuffer body, byte type, UUID id, long key) {
+    body.put(type);
+    body.putLong(id.getMostSignificantBits());
+    body.putLong(id.getLeastSignificantBits());
+    body.putLong(key);
+  }
+
+  private static Segment mapSegment(long id, File file, int size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // The mapping stays valid once the channel is closed, so no file handle is held per segment
+      return new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+  }
+  //</editor-fold>
+
+  public static final class Stream {
+    private final UUID id;
+    private final ConcurrentSkipListMap<Long, Location> index;
+
+    private Stream(UUID id) {
+      this.id = id;
+      index = new ConcurrentSkipListMap<>();
+    }
+
+    Location get(long key) {
+      return index.get(key);
+    }
+
+    boolean contains(long key) {
+      return index.containsKey(key);
+    }
+
+    List<Long> getKeys() {
+      return new ArrayList<>(index.keySet());
+    }
+
+    long getLastKey() {
+      return index.isEmpty() ? 0 : index.lastKey();
+    }
+
+    int size() {
+      return index.size();
+    }
+  }
+
+  record Location(Segment segment, int position, int length) {
+
+    private void retain() {
+      segment.live++;
+      segment.liveBytes += RECORD_HEADER + length;
+    }
+
+    private void release() {
+      segment.live--;
+      segment.liveBytes -= RECORD_HEADER + length;
+    }
+  }
+
+  static final class Segment {
+    private final long id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    private int live;
+    private long liveBytes;
+
+    private Segment(long id, File file, MappedByteBuffer buffer) {
+      this.id = id;
+      this.file = file;
+      this.buffer = buffer;
+    }
+
+    private int capacity() {
+      return buffer.capacity();
+    }
+
+    private void force() throws IOException {
+      try {
+        buffer.force();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageFactory;
+import io.mapsmessaging.dto.rest.config.destination.CommitLogStorageConfigDTO;
+import io.mapsmessaging.engine.destination.DestinationImpl;
+import io.mapsmessaging.storage.Statistics;
+import io.mapsmessaging.utilities.threads.tasks.ThreadLocalContext;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A destination's view of the shared {@link CommitLog}, the destination keeps its own directory and resource.yaml so
+ * it is discovered on start up the same way as any other resource, but its messages live in the shared log.
+ */
+public class CommitLogResource implements Resource {
+
+  public static final String COMMIT_LOG_DIRECTORY = "commitlog";
+
+  @Getter
+  private final String name;
+
+  @Getter
+  private final ResourceProperties resourceProperties;
+
+  private final CommitLog commitLog;
+  private final CommitLog.Stream stream;
+  private final AtomicLong keyGen;
+  private boolean isClosed;
+
+  public CommitLogResource(String rootDirectory, CommitLogStorageConfigDTO config, String fileName, UUID uuid, ResourceProperties resourceProperties) throws IOException {
+    this.name = fileName + "message.data";
+    this.resourceProperties = resourceProperties;
+    commitLog = CommitLog.acquire(new File(rootDirectory, COMMIT_LOG_DIRECTORY), config.getSegmentSize(), config.isSync());
+    stream = commitLog.openStream(uuid);
+    keyGen = new AtomicLong(stream.getLastKey());
+    isClosed = false;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (!isClosed) {
+      isClosed = true;
+      commitLog.release();
+    }
+  }
+
+  @Override
+  public void add(Message message) throws IOException {
+    ThreadLocalContext.checkDomain(DestinationImpl.RESOURCE_TASK_KEY);
+    message.setIdentifier(getNextIdentifier());
+    long sequence = commitLog.put(stream, message.getIdentifier(), MessageFactory.getInstance().pack(message));
+    if (commitLog.isSync()) {
+      commitLog.awaitDurable(sequence);
+    }
+  }
+
+  @Override
+  public void addAll(List<Message> messages) throws IOException {
+    ThreadLocalContext.checkDomain(DestinationImpl.RESOURCE_TASK_KEY);
+    // Append the whole batch then wait once, the last record's sync covers the rest
+    long sequence = 0;
+    for (Message message : messages) {
+      message.setIdentifier(getNextIdentifier());
+      sequence = commitLog.put(stream, message.getIdentifier(), MessageFactory.getInstance().pack(message));
+    }
+    if (commitLog.isSync() && sequence > 0) {
+      commitLog.awaitDurable(sequence);
+    }
+  }
+
+  @Override
+  public void keepOnly(List<Long> validKeys) throws IOException {
+    Set<Long> keep = new HashSet<>(validKeys);
+    for (Long key : stream.getKeys()) {
+      if (!keep.contains(key)) {
+        commitLog.remove(stream, key);
+      }
+    }
+  }
+
+  @Override
+  public void checkLoaded() {
+    // The index is rebuilt when the log is opened
+  }
+
+  @Override
+  public long getNextIdentifier() {
+    return keyGen.incrementAndGet();
+  }
+
+  @Override
+  public void remove(long key) throws IOException {
+    ThreadLocalContext.checkDomain(DestinationImpl.RESOURCE_TASK_KEY);
+    long sequence = commitLog.remove(stream, key);
+    if (commitLog.isSync() && sequence > 0) {
+      commitLog.awaitDurable(sequence);
+    }
+  }
+
+  @Override
+  public synchronized void delete() throws IOException {
+    if (!isClosed) {
+      long sequence = commitLog.drop(stream);
+      if (commitLog.isSync()) {
+        commitLog.awaitDurable(sequence);
+      }
+      close();
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return stream.size() == 0;
+  }
+
+  @Override
+  public Message get(long key) throws IOException {
+    CommitLog.Location location = stream.get(key);
+    if (location == null) {
+      return null;
+    }
+    return MessageFactory.getInstance().unpack(commitLog.read(location));
+  }
+
+  @Override
+  public boolean contains(Long id) {
+    return stream.contains(id);
+  }
+
+  @Override
+  public List<Long> getKeys() {
+    return stream.getKeys();
+  }
+
+  @Override
+  public long size() {
+    return stream.size();
+  }
+
+  @Override
+  public @Nullable Statistics getStatistics() {
+    return null;
+  }
+
+  @Override
+  public boolean isPersistent() {
+    // Same answer as the partition store, subscription state stays out of the destination directory
+    return false;
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.logging.Logger;
+import io.mapsmessaging.logging.LoggerFactory;
+import io.mapsmessaging.logging.ServerLogMessages;
+import io.mapsmessaging.storage.Statistics;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers opening a reloaded resource until it is first used, so a restart with a large number of destinations does not
+ * have to open every store before the server is ready. Anything registered through {@link #onLoad(LoadListener)} runs
+ * once the store is open but before any other thread can use it.
+ */
+public class LazyResource implements Resource {
+
+  @FunctionalInterface
+  public interface ResourceLoader {
+    Resource load() throws IOException;
+  }
+
+  private final Logger logger = LoggerFactory.getLogger(LazyResource.class);
+
+  @Getter
+  private final String name;
+  @Getter
+  private final boolean persistent;
+  @Getter
+  private final ResourceProperties resourceProperties;
+
+  private final ResourceLoader loader;
+  private final List<LoadListener> listeners;
+  private volatile Resource resource;
+  private Resource loading; // only visible to the loading thread while the listeners run
+  private boolean closed;
+
+  public LazyResource(String name, boolean persistent, ResourceProperties resourceProperties, ResourceLoader loader) {
+    this.name = name;
+    this.persistent = persistent;
+    this.resourceProperties = resourceProperties;
+    this.loader = loader;
+    listeners = new ArrayList<>();
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return resource != null;
+  }
+
+  @Override
+  public void onLoad(LoadListener listener) throws IOException {
+    synchronized (this) {
+      if (resource == null && loading == null) {
+        listeners.add(listener);
+        return;
+      }
+    }
+    listener.loaded();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closed = true;
+    if (resource != null) {
+      resource.close();
+    }
+  }
+
+  @Override
+  public void add(Message message) throws IOException {
+    load().add(message);
+  }
+
+  @Override
+  public void addAll(List<Message> messages) throws IOException {
+    load().addAll(messages);
+  }
+
+  @Override
+  public void keepOnly(List<Long> validKeys) throws IOException {
+    load().keepOnly(validKeys);
+  }
+
+  @Override
+  public void checkLoaded() {
+    try {
+      load().checkLoaded();
+    } catch (IOException e) {
+      logger.log(ServerLogMessages.DESTINATION_MANAGER_DEFERRED_LOAD_FAILED, name, e);
+    }
+  }
+
+  @Override
+  public long getNextIdentifier() {
+    try {
+      return load().getNextIdentifier();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open " + name, e);
+    }
+  }
+
+  @Override
+  public void remove(long key) throws IOException {
+    load().remove(key);
+  }
+
+  @Override
+  public void delete() throws IOException {
+    load().delete();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    try {
+      return load().isEmpty();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open " + name, e);
+    }
+  }
+
+  @Override
+  public Message get(long key) throws IOException {
+    return load().get(key);
+  }
+
+  @Override
+  public boolean contains(Long id) throws IOException {
+    return load().contains(id);
+  }
+
+  @Override
+  public List<Long> getKeys() throws IOException {
+    return load().getKeys();
+  }
+
+  @Override
+  public long size() throws IOException {
+    return load().size();
+  }
+
+  @Override
+  public @Nullable Statistics getStatistics() {
+    // Statistics polling should not be what forces the store open
+    Resource current = resource;
+    return current != null ? current.getStatistics() : null;
+  }
+
+  private Resource load() throws IOException {
+    Resource current = resource;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (resource != null) {
+        return resource;
+      }
+      if (loading != null) {
+        return loading; // a listener calling back into the resource
+      }
+      if (closed) {
+        throw new IOException("Resource has been closed " + name);
+      }
+      loading = loader.load();
+      try {
+        for (LoadListener listener : listeners) {
+          try {
+            listener.loaded();
+          } catch (IOException e) {
+            logger.log(ServerLogMessages.DESTINATION_MANAGER_DEFERRED_LOAD_FAILED, name, e);
+          }
+        }
+        listeners.clear();
+      } finally {
+        resource = loading;
+        loading = null;
+      }
+      return resource;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import io.mapsmessaging.utilities.SystemProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap budget shared by the message caches of every destination, so the total held in memory stays bounded however
+ * many destinations are cached. The limit is MESSAGE_CACHE_TOTAL_BYTES, defaulting to a tenth of the maximum heap.
+ */
+@SuppressWarnings("java:S6548") // yes it is a singleton
+public class MessageCacheBudget {
+
+  private static class Holder {
+    static final MessageCacheBudget INSTANCE = new MessageCacheBudget(
+        SystemProperties.getInstance().getLongProperty("MESSAGE_CACHE_TOTAL_BYTES", Runtime.getRuntime().maxMemory() / 10));
+  }
+
+  public static MessageCacheBudget getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private final long limit;
+  private final AtomicLong used;
+
+  public MessageCacheBudget(long limit) {
+    this.limit = limit;
+    used = new AtomicLong();
+  }
+
+  /**
+   * @param bytes the number of bytes to take from the budget
+   * @return true if the bytes were reserved, false if that would exceed the limit
+   */
+  public boolean reserve(long bytes) {
+    long current;
+    do {
+      current = used.get();
+      if (current + bytes > limit) {
+        return false;
+      }
+    } while (!used.compareAndSet(current, current + bytes));
+    return true;
+  }
+
+  public void release(long bytes) {
+    used.addAndGet(-bytes);
+  }
+
+  public long getUsed() {
+    return used.get();
+  }
+
+  public long getLimit() {
+    return limit;
+  }
+}
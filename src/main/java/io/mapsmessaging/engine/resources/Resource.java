@@ -35,6 +35,12 @@ public interface Resource extends AutoCloseable {
 
   void add(Message message) throws IOException;
 
+  default void addAll(List<Message> messages) throws IOException {
+    for (Message message : messages) {
+      add(message);
+    }
+  }
+
   void keepOnly(List<Long> validKeys) throws IOException;
 
   void checkLoaded();
@@ -67,4 +73,26 @@ public interface Resource extends AutoCloseable {
   boolean isPersistent();
 
   ResourceProperties getResourceProperties();
+
+  /**
+   * @return true once the underlying store has been opened, resources reloaded on restart may defer this until first use
+   */
+  default boolean isLoaded() {
+    return true;
+  }
+
+  /**
+   * Runs the listener once the underlying store has been opened, or immediately if it already is
+   *
+   * @param listener to call
+   * @throws IOException if the listener is run immediately and fails
+   */
+  default void onLoad(LoadListener listener) throws IOException {
+    listener.loaded();
+  }
+
+  @FunctionalInterface
+  interface LoadListener {
+    void loaded() throws IOException;
+  }
 }
@@ -21,8 +21,12 @@ package io.mapsmessaging.engine.resources;
 
 import io.mapsmessaging.BuildInfo;
 import io.mapsmessaging.api.features.DestinationType;
+import io.mapsmessaging.dto.rest.config.destination.CommitLogStorageConfigDTO;
 import io.mapsmessaging.dto.rest.config.destination.DestinationConfigDTO;
+import io.mapsmessaging.dto.rest.config.destination.MemoryStorageConfigDTO;
+import io.mapsmessaging.dto.rest.config.destination.PartitionStorageConfigDTO;
 import io.mapsmessaging.schemas.config.SchemaConfig;
+import io.mapsmessaging.utilities.SystemProperties;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
@@ -59,7 +63,7 @@ public class ResourceFactory {
       return new ResourceImpl();
     } else {
       ResourceProperties props = createMetaData(pathManager.getDirectory() , resourceName, uuid, destinationType, config);
-      return new ResourceImpl(messageExpiryHandler, pathManager, fullyQualifiedPath, props);
+      return wrap(build(messageExpiryHandler, pathManager, fullyQualifiedPath, uuid, props), pathManager);
     }
   }
 
@@ -89,13 +93,37 @@ public class ResourceFactory {
         long most = Long.parseLong(mostString);
         UUID uuid = new UUID(most, least);
         String fullyQualifiedPath = pathManager.getDirectory() + File.separator + uuid + File.separator;
-        return new ResourceImpl(messageExpiryHandler, pathManager, fullyQualifiedPath, properties);
+        if (SystemProperties.getInstance().getBooleanProperty("DESTINATION_LAZY_LOAD", true)) {
+          // Only open the store once something actually uses the destination
+          boolean persistent = pathManager.getStorageConfig() instanceof MemoryStorageConfigDTO;
+          Resource lazy = new LazyResource(fullyQualifiedPath + "message.data", persistent, properties,
+              () -> build(messageExpiryHandler, pathManager, fullyQualifiedPath, uuid, properties));
+          return wrap(lazy, pathManager);
+        }
+        return wrap(build(messageExpiryHandler, pathManager, fullyQualifiedPath, uuid, properties), pathManager);
       }
     }
     Files.delete(directory.toPath());
     return null;
   }
 
+  private Resource build(MessageExpiryHandler messageExpiryHandler, DestinationConfigDTO pathManager, String fullyQualifiedPath, UUID uuid,
+                         ResourceProperties properties) throws IOException {
+    if (pathManager.getStorageConfig() instanceof CommitLogStorageConfigDTO commitLogConfig) {
+      return new CommitLogResource(pathManager.getDirectory(), commitLogConfig, fullyQualifiedPath, uuid, properties);
+    }
+    return new ResourceImpl(messageExpiryHandler, pathManager, fullyQualifiedPath, properties);
+  }
+
+  // File backed stores deserialise on every read, so keep the hot messages in front of them
+  private Resource wrap(Resource resource, DestinationConfigDTO pathManager) {
+    long cacheBytes = SystemProperties.getInstance().getLongProperty("DESTINATION_MESSAGE_CACHE_BYTES", 16L * 1024 * 1024);
+    if (cacheBytes > 0 && pathManager != null && (pathManager.getStorageConfig() instanceof PartitionStorageConfigDTO || pathManager.getStorageConfig() instanceof CommitLogStorageConfigDTO)) {
+      return new CachedResource(resource, cacheBytes, MessageCacheBudget.getInstance());
+    }
+    return resource;
+  }
+
   private ResourceProperties createMetaData(String path, String resourceName, UUID uuid, DestinationType destinationType, SchemaConfig config) throws IOException {
     File directoryPath = new File(path + File.separator + uuid.toString() + File.separator);
     if (!directoryPath.exists()) {
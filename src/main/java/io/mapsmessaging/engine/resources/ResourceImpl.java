@@ -37,8 +37,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -196,6 +198,20 @@ public class ResourceImpl implements Resource {
     getFromFuture(store.add(message));
   }
 
+  @Override
+  public void addAll(List<Message> messages) throws IOException {
+    ThreadLocalContext.checkDomain(DestinationImpl.RESOURCE_TASK_KEY);
+    // Issue all the writes before waiting, so the store can process the batch as a single pass
+    List<Future<?>> pending = new ArrayList<>(messages.size());
+    for (Message message : messages) {
+      message.setIdentifier(getNextIdentifier());
+      pending.add(store.add(message));
+    }
+    for (Future<?> future : pending) {
+      getFromFuture(future);
+    }
+  }
+
   public void checkLoaded() {
     if (!loaded) {
       if (persistent) {
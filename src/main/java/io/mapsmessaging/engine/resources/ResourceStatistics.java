@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -45,30 +46,27 @@ public class ResourceStatistics extends Statistics implements AutoCloseable, Run
   private final List<StorageStats> storeStats;
   private final List<CacheStats> cacheStats;
   private final List<TierStats> tierStats;
+  private final List<MessageCacheStats> messageCacheStats;
+  private final StatsType type;
+  private volatile boolean storeTypeRegistered;
 
   public ResourceStatistics(Resource resource, StatsType type) {
     storeStats = new ArrayList<>();
-    cacheStats = new ArrayList<>();
-    tierStats = new ArrayList<>();
+    cacheStats = new CopyOnWriteArrayList<>();
+    tierStats = new CopyOnWriteArrayList<>();
+    messageCacheStats = new ArrayList<>();
     this.resource = resource;
+    this.type = type;
     if(MessageDaemon.getInstance().isEnableResourceStatistics()) {
       future = SimpleTaskScheduler.getInstance().scheduleAtFixedRate(this, 10, 10, TimeUnit.SECONDS);
 
-      io.mapsmessaging.storage.Statistics statistics = resource.getStatistics();
-      if (statistics instanceof CacheStatistics) {
-        cacheStats.add(new CacheHitStats(create(type,ACCUMULATOR.DIFF, "Cache Hits", "Hits/second")));
-        cacheStats.add(new CacheMissStats(create(type,ACCUMULATOR.DIFF, "Cache Miss", "Hits/second")));
-        cacheStats.add(new CacheSizeStats(create(type,ACCUMULATOR.DIFF, "Cache Size", "Entries")));
-        statistics = ((CacheStatistics) statistics).getStorageStatistics();
-      }
-
-      if (statistics instanceof MemoryTierStatistics) {
-        tierStats.add(new TierSizeStats(create(type, ACCUMULATOR.ADD, "Top Tier Entries", "Entries")));
-        tierStats.add(new TierReadStats(create(type, ACCUMULATOR.ADD, "Top Tier Read Operations", "Reads/second")));
-        tierStats.add(new TierWriteStats(create(type, ACCUMULATOR.ADD, "Top Tier Write Operations", "Writes/second")));
-        tierStats.add(new TierDeleteStats(create(type, ACCUMULATOR.ADD, "Top Tier Delete Operations", "Removals/second")));
-        tierStats.add(new TierMigrationStats(create(type, ACCUMULATOR.ADD, "Tier Migrations Operations", "Object moves/second")));
+      if (resource instanceof CachedResource) {
+        messageCacheStats.add(new MessageCacheHitStats(create(type, ACCUMULATOR.DIFF, "Message Cache Hits", "Hits/second")));
+        messageCacheStats.add(new MessageCacheMissStats(create(type, ACCUMULATOR.DIFF, "Message Cache Miss", "Hits/second")));
+        messageCacheStats.add(new MessageCacheSizeStats(create(type, ACCUMULATOR.DIFF, "Message Cache Size", "Entries")));
       }
+      // Resources reloaded lazily have no statistics until they are opened, so this may happen on a later poll
+      registerStoreType(resource.getStatistics());
       storeStats.add(new ReadStats(create(type, ACCUMULATOR.ADD, "Disk Read Operations", "Disk Reads/second")));
       storeStats.add(new WriteStats(create(type, ACCUMULATOR.ADD, "Disk Write Operations", "Disk Writes/second")));
       storeStats.add(new IOPSStats(create(type, ACCUMULATOR.ADD, "Disk IOPS", "Disk IO/second")));
@@ -86,8 +84,39 @@ public class ResourceStatistics extends Statistics implements AutoCloseable, Run
     }
   }
 
+  private void registerStoreType(io.mapsmessaging.storage.Statistics statistics) {
+    if (statistics == null || storeTypeRegistered) {
+      return;
+    }
+    storeTypeRegistered = true;
+    if (statistics instanceof CacheStatistics) {
+      cacheStats.add(new CacheHitStats(create(type,ACCUMULATOR.DIFF, "Cache Hits", "Hits/second")));
+      cacheStats.add(new CacheMissStats(create(type,ACCUMULATOR.DIFF, "Cache Miss", "Hits/second")));
+      cacheStats.add(new CacheSizeStats(create(type,ACCUMULATOR.DIFF, "Cache Size", "Entries")));
+      statistics = ((CacheStatistics) statistics).getStorageStatistics();
+    }
+
+    if (statistics instanceof MemoryTierStatistics) {
+      tierStats.add(new TierSizeStats(create(type, ACCUMULATOR.ADD, "Top Tier Entries", "Entries")));
+      tierStats.add(new TierReadStats(create(type, ACCUMULATOR.ADD, "Top Tier Read Operations", "Reads/second")));
+      tierStats.add(new TierWriteStats(create(type, ACCUMULATOR.ADD, "Top Tier Write Operations", "Writes/second")));
+      tierStats.add(new TierDeleteStats(create(type, ACCUMULATOR.ADD, "Top Tier Delete Operations", "Removals/second")));
+      tierStats.add(new TierMigrationStats(create(type, ACCUMULATOR.ADD, "Tier Migrations Operations", "Object moves/second")));
+    }
+  }
+
   public Map<String, Map<String, LinkedMovingAverageRecordDTO>> getStatistics(){
     Map<String, Map<String, LinkedMovingAverageRecordDTO>> response = new LinkedHashMap<>();
+    if(!messageCacheStats.isEmpty()) {
+      Map<String, LinkedMovingAverageRecordDTO> messageCache = new LinkedHashMap<>();
+      response.put("messageCache", messageCache);
+      for(MessageCacheStats stats:messageCacheStats){
+        Stats movingAverage = stats.movingAverage;
+        if (movingAverage.supportMovingAverage()) {
+          messageCache.put(movingAverage.getName(), ((LinkedMovingAverages)movingAverage).getRecord());
+        }
+      }
+    }
     if(!cacheStats.isEmpty()) {
       Map<String, LinkedMovingAverageRecordDTO> cache = new LinkedHashMap<>();
       response.put("cache", cache);
@@ -128,12 +157,19 @@ public class ResourceStatistics extends Statistics implements AutoCloseable, Run
       future.cancel(true);
     }
     storeStats.clear();
+    messageCacheStats.clear();
   }
 
   @Override
   public void run() {
+    if (resource instanceof CachedResource cachedResource) {
+      for (MessageCacheStats stats : messageCacheStats) {
+        stats.update(cachedResource);
+      }
+    }
     io.mapsmessaging.storage.Statistics actualStats = resource.getStatistics();
     if (actualStats != null) {
+      registerStoreType(actualStats);
       if (actualStats instanceof CacheStatistics) {
         CacheStatistics cacheStatistics = (CacheStatistics) actualStats;
         processCacheStatistics(cacheStatistics);
@@ -290,6 +326,54 @@ public class ResourceStatistics extends Statistics implements AutoCloseable, Run
     }
   }
 
+  private abstract static class MessageCacheStats {
+
+    private final Stats movingAverage;
+
+    public MessageCacheStats(Stats movingAverage) {
+      this.movingAverage = movingAverage;
+    }
+
+    protected void update(long value) {
+      movingAverage.add(value);
+    }
+
+    public abstract void update(CachedResource resource);
+  }
+
+  public static class MessageCacheHitStats extends MessageCacheStats {
+
+    public MessageCacheHitStats(Stats movingAverage) {
+      super(movingAverage);
+    }
+
+    public void update(CachedResource resource) {
+      super.update(resource.getHits());
+    }
+  }
+
+  public static class MessageCacheMissStats extends MessageCacheStats {
+
+    public MessageCacheMissStats(Stats movingAverage) {
+      super(movingAverage);
+    }
+
+    public void update(CachedResource resource) {
+      super.update(resource.getMisses());
+    }
+  }
+
+  public static class MessageCacheSizeStats extends MessageCacheStats {
+
+    public MessageCacheSizeStats(Stats movingAverage) {
+      super(movingAverage);
+    }
+
+    public void update(CachedResource resource) {
+      super.update(resource.getCacheSize());
+    }
+  }
+
   private abstract static class StorageStats {
 
     private final Stats movingAverage;
@@ -48,8 +48,7 @@ public class MessageSchemaToJsonBuilder {
   }
 
   private byte[] pack(Message message, SchemaConfig config, MessageFormatter formatter) throws IOException {
-    byte[] payload = message.getOpaqueData();
-    JsonObject jsonObject = formatter.parseToJson(payload, SchemaManager.getInstance().getDefaultParseMode());
+    JsonElement jsonObject = message.getParsedJson(config.getUniqueId(), formatter);
     JsonObject wrapper = new JsonObject();
     wrapper.add("payload", jsonObject);
     wrapper.addProperty("schemaId", config.getUniqueId());
@@ -28,7 +28,7 @@ import org.jetbrains.annotations.NotNull;
 public interface MessageCallback {
 
   default void sendMessage(@NonNull @NotNull DestinationImpl destination, @NonNull @NotNull SubscribedEventManager subscription, @NonNull @NotNull Message message,
-      @NonNull @NotNull Runnable completionTask) {
+      boolean lastMessage, @NonNull @NotNull Runnable completionTask) {
 
   }
 
@@ -27,17 +27,12 @@ import io.mapsmessaging.engine.session.persistence.SessionDetails;
 import io.mapsmessaging.engine.session.security.SecurityContext;
 import lombok.Getter;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-
-import static io.mapsmessaging.logging.ServerLogMessages.SESSION_SAVE_STATE;
-import static io.mapsmessaging.logging.ServerLogMessages.SESSION_SAVE_STATE_ERROR;
 
 public class PersistentSession extends SessionImpl{
 
   private final SessionDetails sessionDetails;
+  private final PersistentSessionManager storeLookup;
   @Getter
   private final String storeName;
 
@@ -46,7 +41,8 @@ public class PersistentSession extends SessionImpl{
     super(context, securityContext, destinationManager, subscriptionManager);
     sessionDetails = storeLookup.getSessionDetails(context);
     context.setUniqueId(sessionDetails.getUniqueId());
-    storeName = storeLookup.getDataPath() + "/" + sessionDetails.getUniqueId() + ".bin";
+    this.storeLookup = storeLookup;
+    storeName = storeLookup.getStoreKey(sessionDetails);
     if(context.isResetState() || sessionDetails.getSubscriptionContextList().isEmpty()){ // this will delete it and recreate
       sessionDetails.getSubscriptionContextList().clear(); // ensure it is clear
       saveState();
@@ -76,21 +72,7 @@ public class PersistentSession extends SessionImpl{
   }
 
   private void saveState(){
-    if(sessionDetails.getSubscriptionContextList().isEmpty()){
-      try{
-        Files.deleteIfExists(Paths.get(storeName));
-      } catch (IOException ioException) {
-        logger.log(SESSION_SAVE_STATE_ERROR, sessionDetails.getSessionName(), storeName, ioException);
-      }
-    }
-    else {
-      try (FileOutputStream fileOutputStream = new FileOutputStream(storeName)) {
-        sessionDetails.save(fileOutputStream);
-        logger.log(SESSION_SAVE_STATE, sessionDetails.getSessionName(), storeName);
-      } catch (IOException ioException) {
-        logger.log(SESSION_SAVE_STATE_ERROR, sessionDetails.getSessionName(), storeName, ioException);
-      }
-    }
+    storeLookup.saveState(sessionDetails);
   }
 
 }
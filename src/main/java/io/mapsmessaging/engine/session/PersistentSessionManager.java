@@ -21,24 +21,24 @@ package io.mapsmessaging.engine.session;
 
 import io.mapsmessaging.engine.destination.subscription.SubscriptionContext;
 import io.mapsmessaging.engine.session.persistence.SessionDetails;
+import io.mapsmessaging.engine.session.persistence.SessionJournal;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import lombok.Getter;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.Collectors;
 
 import static io.mapsmessaging.logging.ServerLogMessages.*;
 
+/**
+ * Holds the details of all persistent sessions. The details are stored in a {@link SessionJournal}, keyed by the session's
+ * unique id, so a change to a session appends a single record rather than rewriting a file. Any session files written by
+ * earlier versions, one .bin file per session, are migrated into the journal on startup and then removed.
+ */
 public class PersistentSessionManager {
 
   private final Logger logger = LoggerFactory.getLogger(PersistentSessionManager.class);
@@ -47,6 +47,7 @@ public class PersistentSessionManager {
   private final String dataPath;
 
   private final Map<String, SessionDetails> persistentMap;
+  private final SessionJournal journal;
 
   public PersistentSessionManager(String dataPath) {
     this.dataPath = dataPath+"sessions";
@@ -59,6 +60,7 @@ public class PersistentSessionManager {
       }
     }
     persistentMap = new ConcurrentSkipListMap<>();
+    journal = new SessionJournal(testFile);
     loadState();
   }
 
@@ -90,46 +92,128 @@ public class PersistentSessionManager {
     return map;
   }
 
+  /**
+   * Appends the current state of the session to the journal, a session without any subscriptions is removed from it
+   *
+   * @param details of the session to save
+   */
+  public void saveState(SessionDetails details) {
+    String key = getStoreKey(details);
+    if (details.getSubscriptionContextList().isEmpty()) {
+      deleteState(key);
+      return;
+    }
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+      details.save(outputStream);
+      journal.put(key, outputStream.toByteArray());
+      logger.log(SESSION_SAVE_STATE, details.getSessionName(), key);
+    } catch (IOException ioException) {
+      logger.log(SESSION_SAVE_STATE_ERROR, details.getSessionName(), key, ioException);
+    }
+  }
+
+  /**
+   * Sessions are keyed in the journal by their unique id, older session formats did not record one so the name is used
+   *
+   * @param details of the session
+   * @return the key used to store the session in the journal
+   */
+  public String getStoreKey(SessionDetails details) {
+    return details.getUniqueId() != null ? details.getUniqueId() : details.getSessionName();
+  }
+
+  public void deleteState(String uniqueId) {
+    if (uniqueId == null || uniqueId.isEmpty()) {
+      return;
+    }
+    try {
+      journal.delete(uniqueId);
+    } catch (IOException ioException) {
+      logger.log(SESSION_SAVE_STATE_ERROR, uniqueId, uniqueId, ioException);
+    }
+  }
+
+  public void close() {
+    try {
+      journal.close();
+    } catch (IOException ioException) {
+      logger.log(SESSION_SAVE_STATE_ERROR, "journal", dataPath, ioException);
+    }
+  }
 
+  //
+  // The journal is read sequentially, since later records replace earlier ones, however the
+  // session details are independent of each other and are deserialized in parallel
+  //
   private void loadState(){
-    File file = new File(dataPath);
-    File[] children = file.listFiles();
-    if(children != null) {
-      List<File> childList = new ArrayList<>(List.of(children));
-      childList = childList.stream().filter(file1 -> file1.getName().endsWith(".bin") && !file1.isDirectory()).collect(Collectors.toList());
-      for (File child : childList) {
-        boolean delete = false;
-        try (FileInputStream fileInputStream = new FileInputStream(child)) {
-          SessionDetails details = new SessionDetails(fileInputStream);
-          if(!details.getSubscriptionContextList().isEmpty()){
-            persistentMap.put(details.getSessionName(), details);
-            if(details.isNeedsUpdating()){
-              updateFileToNewVersion(details, child);
-            }
-          }
-          else{
-            delete = true;
-          }
-        } catch (IOException ex) {
-          logger.log(SESSION_LOAD_STATE_ERROR, child.getAbsolutePath(), ex);
-        }
-        if(delete){
-          try{
-            Files.deleteIfExists(child.toPath());
-          } catch (IOException ex) {
-            logger.log(SESSION_LOAD_STATE_ERROR, child.getAbsolutePath(), ex);
-          }
+    long start = System.currentTimeMillis();
+    Map<String, byte[]> records;
+    try {
+      records = journal.open();
+    } catch (IOException ex) {
+      logger.log(SESSION_LOAD_STATE_ERROR, dataPath, ex);
+      return;
+    }
+    Queue<String> emptySessions = new ConcurrentLinkedQueue<>();
+    records.entrySet().parallelStream().forEach(entry -> {
+      try (InputStream inputStream = new ByteArrayInputStream(entry.getValue())) {
+        SessionDetails details = new SessionDetails(inputStream);
+        if (!details.getSubscriptionContextList().isEmpty()) {
+          persistentMap.put(details.getSessionName(), details);
+        } else {
+          emptySessions.add(entry.getKey());
         }
+      } catch (IOException ex) {
+        logger.log(SESSION_LOAD_STATE_ERROR, entry.getKey(), ex);
       }
+    });
+    for (String uniqueId : emptySessions) {
+      deleteState(uniqueId);
     }
+    migrateSessionFiles();
+    logger.log(SESSION_JOURNAL_RECOVERED, persistentMap.size(), System.currentTimeMillis() - start);
   }
 
-  private void updateFileToNewVersion( SessionDetails details, File filename){
-    try (FileOutputStream fileOutputStream = new FileOutputStream(filename)) {
-      details.save(fileOutputStream);
-      logger.log(SESSION_SAVE_STATE, details.getSessionName(), filename);
-    } catch (IOException ioException) {
-      logger.log(SESSION_SAVE_STATE_ERROR, details.getSessionName(), filename, ioException);
+  private void migrateSessionFiles() {
+    File[] children = new File(dataPath).listFiles((dir, name) -> name.endsWith(".bin"));
+    if (children == null || children.length == 0) {
+      return;
+    }
+    Queue<File> failed = new ConcurrentLinkedQueue<>();
+    List<SessionDetails> migrated = Arrays.stream(children).parallel()
+        .filter(File::isFile)
+        .map(child -> loadSessionFile(child, failed))
+        .filter(Objects::nonNull)
+        .toList();
+    for (SessionDetails details : migrated) {
+      details.setVersion(4); // Saved in the current format
+      persistentMap.put(details.getSessionName(), details);
+      saveState(details);
+    }
+    for (File child : children) {
+      if (failed.contains(child)) {
+        continue; // Leave it in place so it can be examined
+      }
+      try {
+        Files.deleteIfExists(child.toPath());
+      } catch (IOException ex) {
+        logger.log(SESSION_LOAD_STATE_ERROR, child.getAbsolutePath(), ex);
+      }
+    }
+    logger.log(SESSION_JOURNAL_MIGRATED, migrated.size());
+  }
+
+  private SessionDetails loadSessionFile(File child, Queue<File> failed) {
+    try (InputStream inputStream = new BufferedInputStream(new FileInputStream(child))) {
+      SessionDetails details = new SessionDetails(inputStream);
+      if (!details.getSubscriptionContextList().isEmpty()) {
+        return details;
+      }
+    } catch (IOException ex) {
+      logger.log(SESSION_LOAD_STATE_ERROR, child.getAbsolutePath(), ex);
+      failed.add(child);
     }
+    return null;
   }
 }
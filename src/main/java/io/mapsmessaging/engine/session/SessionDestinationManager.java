@@ -166,6 +166,17 @@ public class SessionDestinationManager implements DestinationFactory {
     return manager.get(filter);
   }
 
+  @Override
+  /**
+   * Retrieves a map of DestinationImpl objects whose names match the provided wildcard filter.
+   *
+   * @param wildcard The subscription filter, which may contain + and # wildcards.
+   * @return A map of DestinationImpl objects that match the wildcard.
+   */
+  public Map<String, DestinationImpl> getMatching(String wildcard) {
+    return manager.getMatching(wildcard);
+  }
+
   @Override
   /**
    * Adds a listener to the DestinationManager.
@@ -186,6 +197,28 @@ public class SessionDestinationManager implements DestinationFactory {
     return manager.removeListener(listener);
   }
 
+  @Override
+  /**
+   * Registers a listener for create and delete events of destinations that match the filter.
+   *
+   * @param filter the subscription filter, which may contain + and # wildcards
+   * @param listener the DestinationManagerListener to be notified
+   */
+  public void addInterest(String filter, DestinationManagerListener listener) {
+    manager.addInterest(filter, listener);
+  }
+
+  @Override
+  /**
+   * Removes a listener previously registered against the filter.
+   *
+   * @param filter the subscription filter the listener was registered with
+   * @param listener the DestinationManagerListener to be removed
+   */
+  public boolean removeInterest(String filter, DestinationManagerListener listener) {
+    return manager.removeInterest(filter, listener);
+  }
+
 
   public List<DestinationInfo> getAllDestinations(){
     return manager.getAllInfo();
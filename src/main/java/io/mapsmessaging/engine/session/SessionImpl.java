@@ -44,7 +44,7 @@ import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.security.authorisation.AuthRequest;
 import io.mapsmessaging.security.authorisation.ProtectedResource;
-import io.mapsmessaging.utilities.threads.SimpleTaskScheduler;
+import io.mapsmessaging.utilities.scheduler.TimingWheel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -80,7 +80,7 @@ import java.util.concurrent.*;
 public class SessionImpl {
 
   protected final Logger logger;
-  private final Future<?> scheduledFuture;
+  private final TimingWheel.Timeout scheduledFuture;
   private final SubscriptionController subscriptionManager;
   private final DestinationFactory destinationManager;
   private final NamespaceMap namespaceMapping;
@@ -143,7 +143,7 @@ public class SessionImpl {
     //
     if (context.getClientConnection().getTimeOut() != 0) {
       long ka = context.getClientConnection().getTimeOut() + 5000L; // allow 5 seconds more
-      scheduledFuture = SimpleTaskScheduler.getInstance().scheduleAtFixedRate(new KeepAliveTask(context.getClientConnection()), ka, ka, TimeUnit.MILLISECONDS);
+      scheduledFuture = TimingWheel.getInstance().scheduleAtFixedRate(new KeepAliveTask(context.getClientConnection()), ka, ka, TimeUnit.MILLISECONDS);
       logger.log(ServerLogMessages.SESSION_MANAGER_KEEP_ALIVE_TASK);
     } else {
       scheduledFuture = null;
@@ -169,7 +169,7 @@ public class SessionImpl {
     isClosed = true;
     securityContext.logout();
     if (scheduledFuture != null) {
-      scheduledFuture.cancel(false);
+      scheduledFuture.cancel();
     }
     closureTaskManager.close();
     namespaceMapping.clear();
@@ -214,7 +214,7 @@ public class SessionImpl {
     ProtectedResource protectedResource  = new  ProtectedResource("Server", MessageDaemon.getInstance().getId(), null);
     List<AuthRequest> authRequests = new ArrayList<>();
     authRequests.add(new AuthRequest(securityContext.getIdentity(),ServerPermissions.CONNECT ,protectedResource));
-    if(context.isPersistentSession() && !AuthManager.getInstance().canAccess(securityContext.getIdentity(), ServerPermissions.PERSISTENT_SESSION ,protectedResource)) {
+    if(context.isPersistentSession() && !AuthManager.getInstance().canAccess(securityContext, ServerPermissions.PERSISTENT_SESSION ,protectedResource)) {
       authRequests.add(new AuthRequest(securityContext.getIdentity(),ServerPermissions.PERSISTENT_SESSION ,protectedResource));
     }
     if(!AuthManager.getInstance().hasAllAccess(authRequests)) {
@@ -334,7 +334,7 @@ public class SessionImpl {
    */
   public CompletableFuture<DestinationImpl> deleteDestination(DestinationImpl destinationImpl) {
     ProtectedResource protectedResource  = new  ProtectedResource(destinationImpl.getResourceType().getName(), destinationImpl.getFullyQualifiedNamespace(), null);
-    if(!AuthManager.getInstance().canAccess(securityContext.getIdentity(), ServerPermissions.DELETE ,protectedResource)){
+    if(!AuthManager.getInstance().canAccess(securityContext, ServerPermissions.DELETE ,protectedResource)){
       CompletableFuture<DestinationImpl>  future = new CompletableFuture<>();
       future.completeExceptionally(new IOException("Access denied"));
       return future;
@@ -107,8 +107,8 @@ public class SessionManager implements Agent {
       // Register the subscription info with the specific pipeline
       //
       if (!map.isEmpty()) {
-        String path = storeLookup.getDataPath() + "/" + sessionDetails.getUniqueId() + ".bin";
-        sessionPipeLines[getPipeLineIndex(sessionId)].addDisconnectedSession(sessionId, path, sessionDetails, map);
+        String storeKey = storeLookup.getStoreKey(sessionDetails);
+        sessionPipeLines[getPipeLineIndex(sessionId)].addDisconnectedSession(sessionId, storeKey, sessionDetails, map);
       }
     }
     willTaskManager.start();
@@ -122,6 +122,7 @@ public class SessionManager implements Agent {
       pipeLine.stop();
     }
     willTaskManager.stop();
+    storeLookup.close();
     sessionManagerJMX.close();
   }
 
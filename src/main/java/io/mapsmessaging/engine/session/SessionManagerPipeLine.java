@@ -34,9 +34,6 @@ import io.mapsmessaging.utilities.threads.SimpleTaskScheduler;
 import io.mapsmessaging.utilities.threads.tasks.SingleConcurrentTaskScheduler;
 
 import javax.security.auth.login.LoginException;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.LongAdder;
@@ -187,13 +184,9 @@ public class SessionManagerPipeLine {
     }
   }
 
-  void closeAndDeleteSubscriptionController(String sessionStateFile, SubscriptionController subscriptionController) {
+  void closeAndDeleteSubscriptionController(String sessionStoreKey, SubscriptionController subscriptionController) {
     closeSubscriptionController(subscriptionController);
-    try {
-      Files.deleteIfExists(new File(sessionStateFile).toPath());
-    } catch (IOException e) {
-      // ignore
-    }
+    storeLookup.deleteState(sessionStoreKey);
   }
 
   void closeSubscriptionController(SubscriptionController subscriptionController) {
@@ -0,0 +1,365 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.session.persistence;
+
+import io.mapsmessaging.logging.Logger;
+import io.mapsmessaging.logging.LoggerFactory;
+import io.mapsmessaging.utilities.SystemProperties;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static io.mapsmessaging.logging.ServerLogMessages.*;
+
+/**
+ * An append only, memory mapped, journal of session state. Every change to a session appends a record to the journal rather
+ * than rewriting a file per session, and an in memory index maps each session key to its most recent record. Once the journal
+ * holds more superseded records than live ones, the live records are copied into a new checkpoint file and a fresh journal is
+ * started, so the files on disk stay proportional to the number of live sessions.
+ * <p>
+ * Each record is laid out as [int body length][int crc32 of body][byte type][short key length][key][payload]. The length is
+ * written last, and the mapped file is zero filled, so recovery stops at the first record that is missing or fails its crc.
+ * Files are named by generation, the checkpoint of generation N holds everything written before the journal of generation N.
+ */
+public class SessionJournal implements Closeable {
+
+  private static final String PREFIX = "sessions-";
+  private static final String CHECKPOINT_EXTENSION = ".chk";
+  private static final String JOURNAL_EXTENSION = ".log";
+  private static final String TEMP_EXTENSION = ".tmp";
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+  private static final int HEADER_SIZE = 8;
+  private static final int BODY_HEADER_SIZE = 3;
+  private static final byte[] EMPTY = new byte[0];
+
+  private final Logger logger = LoggerFactory.getLogger(SessionJournal.class);
+  private final File directory;
+  private final int segmentSize;
+  private final long compactionThreshold;
+  private final Map<String, Location> index;
+  private final CRC32 crc;
+
+  private long generation;
+  private ByteBuffer checkpoint;
+  private FileChannel journalChannel;
+  private MappedByteBuffer journal;
+  private long liveBytes;
+  private long deadBytes;
+
+  public SessionJournal(File directory) {
+    this(directory,
+        (int) SystemProperties.getInstance().getLongProperty("SESSION_JOURNAL_SEGMENT_SIZE", 4L * 1024 * 1024),
+        SystemProperties.getInstance().getLongProperty("SESSION_JOURNAL_COMPACTION_THRESHOLD", 16L * 1024 * 1024));
+  }
+
+  SessionJournal(File directory, int segmentSize, long compactionThreshold) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.compactionThreshold = compactionThreshold;
+    index = new HashMap<>();
+    crc = new CRC32();
+    checkpoint = ByteBuffer.allocate(0);
+  }
+
+  /**
+   * Opens the latest generation of the checkpoint and journal, rebuilding the index from them
+   *
+   * @return the payload of every live record, keyed by the session key
+   * @throws IOException if the files can not be opened or mapped
+   */
+  public synchronized Map<String, byte[]> open() throws IOException {
+    generation = locateGeneration();
+    File checkpointFile = getFile(generation, CHECKPOINT_EXTENSION);
+    if (checkpointFile.exists()) {
+      try (FileChannel channel = FileChannel.open(checkpointFile.toPath(), StandardOpenOption.READ)) {
+        checkpoint = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+      scan(checkpoint, true);
+    }
+    openJournal(generation);
+    int end = scan(journal, false);
+    if (end + Integer.BYTES <= journal.limit() && journal.getInt(end) != 0) {
+      logger.log(SESSION_JOURNAL_TRUNCATED, getFile(generation, JOURNAL_EXTENSION), end);
+      for (int x = end; x < journal.limit(); x++) {
+        journal.put(x, (byte) 0);
+      }
+    }
+    journal.position(end);
+    deleteOldGenerations();
+
+    Map<String, byte[]> records = new HashMap<>(index.size() * 2);
+    for (Map.Entry<String, Location> entry : index.entrySet()) {
+      Location location = entry.getValue();
+      byte[] payload = new byte[location.payloadLength()];
+      getBuffer(location).get(location.payloadOffset(), payload);
+      records.put(entry.getKey(), payload);
+    }
+    if (deadBytes > liveBytes && journal.position() > compactionThreshold) {
+      compact();
+    }
+    return records;
+  }
+
+  public synchronized void put(String key, byte[] payload) throws IOException {
+    Location location = append(PUT, key, payload);
+    Location previous = index.put(key, location);
+    if (previous != null) {
+      liveBytes -= previous.size();
+      deadBytes += previous.size();
+    }
+    liveBytes += location.size();
+    compactIfRequired();
+  }
+
+  public synchronized void delete(String key) throws IOException {
+    if (!index.containsKey(key)) {
+      return;
+    }
+    Location location = append(DELETE, key, EMPTY);
+    Location previous = index.remove(key);
+    liveBytes -= previous.size();
+    deadBytes += previous.size() + location.size();
+    compactIfRequired();
+  }
+
+  public synchronized boolean contains(String key) {
+    return index.containsKey(key);
+  }
+
+  public synchronized int size() {
+    return index.size();
+  }
+
+  long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (journalChannel != null) {
+      journal.force();
+      journalChannel.close();
+      journalChannel = null;
+    }
+  }
+
+  //<editor-fold desc="Record handling">
+  private Location append(byte type, String key, byte[] payload) throws IOException {
+    if (journalChannel == null) {
+      throw new IOException("Session journal is closed");
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    if (keyBytes.length > Short.MAX_VALUE) {
+      throw new IOException("Session key exceeds the maximum journal key length");
+    }
+    int bodyLength = BODY_HEADER_SIZE + keyBytes.length + payload.length;
+    int size = HEADER_SIZE + bodyLength;
+    ensureCapacity(size);
+    int offset = journal.position();
+    journal.position(offset + HEADER_SIZE);
+    journal.put(type);
+    journal.putShort((short) keyBytes.length);
+    journal.put(keyBytes);
+    journal.put(payload);
+    crc.reset();
+    crc.update(journal.slice(offset + HEADER_SIZE, bodyLength));
+    journal.putInt(offset + Integer.BYTES, (int) crc.getValue());
+    journal.putInt(offset, bodyLength); // Written last, a record is only visible once complete
+    return new Location(false, offset, size, offset + HEADER_SIZE + BODY_HEADER_SIZE + keyBytes.length, payload.length);
+  }
+
+  // Walks the records in the buffer, applying each to the index, returning the offset of the first invalid or empty record
+  private int scan(ByteBuffer buffer, boolean isCheckpoint) {
+    int position = 0;
+    while (position + HEADER_SIZE <= buffer.limit()) {
+      int bodyLength = buffer.getInt(position);
+      if (bodyLength < BODY_HEADER_SIZE || position + HEADER_SIZE + bodyLength > buffer.limit()) {
+        break;
+      }
+      crc.reset();
+      crc.update(buffer.slice(position + HEADER_SIZE, bodyLength));
+      if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+        break;
+      }
+      apply(buffer, position, bodyLength, isCheckpoint);
+      position += HEADER_SIZE + bodyLength;
+    }
+    return position;
+  }
+
+  private void apply(ByteBuffer buffer, int offset, int bodyLength, boolean isCheckpoint) {
+    int size = HEADER_SIZE + bodyLength;
+    byte type = buffer.get(offset + HEADER_SIZE);
+    int keyLength = buffer.getShort(offset + HEADER_SIZE + 1);
+    byte[] keyBytes = new byte[keyLength];
+    buffer.get(offset + HEADER_SIZE + BODY_HEADER_SIZE, keyBytes);
+    String key = new String(keyBytes, StandardCharsets.UTF_8);
+    Location previous;
+    if (type == PUT) {
+      int payloadOffset = offset + HEADER_SIZE + BODY_HEADER_SIZE + keyLength;
+      previous = index.put(key, new Location(isCheckpoint, offset, size, payloadOffset, bodyLength - BODY_HEADER_SIZE - keyLength));
+      liveBytes += size;
+    } else {
+      previous = index.remove(key);
+      deadBytes += size;
+    }
+    if (previous != null) {
+      liveBytes -= previous.size();
+      deadBytes += previous.size();
+    }
+  }
+
+  private ByteBuffer getBuffer(Location location) {
+    return location.checkpoint() ? checkpoint : journal;
+  }
+  //</editor-fold>
+
+  //<editor-fold desc="File management">
+  private void ensureCapacity(int size) throws IOException {
+    if (journal.remaining() >= size) {
+      return;
+    }
+    if (deadBytes > liveBytes) {
+      compact();
+      if (journal.remaining() >= size) {
+        return;
+      }
+    }
+    long capacity = Math.max((long) journal.capacity() * 2, (long) journal.position() + size + segmentSize);
+    if (capacity > Integer.MAX_VALUE) {
+      compact();
+      capacity = Math.max(journal.capacity(), (long) journal.position() + size + segmentSize);
+      if (capacity > Integer.MAX_VALUE) {
+        throw new IOException("Session journal has exceeded the maximum mapped size");
+      }
+    }
+    int position = journal.position();
+    journal.force();
+    journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    journal.position(position);
+  }
+
+  private void compactIfRequired() throws IOException {
+    if (deadBytes > liveBytes && journal.position() > compactionThreshold) {
+      compact();
+    }
+  }
+
+  /**
+   * Copies every live record into the checkpoint for the next generation and starts an empty journal for it. The new
+   * checkpoint is written to a temporary file and moved into place, so a failure part way leaves the current generation intact
+   */
+  private void compact() throws IOException {
+    long next = generation + 1;
+    File temp = getFile(next, CHECKPOINT_EXTENSION + TEMP_EXTENSION);
+    Map<String, Location> compacted = new HashMap<>(index.size() * 2);
+    long position = 0;
+    try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      for (Map.Entry<String, Location> entry : index.entrySet()) {
+        Location location = entry.getValue();
+        if (position + location.size() > Integer.MAX_VALUE) {
+          throw new IOException("Session checkpoint has exceeded the maximum mapped size");
+        }
+        ByteBuffer source = getBuffer(location).slice(location.offset(), location.size());
+        while (source.hasRemaining()) {
+          channel.write(source);
+        }
+        int offset = (int) position;
+        compacted.put(entry.getKey(), new Location(true, offset, location.size(), offset + (location.payloadOffset() - location.offset()), location.payloadLength()));
+        position += location.size();
+      }
+      channel.force(true);
+    }
+    File checkpointFile = getFile(next, CHECKPOINT_EXTENSION);
+    Files.move(temp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    try (FileChannel channel = FileChannel.open(checkpointFile.toPath(), StandardOpenOption.READ)) {
+      checkpoint = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    close();
+    generation = next;
+    index.clear();
+    index.putAll(compacted);
+    liveBytes = position;
+    deadBytes = 0;
+    openJournal(generation);
+    deleteOldGenerations();
+    logger.log(SESSION_JOURNAL_COMPACTED, generation, index.size(), position);
+  }
+
+  private void openJournal(long journalGeneration) throws IOException {
+    File file = getFile(journalGeneration, JOURNAL_EXTENSION);
+    journalChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    long capacity = Math.max(journalChannel.size(), segmentSize);
+    journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+  }
+
+  private long locateGeneration() {
+    long latest = 0;
+    File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(CHECKPOINT_EXTENSION));
+    if (files != null) {
+      for (File file : files) {
+        latest = Math.max(latest, parseGeneration(file.getName(), CHECKPOINT_EXTENSION));
+      }
+    }
+    return latest;
+  }
+
+  private void deleteOldGenerations() throws IOException {
+    File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX));
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        String extension = name.endsWith(JOURNAL_EXTENSION) ? JOURNAL_EXTENSION : CHECKPOINT_EXTENSION;
+        if (name.endsWith(TEMP_EXTENSION) || parseGeneration(name, extension) < generation) {
+          Files.deleteIfExists(file.toPath());
+        }
+      }
+    }
+  }
+
+  private static long parseGeneration(String name, String extension) {
+    try {
+      return Long.parseLong(name.substring(PREFIX.length(), name.length() - extension.length()));
+    } catch (RuntimeException e) {
+      return -1;
+    }
+  }
+
+  private File getFile(long fileGeneration, String extension) {
+    return new File(directory, PREFIX + fileGeneration + extension);
+  }
+  //</editor-fold>
+
+  private record Location(boolean checkpoint, int offset, int size, int payloadOffset, int payloadLength) {
+  }
+}
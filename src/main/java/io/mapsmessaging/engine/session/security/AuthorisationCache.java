@@ -0,0 +1,87 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.session.security;
+
+import io.mapsmessaging.security.authorisation.Permission;
+import io.mapsmessaging.security.authorisation.ProtectedResource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Bounded, least recently used cache of the authorisation decisions made for a single security context. Every
+ * decision is stamped with the ACL version it was made against, any grant, revoke or group membership change moves
+ * the version on and the next lookup discards the stale decisions.
+ */
+public class AuthorisationCache {
+
+  private final int maxEntries;
+  private final Map<Key, Boolean> decisions;
+  private long version;
+
+  public AuthorisationCache(int maxEntries) {
+    this.maxEntries = Math.max(1, maxEntries);
+    decisions = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+        return size() > AuthorisationCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * @param aclVersion the current ACL version
+   * @param key the decision to look up
+   * @return the cached decision, or null if it needs to be evaluated
+   */
+  public synchronized Boolean get(long aclVersion, Key key) {
+    if (aclVersion != version) {
+      decisions.clear();
+      version = aclVersion;
+    }
+    return decisions.get(key);
+  }
+
+  /**
+   * Stores the decision, unless the ACL has moved on since the decision was evaluated
+   */
+  public synchronized void put(long aclVersion, Key key, boolean decision) {
+    if (aclVersion == version) {
+      decisions.put(key, decision);
+    }
+  }
+
+  public synchronized int size() {
+    return decisions.size();
+  }
+
+  public synchronized void clear() {
+    decisions.clear();
+  }
+
+  public record Key(UUID identity, long permission, String resourceType, String resourceId, String tenant) {
+
+    public static Key of(UUID identity, Permission permission, ProtectedResource resource) {
+      return new Key(identity, permission.getMask(), resource.getResourceType(), resource.getResourceId(), Objects.toString(resource.getTenant(), null));
+    }
+  }
+}
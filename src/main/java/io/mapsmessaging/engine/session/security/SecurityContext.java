@@ -24,6 +24,7 @@ import io.mapsmessaging.auth.AuthManager;
 import io.mapsmessaging.security.SubjectHelper;
 import io.mapsmessaging.security.access.Identity;
 import io.mapsmessaging.security.access.mapping.GroupIdMap;
+import io.mapsmessaging.utilities.SystemProperties;
 import lombok.Getter;
 
 import javax.security.auth.Subject;
@@ -41,9 +42,12 @@ public abstract class SecurityContext {
 
   private List<UUID> accessIds;
 
+  private final AuthorisationCache authorisationCache;
+
   protected SecurityContext(String username){
     this.username = username;
     this.identity = AuthManager.getInstance().getUserIdentity(username);
+    authorisationCache = new AuthorisationCache((int) SystemProperties.getInstance().getLongProperty("AUTHORISATION_CACHE_SIZE", 256));
   }
 
   public abstract void login() throws IOException;
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class SystemTopic extends DestinationImpl implements Service {
 
@@ -67,6 +68,11 @@ public abstract class SystemTopic extends DestinationImpl implements Service {
     throw new IOException("Write to a system topic is prohibited");
   }
 
+  @Override
+  public CompletableFuture<Integer> storeMessageAsync(@NonNull @NotNull Message message) {
+    return CompletableFuture.failedFuture(new IOException("Write to a system topic is prohibited"));
+  }
+
   public void start() {
     UUID schemaId = getSchemaUUID();
     if (schemaId != null) {
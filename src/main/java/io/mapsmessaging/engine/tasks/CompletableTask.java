@@ -0,0 +1,70 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.tasks;
+
+import lombok.Getter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Wraps a task so that its outcome is reported through a CompletableFuture rather than requiring the caller to block on the
+ * scheduler's Future. If the wrapped task responds with a FutureResponse backed by a CompletableFuture then completion is
+ * deferred until that nested response has also completed.
+ */
+public class CompletableTask implements Callable<Response> {
+
+  private final Callable<Response> task;
+
+  @Getter
+  private final CompletableFuture<Response> completion;
+
+  public CompletableTask(Callable<Response> task) {
+    this.task = task;
+    this.completion = new CompletableFuture<>();
+  }
+
+  @Override
+  public Response call() throws Exception {
+    Response response;
+    try {
+      response = task.call();
+    } catch (Exception e) {
+      completion.completeExceptionally(e);
+      throw e;
+    }
+    if (response instanceof FutureResponse futureResponse) {
+      Future<Response> nested = futureResponse.getResponse();
+      if (nested instanceof CompletableFuture<Response> nestedCompletion) {
+        nestedCompletion.whenComplete((result, throwable) -> {
+          if (throwable != null) {
+            completion.completeExceptionally(throwable);
+          } else {
+            completion.complete(result);
+          }
+        });
+        return response;
+      }
+    }
+    completion.complete(response);
+    return response;
+  }
+}
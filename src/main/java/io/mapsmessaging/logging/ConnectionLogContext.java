@@ -0,0 +1,78 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.logging;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds the logging context of a connection or subscription as a prebuilt, immutable map. Installing it is a single
+ * putAll onto the ThreadContext and the map is only rebuilt when one of the values has changed since the last event,
+ * so the hot paths no longer churn through a put per entry on every packet.
+ */
+public class ConnectionLogContext {
+
+  private final String[] keys;
+  private Snapshot snapshot;
+
+  public ConnectionLogContext(String... keys) {
+    this.keys = keys;
+    snapshot = new Snapshot(new String[keys.length], Collections.emptyMap());
+  }
+
+  /**
+   * Installs the context onto the current thread. The values are supplied in the same order as the keys given to
+   * the constructor, null values are left out of the context.
+   *
+   * @param values the current value for each key
+   */
+  public void install(String... values) {
+    ThreadContext.putAll(update(values));
+  }
+
+  Map<String, String> update(String... values) {
+    Snapshot current = snapshot;
+    if (!current.matches(values)) {
+      Map<String, String> map = new LinkedHashMap<>();
+      for (int x = 0; x < keys.length; x++) {
+        if (values[x] != null) {
+          map.put(keys[x], values[x]);
+        }
+      }
+      current = new Snapshot(values.clone(), Collections.unmodifiableMap(map));
+      snapshot = current;
+    }
+    return current.context;
+  }
+
+  private record Snapshot(String[] values, Map<String, String> context) {
+
+    private boolean matches(String[] latest) {
+      for (int x = 0; x < values.length; x++) {
+        if (!Objects.equals(values[x], latest[x])) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -215,6 +215,7 @@ public enum ServerLogMessages implements LogMessage {
   SSL_HANDSHAKE_ENCRYPTED(LEVEL.DEBUG, SERVER_CATEGORY.NETWORK, "Encrypted In Buffer Status : Position:{} Limit:{}"),
   SSL_HANDSHAKE_NEED_TASK(LEVEL.DEBUG, SERVER_CATEGORY.NETWORK, "SSL handshake state :: NEED_TASK"),
   SSL_HANDSHAKE_EXCEPTION(LEVEL.WARN, SERVER_CATEGORY.NETWORK, "SSL handshake raised exception"),
+  SSL_HANDSHAKE_TASK_OFFLOADED(LEVEL.DEBUG, SERVER_CATEGORY.NETWORK, "SSL handshake tasks passed to the handshake pool"),
   // </editor-fold>
 
   // <editor-fold desc="SSL Server EndPoint log messages">
@@ -227,6 +228,7 @@ public enum ServerLogMessages implements LogMessage {
   SSL_SERVER_LOAD_KEY_STORE(LEVEL.DEBUG, SERVER_CATEGORY.NETWORK, "Loading Key Store {} of type {}"),
   SSL_SERVER_LOADED_KEY_STORE(LEVEL.DEBUG, SERVER_CATEGORY.NETWORK, "Loaded Key Store {} of type {}"),
   SSL_SERVER_ACCEPT_FAILED(LEVEL.WARN, SERVER_CATEGORY.NETWORK, "Accept failed"),
+  SSL_SERVER_SESSION_CACHE(LEVEL.DEBUG, SERVER_CATEGORY.NETWORK, "SSL session cache set to {} entries with a timeout of {} seconds"),
   // </editor-fold>
 
   // <editor-fold desc="UDP EndPoint log messages">
@@ -304,6 +306,10 @@ public enum ServerLogMessages implements LogMessage {
   SESSION_SAVE_STATE_ERROR(LEVEL.ERROR, SERVER_CATEGORY.ENGINE, "Failed to save state for {} at {}"),
   SESSION_LOAD_STATE_ERROR(LEVEL.ERROR, SERVER_CATEGORY.ENGINE, "Failed to load state for file {}"),
   SESSION_INIT_ERROR(LEVEL.ERROR, SERVER_CATEGORY.ENGINE, "Failed create directory for session state at {}"),
+  SESSION_JOURNAL_RECOVERED(LEVEL.INFO, SERVER_CATEGORY.ENGINE, "Recovered {} sessions from the session journal in {}ms"),
+  SESSION_JOURNAL_COMPACTED(LEVEL.INFO, SERVER_CATEGORY.ENGINE, "Compacted session journal to generation {} with {} sessions, {} bytes"),
+  SESSION_JOURNAL_TRUNCATED(LEVEL.WARN, SERVER_CATEGORY.ENGINE, "Session journal {} has an incomplete record at offset {}, discarding remainder"),
+  SESSION_JOURNAL_MIGRATED(LEVEL.INFO, SERVER_CATEGORY.ENGINE, "Migrated {} session files into the session journal"),
   //</editor-fold>
 
   // <editor-fold desc="Will message processing log messages">
@@ -366,6 +372,7 @@ public enum ServerLogMessages implements LogMessage {
   STOMP_PROCESSING_FRAME_EXCEPTION(LEVEL.WARN, SERVER_CATEGORY.PROTOCOL, "Processing frame raised exception, closing session"),
   STOMP_INVALID_FRAME(LEVEL.WARN, SERVER_CATEGORY.PROTOCOL, "Invalid STOMP frame received.. Unable to process::{}"),
   STOMP_FRAME_HANDLE_EXCEPTION(LEVEL.WARN, SERVER_CATEGORY.PROTOCOL, "Exception raised during frame {} processing"),
+  STOMP_STORE_FAILED(LEVEL.WARN, SERVER_CATEGORY.PROTOCOL, "Failed to store message to destination {}"),
   // </editor-fold>
 
   // <editor-fold desc="Nats Protocol log messages">
@@ -534,6 +541,8 @@ public enum ServerLogMessages implements LogMessage {
   //<editor-fold desc="Destination Manager log messages">
   DESTINATION_MANAGER_RELOADED(LEVEL.INFO, SERVER_CATEGORY.ENGINE, "Reloaded {} out of {}"),
   DESTINATION_MANAGER_RELOAD_INTERRUPTED(LEVEL.WARN, SERVER_CATEGORY.ENGINE, "The reloading of server resources was interrupted during reload"),
+  DESTINATION_MANAGER_RELOAD_COMPLETE(LEVEL.INFO, SERVER_CATEGORY.ENGINE, "Reloaded {} destinations, {} failed, in {}ms"),
+  DESTINATION_MANAGER_DEFERRED_LOAD_FAILED(LEVEL.WARN, SERVER_CATEGORY.ENGINE, "Deferred load processing failed for {}"),
   //</editor-fold>
 
   //<editor-fold desc="Destination Subscription log messages">
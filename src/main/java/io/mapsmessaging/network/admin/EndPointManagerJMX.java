@@ -24,6 +24,7 @@ import com.udojava.jmx.wrapper.JMXBeanAttribute;
 import com.udojava.jmx.wrapper.JMXBeanOperation;
 import io.mapsmessaging.dto.rest.config.network.EndPointServerConfigDTO;
 import io.mapsmessaging.network.EndPointManager;
+import io.mapsmessaging.network.io.impl.ssl.SSLHandshakeExecutor;
 import io.mapsmessaging.utilities.admin.HealthMonitor;
 import io.mapsmessaging.utilities.admin.HealthStatus;
 import io.mapsmessaging.utilities.admin.HealthStatus.LEVEL;
@@ -113,4 +114,31 @@ public class EndPointManagerJMX implements HealthMonitor {
   }
   //</editor-fold>
 
+  //<editor-fold desc="TLS handshake attributes, shared by all TLS end points">
+  @JMXBeanAttribute(name = "Handshake Queue Depth", description = "Returns the number of TLS handshake tasks waiting for a handshake thread")
+  public int getHandshakeQueueDepth() {
+    return SSLHandshakeExecutor.getInstance().getQueueDepth();
+  }
+
+  @JMXBeanAttribute(name = "Handshake Active Threads", description = "Returns the number of handshake threads currently running TLS handshake tasks")
+  public int getHandshakeActiveCount() {
+    return SSLHandshakeExecutor.getInstance().getActiveCount();
+  }
+
+  @JMXBeanAttribute(name = "Handshake Average Queue Time", description = "Returns the average time, in microseconds, a TLS handshake task waited in the queue")
+  public long getHandshakeAverageQueueTime() {
+    return SSLHandshakeExecutor.getInstance().getAverageQueueTime();
+  }
+
+  @JMXBeanAttribute(name = "Handshake Average Time", description = "Returns the average time, in milliseconds, to complete a TLS handshake")
+  public long getAverageHandshakeTime() {
+    return SSLHandshakeExecutor.getInstance().getAverageHandshakeTime();
+  }
+
+  @JMXBeanAttribute(name = "Handshake Run On Selector", description = "Returns the number of TLS handshake tasks run on the selector thread because the handshake queue was full")
+  public long getHandshakeRunOnSelector() {
+    return SSLHandshakeExecutor.getInstance().getRunOnSelector();
+  }
+  //</editor-fold>
+
 }
@@ -0,0 +1,121 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.io;
+
+import io.mapsmessaging.utilities.SystemProperties;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pools the network read and write buffers. Connections borrow a buffer when they have data to move and hand it back
+ * once it is empty, so an idle connection does not pin a buffer sized for the largest frame it could ever see.
+ * Buffers are kept in slabs by capacity and type, each slab holds at most NETWORK_BUFFER_POOL_SIZE idle buffers.
+ */
+@SuppressWarnings("java:S6548") // yes it is a singleton
+public class PacketPool {
+
+  private static class Holder {
+    static final PacketPool INSTANCE = new PacketPool();
+  }
+
+  public static PacketPool getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private final Map<Long, Slab> slabs;
+  private final int maxPooled;
+  private final LongAdder allocated;
+  private final LongAdder reused;
+
+  private PacketPool() {
+    slabs = new ConcurrentHashMap<>();
+    maxPooled = (int) SystemProperties.getInstance().getLongProperty("NETWORK_BUFFER_POOL_SIZE", 1024);
+    allocated = new LongAdder();
+    reused = new LongAdder();
+  }
+
+  public Packet borrow(int size, boolean direct) {
+    ByteBuffer buffer = maxPooled > 0 ? slab(size, direct).poll() : null;
+    if (buffer == null) {
+      allocated.increment();
+      return new Packet(size, direct);
+    }
+    reused.increment();
+    return new Packet(buffer);
+  }
+
+  public void release(Packet packet) {
+    if (maxPooled <= 0) {
+      return;
+    }
+    packet.clear();
+    packet.setFromAddress(null);
+    ByteBuffer buffer = packet.getRawBuffer();
+    slab(buffer.capacity(), buffer.isDirect()).offer(buffer);
+  }
+
+  public long getAllocated() {
+    return allocated.sum();
+  }
+
+  public long getReused() {
+    return reused.sum();
+  }
+
+  public int getPooled() {
+    int count = 0;
+    for (Slab slab : slabs.values()) {
+      count += slab.size.get();
+    }
+    return count;
+  }
+
+  private Slab slab(int size, boolean direct) {
+    long key = ((long) size << 1) | (direct ? 1 : 0);
+    return slabs.computeIfAbsent(key, k -> new Slab());
+  }
+
+  private final class Slab {
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private ByteBuffer poll() {
+      ByteBuffer buffer = buffers.poll();
+      if (buffer != null) {
+        size.decrementAndGet();
+      }
+      return buffer;
+    }
+
+    private void offer(ByteBuffer buffer) {
+      if (size.incrementAndGet() <= maxPooled) {
+        buffers.offer(buffer);
+      } else {
+        size.decrementAndGet(); // pool is full, let it go
+      }
+    }
+  }
+}
@@ -21,6 +21,7 @@ package io.mapsmessaging.network.io.impl;
 
 import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
 import io.mapsmessaging.network.io.ServerPacket;
 import io.mapsmessaging.network.io.ServerPublishPacket;
 
@@ -34,24 +35,37 @@ import static java.nio.channels.SelectionKey.OP_WRITE;
 
 public class FrameHandler {
   private final WriteTask writeTask;
-  private final Packet packet;
+  private final int bufferSize;
   private boolean isRegistered;
   private final Deque<ServerPacket> completedFrames;
 
+  // Borrowed from the pool while there are frames to write, handed back once they have all gone
+  private Packet packet;
+
+  // Payload buffers of a publish that go out after the packet, straight from the message rather than copied
+  private Packet[] trailingParts;
+  private int trailingIndex;
+
   public FrameHandler(WriteTask task, int bufferSize) {
     this.writeTask = task;
+    this.bufferSize = bufferSize;
     completedFrames = new LinkedList<>();
     isRegistered = false;
-    packet = new Packet(bufferSize, false);
   }
 
   public void processSelection() {
-    boolean sent = packPacket();
-    // Outstanding data in packet so lets empty it
-    if(!sent) {
+    // A packet is only held while it, or the parts following it, still have bytes to go out
+    if (packet == null) {
+      packet = PacketPool.getInstance().borrow(bufferSize, false);
+      packPacket();
+    }
+    if (packet.hasRemaining()) {
       writeBuffer();
     }
-    if (!packet.hasData()) {
+    if (!packet.hasRemaining()) {
+      writeTrailingParts();
+    }
+    if (!packet.hasRemaining() && trailingParts == null) {
       packet.clear();
       while (!completedFrames.isEmpty()) {
         completedFrames.poll().complete();
@@ -60,53 +74,64 @@ public class FrameHandler {
       if ( writeTask.outboundFrame.isEmpty()) {
         cancel();
       }
+      PacketPool.getInstance().release(packet);
+      packet = null;
     }
   }
 
-  private boolean packPacket(){
-    boolean sent = false;
-    if (!packet.hasData()) {
-      int count = 0;
-      ServerPacket serverPacket = writeTask.outboundFrame.poll();
-      while (count < writeTask.getCoalesceSize() && serverPacket != null) {
-        int startPos = packet.position();
-        try {
-          sent = processPacket(serverPacket);
-          completedFrames.add(serverPacket);
-          count++;
-        } catch (BufferOverflowException overflow) {
-          writeTask.selectorCallback.getEndPoint().getEndPointStatus().incrementOverFlow();
-          writeTask.setCoalesceSize( count );
-          packet.position(startPos);
-          writeTask.outboundFrame.addFirst(serverPacket);
-          serverPacket = null;
-          count =  writeTask.getCoalesceSize();
-        }
-        if (count <  writeTask.getCoalesceSize()) {
-          serverPacket =  writeTask.outboundFrame.poll();
-        }
+  private void packPacket(){
+    int count = 0;
+    ServerPacket serverPacket = writeTask.outboundFrame.poll();
+    while (count < writeTask.getCoalesceSize() && serverPacket != null) {
+      int startPos = packet.position();
+      try {
+        processPacket(serverPacket);
+        completedFrames.add(serverPacket);
+        count++;
+      } catch (BufferOverflowException overflow) {
+        writeTask.selectorCallback.getEndPoint().getEndPointStatus().incrementOverFlow();
+        writeTask.setCoalesceSize( count );
+        packet.position(startPos);
+        writeTask.outboundFrame.addFirst(serverPacket);
+        count =  writeTask.getCoalesceSize();
+      }
+      // Trailing parts follow the packet on the wire, so nothing more can be coalesced behind them
+      if (count <  writeTask.getCoalesceSize() && trailingParts == null) {
+        serverPacket =  writeTask.outboundFrame.poll();
       }
-      if(!sent) {
-        packet.flip();
+      else {
+        serverPacket = null;
       }
     }
-    return sent;
+    packet.flip();
   }
 
-  private boolean processPacket(ServerPacket serverPacket){
-    boolean sent = false;
+  private void processPacket(ServerPacket serverPacket){
     if(serverPacket instanceof ServerPublishPacket serverPublishPacket){
       Packet[] packets = serverPublishPacket.packAdvancedFrame(packet);
-      packets[0].flip();
-      for(Packet packetParts:packets){
-        writeBuffer(packetParts);
+      if (packets.length > 1) {
+        trailingParts = packets;
+        trailingIndex = 1;
       }
-      sent = true;
     }
     else {
       serverPacket.packFrame(packet);
     }
-    return sent;
+  }
+
+  // Writes the parts that follow the packet, in order, stopping at the first the socket could not take in full
+  private void writeTrailingParts() {
+    while (trailingParts != null) {
+      Packet part = trailingParts[trailingIndex];
+      writeBuffer(part);
+      if (part.hasRemaining()) {
+        return;
+      }
+      trailingIndex++;
+      if (trailingIndex == trailingParts.length) {
+        trailingParts = null;
+      }
+    }
   }
 
   public synchronized void registerWrite() {
@@ -132,12 +157,14 @@ public class FrameHandler {
   }
 
   public void writeBuffer(){
-    writeBuffer(packet);
+    if (packet != null) {
+      writeBuffer(packet);
+    }
   }
 
   private void writeBuffer(Packet packetToSend) {
     try {
-      writeTask.logger.log(ServerLogMessages.WRITE_TASK_WRITE_PACKET, packet);
+      writeTask.logger.log(ServerLogMessages.WRITE_TASK_WRITE_PACKET, packetToSend);
       if ( writeTask.selectorCallback.getEndPoint().sendPacket(packetToSend) == 0) {
         writeTask.logger.log(WRITE_TASK_BLOCKED);
       }
@@ -19,11 +19,13 @@
 
 package io.mapsmessaging.network.io.impl;
 
+import io.mapsmessaging.logging.ConnectionLogContext;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.logging.ThreadContext;
 import io.mapsmessaging.network.io.EndPoint;
 import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
 import io.mapsmessaging.network.io.Selectable;
 import io.mapsmessaging.utilities.IpAddressHelper;
 import io.mapsmessaging.utilities.threads.SimpleTaskScheduler;
@@ -37,29 +39,60 @@ import static io.mapsmessaging.logging.ServerLogMessages.*;
 public class ReadTask implements Selectable {
 
   protected final Logger logger;
-  protected final Packet packet;
   protected final EndPoint endPoint;
   protected final SelectorCallback selectorCallback;
   private final int readDelay;
   private final int readFragmentation;
+  private final int bufferSize;
+  private final boolean pooled;
+  private final ConnectionLogContext logContext;
+  private final String endPointId;
+
+  // Only held while there is data in it, idle connections hand it back to the pool
+  protected Packet packet;
 
   private long underflow;
+  private String remoteIp;
 
   public ReadTask(SelectorCallback selectorCallback, int bufferSize, Logger logger, int readDelay, int readFragmentation) {
+    this(selectorCallback, bufferSize, logger, readDelay, readFragmentation, true);
+  }
+
+  protected ReadTask(SelectorCallback selectorCallback, int bufferSize, Logger logger, int readDelay, int readFragmentation, boolean pooled) {
     this.logger = logger;
     this.selectorCallback = selectorCallback;
     this.readDelay = readDelay;
     this.readFragmentation = readFragmentation;
+    this.bufferSize = bufferSize;
+    this.pooled = pooled;
+    logContext = new ConnectionLogContext("endpoint", "endpointId", "ip", "protocol", "session", "version");
     endPoint = selectorCallback.getEndPoint();
-    packet = new Packet(bufferSize, true);
+    endPointId = String.valueOf(endPoint.getId());
+    if (!pooled) {
+      packet = new Packet(bufferSize, true);
+    }
   }
 
   public void pushOutstandingData(Packet initialPacket) {
     if (initialPacket.hasRemaining()) {
+      borrowPacket();
       packet.put(initialPacket);
     }
   }
 
+  private void borrowPacket() {
+    if (packet == null) {
+      packet = PacketPool.getInstance().borrow(bufferSize, true);
+    }
+  }
+
+  private void releasePacket() {
+    if (pooled && packet != null && packet.position() == 0) {
+      PacketPool.getInstance().release(packet);
+      packet = null;
+    }
+  }
+
   void closeProtocol() {
     try {
       selectorCallback.close();
@@ -78,15 +111,16 @@ public class ReadTask implements Selectable {
           SimpleTaskScheduler.getInstance().schedule(new ScheduledRead(selectable), readDelay, TimeUnit.MILLISECONDS);
         }
       } else {
-        ThreadContext.put("endpoint", endPoint.getName());
-        ThreadContext.put("ip", IpAddressHelper.normalizeIp(endPoint.getRemoteSocketAddress()));
-        ThreadContext.put("protocol", selectorCallback.getName());
-        ThreadContext.put("session", selectorCallback.getSessionId());
-        ThreadContext.put("version", selectorCallback.getVersion());
+        if (remoteIp == null) {
+          remoteIp = IpAddressHelper.normalizeIp(endPoint.getRemoteSocketAddress());
+        }
+        logContext.install(endPoint.getName(), endPointId, remoteIp, selectorCallback.getName(), selectorCallback.getSessionId(), selectorCallback.getVersion());
+        borrowPacket();
         read();
         if (packet.position() == packet.capacity()) {
           packet.clear();
         }
+        releasePacket();
       }
     } catch (IOException e) {
       if (!(e.getMessage().equalsIgnoreCase("Socket closed") || e.getMessage().equalsIgnoreCase("Connection reset"))) {
@@ -30,8 +30,10 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -41,6 +43,7 @@ public class Selector implements SelectorInt {
   protected java.nio.channels.Selector channelSelector;
   private final Logger logger;
   private final AtomicBoolean isOpen;
+  private final Queue<SelectableChannel> resumedChannels;
   private long spinStartTime = 0L;
 
   public Selector() throws IOException {
@@ -48,6 +51,7 @@ public class Selector implements SelectorInt {
     logger.log(ServerLogMessages.SELECTOR_OPEN);
     channelSelector = java.nio.channels.Selector.open();
     isOpen = new AtomicBoolean(true);
+    resumedChannels = new ConcurrentLinkedQueue<>();
   }
 
   @Override
@@ -58,7 +62,8 @@ public class Selector implements SelectorInt {
     while (isOpen.get()) {
       try {
         int selected = channelSelector.select();
-        if (selected == 0) {
+        int resumed = processResumed();
+        if (selected == 0 && resumed == 0) {
           if (emptySelectCount == 0) {
             spinStartTime = System.nanoTime();
           }
@@ -73,9 +78,10 @@ public class Selector implements SelectorInt {
           }
           Thread.yield();
         } else {
-          Set<SelectionKey> selectedKeys = channelSelector.selectedKeys();
           emptySelectCount = 0;
-          processSelectionList(selectedKeys);
+          if (selected != 0) {
+            processSelectionList(channelSelector.selectedKeys());
+          }
         }
       } catch (Throwable e) {
         e.printStackTrace();
@@ -149,6 +155,51 @@ public class Selector implements SelectorInt {
     }
   }
 
+  /**
+   * Drops read interest for the channel while work it depends on, such as TLS handshake tasks, runs off the selector.
+   * Must be called on this selector's thread, the interest is restored by {@link #resumeRead(SelectableChannel)}.
+   *
+   * @param channel the channel to pause
+   */
+  public void pauseRead(SelectableChannel channel) {
+    SelectionKey key = channel.keyFor(channelSelector);
+    if (key != null && key.isValid()) {
+      key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+    }
+  }
+
+  /**
+   * Restores read interest and queues a read callback for the channel on this selector's thread. Used when work
+   * completed off the selector, such as TLS handshake tasks, may have left buffered data that the socket will not
+   * signal again.
+   *
+   * @param channel the channel to resume
+   */
+  public void resumeRead(SelectableChannel channel) {
+    resumedChannels.offer(channel);
+    channelSelector.wakeup();
+  }
+
+  private int processResumed() {
+    int count = 0;
+    SelectableChannel channel;
+    while ((channel = resumedChannels.poll()) != null) {
+      count++;
+      SelectionKey key = channel.keyFor(channelSelector);
+      try {
+        if (key != null && key.isValid() && key.attachment() instanceof Selectable selectable) {
+          key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+          selectable.selected(selectable, this, SelectionKey.OP_READ);
+        }
+      } catch (CancelledKeyException cancelled) {
+        logger.log(ServerLogMessages.SELECTOR_CONNECTION_CLOSE);
+      } catch (Exception e) {
+        logger.log(ServerLogMessages.SELECTOR_TASK_FAILED_1, String.valueOf(key), e);
+      }
+    }
+    return count;
+  }
+
   @Override
   public void close() {
     isOpen.set(false);
@@ -39,7 +39,7 @@ public class UDPReadTask extends ReadTask {
   private Packet udpPacket;
 
   public UDPReadTask(SelectorCallback selectorCallback, int bufferSize, long threshold, Logger logger) {
-    super(selectorCallback, bufferSize, logger, -1, -1);
+    super(selectorCallback, bufferSize, logger, -1, -1, false);
     udpPacket = new Packet(bufferSize, false);
     this.threshold = threshold;
     outstandingPacketMap = new LinkedHashMap<>();
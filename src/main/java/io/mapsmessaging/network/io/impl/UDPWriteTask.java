@@ -21,6 +21,7 @@ package io.mapsmessaging.network.io.impl;
 
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
 import io.mapsmessaging.network.io.ServerPacket;
 
 import java.io.IOException;
@@ -39,9 +40,9 @@ public class UDPWriteTask extends WriteTask {
 
   @Override
   public void handleWrite() {
-    Packet packet = new Packet(bufferSize, false);
     ServerPacket frame = outboundFrame.poll();
     if (frame != null) {
+      Packet packet = PacketPool.getInstance().borrow(bufferSize, false);
       packet.setFromAddress(frame.getFromAddress());
       frame.packFrame(packet);
       packet.flip();
@@ -52,6 +53,7 @@ public class UDPWriteTask extends WriteTask {
       } catch (IOException e) {
         logger.log(UDP_WRITE_TASK_SEND_PACKET_ERROR, e);
       }
+      PacketPool.getInstance().release(packet);
       if (outboundFrame.isEmpty()) {
         frameHandler.cancel();
       }
@@ -19,6 +19,7 @@
 
 package io.mapsmessaging.network.io.impl;
 
+import io.mapsmessaging.logging.ConnectionLogContext;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.ThreadContext;
 import io.mapsmessaging.network.io.Selectable;
@@ -38,6 +39,8 @@ public class WriteTask implements Selectable {
   protected final SelectorTask selectorTask;
   protected final Deque<ServerPacket> outboundFrame;
   protected final SelectorCallback selectorCallback;
+  private final ConnectionLogContext logContext;
+  private final String endPointId;
 
   @Getter
   @Setter
@@ -50,14 +53,13 @@ public class WriteTask implements Selectable {
     frameHandler = new FrameHandler(this, bufferSize);
     outboundFrame = new ConcurrentLinkedDeque<>();
     coalesceSize = 100;
+    logContext = new ConnectionLogContext("endpoint", "endpointId", "protocol", "session", "version");
+    endPointId = String.valueOf(selectorCallback.getEndPoint().getId());
   }
 
   @Override
   public void selected(Selectable selectable, Selector selector, int selection) {
-    ThreadContext.put("endpoint", selectorCallback.getEndPoint().getName());
-    ThreadContext.put("protocol", selectorCallback.getName());
-    ThreadContext.put("session", selectorCallback.getSessionId());
-    ThreadContext.put("version", selectorCallback.getVersion());
+    logContext.install(selectorCallback.getEndPoint().getName(), endPointId, selectorCallback.getName(), selectorCallback.getSessionId(), selectorCallback.getVersion());
     try {
       handleWrite();
     } catch (Exception e) {
@@ -111,7 +111,7 @@ public class DTLSEndPoint extends EndPoint implements StateChangeListener, Timeo
 
   @Override
   protected Logger createLogger() {
-    return LoggerFactory.getLogger(DTLSEndPoint.class.getName() + "_" + getId());
+    return LoggerFactory.getLogger(DTLSEndPoint.class);
   }
 
   @Override
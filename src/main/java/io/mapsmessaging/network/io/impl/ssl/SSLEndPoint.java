@@ -27,6 +27,7 @@ import io.mapsmessaging.network.io.EndPointConnectedCallback;
 import io.mapsmessaging.network.io.EndPointServer;
 import io.mapsmessaging.network.io.EndPointServerStatus;
 import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
 import io.mapsmessaging.network.io.impl.Selector;
 import io.mapsmessaging.network.io.impl.tcp.TCPEndPoint;
 
@@ -45,8 +46,10 @@ import java.util.List;
 
 public class SSLEndPoint extends TCPEndPoint {
 
-  private final ByteBuffer encryptedOut;
-  private final ByteBuffer encryptedIn;
+  // Borrowed from the pool while they hold encrypted bytes, an idle connection holds neither
+  private final int encryptedBufferSize;
+  private Packet encryptedOut;
+  private Packet encryptedIn;
 
   //
   // Required by the Handshake Manager
@@ -60,8 +63,7 @@ public class SSLEndPoint extends TCPEndPoint {
     logger.log(ServerLogMessages.SSL_CREATE_ENGINE);
     int sessionSize = sslEngine.getSession().getPacketBufferSize();
     logger.log(ServerLogMessages.SSL_ENCRYPTION_BUFFERS, sessionSize);
-    encryptedOut = ByteBuffer.allocateDirect(sessionSize);
-    encryptedIn = ByteBuffer.allocateDirect(sessionSize);
+    encryptedBufferSize = sessionSize;
     init(engine, callback);
     sendBuffer(ByteBuffer.allocate(0)); // Kick off the SSL handshake
     select.register(accepted, SelectionKey.OP_READ, handshakeManager);
@@ -76,8 +78,7 @@ public class SSLEndPoint extends TCPEndPoint {
 
     int sessionSize = sslEngine.getSession().getPacketBufferSize();
     logger.log(ServerLogMessages.SSL_ENCRYPTION_BUFFERS, sessionSize);
-    encryptedOut = ByteBuffer.allocateDirect(sessionSize);
-    encryptedIn = ByteBuffer.allocateDirect(sessionSize);
+    encryptedBufferSize = sessionSize;
 
     init(engine, null);
   }
@@ -93,6 +94,16 @@ public class SSLEndPoint extends TCPEndPoint {
     sslEngine.beginHandshake();
   }
 
+  // Called before delegated handshake tasks leave the selector, stops incoming data firing the selector with no progress
+  void pauseHandshake() {
+    selector.pauseRead(socketChannel);
+  }
+
+  // Called once delegated handshake tasks complete off the selector, hands the handshake back to the selector thread
+  void resumeHandshake() {
+    selector.resumeRead(socketChannel);
+  }
+
   @Override
   public int sendPacket(Packet packet) throws IOException {
     handshakeManager.handleSSLHandshakeStatus();
@@ -121,18 +132,32 @@ public class SSLEndPoint extends TCPEndPoint {
 
   @Override
   protected int sendBuffer(ByteBuffer applicationOutBuffer) throws IOException {
-    int len = flushEncryptedOut();
+    if (encryptedOut == null) {
+      encryptedOut = PacketPool.getInstance().borrow(encryptedBufferSize, true);
+    }
+    try {
+      return wrap(applicationOutBuffer, encryptedOut.getRawBuffer());
+    } finally {
+      if (encryptedOut.position() == 0) {
+        PacketPool.getInstance().release(encryptedOut);
+        encryptedOut = null;
+      }
+    }
+  }
 
-    if (encryptedOut.position() != 0) {
+  private int wrap(ByteBuffer applicationOutBuffer, ByteBuffer encrypted) throws IOException {
+    int len = flushEncryptedOut(encrypted);
+
+    if (encrypted.position() != 0) {
       logger.log(ServerLogMessages.SSL_SEND_ENCRYPTED, len);
       return len;
     }
 
     SSLEngineResult result;
     do {
-      result = handleSSLEngineResult(sslEngine.wrap(applicationOutBuffer, encryptedOut));
-      len += flushEncryptedOut();
-      if (encryptedOut.position() != 0) {
+      result = handleSSLEngineResult(sslEngine.wrap(applicationOutBuffer, encrypted));
+      len += flushEncryptedOut(encrypted);
+      if (encrypted.position() != 0) {
         break;
       }
 
@@ -141,21 +166,22 @@ public class SSLEndPoint extends TCPEndPoint {
 
     return len;
   }
-  private int flushEncryptedOut() throws IOException {
+
+  private int flushEncryptedOut(ByteBuffer encrypted) throws IOException {
     int len = 0;
-    if (encryptedOut.position() != 0) {
-      encryptedOut.flip();
-      while (encryptedOut.hasRemaining()) {
-        int sent = super.sendBuffer(encryptedOut);
+    if (encrypted.position() != 0) {
+      encrypted.flip();
+      while (encrypted.hasRemaining()) {
+        int sent = super.sendBuffer(encrypted);
         if (sent <= 0) {
           break;
         }
         len += sent;
       }
-      if (encryptedOut.hasRemaining()) {
-        encryptedOut.compact();
+      if (encrypted.hasRemaining()) {
+        encrypted.compact();
       } else {
-        encryptedOut.clear();
+        encrypted.clear();
       }
     }
     return len;
@@ -163,24 +189,39 @@ public class SSLEndPoint extends TCPEndPoint {
 
   @Override
   protected int readBuffer(ByteBuffer applicationIn) throws IOException {
-    int response = super.readBuffer(encryptedIn);
-    logger.log(ServerLogMessages.SSL_READ_ENCRYPTED, response, encryptedIn.position(), encryptedIn.limit());
-    if (response > 0 || encryptedIn.position() != 0) {
-      if (encryptedIn.limit() == encryptedIn.capacity()) {
-        encryptedIn.flip();
-        response = encryptedIn.limit();
+    if (encryptedIn == null) {
+      encryptedIn = PacketPool.getInstance().borrow(encryptedBufferSize, true);
+    }
+    try {
+      return unwrap(applicationIn, encryptedIn.getRawBuffer());
+    } finally {
+      // Only a partial record has to be carried over to the next read
+      if (encryptedIn.position() == 0) {
+        PacketPool.getInstance().release(encryptedIn);
+        encryptedIn = null;
+      }
+    }
+  }
+
+  private int unwrap(ByteBuffer applicationIn, ByteBuffer encrypted) throws IOException {
+    int response = super.readBuffer(encrypted);
+    logger.log(ServerLogMessages.SSL_READ_ENCRYPTED, response, encrypted.position(), encrypted.limit());
+    if (response > 0 || encrypted.position() != 0) {
+      if (encrypted.limit() == encrypted.capacity()) {
+        encrypted.flip();
+        response = encrypted.limit();
       }
-      logger.log(ServerLogMessages.SSL_READ_ENCRYPTED, response, encryptedIn.position(), encryptedIn.limit());
+      logger.log(ServerLogMessages.SSL_READ_ENCRYPTED, response, encrypted.position(), encrypted.limit());
       SSLEngineResult result;
       do {
-        int beforeIn = encryptedIn.position();
+        int beforeIn = encrypted.position();
         int beforeOut = applicationIn.position();
 
-        result = sslEngine.unwrap(encryptedIn, applicationIn);
+        result = sslEngine.unwrap(encrypted, applicationIn);
         handleSSLEngineResult(result);
 
         if (result.getStatus() == Status.BUFFER_UNDERFLOW) {
-          encryptedIn.compact();
+          encrypted.compact();
           return response;
         }
 
@@ -190,16 +231,16 @@ public class SSLEndPoint extends TCPEndPoint {
           break; // let handshake manager drive next step
         }
 
-        boolean noProgress = encryptedIn.position() == beforeIn && applicationIn.position() == beforeOut;
+        boolean noProgress = encrypted.position() == beforeIn && applicationIn.position() == beforeOut;
         if (noProgress) {
           break; // avoid spin
         }
-      } while (encryptedIn.hasRemaining() && applicationIn.hasRemaining());
+      } while (encrypted.hasRemaining() && applicationIn.hasRemaining());
 
-      if (encryptedIn.position() == encryptedIn.limit()) {
-        encryptedIn.clear();
+      if (encrypted.position() == encrypted.limit()) {
+        encrypted.clear();
       } else {
-        encryptedIn.compact();
+        encrypted.compact();
       }
     }
     return response;
@@ -238,7 +279,7 @@ public class SSLEndPoint extends TCPEndPoint {
 
   @Override
   protected Logger createLogger() {
-    return LoggerFactory.getLogger(SSLEndPoint.class.getName() + "_" + getId());
+    return LoggerFactory.getLogger(SSLEndPoint.class);
   }
 
 }
@@ -33,9 +33,11 @@ import io.mapsmessaging.network.io.impl.Selector;
 import io.mapsmessaging.network.io.impl.SelectorLoadManager;
 import io.mapsmessaging.network.io.impl.tcp.TCPEndPointServer;
 import io.mapsmessaging.security.ssl.SslHelper;
+import io.mapsmessaging.utilities.SystemProperties;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 
@@ -57,11 +59,25 @@ public class SSLEndPointServer extends TCPEndPointServer {
 
     try {
       sslContext = SslHelper.createContext(tls.getSslConfig().getContext(), ((Config)tls.getSslConfig()).toConfigurationProperties(), logger);
+      configureSessionResumption();
     } finally {
       logger.log(ServerLogMessages.SSL_SERVER_COMPLETED);
     }
   }
 
+  // Reconnecting clients that present a cached session or ticket skip the full key exchange, the JDK issues stateless
+  // session tickets by default so the cache here mainly serves clients that resume by session id
+  private void configureSessionResumption() {
+    SSLSessionContext sessionContext = sslContext.getServerSessionContext();
+    if (sessionContext != null) {
+      int cacheSize = (int) SystemProperties.getInstance().getLongProperty("SSL_SESSION_CACHE_SIZE", 50_000);
+      int timeout = (int) SystemProperties.getInstance().getLongProperty("SSL_SESSION_TIMEOUT", 86_400);
+      sessionContext.setSessionCacheSize(cacheSize);
+      sessionContext.setSessionTimeout(timeout);
+      logger.log(ServerLogMessages.SSL_SERVER_SESSION_CACHE, cacheSize, timeout);
+    }
+  }
+
   @Override
   public void selected(Selectable selectable, Selector sel, int selection) {
     try {
@@ -21,7 +21,10 @@ package io.mapsmessaging.network.io.impl.ssl;
 
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.ServerLogMessages;
+import io.mapsmessaging.logging.ThreadContext;
 import io.mapsmessaging.network.io.EndPointConnectedCallback;
+import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
 import io.mapsmessaging.network.io.Selectable;
 import io.mapsmessaging.network.io.impl.Selector;
 import lombok.Getter;
@@ -29,30 +32,45 @@ import lombok.Getter;
 import javax.net.ssl.SSLEngineResult.HandshakeStatus;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class SSLHandShakeManagerImpl implements SSLHandshakeManager {
 
   private final SSLEndPoint sslEndPointImpl;
 
+  // Nothing is sent during the handshake other than what the engine generates itself
+  private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+  // Borrowed for the handshake only, any application data read with the final handshake records is copied out
+  private final Packet handshakePacket;
   @Getter
   private final ByteBuffer handshakeBufferIn;
-  private final ByteBuffer handshakeBufferOut;
   private final EndPointConnectedCallback callback;
+  private final AtomicBoolean tasksRunning;
+  private final long startTime;
+  private final AtomicBoolean finished;
 
   SSLHandShakeManagerImpl(SSLEndPoint sslEndPointImpl, EndPointConnectedCallback callback) {
     this.sslEndPointImpl = sslEndPointImpl;
     this.callback = callback;
-    handshakeBufferIn = ByteBuffer.allocate(sslEndPointImpl.sslEngine.getSession().getApplicationBufferSize());
-    handshakeBufferOut = ByteBuffer.allocate(sslEndPointImpl.sslEngine.getSession().getApplicationBufferSize());
+    tasksRunning = new AtomicBoolean(false);
+    finished = new AtomicBoolean(false);
+    startTime = System.nanoTime();
+    handshakePacket = PacketPool.getInstance().borrow(sslEndPointImpl.sslEngine.getSession().getApplicationBufferSize(), false);
+    handshakeBufferIn = handshakePacket.getRawBuffer();
   }
 
   public boolean handleSSLHandshakeStatus() throws IOException {
+    if (finished.get()) {
+      return false; // a late selection, the handshake buffer has already gone back to the pool
+    }
     HandshakeStatus handshakeStatus = sslEndPointImpl.sslEngine.getHandshakeStatus();
     Logger logger = sslEndPointImpl.getLogger();
     while (handshakeStatus != HandshakeStatus.FINISHED
         && handshakeStatus != HandshakeStatus.NOT_HANDSHAKING) {
       if (handshakeStatus == HandshakeStatus.NEED_TASK) {
         runDelegatedTasks();
+        return true; // Read interest is cleared until the tasks complete and the selector is resumed
       } else if (handshakeStatus == HandshakeStatus.NEED_UNWRAP) {
         logger.log(ServerLogMessages.SSL_HANDSHAKE_NEED_UNWRAP);
         handshakeBufferIn.clear();
@@ -61,22 +79,70 @@ public class SSLHandShakeManagerImpl implements SSLHandshakeManager {
         }
       } else if (handshakeStatus == HandshakeStatus.NEED_WRAP) {
         logger.log(ServerLogMessages.SSL_HANDSHAKE_NEED_WRAP);
-        sslEndPointImpl.sendBuffer(handshakeBufferOut);
+        sslEndPointImpl.sendBuffer(EMPTY);
       }
       handshakeStatus = sslEndPointImpl.sslEngine.getHandshakeStatus();
     }
+    if (!finished.compareAndSet(false, true)) {
+      return false;
+    }
     logger.log(ServerLogMessages.SSL_HANDSHAKE_FINISHED);
+    SSLHandshakeExecutor.getInstance().handshakeCompleted(System.nanoTime() - startTime);
     logger.log(ServerLogMessages.SSL_HANDSHAKE_ENCRYPTED, handshakeBufferIn.position(), handshakeBufferIn.limit());
-    sslEndPointImpl.handshakeManager = new SSLHandshakeManagerFinished(handshakeBufferIn); // All done, no longer required
+    handshakeBufferIn.flip();
+    ByteBuffer remaining = ByteBuffer.allocate(handshakeBufferIn.remaining());
+    remaining.put(handshakeBufferIn);
+    PacketPool.getInstance().release(handshakePacket);
+    sslEndPointImpl.handshakeManager = new SSLHandshakeManagerFinished(remaining); // All done, no longer required
     if (callback != null) {
       callback.connected(sslEndPointImpl);
     }
     return false;
   }
 
+  /**
+   * Hands the delegated tasks to the handshake pool, only running them here if the pool is saturated.
+   *
+   * @return true if the tasks have completed, false if they are still running on the handshake pool
+   */
   protected void runDelegatedTasks() {
     Logger logger = sslEndPointImpl.getLogger();
     logger.log(ServerLogMessages.SSL_HANDSHAKE_NEED_TASK);
+    if (!tasksRunning.compareAndSet(false, true)) {
+      return;
+    }
+    sslEndPointImpl.pauseHandshake();
+    if (SSLHandshakeExecutor.getInstance().submit(this::completeDelegatedTasks)) {
+      logger.log(ServerLogMessages.SSL_HANDSHAKE_TASK_OFFLOADED);
+      return;
+    }
+    finishDelegatedTasks(); // Pool is saturated, run them here and still hand back through the selector
+  }
+
+  private void completeDelegatedTasks() {
+    ThreadContext.put("endpoint", sslEndPointImpl.getName());
+    ThreadContext.put("endpointId", String.valueOf(sslEndPointImpl.getId()));
+    try {
+      finishDelegatedTasks();
+    } finally {
+      ThreadContext.clearMap();
+    }
+  }
+
+  private void finishDelegatedTasks() {
+    try {
+      runTasks();
+    } catch (RuntimeException e) {
+      sslEndPointImpl.getLogger().log(ServerLogMessages.SSL_HANDSHAKE_EXCEPTION, e);
+      sslEndPointImpl.close();
+      return;
+    } finally {
+      tasksRunning.set(false);
+    }
+    sslEndPointImpl.resumeHandshake();
+  }
+
+  private void runTasks() {
     Runnable runnable;
     while ((runnable = sslEndPointImpl.sslEngine.getDelegatedTask()) != null) {
       runnable.run();
@@ -0,0 +1,156 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.io.impl.ssl;
+
+import io.mapsmessaging.utilities.SystemProperties;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the SSLEngine delegated tasks, the key exchange and certificate work, away from the selector threads so a burst
+ * of new connections does not stall the traffic of established connections sharing the same selector. The queue is
+ * bounded, once it is full the caller runs the tasks itself which applies back pressure to the accepting selector.
+ */
+@SuppressWarnings("java:S6548") // yes it is a singleton
+public final class SSLHandshakeExecutor {
+
+  private static class Holder {
+    static final SSLHandshakeExecutor INSTANCE = new SSLHandshakeExecutor();
+  }
+
+  public static SSLHandshakeExecutor getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private final ThreadPoolExecutor executor;
+
+  private final LongAdder offloaded = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder taskTime = new LongAdder();
+  private final LongAdder queueTime = new LongAdder();
+  private final LongAccumulator maxQueueTime = new LongAccumulator(Long::max, 0);
+
+  private final LongAdder handshakes = new LongAdder();
+  private final LongAdder handshakeTime = new LongAdder();
+  private final LongAccumulator maxHandshakeTime = new LongAccumulator(Long::max, 0);
+
+  private SSLHandshakeExecutor() {
+    int poolSize = (int) SystemProperties.getInstance().getLongProperty("SSL_HANDSHAKE_THREADS", Runtime.getRuntime().availableProcessors());
+    int queueCapacity = (int) SystemProperties.getInstance().getLongProperty("SSL_HANDSHAKE_QUEUE_SIZE", 10_000);
+
+    AtomicLong counter = new AtomicLong();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "ssl-handshake-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    executor = new ThreadPoolExecutor(
+        Math.max(1, poolSize),
+        Math.max(1, poolSize),
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+        threadFactory,
+        new ThreadPoolExecutor.AbortPolicy()
+    );
+  }
+
+  /**
+   * Queues the delegated task work for the handshake pool.
+   *
+   * @param runnable the work to run
+   * @return false if the queue is full, in which case the caller is expected to run the work itself
+   */
+  public boolean submit(Runnable runnable) {
+    long queued = System.nanoTime();
+    try {
+      executor.execute(() -> {
+        long start = System.nanoTime();
+        queueTime.add(start - queued);
+        maxQueueTime.accumulate(start - queued);
+        try {
+          runnable.run();
+        } finally {
+          taskTime.add(System.nanoTime() - start);
+        }
+      });
+      offloaded.increment();
+      return true;
+    } catch (RejectedExecutionException rejectedExecutionException) {
+      rejected.increment();
+      return false;
+    }
+  }
+
+  void handshakeCompleted(long nanos) {
+    handshakes.increment();
+    handshakeTime.add(nanos);
+    maxHandshakeTime.accumulate(nanos);
+  }
+
+  //<editor-fold desc="Handshake metrics">
+  // Queue and task times are reported in microseconds, full handshake times in milliseconds
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public long getOffloaded() {
+    return offloaded.sum();
+  }
+
+  public long getRunOnSelector() {
+    return rejected.sum();
+  }
+
+  public long getAverageQueueTime() {
+    long count = offloaded.sum();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(queueTime.sum() / count);
+  }
+
+  public long getMaxQueueTime() {
+    return TimeUnit.NANOSECONDS.toMicros(maxQueueTime.get());
+  }
+
+  public long getAverageTaskTime() {
+    long count = offloaded.sum();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(taskTime.sum() / count);
+  }
+
+  public long getHandshakes() {
+    return handshakes.sum();
+  }
+
+  public long getAverageHandshakeTime() {
+    long count = handshakes.sum();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(handshakeTime.sum() / count);
+  }
+
+  public long getMaxHandshakeTime() {
+    return TimeUnit.NANOSECONDS.toMillis(maxHandshakeTime.get());
+  }
+  //</editor-fold>
+}
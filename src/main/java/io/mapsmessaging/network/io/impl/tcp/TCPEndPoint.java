@@ -247,7 +247,7 @@ public class TCPEndPoint extends EndPoint {
   }
 
   protected Logger createLogger() {
-    return LoggerFactory.getLogger(TCPEndPoint.class.getName() + "_" + getId());
+    return LoggerFactory.getLogger(TCPEndPoint.class);
   }
 
   private void configure(TcpConfigDTO config) throws IOException {
@@ -135,7 +135,7 @@ public class UDPEndPoint extends EndPoint {
 
   @Override
   protected Logger createLogger() {
-    return LoggerFactory.getLogger(UDPEndPoint.class.getName() + "_" + getId());
+    return LoggerFactory.getLogger(UDPEndPoint.class);
   }
 
   @Override
@@ -19,9 +19,11 @@
 
 package io.mapsmessaging.network.protocol;
 
+import io.mapsmessaging.logging.ConnectionLogContext;
 import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.logging.ServerLogMessages;
+import io.mapsmessaging.logging.ThreadContext;
 import io.mapsmessaging.network.io.*;
 import io.mapsmessaging.network.io.impl.Selector;
 import io.mapsmessaging.network.protocol.impl.proxy.ProxyProtocolInfo;
@@ -44,8 +46,11 @@ public class ProtocolAcceptRunner implements Selectable {
   private final ProtocolFactory protocolFactory;
   private final EndPoint endPoint;
   private final long timeout;
+  private final ConnectionLogContext logContext;
+  private final String endPointId;
   private Packet packet;
   private long lastActive;
+  private String ip;
 
   /**
    * Created when we accept a new EndPoint but do not know the corresponding protocol being used by the client Will register a read selector on the EndPoint and then attempt to
@@ -58,6 +63,8 @@ public class ProtocolAcceptRunner implements Selectable {
   public ProtocolAcceptRunner(EndPoint endPoint, String protocols) throws IOException {
     this.endPoint = endPoint;
     logger = LoggerFactory.getLogger(ProtocolAcceptRunner.class.getName());
+    logContext = new ConnectionLogContext("endpoint", "endpointId", "ip");
+    endPointId = String.valueOf(endPoint.getId());
     protocolFactory = new ProtocolFactory(protocols);
     timeout = endPoint.getServer().getConfig().getEndPointConfig().getConnectionTimeout();
     ProtocolImplFactory bounded = protocolFactory.getBoundedProtocol();
@@ -83,9 +90,11 @@ public class ProtocolAcceptRunner implements Selectable {
    */
   @Override
   public void selected(Selectable selectable, Selector selector, int selection) {
+    if (ip == null) {
+      ip = IpAddressHelper.normalizeIp(endPoint.getRemoteSocketAddress());
+    }
+    logContext.install(endPoint.getName(), endPointId, ip);
     logger.log(ServerLogMessages.PROTOCOL_ACCEPT_SELECTOR_FIRED);
-    String ip = endPoint.getRemoteSocketAddress();
-    ip = IpAddressHelper.normalizeIp(ip);
     try {
       logger.log(ServerLogMessages.PROTOCOL_ACCEPT_FIRING, packet.position(), packet.limit());
       int read = endPoint.readPacket(packet);
@@ -126,6 +135,8 @@ public class ProtocolAcceptRunner implements Selectable {
       } catch (IOException ioException) {
         logger.log(ServerLogMessages.END_POINT_CLOSE_EXCEPTION, ioException);
       }
+    } finally {
+      ThreadContext.clearMap();
     }
   }
 
@@ -68,7 +68,7 @@ public class AMQPProtocol extends Protocol {
   public AMQPProtocol(EndPoint endPoint, Packet packet) throws IOException {
     super(endPoint,  endPoint.getConfig().getProtocolConfig("amqp"));
     version = "1.0";
-    logger = LoggerFactory.getLogger("AMQP Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(AMQPProtocol.class);
     selectorTask = new SelectorTask(this, endPoint.getConfig().getEndPointConfig());
     ThreadContext.put("endpoint", endPoint.getName());
     ThreadContext.put("protocol", getName());
@@ -142,7 +142,7 @@ public class AMQPProtocol extends Protocol {
     if(parsedMessage == null) {
       return;
     }
-    protonEngine.sendMessage(parsedMessage.getMessage(), messageEvent.getSubscription());
+    protonEngine.sendMessage(parsedMessage.getMessage(), messageEvent.getSubscription(), messageEvent.isLastMessage());
     messageEvent.getCompletionTask().run();
   }
 
@@ -96,7 +96,7 @@ public class ProtonEngine {
     }
   }
 
-  public void sendMessage(Message message, SubscribedEventManager manager) {
-    engineScheduler.submit(new SendMessageTask(this, message, manager));
+  public void sendMessage(Message message, SubscribedEventManager manager, boolean lastMessage) {
+    engineScheduler.submit(new SendMessageTask(this, message, manager, lastMessage));
   }
 }
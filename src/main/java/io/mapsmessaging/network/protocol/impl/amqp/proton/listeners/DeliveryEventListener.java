@@ -241,6 +241,9 @@ public class DeliveryEventListener extends BaseEventListener {
       if (destination != null) {
         if (transaction != null) {
           transaction.add(destination, message);
+        } else if (delivery.remotelySettled()) {
+          // Pre-settled, there is no outcome to report back to the sender so no need to wait for the store
+          destination.storeMessageAsync(message);
         } else {
           destination.storeMessage(message);
         }
@@ -38,11 +38,13 @@ public class SendMessageTask extends PacketTask {
   private final Message message;
   private final SubscribedEventManager manager;
   private final SubscriptionManager subscriptions;
+  private final boolean lastMessage;
 
-  public SendMessageTask(ProtonEngine engine, Message message, SubscribedEventManager manager) {
+  public SendMessageTask(ProtonEngine engine, Message message, SubscribedEventManager manager, boolean lastMessage) {
     super(engine);
     this.message = message;
     this.manager = manager;
+    this.lastMessage = lastMessage;
     subscriptions = engine.getSubscriptions();
   }
 
@@ -68,7 +70,7 @@ public class SendMessageTask extends PacketTask {
         int size = protonMessage.encode(data, 0, data.length);
         sender.send(data, 0, size);
         sender.advance();
-        if (message.isLastMessage()) {
+        if (lastMessage) {
           sender.drained();
         }
       } catch (Exception e) {
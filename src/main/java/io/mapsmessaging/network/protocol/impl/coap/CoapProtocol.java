@@ -56,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static io.mapsmessaging.logging.ServerLogMessages.*;
@@ -106,7 +107,7 @@ public class CoapProtocol extends Protocol {
     subscriptionState = new SubscriptionState();
     transactionState = new TransactionState();
     outboundPipeline = new PacketPipeline(this);
-    duplicationManager = new DuplicationManager(1);
+    duplicationManager = new DuplicationManager(Constants.DUPLICATE_CACHE_SIZE, Constants.EXCHANGE_LIFETIME, TimeUnit.SECONDS);
     this.socketAddress = socketAddress;
     this.coapInterfaceManager = coapInterfaceManager;
     mtu = coapInterfaceManager.getMtu();
@@ -114,7 +115,8 @@ public class CoapProtocol extends Protocol {
     maxBlockSize = coapConfig.getMaxBlockSize();
     int idle = coapConfig.getIdleTime();
     keepAlive = idle * 1000L;
-    blockReceiveMonitor = new BlockReceiveMonitor();
+    int networkBufferSize = (int) endPoint.getConfig().getEndPointConfig().getServerReadBufferSize();
+    blockReceiveMonitor = new BlockReceiveMonitor(coapConfig.getMaxMessageSize(), networkBufferSize);
 
     String sessionName = socketAddress.toString();
     sessionName = sessionName.replace(":", "_");
@@ -141,6 +143,7 @@ public class CoapProtocol extends Protocol {
     isClosed = true;
     SessionManager.getInstance().close(session, true);
     outboundPipeline.close();
+    blockReceiveMonitor.close();
     coapInterfaceManager.close(socketAddress);
     endPoint.getServer().handleCloseEndPoint(endPoint);
     if (mbean != null) {
@@ -349,7 +352,6 @@ public class CoapProtocol extends Protocol {
         // we are closing, we can ignore this
       }
     }
-    blockReceiveMonitor.scanForIdle();
   }
 
   public void ack(BasePacket ackPacket) throws IOException {
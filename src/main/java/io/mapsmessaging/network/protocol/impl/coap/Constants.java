@@ -36,6 +36,8 @@ public class Constants {
   // Timeouts
   public static final long ACK_TIMEOUT = 2;
   public static final int DEFAULT_LEISURE = 5;
+  // RFC 7252 4.8.2, how long a message id may be retransmitted for, and so how long a response is kept
+  public static final long EXCHANGE_LIFETIME = 247;
 
   public static final int PROBING_RATE = 1;
 
@@ -43,6 +45,7 @@ public class Constants {
 
   // Counters
   public static final int MAX_RETRANSMIT = 4;
+  public static final int DUPLICATE_CACHE_SIZE = 256;
 
   private Constants() {
   }
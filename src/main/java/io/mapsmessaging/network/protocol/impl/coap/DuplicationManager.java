@@ -21,28 +21,81 @@ package io.mapsmessaging.network.protocol.impl.coap;
 
 import io.mapsmessaging.network.protocol.impl.coap.packet.BasePacket;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Remembers the responses sent to a client so a retransmitted request can be answered without
+ * being processed again. Responses are indexed by message id and held in a ring in the order
+ * they were sent, which is also the order they expire in, so lookup and eviction are constant time.
+ */
 public class DuplicationManager {
 
-  private final int nstart; // Depth of outstanding
-  private final List<BasePacket> requestResponseMap;
+  private final Map<Integer, Entry> index;
+  private final Entry[] ring;
+  private final long lifetime;
+  private int head;
+  private int size;
 
-  public DuplicationManager(int nstart){
-    requestResponseMap = new ArrayList<>();
-    this.nstart = nstart;
+  public DuplicationManager(int capacity, long lifetime, TimeUnit unit){
+    index = new HashMap<>();
+    ring = new Entry[Math.max(1, capacity)];
+    this.lifetime = unit.toNanos(lifetime);
+    head = 0;
+    size = 0;
   }
 
   public synchronized void put(BasePacket response){
-    requestResponseMap.add(response);
-    while(requestResponseMap.size() > nstart){
-      requestResponseMap.remove(0).getMessageId();
+    long now = System.nanoTime();
+    expire(now);
+    if (size == ring.length) {
+      removeHead();
     }
+    Entry entry = new Entry(response, now + lifetime);
+    ring[(head + size) % ring.length] = entry;
+    size++;
+    index.put(response.getMessageId(), entry);
   }
 
   public synchronized BasePacket getResponse(int messageId){
-    return requestResponseMap.stream().filter(response -> response.getMessageId() == messageId).findFirst().orElse(null);
+    Entry entry = index.get(messageId);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiry - System.nanoTime() <= 0) {
+      expire(System.nanoTime());
+      return null;
+    }
+    return entry.response;
   }
 
+  public synchronized int size() {
+    return size;
+  }
+
+  private void expire(long now) {
+    while (size > 0 && ring[head].expiry - now <= 0) {
+      removeHead();
+    }
+  }
+
+  private void removeHead() {
+    Entry entry = ring[head];
+    ring[head] = null;
+    head = (head + 1) % ring.length;
+    size--;
+    // The message id may have been reused by a newer response, only drop the index if it is still ours
+    index.remove(entry.response.getMessageId(), entry);
+  }
+
+  private static final class Entry {
+    private final BasePacket response;
+    private final long expiry;
+
+    private Entry(BasePacket response, long expiry) {
+      this.response = response;
+      this.expiry = expiry;
+    }
+  }
 }
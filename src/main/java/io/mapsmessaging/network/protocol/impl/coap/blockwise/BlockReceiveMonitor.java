@@ -20,39 +20,100 @@
 package io.mapsmessaging.network.protocol.impl.coap.blockwise;
 
 import io.mapsmessaging.network.protocol.impl.coap.packet.options.Block;
+import io.mapsmessaging.utilities.scheduler.TimingWheel;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class BlockReceiveMonitor {
 
-  private final Map<String, BlockReceiveState> blockBasedPackets = new LinkedHashMap<>();
+  private static final long DEFAULT_IDLE_TIME = 30_000;
 
-  public synchronized BlockReceiveState registerOrGet(Block block, String path) {
-    BlockReceiveState state = blockBasedPackets.computeIfAbsent(path, k -> new BlockReceiveState(new ReceivePacket(block.getSizeEx())));
+  private final Map<String, BlockReceiveState> blockBasedPackets = new ConcurrentHashMap<>();
+  private final long idleTime;
+  private final int maxMessageSize;
+  private final int maxPooledSize;
+  private TimingWheel.Timeout scanner; // guarded by this
+  private boolean closed; // guarded by this
+
+  public BlockReceiveMonitor() {
+    this(DEFAULT_IDLE_TIME);
+  }
+
+  public BlockReceiveMonitor(long idleTime) {
+    this(idleTime, ReceivePacket.DEFAULT_MAX_MESSAGE_SIZE, ReceivePacket.DEFAULT_MAX_POOLED_SIZE);
+  }
+
+  public BlockReceiveMonitor(int maxMessageSize, int maxPooledSize) {
+    this(DEFAULT_IDLE_TIME, maxMessageSize, maxPooledSize);
+  }
+
+  public BlockReceiveMonitor(long idleTime, int maxMessageSize, int maxPooledSize) {
+    this.idleTime = idleTime;
+    this.maxMessageSize = maxMessageSize;
+    this.maxPooledSize = maxPooledSize;
+  }
+
+  public BlockReceiveState registerOrGet(Block block, String path) {
+    BlockReceiveState state = blockBasedPackets.computeIfAbsent(path, k -> new BlockReceiveState(new ReceivePacket(block.getSizeEx(), maxMessageSize, maxPooledSize)));
     state.setLastAccess(System.currentTimeMillis());
+    armScanner();
     return state;
   }
 
-  public synchronized void complete(String path) {
+  public void complete(String path) {
     blockBasedPackets.remove(path);
   }
 
+  public void abort(String path, BlockReceiveState state) {
+    blockBasedPackets.remove(path, state);
+    state.getReceivePacket().release();
+  }
+
+  public int size() {
+    return blockBasedPackets.size();
+  }
+
   public void scanForIdle() {
-    long expired = System.currentTimeMillis() + 30_000;
-    List<String> expiredList = new ArrayList<>();
-    for (Entry<String, BlockReceiveState> entry : blockBasedPackets.entrySet()) {
-      if (entry.getValue().getLastAccess() < expired) {
-        expiredList.add(entry.getKey());
+    long expired = System.currentTimeMillis() - idleTime;
+    Iterator<BlockReceiveState> iterator = blockBasedPackets.values().iterator();
+    while (iterator.hasNext()) {
+      BlockReceiveState state = iterator.next();
+      if (state.getLastAccess() < expired) {
+        iterator.remove();
+        state.getReceivePacket().release();
       }
     }
-    for (String key : expiredList) {
-      blockBasedPackets.remove(key);
+    if (blockBasedPackets.isEmpty()) {
+      disarmScanner();
+    }
+  }
+
+  public synchronized void close() {
+    closed = true;
+    if (scanner != null) {
+      scanner.cancel();
+      scanner = null;
+    }
+    for (BlockReceiveState state : blockBasedPackets.values()) {
+      state.getReceivePacket().release();
     }
+    blockBasedPackets.clear();
   }
 
+  // The scan only runs while a transfer is in progress, so idle clients cost no timer at all
+  private synchronized void armScanner() {
+    if (scanner == null && !closed) {
+      scanner = TimingWheel.getInstance().scheduleAtFixedRate(this::scanForIdle, idleTime, idleTime, TimeUnit.MILLISECONDS);
+    }
+  }
 
+  private synchronized void disarmScanner() {
+    if (scanner != null && blockBasedPackets.isEmpty()) {
+      scanner.cancel();
+      scanner = null;
+    }
+  }
 }
@@ -26,7 +26,7 @@ public class BlockReceiveState {
 
   @Getter
   @Setter
-  private long lastAccess;
+  private volatile long lastAccess;
 
   @Getter
   private final ReceivePacket receivePacket;
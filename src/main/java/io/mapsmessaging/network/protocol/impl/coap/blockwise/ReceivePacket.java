@@ -19,37 +19,114 @@
 
 package io.mapsmessaging.network.protocol.impl.coap.blockwise;
 
-import java.io.ByteArrayOutputStream;
+import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
+
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
 
+/**
+ * Reassembles a block-wise transfer directly into a pooled buffer, each block is written at
+ * its offset so retransmitted or out of order blocks simply overwrite their slot. Transfers that
+ * would grow past the maximum message size are rejected, and buffers grown beyond a network buffer
+ * are left for the GC rather than parked in the pool.
+ */
 public class ReceivePacket {
 
-  private final List<byte[]> blocks;
+  public static final int DEFAULT_MAX_MESSAGE_SIZE = 1024 * 1024;
+  public static final int DEFAULT_MAX_POOLED_SIZE = 10240;
+
   private final int blockSize;
+  private final int maxMessageSize;
+  private final int maxPooledSize;
+  private Packet packet;
+  private int length;
 
   public ReceivePacket(int blockSize){
-    blocks = new ArrayList<>();
+    this(blockSize, DEFAULT_MAX_MESSAGE_SIZE, DEFAULT_MAX_POOLED_SIZE);
+  }
+
+  public ReceivePacket(int blockSize, int maxMessageSize, int maxPooledSize){
     this.blockSize = 1 << ( blockSize +4);
+    this.maxMessageSize = maxMessageSize;
+    this.maxPooledSize = maxPooledSize;
+    packet = PacketPool.getInstance().borrow(this.blockSize, false);
+    length = 0;
+  }
+
+  /**
+   * Writes a block at its offset in the reassembled message.
+   *
+   * @param index the block number
+   * @param block the block payload
+   * @return false if the block would take the message past the maximum message size, it is not stored
+   * @throws IOException if the transfer has already been completed or evicted
+   */
+  public synchronized boolean add(int index, byte[] block) throws IOException {
+    if (packet == null) {
+      throw new IOException("Block-wise transfer has already been released");
+    }
+    long end = (long) index * blockSize + block.length;
+    if (end > maxMessageSize) {
+      return false;
+    }
+    int offset = index * blockSize;
+    ensureCapacity((int) end);
+    ByteBuffer buffer = packet.getRawBuffer();
+    // Pooled buffers are not cleared, so any gap from a missing block must not expose old data
+    for (int x = length; x < offset; x++) {
+      buffer.put(x, (byte) 0);
+    }
+    buffer.put(offset, block, 0, block.length);
+    length = Math.max(length, (int) end);
+    return true;
+  }
+
+  public synchronized int size() {
+    return length;
+  }
+
+  public synchronized byte[] getFull() throws IOException {
+    if (packet == null) {
+      throw new IOException("Block-wise transfer has already been released");
+    }
+    byte[] full = new byte[length];
+    packet.getRawBuffer().get(0, full, 0, length);
+    release();
+    return full;
+  }
+
+  public synchronized void release() {
+    if (packet != null) {
+      recycle(packet);
+      packet = null;
+    }
+  }
+
+  private void ensureCapacity(int required) {
+    int capacity = packet.capacity();
+    if (required <= capacity) {
+      return;
+    }
+    while (capacity < required) {
+      capacity <<= 1;
+    }
+    Packet larger = borrow(capacity);
+    larger.getRawBuffer().put(0, packet.getRawBuffer(), 0, length);
+    recycle(packet);
+    packet = larger;
   }
 
-  public void add(int index, byte[] block){
-    while(index > blocks.size()){
-      blocks.add(new byte[0]);
+  private Packet borrow(int capacity) {
+    if (capacity > maxPooledSize) {
+      return new Packet(capacity, false);
     }
-    blocks.add(index, block);
+    return PacketPool.getInstance().borrow(capacity, false);
   }
 
-  public byte[] getFull(){
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(blocks.size() * blockSize);
-    for(byte[] block:blocks){
-      try {
-        byteArrayOutputStream.write(block);
-      } catch (IOException e) {
-        // we should be able to ignore this
-      }
+  private void recycle(Packet buffer) {
+    if (buffer.capacity() <= maxPooledSize) {
+      PacketPool.getInstance().release(buffer);
     }
-    return byteArrayOutputStream.toByteArray();
   }
 }
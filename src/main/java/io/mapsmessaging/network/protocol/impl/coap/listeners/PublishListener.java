@@ -25,9 +25,11 @@ import io.mapsmessaging.api.MessageBuilder;
 import io.mapsmessaging.api.features.DestinationType;
 import io.mapsmessaging.api.features.QualityOfService;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.api.message.TypedData;
 import io.mapsmessaging.engine.destination.MessageOverrides;
 import io.mapsmessaging.network.protocol.impl.coap.CoapProtocol;
+import io.mapsmessaging.network.protocol.impl.coap.blockwise.BlockReceiveMonitor;
 import io.mapsmessaging.network.protocol.impl.coap.blockwise.BlockReceiveState;
 import io.mapsmessaging.network.protocol.impl.coap.packet.BasePacket;
 import io.mapsmessaging.network.protocol.impl.coap.packet.Code;
@@ -78,11 +80,11 @@ public abstract class PublishListener extends  Listener {
       messageBuilder.setCorrelationData(request.getToken());
     }
 
-    HashMap<String, String> meta = new LinkedHashMap<>();
-    meta.put("protocol", "CoAP");
-    meta.put("version", "1");
-    meta.put("sessionId", protocol.getSessionId());
-    meta.put("time_ms", "" + System.currentTimeMillis());
+    MessageMeta meta = new MessageMeta()
+        .setProtocol("CoAP")
+        .setVersion("1")
+        .setSessionId(protocol.getSessionId())
+        .setTimeMs(System.currentTimeMillis());
     messageBuilder.setMeta(meta);
 
     Map<String, TypedData> map = new LinkedHashMap<>();
@@ -99,10 +101,36 @@ public abstract class PublishListener extends  Listener {
 
   private boolean handleBlock(BasePacket request, String path, OptionSet optionSet, CoapProtocol protocol) {
     Block block = (Block) optionSet.getOption(BLOCK1);
-    BlockReceiveState blockReceiveState = protocol.getBlockReceiveMonitor().registerOrGet(block, path);
-    blockReceiveState.getReceivePacket().add(block.getNumber(), request.getPayload());
+    BlockReceiveMonitor monitor = protocol.getBlockReceiveMonitor();
+    BlockReceiveState blockReceiveState = monitor.registerOrGet(block, path);
+    byte[] full = null;
+    try {
+      if (!blockReceiveState.getReceivePacket().add(block.getNumber(), request.getPayload())) {
+        monitor.abort(path, blockReceiveState);
+        sendBlockResponse(request, protocol, Code.REQUEST_ENTITY_TOO_LARGE);
+        return false;
+      }
+      if (!block.isMore()) {
+        monitor.complete(path);
+        full = blockReceiveState.getReceivePacket().getFull();
+      }
+    } catch (IOException e) {
+      // The transfer was evicted as idle while this block was in flight, the earlier blocks are gone
+      monitor.abort(path, blockReceiveState);
+      sendBlockResponse(request, protocol, Code.REQUEST_ENTITY_INCOMPLETE);
+      return false;
+    }
+    sendBlockResponse(request, protocol, Code.CONTINUE);
+    if (full == null) {
+      return false;
+    }
+    request.setPayload(full);
+    return true;
+  }
+
+  private void sendBlockResponse(BasePacket request, CoapProtocol protocol, Code code) {
     if (request.getType().equals(TYPE.CON)) {
-      BasePacket response = request.buildAckResponse(Code.CONTINUE);
+      BasePacket response = request.buildAckResponse(code);
       try {
         protocol.sendResponse(response);
       } catch (IOException e) {
@@ -113,12 +141,6 @@ public abstract class PublishListener extends  Listener {
         }
       }
     }
-    if (block.isMore()) {
-      return false;
-    }
-    protocol.getBlockReceiveMonitor().complete(path);
-    request.setPayload(blockReceiveState.getReceivePacket().getFull());
-    return true;
   }
 
   protected void publishMessage(BasePacket request, CoapProtocol protocol, boolean isDelete) {
@@ -46,7 +46,6 @@ import javax.security.auth.Subject;
 import javax.security.auth.login.LoginException;
 import java.io.IOException;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 
 public class LocalLoopProtocol extends Protocol {
@@ -55,6 +54,7 @@ public class LocalLoopProtocol extends Protocol {
   private Session session;
   private boolean closed;
   private String sessionId;
+  private LoopbackBridge bridge;
 
 
   public LocalLoopProtocol(@NonNull @NotNull EndPoint endPoint) {
@@ -73,6 +73,9 @@ public class LocalLoopProtocol extends Protocol {
   public void close() throws IOException {
     if (!closed) {
       closed = true;
+      if (bridge != null) {
+        bridge.close();
+      }
       SessionManager.getInstance().close(session, false);
       super.close();
       logger.log(ServerLogMessages.LOOP_CLOSED);
@@ -92,55 +95,22 @@ public class LocalLoopProtocol extends Protocol {
       parsedMessage = transformer.transform(messageEvent.getDestinationName(), parsedMessage);
     }
 
-    if (parsedMessage.getMessage() == messageEvent.getMessage()) {
-      MessageBuilder messageBuilder = new MessageBuilder(messageEvent.getMessage());
-      parsedMessage.setMessage(messageBuilder.build());
-    }
-
     String topicName = parsedMessage.getDestinationName();
-    Message message = parsedMessage.getMessage();
-
     if (topicName == null || topicName.startsWith("$schema")) {
+      // Nothing is looped, release the subscription's credit for this event
+      if (messageEvent.getCompletionTask() != null) {
+        messageEvent.getCompletionTask().run();
+      }
       return;
     }
 
-    boolean accepted = LoopbackEngineExecutor.getInstance().submit(() -> findAndSendMessage(topicName, message, messageEvent));
-    if (!accepted) {
-      logger.log(ServerLogMessages.LOOP_SEND_MESSAGE_FAILED);
+    Message message = parsedMessage.getMessage();
+    if (message == messageEvent.getMessage()) {
+      message = message.rebind();
     }
+    bridge.send(topicName, message, messageEvent.getCompletionTask());
   }
 
-  private void findAndSendMessage(String topicName,
-                                  Message message,
-                                  MessageEvent messageEvent) {
-
-    CompletableFuture<Destination> future = session.findDestination(topicName, DestinationType.TOPIC);
-
-    future.whenCompleteAsync((destination, throwable) -> {
-      try {
-
-        if (throwable != null) {
-          logger.log(ServerLogMessages.LOOP_SEND_MESSAGE_FAILED, throwable);
-          return;
-        }
-
-        if (destination != null) {
-          destination.storeMessage(message);
-        }
-
-        logger.log(ServerLogMessages.LOOP_SENT_MESSAGE);
-
-      } catch (IOException ioException) {
-        logger.log(ServerLogMessages.LOOP_SEND_MESSAGE_FAILED, ioException);
-      } finally {
-        messageEvent.getCompletionTask().run();
-      }
-
-    }, LoopbackEngineExecutor.getInstance().asExecutor());
-
-}
-
-
   @Override
   public void connect(String sessionId, String username, String password) throws IOException {
     SessionContextBuilder scb = new SessionContextBuilder(sessionId, new ProtocolClientConnection(this));
@@ -157,6 +127,7 @@ public class LocalLoopProtocol extends Protocol {
       throw ioException;
     }
     this.sessionId = sessionId;
+    bridge = new LoopbackBridge(name -> session.findDestination(name, DestinationType.TOPIC), logger);
   }
 
   @Override
@@ -0,0 +1,210 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commonsclause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.local;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.destination.BaseDestination;
+import io.mapsmessaging.logging.Logger;
+import io.mapsmessaging.logging.ServerLogMessages;
+import io.mapsmessaging.utilities.SystemProperties;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Moves messages from a loop subscription into their target destinations. Each target has its own queue which is
+ * drained, in order, in batches by a single loopback engine task, so a burst of events becomes one task per target
+ * rather than one per message. The delivering subscription is only told a message is complete once it has been
+ * stored, so the subscription's credit bounds how much can be queued here and nothing needs to be rejected.
+ * <p>
+ * A target's queue is dropped once it has drained and is no longer scheduled, so a loop that fans out to many topics
+ * only holds queues for the targets with messages in flight.
+ */
+public class LoopbackBridge {
+
+  private static final int DEFAULT_BATCH_SIZE = 256;
+
+  private final Map<String, TargetQueue> targets;
+  private final Function<String, CompletableFuture<? extends BaseDestination>> resolver;
+  private final LoopbackEngineExecutor executor;
+  private final Logger logger;
+  private final int batchSize;
+  private volatile boolean closed;
+
+  public LoopbackBridge(Function<String, CompletableFuture<? extends BaseDestination>> resolver, Logger logger) {
+    this(resolver, LoopbackEngineExecutor.getInstance(),
+        (int) SystemProperties.getInstance().getLongProperty("LOOPBACK_BATCH_SIZE", DEFAULT_BATCH_SIZE), logger);
+  }
+
+  public LoopbackBridge(Function<String, CompletableFuture<? extends BaseDestination>> resolver,
+                        LoopbackEngineExecutor executor,
+                        int batchSize,
+                        Logger logger) {
+    this.resolver = resolver;
+    this.executor = executor;
+    this.batchSize = Math.max(1, batchSize);
+    this.logger = logger;
+    targets = new ConcurrentHashMap<>();
+  }
+
+  public void send(String destinationName, Message message, Runnable completion) {
+    Pending entry = new Pending(message, completion != null ? completion : () -> {});
+    if (closed) {
+      entry.completion.run();
+      return;
+    }
+    // Queued inside the compute so a concurrent retire can not drop the queue between lookup and add
+    TargetQueue target = targets.compute(destinationName, (name, existing) -> {
+      TargetQueue queue = existing != null ? existing : new TargetQueue(name);
+      queue.pending.add(entry);
+      return queue;
+    });
+    target.schedule();
+  }
+
+  /**
+   * Stops the bridge, any messages still queued are not stored but their completions are run so the source
+   * subscription is released. Messages already handed to a destination complete as normal.
+   */
+  public void close() {
+    closed = true;
+    for (TargetQueue target : targets.values()) {
+      Pending next;
+      while ((next = target.pending.poll()) != null) {
+        next.completion.run();
+      }
+    }
+    targets.clear();
+  }
+
+  public int getTargetCount() {
+    return targets.size();
+  }
+
+  public int getPendingCount() {
+    int count = 0;
+    for (TargetQueue target : targets.values()) {
+      count += target.pending.size();
+    }
+    return count;
+  }
+
+  private final class TargetQueue {
+    private final String name;
+    private final Queue<Pending> pending;
+    private final AtomicBoolean scheduled;
+    private volatile BaseDestination destination;
+
+    private TargetQueue(String name) {
+      this.name = name;
+      pending = new ConcurrentLinkedQueue<>();
+      scheduled = new AtomicBoolean(false);
+    }
+
+    private void schedule() {
+      while (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+        if (executor.submit(this::run)) {
+          return;
+        }
+        // The engine is saturated, so drain on the delivering thread which in turn slows the source
+        if (!drain()) {
+          return;
+        }
+      }
+      retireIfIdle();
+    }
+
+    private void retireIfIdle() {
+      if (pending.isEmpty() && !scheduled.get()) {
+        targets.computeIfPresent(name, (key, existing) ->
+            existing == this && pending.isEmpty() && !scheduled.get() ? null : existing);
+      }
+    }
+
+    private void run() {
+      if (drain()) {
+        schedule();
+      }
+    }
+
+    // Returns true if a batch was handled and the queue released, false if it is waiting on the destination lookup
+    private boolean drain() {
+      if (destination == null) {
+        resolver.apply(name).whenComplete(this::resolved);
+        return false;
+      }
+      storeBatch();
+      scheduled.set(false);
+      return true;
+    }
+
+    private void resolved(BaseDestination found, Throwable throwable) {
+      if (throwable != null || found == null) {
+        if (throwable != null) {
+          logger.log(ServerLogMessages.LOOP_SEND_MESSAGE_FAILED, throwable);
+        }
+        dropBatch();
+      } else {
+        destination = found;
+        storeBatch();
+      }
+      scheduled.set(false);
+      schedule();
+    }
+
+    private void storeBatch() {
+      BaseDestination target = destination;
+      for (int count = 0; count < batchSize; count++) {
+        Pending next = pending.poll();
+        if (next == null) {
+          return;
+        }
+        target.storeMessageAsync(next.message).whenComplete((interested, throwable) -> {
+          if (throwable != null) {
+            // The destination may have been deleted, look it up again for the next batch
+            destination = null;
+            logger.log(ServerLogMessages.LOOP_SEND_MESSAGE_FAILED, throwable);
+          } else {
+            logger.log(ServerLogMessages.LOOP_SENT_MESSAGE);
+          }
+          next.completion.run();
+        });
+      }
+    }
+
+    private void dropBatch() {
+      for (int count = 0; count < batchSize; count++) {
+        Pending next = pending.poll();
+        if (next == null) {
+          return;
+        }
+        next.completion.run();
+      }
+    }
+  }
+
+  private record Pending(Message message, Runnable completion) {
+  }
+}
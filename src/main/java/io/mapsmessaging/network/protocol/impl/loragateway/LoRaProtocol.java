@@ -98,7 +98,7 @@ public class LoRaProtocol extends Protocol {
 
   public LoRaProtocol(EndPoint endPoint) throws IOException {
     super(new LoRaProtocolEndPoint(endPoint), new LoRaProtocolConfigDTO());
-    logger = LoggerFactory.getLogger("LoRa Gateway on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(LoRaProtocol.class);
     dataHandler = new DataHandlerFactory();
     EndPointURL endPointURL = new EndPointURL(endPoint.getConfig().getUrl());
     LoRaDevice loRaDevice = LoRaDeviceManager.getInstance().getDevice(endPointURL);
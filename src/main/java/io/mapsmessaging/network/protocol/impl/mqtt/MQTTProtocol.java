@@ -68,6 +68,8 @@ public class MQTTProtocol extends Protocol {
   private final SelectorTask selectorTask;
   @Getter
   private final PacketIdManager packetIdManager;
+  @Getter
+  private final PublishSequencer publishSequencer;
   private final long maxBufferSize;
 
   @Getter
@@ -80,7 +82,7 @@ public class MQTTProtocol extends Protocol {
 
   public MQTTProtocol(EndPoint endPoint) throws IOException {
     super(endPoint, endPoint.getConfig().getProtocolConfig("mqtt"));
-    logger = LoggerFactory.getLogger("MQTT 3.1.1 Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(MQTTProtocol.class);
     ThreadContext.put("endpoint", endPoint.getName());
     ThreadContext.put("protocol", getName());
     ThreadContext.put("version", getVersion());
@@ -92,6 +94,7 @@ public class MQTTProtocol extends Protocol {
     packetFactory = new PacketFactory(this);
     closed = false;
     packetIdManager = new PacketIdManager();
+    publishSequencer = new PublishSequencer();
   }
 
   public MQTTProtocol(EndPoint endPoint, Packet packet) throws IOException {
@@ -281,7 +284,13 @@ public class MQTTProtocol extends Protocol {
       return;
     }
     String topicName = parsedMessage.getDestinationName();
-    Publish publish = new Publish(msg.isRetain(), parsedMessage.getMessage().getOpaqueData(), qos, packetId, topicName);
+    Message outbound = parsedMessage.getMessage();
+    byte[] payload = outbound.getOpaqueData();
+    int payloadLength = payload != null ? payload.length : 0;
+    // Every subscriber sending this message with the same QoS and topic shares the encoded header
+    Publish.EncodedHeader header = outbound.computeEncodedFrame(Publish.ENCODED_FRAME_KEY, Publish::createEncodedHeaders)
+        .get(msg.isRetain(), qos, topicName, payloadLength);
+    Publish publish = new Publish(msg.isRetain(), payload, qos, packetId, topicName, header);
     publish.setCallback(messageEvent.getCompletionTask());
     writeFrame(publish);
   }
@@ -21,58 +21,102 @@ package io.mapsmessaging.network.protocol.impl.mqtt;
 
 import io.mapsmessaging.api.SubscribedEventManager;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Allocates the 16 bit packet identifiers for a connection. Every identifier has a fixed slot in a ring, so allocation,
+ * lookup and completion are single atomic operations on the slot rather than a shared lock.
+ * <p>
+ * The allocation cursor only moves past a slot once it has been filled, or seen to be in use, so the timeout sweep can
+ * follow behind it, skipping the completed slots and stopping at the oldest one still outstanding.
+ */
 public class PacketIdManager {
 
-  private final Map<Integer, PacketIdentifierMap> outstandingPacketId;
+  private static final int RING_SIZE = 0x10000;
+  private static final int MASK = RING_SIZE - 1;
+  private static final long TIMEOUT = 20000;
+
+  private final AtomicReferenceArray<PacketIdentifierMap> outstandingPacketId;
+  private final AtomicLong cursor;
+  private final AtomicInteger outstanding;
 
-  private int packetId;
+  private long sweep;
 
   public PacketIdManager() {
-    outstandingPacketId = new TreeMap<>();
+    outstandingPacketId = new AtomicReferenceArray<>(RING_SIZE);
+    cursor = new AtomicLong(1);
+    outstanding = new AtomicInteger(0);
   }
 
   public void close() {
-    outstandingPacketId.clear();
+    for (int x = 0; x < RING_SIZE; x++) {
+      outstandingPacketId.set(x, null);
+    }
+    outstanding.set(0);
   }
 
-  public synchronized int nextPacketIdentifier(SubscribedEventManager subscription, long messageId) {
-    int retVal = nextPacketIdentifier();
-    PacketIdentifierMap state = new PacketIdentifierMap(retVal, subscription, messageId);
-    outstandingPacketId.put(retVal, state);
-    return retVal;
+  public int nextPacketIdentifier(SubscribedEventManager subscription, long messageId) {
+    for (int attempt = 0; attempt < RING_SIZE * 2; attempt++) {
+      long sequence = cursor.get();
+      int id = (int) (sequence & MASK);
+      if (id != 0 && outstandingPacketId.get(id) == null &&
+          outstandingPacketId.compareAndSet(id, null, new PacketIdentifierMap(id, subscription, messageId))) {
+        outstanding.incrementAndGet();
+        cursor.compareAndSet(sequence, sequence + 1);
+        return id;
+      }
+      // In use, or someone else just took it, either way it is filled so move past it
+      cursor.compareAndSet(sequence, sequence + 1);
+    }
+    throw new IllegalStateException("No free packet identifiers, " + outstanding.get() + " outstanding");
   }
 
-  public synchronized int nextPacketIdentifier() {
-    int retVal = 0;
-    while (retVal == 0) {
-      retVal = (packetId++) & 0xffff;
-      if (outstandingPacketId.containsKey(retVal)) {
-        retVal = 0;
+  public int nextPacketIdentifier() {
+    for (int attempt = 0; attempt < RING_SIZE * 2; attempt++) {
+      long sequence = cursor.get();
+      int id = (int) (sequence & MASK);
+      if (cursor.compareAndSet(sequence, sequence + 1) && id != 0 && outstandingPacketId.get(id) == null) {
+        return id;
       }
     }
-    return retVal;
+    throw new IllegalStateException("No free packet identifiers, " + outstanding.get() + " outstanding");
   }
 
-  public synchronized PacketIdentifierMap receivedPacket(int id) {
-    return outstandingPacketId.get(id);
+  public PacketIdentifierMap receivedPacket(int id) {
+    return outstandingPacketId.get(id & MASK);
   }
 
-  public synchronized PacketIdentifierMap completePacketId(int id) {
-    return outstandingPacketId.remove(id);
+  public PacketIdentifierMap completePacketId(int id) {
+    PacketIdentifierMap map = outstandingPacketId.getAndSet(id & MASK, null);
+    if (map != null) {
+      outstanding.decrementAndGet();
+    }
+    return map;
   }
 
-  public synchronized int size() {
-    return outstandingPacketId.size();
+  public int size() {
+    return outstanding.get();
   }
 
-  public boolean scanForTimeOut() {
-    long timeout = System.currentTimeMillis() - 20000;
-    List<PacketIdentifierMap> tmp = new ArrayList<>(outstandingPacketId.values());
-    return tmp.stream().anyMatch(map -> map.getTime() < timeout);
+  /**
+   * Walks forward from where the last sweep stopped, over the slots that have since completed, up to the oldest
+   * identifier still outstanding. So each call only costs the traffic since the previous one.
+   *
+   * @return true if the oldest outstanding identifier has been waiting longer than the timeout
+   */
+  public synchronized boolean scanForTimeOut() {
+    long end = cursor.get();
+    long timeout = System.currentTimeMillis() - TIMEOUT;
+    sweep = Math.max(sweep, end - RING_SIZE);
+    while (sweep < end) {
+      PacketIdentifierMap map = outstandingPacketId.get((int) (sweep & MASK));
+      if (map != null) {
+        return map.getTime() < timeout;
+      }
+      sweep++;
+    }
+    return false;
   }
 }
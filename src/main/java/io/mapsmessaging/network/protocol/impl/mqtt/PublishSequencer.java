@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.mqtt;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Orders the inbound publish processing for a single connection. Each publish is chained onto the completion of the previous one,
+ * so the PUBACK / PUBREC responses are written in the order the PUBLISH packets were received while the selector thread only
+ * queues the work and returns. A failed publish does not stall the chain, the caller is responsible for handling the failure.
+ */
+public class PublishSequencer {
+
+  private CompletableFuture<Void> tail;
+
+  public PublishSequencer() {
+    tail = CompletableFuture.completedFuture(null);
+  }
+
+  public synchronized <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> stage) {
+    CompletableFuture<T> result = tail.thenCompose(ignore -> {
+      try {
+        return stage.get();
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    });
+    tail = result.handle((value, throwable) -> null);
+    return result;
+  }
+
+  public synchronized boolean isIdle() {
+    return tail.isDone();
+  }
+}
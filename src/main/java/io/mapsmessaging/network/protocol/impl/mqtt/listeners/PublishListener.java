@@ -27,6 +27,7 @@ import io.mapsmessaging.api.features.DestinationType;
 import io.mapsmessaging.api.features.Priority;
 import io.mapsmessaging.api.features.QualityOfService;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.api.message.TypedData;
 import io.mapsmessaging.api.transformers.ParsedMessage;
 import io.mapsmessaging.dto.rest.analytics.StatisticsConfigDTO;
@@ -36,6 +37,7 @@ import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.network.io.EndPoint;
 import io.mapsmessaging.network.protocol.Protocol;
 import io.mapsmessaging.network.protocol.impl.mqtt.MQTTProtocol;
+import io.mapsmessaging.network.protocol.impl.mqtt.PublishSequencer;
 import io.mapsmessaging.network.protocol.impl.mqtt.packet.*;
 import io.mapsmessaging.network.protocol.transformation.ProtocolMessageTransformation;
 import io.mapsmessaging.selector.operators.ParserExecutor;
@@ -45,16 +47,16 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
 
 public class PublishListener extends PacketListener {
 
   public static Message createMessage(byte[] msg, Priority priority, boolean retain, QualityOfService qos, ProtocolMessageTransformation transformation, Protocol protocol) {
-    HashMap<String, String> meta = new LinkedHashMap<>();
-    meta.put("protocol", "MQTT");
-    meta.put("version", "4");
-    meta.put("sessionId", protocol.getSessionId());
-    meta.put("time_ms", "" + System.currentTimeMillis());
+    MessageMeta meta = new MessageMeta()
+        .setProtocol("MQTT")
+        .setVersion("4")
+        .setSessionId(protocol.getSessionId())
+        .setTimeMs(System.currentTimeMillis());
 
     HashMap<String, TypedData> dataHashMap = new LinkedHashMap<>();
     MessageBuilder mb = new MessageBuilder();
@@ -85,27 +87,32 @@ public class PublishListener extends PacketListener {
     Publish publish = (Publish) mqttPacket;
     MQTTPacket response = getResponse(publish);
     String lookup = protocol.parseForLookup(publish.getDestinationName());
+    PublishSequencer sequencer = ((MQTTProtocol) protocol).getPublishSequencer();
 
     if (!lookup.startsWith("$") || publish.getDestinationName().toLowerCase().startsWith(DestinationMode.SCHEMA.getNamespace())) {
-      try {
-        processValidDestinations(publish, session, lookup, protocol, response, endPoint);
-      } catch (ExecutionException e) {
-        try {
-          protocol.close();
-        } catch (IOException ex) {
-          //
-        }
-      } catch (InterruptedException e) {
-        //ignore
-      }
+      sequencer.submit(() -> processValidDestinations(publish, session, lookup, protocol, response))
+          .exceptionally(throwable -> {
+            logger.log(ServerLogMessages.MQTT_PUBLISH_STORE_FAILED, throwable);
+            try {
+              endPoint.close();
+            } catch (IOException ioException) {
+              // Ignore we are in an error state
+            }
+            return null;
+          });
+    } else if (response != null && !sequencer.isIdle()) {
+      // Earlier publishes are still being stored, the response must wait its turn
+      sequencer.submit(() -> {
+        ((MQTTProtocol) protocol).writeFrame(response);
+        return CompletableFuture.completedFuture(null);
+      });
     } else {
       return response;
     }
     return null;
   }
 
-  private void processValidDestinations(Publish publish, Session session, String lookup, Protocol protocol, MQTTPacket response, EndPoint endPoint)
-      throws ExecutionException, InterruptedException {
+  private CompletableFuture<Void> processValidDestinations(Publish publish, Session session, String lookup, Protocol protocol, MQTTPacket response) {
     Message message = createMessage(
         publish.getPayload(),
         publish.getPriority(),
@@ -116,44 +123,31 @@ public class PublishListener extends PacketListener {
     );
     ParsedMessage parsed = protocol.parseInboundMessage(lookup, message);
     if (parsed != null) {
-      lookup = parsed.getDestinationName();
-      message = parsed.getMessage();
-      sendMessage(message, lookup, session, publish, protocol, response, endPoint);
+      return sendMessage(parsed.getMessage(), parsed.getDestinationName(), session, publish, protocol, response);
     }
-    else{
-      if (response != null) {
-        ((MQTTProtocol) protocol).writeFrame(response);
-      }
+    if (response != null) {
+      ((MQTTProtocol) protocol).writeFrame(response);
     }
+    return CompletableFuture.completedFuture(null);
   }
 
-  private void sendMessage(Message message, String lookup, Session session, Publish publish, Protocol protocol, MQTTPacket response,EndPoint endPoint) throws ExecutionException, InterruptedException {
-
-    CompletableFuture<Destination> future = session.findDestination(lookup, DestinationType.TOPIC);
-    future.thenApply(destination -> {
-      if (destination != null) {
-        try {
-          processMessage(message, publish, protocol, session, response, destination, lookup);
-          if (response != null) {
-            ((MQTTProtocol) protocol).writeFrame(response);
+  private CompletableFuture<Void> sendMessage(Message message, String lookup, Session session, Publish publish, Protocol protocol, MQTTPacket response) {
+    return session.findDestination(lookup, DestinationType.TOPIC)
+        .thenCompose(destination -> {
+          if (destination == null) {
+            return CompletableFuture.completedFuture(null);
           }
-        } catch (IOException e) {
-          logger.log(ServerLogMessages.MQTT_PUBLISH_STORE_FAILED, e);
-          try {
-            endPoint.close();
-          } catch (IOException ioException) {
-            // Ignore we are in an error state
-          }
-          future.completeExceptionally(new MalformedException("[MQTT-3.3.5-2]"));
-        }
-      }
-      return destination;
-    });
-    future.get();
+          return processMessage(message, publish, protocol, session, response, destination, lookup)
+              .thenRun(() -> {
+                if (response != null) {
+                  ((MQTTProtocol) protocol).writeFrame(response);
+                }
+              });
+        });
   }
 
 
-  private void processMessage(Message message, Publish publish, Protocol protocol, Session session, MQTTPacket response, Destination destination, String topicName) throws IOException {
+  private CompletableFuture<Void> processMessage(Message message, Publish publish, Protocol protocol, Session session, MQTTPacket response, Destination destination, String topicName) {
     Analyser analyser = protocol.getTopicNameAnalyserMap().get(topicName);
     if(analyser == null && !protocol.getResourceNameAnalyserMap().isEmpty()){
       for(Map.Entry<String, StatisticsConfigDTO> entry:protocol.getResourceNameAnalyserMap().entrySet()){
@@ -167,32 +161,46 @@ public class PublishListener extends PacketListener {
 
     ParserExecutor parserExecutor = protocol.getParser(topicName);
     if(parserExecutor != null && !parserExecutor.evaluate(message)){
-      return;
+      return CompletableFuture.completedFuture(null);
     }
     if(analyser != null){
       message = analyser.ingest(message);
       if(message == null){
-        return;
+        return CompletableFuture.completedFuture(null);
       }
     }
 
-
-    if (response != null) {
-      Transaction transaction = null;
-      try {
-        transaction = session.startTransaction(session.getName() + "_" + publish.getPacketId());
-      } catch (TransactionException e) {
-        logger.log(ServerLogMessages.MQTT_DUPLICATE_EVENT_RECEIVED, publish.getPacketId());
-      }
-      if (transaction != null) {
-        transaction.add(destination, message);
-        if (publish.getQos().equals(QualityOfService.AT_LEAST_ONCE)) {
-          transaction.commit();
-          session.closeTransaction(transaction);
+    if (response == null) {
+      // QoS 0, nothing to acknowledge so there is no need to wait for the store to complete
+      destination.storeMessageAsync(message).exceptionally(throwable -> {
+        logger.log(ServerLogMessages.MQTT_PUBLISH_STORE_FAILED, throwable);
+        try {
+          protocol.getEndPoint().close();
+        } catch (IOException ioException) {
+          // Ignore we are in an error state
         }
-      }
-    } else {
-      destination.storeMessage(message);
+        return 0;
+      });
+      return CompletableFuture.completedFuture(null);
     }
+
+    Transaction transaction;
+    try {
+      transaction = session.startTransaction(session.getName() + "_" + publish.getPacketId());
+    } catch (TransactionException e) {
+      logger.log(ServerLogMessages.MQTT_DUPLICATE_EVENT_RECEIVED, publish.getPacketId());
+      return CompletableFuture.completedFuture(null);
+    }
+    return transaction.addAsync(destination, message)
+        .thenRun(() -> {
+          if (publish.getQos().equals(QualityOfService.AT_LEAST_ONCE)) {
+            try {
+              transaction.commit();
+              session.closeTransaction(transaction);
+            } catch (IOException e) {
+              throw new CompletionException(e);
+            }
+          }
+        });
   }
 }
@@ -27,6 +27,8 @@ import io.mapsmessaging.network.protocol.impl.mqtt.DefaultConstants;
 import lombok.Getter;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * http://docs.oasis-open.org/mqtt/mqtt/v3.1.1/os/mqtt-v3.1.1-os.html#_Toc398718037
@@ -35,6 +37,14 @@ import java.nio.ByteBuffer;
 @java.lang.SuppressWarnings({"common-java:DuplicatedBlocks"})
 public class Publish extends MQTTPacket implements ServerPublishPacket {
 
+  /**
+   * Key of the MQTT 3.1.1 headers within a message's encoded frame cache
+   */
+  public static final String ENCODED_FRAME_KEY = "mqtt-3.1.1";
+
+  // Shared payloads up to this size are cheaper to copy into the frame than to write separately
+  private static final int INLINE_PAYLOAD_LIMIT = 512;
+
   @Getter
   private final boolean retain;
   private final boolean isDup;
@@ -46,8 +56,17 @@ public class Publish extends MQTTPacket implements ServerPublishPacket {
   private final int packetId;
   @Getter
   private final byte[] payload;
+  private final EncodedHeader encodedHeader;
 
   public Publish(boolean retain, byte[] payload, QualityOfService qos, int packetId, String destination) {
+    this(retain, payload, qos, packetId, destination, null);
+  }
+
+  /**
+   * Constructs an outbound publish that writes a pre-encoded header, shared between all subscribers receiving the
+   * same message, followed by this subscriber's packet id and the shared payload.
+   */
+  public Publish(boolean retain, byte[] payload, QualityOfService qos, int packetId, String destination, EncodedHeader encodedHeader) {
     super(PUBLISH);
     this.payload = payload != null ? payload : new byte[0];
     this.retain = retain;
@@ -55,11 +74,13 @@ public class Publish extends MQTTPacket implements ServerPublishPacket {
     this.qos = qos;
     this.packetId = packetId;
     destinationName = destination;
+    this.encodedHeader = encodedHeader;
   }
 
   public Publish(byte fixedHeader, long remainingLen, Packet packet, long maximumBufferSize)
       throws MalformedException {
     super(PUBLISH);
+    encodedHeader = null;
     retain = (fixedHeader & 1) != 0;
     qos = QualityOfService.getInstance(((fixedHeader >> 1) & 3));
     isDup = (fixedHeader & 8) != 0;
@@ -125,7 +146,104 @@ public class Publish extends MQTTPacket implements ServerPublishPacket {
         + "]";
   }
 
+  /**
+   * Returns the per message cache of encoded headers, used as the factory for the message's encoded frame cache
+   * under {@link #ENCODED_FRAME_KEY}.
+   *
+   * @param key the encoded frame key, unused
+   * @return a new, empty, header cache
+   */
+  public static EncodedHeaders createEncodedHeaders(Object key) {
+    return new EncodedHeaders();
+  }
+
+  /**
+   * Encodes everything in the publish header up to, but not including, the packet id. This only depends on the
+   * message and the subscription's QoS and so can be shared by all subscribers sending the same message.
+   *
+   * @param retain the retain flag to set
+   * @param qos the QoS the message is sent with
+   * @param destinationName the topic the message is sent to
+   * @param payloadLength the length of the payload that will follow the header
+   * @return the encoded header
+   */
+  public static EncodedHeader encodeHeader(boolean retain, QualityOfService qos, String destinationName, int payloadLength) {
+    byte[] topic = destinationName.getBytes(StandardCharsets.UTF_8);
+    byte fixed = (byte) (PUBLISH << 4);
+    fixed = (byte) ((fixed & 0xff) | ((qos.getLevel() & 0x3) << 1));
+    if (retain) {
+      fixed = (byte) (fixed + 0x1);
+    }
+    long remaining = topic.length + 2L + payloadLength;
+    if (qos.isSendPacketId()) {
+      remaining += 2;
+    }
+    Packet header = new Packet(topic.length + 7, false);
+    header.put(fixed);
+    writeVariableInt(header, remaining);
+    writeShort(header, topic.length);
+    header.put(topic);
+    header.flip();
+    byte[] encoded = new byte[header.available()];
+    header.get(encoded, 0, encoded.length);
+    return new EncodedHeader(retain, qos, destinationName, encoded, remaining);
+  }
+
+  public record EncodedHeader(boolean retain, QualityOfService qos, String destinationName, byte[] header, long remaining) {
+
+    boolean matches(boolean retainFlag, QualityOfService qualityOfService, String topic) {
+      return retain == retainFlag && qos == qualityOfService && destinationName.equals(topic);
+    }
+  }
+
+  /**
+   * The MQTT 3.1.1 headers encoded for a single message. Subscribers normally differ, if at all, by QoS or by a
+   * mapped topic name, so a short array scanned without allocation is enough.
+   */
+  public static final class EncodedHeaders {
+
+    private static final int MAX_HEADERS = 6;
+
+    private volatile EncodedHeader[] headers = new EncodedHeader[0];
+
+    public EncodedHeader get(boolean retain, QualityOfService qos, String destinationName, int payloadLength) {
+      EncodedHeader found = find(headers, retain, qos, destinationName);
+      if (found != null) {
+        return found;
+      }
+      synchronized (this) {
+        EncodedHeader[] current = headers;
+        found = find(current, retain, qos, destinationName);
+        if (found == null) {
+          found = encodeHeader(retain, qos, destinationName, payloadLength);
+          if (current.length < MAX_HEADERS) {
+            EncodedHeader[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = found;
+            headers = next;
+          }
+        }
+        return found;
+      }
+    }
+
+    private static EncodedHeader find(EncodedHeader[] headers, boolean retain, QualityOfService qos, String destinationName) {
+      for (EncodedHeader header : headers) {
+        if (header.matches(retain, qos, destinationName)) {
+          return header;
+        }
+      }
+      return null;
+    }
+  }
+
   private long packHeader(Packet packet){
+    if (encodedHeader != null) {
+      packet.put(encodedHeader.header());
+      if (qos.isSendPacketId()) {
+        writeShort(packet, packetId);
+      }
+      return encodedHeader.remaining();
+    }
     //
     // Pack the header
     //
@@ -163,7 +281,9 @@ public class Publish extends MQTTPacket implements ServerPublishPacket {
   @Override
   public Packet[] packAdvancedFrame(Packet packet) {
     packHeader(packet);
-    if(payload.length < packet.available()) {
+    // A shared payload of any size is written from the message itself rather than copied for each subscriber
+    boolean inline = encodedHeader == null || payload.length <= INLINE_PAYLOAD_LIMIT;
+    if(inline && payload.length < packet.available()) {
       packet.put(payload);
       return new Packet[]{packet};
     }
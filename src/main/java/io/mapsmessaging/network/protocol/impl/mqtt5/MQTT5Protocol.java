@@ -42,6 +42,7 @@ import io.mapsmessaging.network.io.impl.SelectorTask;
 import io.mapsmessaging.network.protocol.EndOfBufferException;
 import io.mapsmessaging.network.protocol.Protocol;
 import io.mapsmessaging.network.protocol.impl.mqtt.PacketIdManager;
+import io.mapsmessaging.network.protocol.impl.mqtt.PublishSequencer;
 import io.mapsmessaging.network.protocol.impl.mqtt.packet.MalformedException;
 import io.mapsmessaging.network.protocol.impl.mqtt.packet.SubscriptionInfo;
 import io.mapsmessaging.network.protocol.impl.mqtt5.listeners.PacketListenerFactory5;
@@ -79,6 +80,8 @@ public class MQTT5Protocol extends Protocol {
   @Getter
   private final PacketIdManager packetIdManager;
   @Getter
+  private final PublishSequencer publishSequencer;
+  @Getter
   private final NaturalOrderedLongList clientOutstanding;
   @Getter
   private final TopicAliasMapping clientTopicAliasMapping;
@@ -114,7 +117,7 @@ public class MQTT5Protocol extends Protocol {
 
   public MQTT5Protocol(EndPoint endPoint) throws IOException {
     super(endPoint, endPoint.getConfig().getProtocolConfig("mqtt"));
-    logger = LoggerFactory.getLogger("MQTT 5.0 Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(MQTT5Protocol.class);
 
     isClosing = false;
     ThreadContext.put("endpoint", endPoint.getName());
@@ -139,6 +142,7 @@ public class MQTT5Protocol extends Protocol {
     packetFactory = new PacketFactory5(this);
     closed = false;
     packetIdManager = new PacketIdManager();
+    publishSequencer = new PublishSequencer();
     BitSetFactory bitsetFactory = new BitSetFactoryImpl(DefaultConstants.BITSET_BLOCK_SIZE);
     clientOutstanding = new NaturalOrderedLongList(0, bitsetFactory);
     SaslConfigDTO saslConfig = endPoint.getConfig().getSaslConfig();
@@ -270,7 +274,7 @@ public class MQTT5Protocol extends Protocol {
     }
   }
 
-  private void handleResponse(MQTTPacket5 response) {
+  public void handleResponse(MQTTPacket5 response) {
     if (response != null) {
       EndPoint.totalSent.increment();
       if (logger.isInfoEnabled()) {
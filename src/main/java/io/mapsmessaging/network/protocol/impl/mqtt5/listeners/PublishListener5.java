@@ -25,12 +25,14 @@ import io.mapsmessaging.api.features.DestinationType;
 import io.mapsmessaging.api.features.Priority;
 import io.mapsmessaging.api.features.QualityOfService;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.api.message.TypedData;
 import io.mapsmessaging.api.transformers.ParsedMessage;
 import io.mapsmessaging.engine.destination.MessageOverrides;
 import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.network.io.EndPoint;
 import io.mapsmessaging.network.protocol.Protocol;
+import io.mapsmessaging.network.protocol.impl.mqtt.PublishSequencer;
 import io.mapsmessaging.network.protocol.impl.mqtt.packet.MQTTPacket;
 import io.mapsmessaging.network.protocol.impl.mqtt.packet.MalformedException;
 import io.mapsmessaging.network.protocol.impl.mqtt5.MQTT5Protocol;
@@ -46,17 +48,19 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 
 public class PublishListener5 extends PacketListener5 {
 
   public static Message createMessage(String sessionId, Collection<MessageProperty> properties, Priority priority, boolean isRetain, byte[] payload, QualityOfService qos,
       ProtocolMessageTransformation transformation, Protocol protocol)  {
-    HashMap<String, String> meta = new LinkedHashMap<>();
-    meta.put("protocol", "MQTT");
-    meta.put("version", "5");
-    meta.put("sessionId", sessionId);
-    meta.put("time_ms", "" + System.currentTimeMillis());
+    MessageMeta meta = new MessageMeta()
+        .setProtocol("MQTT")
+        .setVersion("5")
+        .setSessionId(sessionId)
+        .setTimeMs(System.currentTimeMillis());
 
     MessageBuilder mb = new MessageBuilder();
     mb.setPriority(priority)
@@ -187,54 +191,84 @@ public class PublishListener5 extends PacketListener5 {
       }
       String lookup = protocol.parseForLookup(destinationName);
       if(lookup.startsWith("$") && !publish.getDestinationName().toLowerCase().startsWith("$schema")){
-        return response;
-      }
-      try {
-        Message message =
-            createMessage(
-                session.getName(),
-                publish.getProperties().values(),
-                publish.getPriority(),
-                publish.isRetain(),
-                publish.getPayload(),
-                publish.getQos(),
-                protocol.getProtocolMessageTransformation(),
-                protocol);
-        ParsedMessage parsed = protocol.parseInboundMessage(lookup, message);
-        int sent = 0;
-        if(parsed != null){
-          lookup = parsed.getDestinationName();
-          message = parsed.getMessage();
-          Destination destination = session.findDestination(lookup, DestinationType.TOPIC).get();
-          if (destination != null) {
-            sent = processMessage(message, publish, session, response, destination);
-          }
-        }
-
-        if (response != null) {
-          if (sent == 0) {
-            response.setStatusCode(StatusCode.NO_MATCHING_SUBSCRIBERS);
-          } else if (sent < 0) {
-            response.setStatusCode(StatusCode.PACKET_IDENTIFIER_INUSE);
-          }
-        }
-      } catch (IOException e) {
-        try {
-          endPoint.close();
-        } catch (IOException ioException) {
-          // we are in the midst of a close, more on
-        }
-        throw new MalformedException("[MQTT-3.3.5-2]");
+        return sequenceResponse(response, protocol);
       }
+      Message message =
+          createMessage(
+              session.getName(),
+              publish.getProperties().values(),
+              publish.getPriority(),
+              publish.isRetain(),
+              publish.getPayload(),
+              publish.getQos(),
+              protocol.getProtocolMessageTransformation(),
+              protocol);
+      PublishMonitorPacket5 publishResponse = response;
+      ((MQTT5Protocol) protocol).getPublishSequencer()
+          .submit(() -> processPublish(message, lookup, publish, session, publishResponse, endPoint, protocol))
+          .exceptionally(throwable -> {
+            logger.log(ServerLogMessages.MQTT_PUBLISH_STORE_FAILED, throwable);
+            try {
+              endPoint.close();
+            } catch (IOException ioException) {
+              // we are in the midst of a close, more on
+            }
+            return null;
+          });
+      return null;
     } else {
       if (response != null) {
         response.setStatusCode(StatusCode.NOT_AUTHORISED); // Can not publish to $ topics
       }
     }
-    return response;
+    return sequenceResponse(response, protocol);
+  }
+
+  //
+  // If earlier publishes are still being stored the response must be queued behind them to maintain the ordering
+  //
+  private MQTTPacket5 sequenceResponse(MQTTPacket5 response, Protocol protocol) {
+    PublishSequencer sequencer = ((MQTT5Protocol) protocol).getPublishSequencer();
+    if (response == null || sequencer.isIdle()) {
+      return response;
+    }
+    sequencer.submit(() -> {
+      ((MQTT5Protocol) protocol).handleResponse(response);
+      return CompletableFuture.completedFuture(null);
+    });
+    return null;
+  }
+
+  private CompletableFuture<Void> processPublish(Message message, String lookup, Publish5 publish, Session session, PublishMonitorPacket5 response, EndPoint endPoint, Protocol protocol) {
+    ParsedMessage parsed = protocol.parseInboundMessage(lookup, message);
+    CompletableFuture<CompletableFuture<Integer>> queued;
+    if (parsed != null) {
+      Message parsedMessage = parsed.getMessage();
+      queued = session.findDestination(parsed.getDestinationName(), DestinationType.TOPIC)
+          .thenApply(destination -> {
+            if (destination == null) {
+              return CompletableFuture.completedFuture(0);
+            }
+            return processMessage(parsedMessage, publish, session, response, destination, endPoint);
+          });
+    } else {
+      queued = CompletableFuture.completedFuture(CompletableFuture.completedFuture(0));
+    }
+    if (response == null) {
+      // QoS 0 has nothing to acknowledge, so the next publish only waits for this one to be queued, not stored
+      return queued.thenAccept(stored -> {});
+    }
+    return queued.thenCompose(stored -> stored).thenAccept(count -> {
+      if (count == 0) {
+        response.setStatusCode(StatusCode.NO_MATCHING_SUBSCRIBERS);
+      } else if (count < 0) {
+        response.setStatusCode(StatusCode.PACKET_IDENTIFIER_INUSE);
+      }
+      ((MQTT5Protocol) protocol).handleResponse(response);
+    });
   }
 
-  private int processMessage(Message message, Publish5 publish, Session session, MQTTPacket response, Destination destination) throws IOException {
+  private CompletableFuture<Integer> processMessage(Message message, Publish5 publish, Session session, MQTTPacket response, Destination destination, EndPoint endPoint) {
     if (response != null) {
       Transaction transaction;
       try {
@@ -242,16 +276,30 @@ public class PublishListener5 extends PacketListener5 {
         transaction = session.startTransaction(session.getName() + "_" + publish.getPacketId());
       } catch (TransactionException e) {
         logger.log(ServerLogMessages.MQTT_DUPLICATE_EVENT_RECEIVED, publish.getPacketId());
-        return -1;
-      }
-      transaction.add(destination, message);
-      if (publish.getQos().equals(QualityOfService.AT_LEAST_ONCE)) {
-        transaction.commit();
-        session.closeTransaction(transaction);
+        return CompletableFuture.completedFuture(-1);
       }
-      return 1;
+      return transaction.addAsync(destination, message)
+          .thenApply(count -> {
+            if (publish.getQos().equals(QualityOfService.AT_LEAST_ONCE)) {
+              try {
+                transaction.commit();
+                session.closeTransaction(transaction);
+              } catch (IOException e) {
+                throw new CompletionException(e);
+              }
+            }
+            return 1;
+          });
     } else {
-      return destination.storeMessage(message);
+      return destination.storeMessageAsync(message).exceptionally(throwable -> {
+        logger.log(ServerLogMessages.MQTT_PUBLISH_STORE_FAILED, throwable);
+        try {
+          endPoint.close();
+        } catch (IOException ioException) {
+          // we are in the midst of a close, more on
+        }
+        return 0;
+      });
     }
   }
 }
@@ -74,7 +74,7 @@ public class MQTTSNInterfaceManager implements SelectorCallback {
 
 
   public MQTTSNInterfaceManager(byte gatewayId, SelectorTask selectorTask, EndPoint endPoint) {
-    logger = LoggerFactory.getLogger("MQTT-SN Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(MQTTSNInterfaceManager.class);
     this.gatewayId = gatewayId;
     this.selectorTask = selectorTask;
     advertiserTask = null;
@@ -99,7 +99,7 @@ public class MQTTSNInterfaceManager implements SelectorCallback {
   }
 
   public MQTTSNInterfaceManager(InterfaceInformation info, EndPoint endPoint, byte gatewayId) throws IOException {
-    logger = LoggerFactory.getLogger("MQTT-SN Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(MQTTSNInterfaceManager.class);
     this.endPoint = endPoint;
     this.gatewayId = gatewayId;
     mqttSnConfig = (MqttSnConfig) endPoint.getConfig().getProtocolConfig("mqtt-sn");
@@ -213,7 +213,7 @@ public class MQTT_SNProtocol extends Protocol {
         stateEngine.getMaxBufferSize() < message.getOpaqueData().length + 9) {
       messageEvent.getCompletionTask().run();
     } else {
-      MessageEvent evt = new MessageEvent(parsedMessage.getDestinationName(), messageEvent.getSubscription(), message, messageEvent.getCompletionTask());
+      MessageEvent evt = new MessageEvent(parsedMessage.getDestinationName(), messageEvent.getSubscription(), message, messageEvent.getCompletionTask(), messageEvent.isLastMessage());
       stateEngine.queueMessage(evt);
     }
   }
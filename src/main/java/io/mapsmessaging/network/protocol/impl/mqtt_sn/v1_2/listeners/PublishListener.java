@@ -27,6 +27,7 @@ import io.mapsmessaging.api.features.DestinationMode;
 import io.mapsmessaging.api.features.DestinationType;
 import io.mapsmessaging.api.features.QualityOfService;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.engine.destination.MessageOverrides;
 import io.mapsmessaging.network.io.EndPoint;
 import io.mapsmessaging.network.protocol.Protocol;
@@ -35,8 +36,6 @@ import io.mapsmessaging.network.protocol.impl.mqtt_sn.v1_2.packet.*;
 import io.mapsmessaging.network.protocol.impl.mqtt_sn.v1_2.state.StateEngine;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.concurrent.CompletableFuture;
 
 public class PublishListener extends PacketListener {
@@ -65,11 +64,11 @@ public class PublishListener extends PacketListener {
   }
 
   private void processValidMessage(Session session, QualityOfService qos, Publish publish, Protocol protocol, String topicName){
-    HashMap<String, String> meta = new LinkedHashMap<>();
-    meta.put("protocol", "MQTT-SN");
-    meta.put("version", "1.2");
-    meta.put("sessionId", session.getName());
-    meta.put("time_ms", "" + System.currentTimeMillis());
+    MessageMeta meta = new MessageMeta()
+        .setProtocol("MQTT-SN")
+        .setVersion("1.2")
+        .setSessionId(session.getName())
+        .setTimeMs(System.currentTimeMillis());
 
 
     MessageBuilder messageBuilder = new MessageBuilder();
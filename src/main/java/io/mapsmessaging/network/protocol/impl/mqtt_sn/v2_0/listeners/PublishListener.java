@@ -27,6 +27,7 @@ import io.mapsmessaging.api.features.DestinationMode;
 import io.mapsmessaging.api.features.DestinationType;
 import io.mapsmessaging.api.features.QualityOfService;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.engine.destination.MessageOverrides;
 import io.mapsmessaging.network.io.EndPoint;
 import io.mapsmessaging.network.protocol.Protocol;
@@ -40,8 +41,6 @@ import io.mapsmessaging.network.protocol.impl.mqtt_sn.v2_0.packet.PubAck;
 import io.mapsmessaging.network.protocol.impl.mqtt_sn.v2_0.packet.Publish;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.concurrent.CompletableFuture;
 
 import static io.mapsmessaging.network.protocol.impl.mqtt_sn.v1_2.packet.MQTT_SNPacket.LONG_TOPIC_NAME;
@@ -75,11 +74,11 @@ public class PublishListener extends PacketListener {
   }
 
   private void processValidMessage(Session session, QualityOfService qos, Publish publish, Protocol protocol, String topicName){
-    HashMap<String, String> meta = new LinkedHashMap<>();
-    meta.put("protocol", "MQTT-SN");
-    meta.put("version", "2.0");
-    meta.put("sessionId", session.getName());
-    meta.put("time_ms", "" + System.currentTimeMillis());
+    MessageMeta meta = new MessageMeta()
+        .setProtocol("MQTT-SN")
+        .setVersion("2.0")
+        .setSessionId(session.getName())
+        .setTimeMs(System.currentTimeMillis());
 
 
     MessageBuilder messageBuilder = new MessageBuilder();
@@ -69,7 +69,7 @@ public class NatsProtocol extends Protocol {
 
   public NatsProtocol(EndPoint endPoint) {
     super(endPoint, endPoint.getConfig().getProtocolConfig("nats"));
-    logger = LoggerFactory.getLogger("NATS Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(NatsProtocol.class);
     logger.log(ServerLogMessages.NATS_STARTING, endPoint.toString());
     natsConfig = (NatsConfigDTO) protocolConfig;
     int maxBufferSize = natsConfig.getMaxBufferSize();
@@ -23,6 +23,7 @@ import io.mapsmessaging.api.Destination;
 import io.mapsmessaging.api.MessageBuilder;
 import io.mapsmessaging.api.features.DestinationType;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.api.message.TypedData;
 import io.mapsmessaging.engine.destination.MessageOverrides;
 import io.mapsmessaging.network.protocol.impl.nats.frames.*;
@@ -32,6 +33,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class PubListener implements FrameListener {
 
@@ -52,8 +54,16 @@ public class PubListener implements FrameListener {
       future.thenApply(destination -> {
         try {
           if (destination != null) {
-            handleMessageStoreToDestination(destination, engine, msgFrame);
-            if (engine.isVerbose()) engine.send(new OkFrame());
+            handleMessageStoreToDestination(destination, engine, msgFrame).whenComplete((count, throwable) -> {
+              if (throwable != null) {
+                Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+                ErrFrame errFrame = new ErrFrame();
+                errFrame.setError(cause.getMessage());
+                engine.send(errFrame);
+              } else if (engine.isVerbose()) {
+                engine.send(new OkFrame());
+              }
+            });
           } else {
             ErrFrame errFrame = new ErrFrame();
             errFrame.setError("No such destination");
@@ -70,14 +80,14 @@ public class PubListener implements FrameListener {
     }
   }
 
-  protected void handleMessageStoreToDestination(Destination destination, SessionState engine, PayloadFrame msgFrame) throws IOException {
+  protected CompletableFuture<Integer> handleMessageStoreToDestination(Destination destination, SessionState engine, PayloadFrame msgFrame) throws IOException {
     if (destination != null) {
       Map<String, TypedData> dataMap = new HashMap<>();
-      Map<String, String> metaData = new HashMap<>();
-      metaData.put("protocol", "NATS");
-      metaData.put("version", engine.getProtocol().getVersion());
-      metaData.put("sessionId", engine.getSession().getName());
-      metaData.put("time_ms", "" + System.currentTimeMillis());
+      MessageMeta metaData = new MessageMeta()
+          .setProtocol("NATS")
+          .setVersion(engine.getProtocol().getVersion())
+          .setSessionId(engine.getSession().getName())
+          .setTimeMs(System.currentTimeMillis());
 
       MessageBuilder mb = new MessageBuilder();
       mb.setDataMap(dataMap)
@@ -95,8 +105,9 @@ public class PubListener implements FrameListener {
           }
         }
       }
-      destination.storeMessage(message);
+      return destination.storeMessageAsync(message);
     }
+    return CompletableFuture.completedFuture(0);
   }
 
   private Object convert(String value) {
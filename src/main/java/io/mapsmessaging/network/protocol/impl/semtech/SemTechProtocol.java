@@ -64,7 +64,7 @@ public class SemTechProtocol extends Protocol {
 
   protected SemTechProtocol(@NonNull @NotNull EndPoint endPoint, String sessionId) throws IOException {
     super(endPoint, endPoint.getConfig().getProtocolConfig("semtech"));
-    logger = LoggerFactory.getLogger("SemTech Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(SemTechProtocol.class);
     selectorTask = new SelectorTask(this, endPoint.getConfig().getEndPointConfig(), endPoint.isUDP());
     selectorTask.register(SelectionKey.OP_READ);
     packetFactory = new PacketFactory();
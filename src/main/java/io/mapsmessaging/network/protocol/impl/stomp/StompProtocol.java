@@ -77,7 +77,7 @@ public class StompProtocol extends Protocol {
 
   public StompProtocol(EndPoint endPoint) {
     super(endPoint, endPoint.getConfig().getProtocolConfig("stomp"));
-    logger = LoggerFactory.getLogger("STOMP Protocol on " + endPoint.getName());
+    logger = LoggerFactory.getLogger(StompProtocol.class);
     logger.log(ServerLogMessages.STOMP_STARTING, endPoint.toString());
     StompConfigDTO stompConfigDTO = (StompConfigDTO)protocolConfig;
     int maxBufferSize = stompConfigDTO.getMaxBufferSize();
@@ -24,8 +24,10 @@ import io.mapsmessaging.api.MessageBuilder;
 import io.mapsmessaging.api.Transaction;
 import io.mapsmessaging.api.features.Priority;
 import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.api.message.MessageMeta;
 import io.mapsmessaging.api.message.TypedData;
 import io.mapsmessaging.engine.destination.MessageOverrides;
+import io.mapsmessaging.logging.ServerLogMessages;
 import io.mapsmessaging.network.protocol.impl.stomp.frames.Error;
 import io.mapsmessaging.network.protocol.impl.stomp.frames.Event;
 import io.mapsmessaging.network.protocol.impl.stomp.frames.Frame;
@@ -44,11 +46,11 @@ public abstract class EventListener implements FrameListener {
     for (Map.Entry<String, String> entry : event.getHeader().entrySet()) {
       dataMap.put(entry.getKey(), new TypedData(entry.getValue()));
     }
-    Map<String, String> metaData = new HashMap<>();
-    metaData.put("protocol", "STOMP");
-    metaData.put("version", engine.getProtocol().getVersion());
-    metaData.put("sessionId", engine.getSession().getName());
-    metaData.put("time_ms", "" + System.currentTimeMillis());
+    MessageMeta metaData = new MessageMeta()
+        .setProtocol("STOMP")
+        .setVersion(engine.getProtocol().getVersion())
+        .setSessionId(engine.getSession().getName())
+        .setTimeMs(System.currentTimeMillis());
     MessageBuilder mb = new MessageBuilder();
     mb.setDataMap(dataMap)
         .setPriority(Priority.getInstance(event.getPriority()))
@@ -75,8 +77,14 @@ public abstract class EventListener implements FrameListener {
         } else {
           transaction.add(destination, message);
         }
-      } else {
+      } else if (event.getReceipt() != null) {
+        // The receipt is only sent once the store has completed, so we need to wait here
         destination.storeMessage(message);
+      } else {
+        destination.storeMessageAsync(message).exceptionally(throwable -> {
+          engine.getProtocol().getLogger().log(ServerLogMessages.STOMP_STORE_FAILED, destination.getFullyQualifiedNamespace(), throwable);
+          return 0;
+        });
       }
     }
   }
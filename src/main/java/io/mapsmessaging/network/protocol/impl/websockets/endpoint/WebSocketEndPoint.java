@@ -23,6 +23,7 @@ import io.mapsmessaging.logging.Logger;
 import io.mapsmessaging.logging.LoggerFactory;
 import io.mapsmessaging.network.io.EndPoint;
 import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.PacketPool;
 import io.mapsmessaging.network.io.Selectable;
 
 import java.io.IOException;
@@ -34,8 +35,14 @@ import java.util.concurrent.FutureTask;
 //ToDo:: Configure packet sizes, break up the packets if its too large, deal with fragmented incoming packets
 public class WebSocketEndPoint extends EndPoint {
 
+  private static final int READ_BUFFER_SIZE = 1024 * 128;
+  // Opcode, length and extended length, the server never masks its frames
+  private static final int MAX_HEADER_SIZE = 14;
+
   private final EndPoint endPoint;
-  private final WebSocketPacket wsReadPacket;
+  // Borrowed from the pool while a read is in progress or a partial frame is held, idle connections hold none
+  private WebSocketPacket wsReadPacket;
+  // Only ever holds a frame header, the payload is sent straight from the caller's packet
   private final WebSocketPacket wsWritePacket;
 
   public WebSocketEndPoint(EndPoint endPoint) {
@@ -49,8 +56,7 @@ public class WebSocketEndPoint extends EndPoint {
     } else {
       name = tmp;
     }
-    wsReadPacket = new WebSocketPacket(1024 * 128);
-    wsWritePacket = new WebSocketPacket(1024 * 128);
+    wsWritePacket = new WebSocketPacket(MAX_HEADER_SIZE);
   }
 
   @Override
@@ -92,6 +98,20 @@ public class WebSocketEndPoint extends EndPoint {
 
   @Override
   public int readPacket(Packet packet) throws IOException {
+    if (wsReadPacket == null) {
+      wsReadPacket = new WebSocketPacket(PacketPool.getInstance().borrow(READ_BUFFER_SIZE, false));
+    }
+    try {
+      return readFrames(packet);
+    } finally {
+      if (wsReadPacket.position() == 0) {
+        PacketPool.getInstance().release(wsReadPacket);
+        wsReadPacket = null;
+      }
+    }
+  }
+
+  private int readFrames(Packet packet) throws IOException {
     int len = endPoint.readPacket(wsReadPacket);
     while (len > 0) {
       updateReadBytes(len);
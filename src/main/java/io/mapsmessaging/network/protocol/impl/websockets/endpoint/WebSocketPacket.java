@@ -32,6 +32,12 @@ public class WebSocketPacket extends Packet {
     header = new WebSocketHeader();
   }
 
+  // Frames over a buffer borrowed from the packet pool
+  public WebSocketPacket(Packet packet) {
+    super(packet);
+    header = new WebSocketHeader();
+  }
+
   public void pack(Packet packet) {
     header = new WebSocketHeader();
     header.setLength(packet.available());
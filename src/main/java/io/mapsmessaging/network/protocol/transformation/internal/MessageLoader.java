@@ -38,7 +38,7 @@ public class MessageLoader {
   private boolean retain;
   private boolean storeOffline;
   private boolean payloadUTF8;
-  private boolean lastMessage;
+  private boolean lastMessage; // No longer sent, still accepted from older servers
   private boolean correlationDataByteArray;
   private boolean utf8;
 
@@ -93,9 +93,6 @@ public class MessagePacker {
   public boolean isStoreOffline(){
     return message.isStoreOffline();
   }
-  public boolean isLastMessage(){
-    return message.isLastMessage();
-  }
   public boolean isUTF8(){
     return message.isUTF8();
   }
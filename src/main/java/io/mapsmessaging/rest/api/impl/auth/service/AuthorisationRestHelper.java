@@ -163,6 +163,7 @@ public class AuthorisationRestHelper {
       }
     } finally {
       provider.stopBatch();
+      AuthManager.getInstance().invalidateAuthorisationCache();
     }
 
     return getResourceAcl(resourceType, resourceKey);
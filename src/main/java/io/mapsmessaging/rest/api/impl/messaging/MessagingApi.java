@@ -43,6 +43,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -54,6 +56,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.mapsmessaging.rest.api.Constants.URI_PATH;
 
@@ -62,6 +65,7 @@ import static io.mapsmessaging.rest.api.Constants.URI_PATH;
 public class MessagingApi extends BaseRestApi {
 
   private static final String RESOURCE = "messaging";
+  private static final long MAX_POLL_TIME = 30_000;
 
   @Path("/publish")
   @Consumes(MediaType.APPLICATION_JSON)
@@ -228,7 +232,7 @@ public class MessagingApi extends BaseRestApi {
     HttpSession httpSession = getSession();
     SubscribedEventManager eventManager = subscribeToTopic(session, subscriptionRequest);
     SessionState state = SessionTracker.getSessionStates().getSessionState(httpSession.getId());
-    state.getRestMessageListener().registerEventManager(subscriptionRequest.getDestinationName(), sse, eventSink, session, eventManager);
+    state.getRestMessageListener().registerEventManager(subscriptionRequest.getDestinationName(), sse, eventSink, subscriptionRequest.getBatchSize(), session, eventManager);
   }
 
 
@@ -319,7 +323,55 @@ public class MessagingApi extends BaseRestApi {
   public ConsumedResponse consumeMessages(@Valid ConsumeRequestDTO consumeRequestDTO) {
     hasAccess(RESOURCE);
     SessionState state = SessionTracker.getSessionStates().getSessionState(getSession().getId());
+    return consume(state.getRestMessageListener(), consumeRequestDTO);
+  }
+
+  @Path("/consume/poll")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Operation(
+      summary = "Long poll for messages",
+      description = "Waits up to the timeout, in milliseconds, for messages on the specified subscription, or any subscription if none is supplied, then returns them in bulk",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Operation was successful",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConsumedResponse.class))
+          ),
+          @ApiResponse(responseCode = "400", description = "Bad request",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = StatusResponse.class))),
+          @ApiResponse(responseCode = "401", description = "Invalid credentials or unauthorized access",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = StatusResponse.class))),
+          @ApiResponse(responseCode = "403", description = "User is not authorised to access the resource",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = StatusResponse.class))),
+      }
+  )
+  @POST
+  public void pollMessages(@Valid ConsumeRequestDTO consumeRequestDTO, @QueryParam("timeout") @DefaultValue("10000") long timeout,
+      @Suspended AsyncResponse asyncResponse) {
+    hasAccess(RESOURCE);
+    SessionState state = SessionTracker.getSessionStates().getSessionState(getSession().getId());
     RestMessageListener messageListener = state.getRestMessageListener();
+    long wait = Math.min(Math.max(timeout, 0), MAX_POLL_TIME);
+    if (wait == 0) {
+      asyncResponse.resume(consume(messageListener, consumeRequestDTO));
+      return;
+    }
+    // The request thread is handed back while we wait, whichever of delivery or timeout claims the waiter consumes. The
+    // timeout is armed before the waiter is registered, as registering resumes the response straight away when
+    // messages are already waiting
+    RestMessageListener.PollWaiter waiter = messageListener.createWaiter(consumeRequestDTO.getDestination(),
+        () -> asyncResponse.resume(consume(messageListener, consumeRequestDTO)));
+    asyncResponse.setTimeoutHandler(response -> {
+      if (messageListener.cancelWait(waiter)) {
+        response.resume(consume(messageListener, consumeRequestDTO));
+      }
+    });
+    asyncResponse.setTimeout(wait, TimeUnit.MILLISECONDS);
+    messageListener.awaitMessages(waiter);
+  }
+
+  private ConsumedResponse consume(RestMessageListener messageListener, ConsumeRequestDTO consumeRequestDTO) {
     if (consumeRequestDTO.getDestination() == null || consumeRequestDTO.getDestination().isEmpty()) {
       List<ConsumedMessages> messages = new ArrayList<>();
       for (String destination : messageListener.getKnownDestinations()) {
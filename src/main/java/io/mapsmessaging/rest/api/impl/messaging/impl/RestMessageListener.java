@@ -21,6 +21,7 @@ package io.mapsmessaging.rest.api.impl.messaging.impl;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.mapsmessaging.api.MessageEvent;
 import io.mapsmessaging.api.MessageListener;
@@ -35,18 +36,18 @@ import io.mapsmessaging.rest.translation.GsonDateTimeSerialiser;
 import io.mapsmessaging.schemas.config.SchemaConfig;
 import io.mapsmessaging.schemas.formatters.MessageFormatter;
 import io.mapsmessaging.schemas.formatters.impl.RawFormatter;
-import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.Sse;
 import jakarta.ws.rs.sse.SseEventSink;
 import lombok.*;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -56,10 +57,11 @@ import java.util.stream.Collectors;
  * <p>
  * Map:
  * Key: Subscription namespace : could be a singe destination or a wild card subscription
- * Value : Map : key: String,  Value List of Messages where String is the physical destination name and the list is events from that destination
+ * Value : SyncMessageBuffer : holding a bounded queue of events for each physical destination the subscription matched
  * <p>
  * <p>
- * If Async, then the messages are forwarded with the name of the destination and NOT the subscription name
+ * If Async, then the messages are forwarded with the name of the destination and NOT the subscription name, batched by the
+ * subscription's SseMessageStream
  */
 public class RestMessageListener implements MessageListener {
 
@@ -67,18 +69,20 @@ public class RestMessageListener implements MessageListener {
   @Setter
   private static int maxSubscribedMessages = 10;
 
-  private final Map<String, Map<String, List<MessageEvent>>> messages;
+  private final Map<String, SyncMessageBuffer> messages;
 
   private final Map<String, SessionSubscriptionMap> sessionSubscriptionsMap;
-  private final Map<String, SseInfo> eventSinkMap;
+  private final Map<String, SseMessageStream> eventSinkMap;
   private final Gson gson;
+  private final Queue<PollWaiter> pollWaiters;
 
-  private boolean closed = false;
+  private volatile boolean closed = false;
 
   public RestMessageListener() {
     messages = new ConcurrentHashMap<>();
     sessionSubscriptionsMap = new ConcurrentHashMap<>();
     eventSinkMap = new ConcurrentHashMap<>();
+    pollWaiters = new ConcurrentLinkedQueue<>();
     gson = new GsonBuilder()
         .setPrettyPrinting()
         .registerTypeAdapter(LocalDateTime.class, new GsonDateTimeSerialiser())
@@ -90,65 +94,58 @@ public class RestMessageListener implements MessageListener {
   }
 
   public void registerEventManager(String namespacePath, Sse sse, SseEventSink eventSink, Session session, SubscribedEventManager subscribedEventManager) {
-    SseInfo sseInfo = new SseInfo(sse, eventSink);
-    eventSinkMap.put(namespacePath, sseInfo);
+    registerEventManager(namespacePath, sse, eventSink, 1, session, subscribedEventManager);
+  }
+
+  public void registerEventManager(String namespacePath, Sse sse, SseEventSink eventSink, int batchSize, Session session, SubscribedEventManager subscribedEventManager) {
+    SseMessageStream stream = new SseMessageStream(sse, eventSink, namespacePath, batchSize, gson, this::convertToAsyncDTO, () -> closeStream(namespacePath));
+    eventSinkMap.put(namespacePath, stream);
     sessionSubscriptionsMap.put(namespacePath, new SessionSubscriptionMap(session, subscribedEventManager));
   }
 
   public void deregisterEventManager(String topic) {
     messages.remove(topic);
     clearSubscription(topic);
-    SseInfo sseInfo = eventSinkMap.remove(topic);
-    if (sseInfo != null) {
-      sseInfo.close();
+    SseMessageStream stream = eventSinkMap.remove(topic);
+    if (stream != null) {
+      stream.close();
     }
   }
 
   @Override
-  public synchronized void sendMessage(@NotNull @NonNull MessageEvent messageEvent) {
+  public void sendMessage(@NotNull @NonNull MessageEvent messageEvent) {
     if (closed) {
       messageEvent.getCompletionTask().run(); // ensure the server knows the event has been handled
       messageEvent.getSubscription().ackReceived(messageEvent.getMessage().getIdentifier());
       return;
     }
     String namespacePath = messageEvent.getSubscription().getContext().getDestinationName();
-    if (eventSinkMap.containsKey(namespacePath)) {
-      handleAsyncDelivery(namespacePath, messageEvent);
+    SseMessageStream stream = eventSinkMap.get(namespacePath);
+    if (stream != null) {
+      stream.offer(messageEvent);
     } else {
       handleSyncDelivery(namespacePath, messageEvent);
     }
   }
 
-  private void handleAsyncDelivery(String namespacePath, MessageEvent messageEvent) {
-    SseInfo sseInfo = eventSinkMap.get(namespacePath);
-    try {
-      if (sseInfo != null) {
-        if (sseInfo.eventSink.isClosed()) {
-          clearSubscription(namespacePath);
-        } else {
-          String json = gson.toJson(convertToAsyncDTO(messageEvent));
-          OutboundSseEvent event = sseInfo.sse.newEventBuilder().name(namespacePath).data(String.class, json).build();
-          sseInfo.eventSink.send(event);
-        }
-      }
-    } finally {
-      messageEvent.getCompletionTask().run();
+  private void handleSyncDelivery(String namespacePath, MessageEvent messageEvent) {
+    messages.computeIfAbsent(namespacePath, k -> new SyncMessageBuffer(maxSubscribedMessages)).offer(messageEvent);
+    if (!pollWaiters.isEmpty()) {
+      wakePollWaiters(namespacePath);
     }
   }
 
-  private void handleSyncDelivery(String namespacePath, MessageEvent messageEvent) {
-    Map<String, List<MessageEvent>> subscriptionMessages = messages.computeIfAbsent(namespacePath, k -> new LinkedHashMap<>());
-    List<MessageEvent> destinationMessages = subscriptionMessages.computeIfAbsent(messageEvent.getDestinationName(), k -> new ArrayList<>());
-    destinationMessages.add(messageEvent);
-    if (destinationMessages.size() > maxSubscribedMessages) {
-      destinationMessages.remove(0);
+  private void closeStream(String namespacePath) {
+    if (eventSinkMap.remove(namespacePath) != null) {
+      clearSubscription(namespacePath);
     }
   }
 
   private void clearSubscription(String namespacePath) {
     SessionSubscriptionMap subscriptionMap = sessionSubscriptionsMap.remove(namespacePath);
-    subscriptionMap.getSession().removeSubscription(namespacePath);
-    sessionSubscriptionsMap.remove(namespacePath);
+    if (subscriptionMap != null) {
+      subscriptionMap.getSession().removeSubscription(namespacePath);
+    }
   }
 
   public boolean ackReceived(String destination, List<Long> messageId) {
@@ -174,46 +171,102 @@ public class RestMessageListener implements MessageListener {
   }
 
   public int subscriptionDepth(String namespacePath) {
-    Map<String, List<MessageEvent>> destinationMessages = messages.get(namespacePath);
-    if (destinationMessages == null) {
+    SyncMessageBuffer buffer = messages.get(namespacePath);
+    if (buffer == null) {
       return 0;
     }
-    return destinationMessages.values().stream().mapToInt(List::size).sum();
+    return buffer.depth();
   }
 
   public Map<String, Integer> subscriptionDepth() {
     return messages
         .entrySet()
         .stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, entry -> subscriptionDepth(entry.getKey()), (a, b) -> b, LinkedHashMap::new));
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().depth(), (a, b) -> b, LinkedHashMap::new));
   }
 
   public List<String> getKnownDestinations() {
-    return messages.entrySet().stream().flatMap(entry -> entry.getValue().keySet().stream()).collect(Collectors.toList());
+    return messages.values().stream().flatMap(buffer -> buffer.getDestinations().stream()).collect(Collectors.toList());
+  }
+
+  /**
+   * Creates the waiter for a long poll consume, it is not registered until passed to awaitMessages so the caller can
+   * arm its timeout first.
+   *
+   * @param namespace the subscription to wait on, or null for any subscription of this session
+   * @param ready the task that completes the poll
+   * @return the waiter to pass to awaitMessages and, when the poll times out, to cancelWait
+   */
+  public PollWaiter createWaiter(String namespace, Runnable ready) {
+    return new PollWaiter(namespace, ready);
+  }
+
+  /**
+   * Registers a long poll consume that is waiting for events, the caller's thread is not held while it waits. The
+   * ready task runs once, either straight away if there are already events to consume, when an event arrives for the
+   * subscription or when this listener is closed. A waiter already claimed by cancelWait is not registered.
+   *
+   * @param waiter the waiter returned by createWaiter
+   */
+  public void awaitMessages(PollWaiter waiter) {
+    if (waiter.claimed.get()) {
+      return;
+    }
+    String namespace = waiter.namespace;
+    pollWaiters.add(waiter);
+    // Re-check after registering, an event delivered before the waiter was visible would otherwise be missed
+    if (closed || hasMessages(namespace)) {
+      wake(waiter);
+    }
+  }
+
+  /**
+   * Claims a waiter whose poll has timed out.
+   *
+   * @param waiter the waiter returned by createWaiter
+   * @return true if the caller now owns the poll, false if the ready task has already been run
+   */
+  public boolean cancelWait(PollWaiter waiter) {
+    pollWaiters.remove(waiter);
+    return waiter.claim();
+  }
+
+  private void wakePollWaiters(String namespacePath) {
+    for (PollWaiter waiter : pollWaiters) {
+      if (namespacePath == null || waiter.isWaitingFor(namespacePath)) {
+        wake(waiter);
+      }
+    }
+  }
+
+  private void wake(PollWaiter waiter) {
+    pollWaiters.remove(waiter);
+    if (waiter.claim()) {
+      waiter.ready.run();
+    }
+  }
+
+  private boolean hasMessages(String namespace) {
+    if (namespace == null || namespace.isEmpty()) {
+      for (SyncMessageBuffer buffer : messages.values()) {
+        if (buffer.depth() > 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return subscriptionDepth(namespace) > 0;
   }
 
   public Map<String, List<MessageDTO>> getMessages(String namespace, int max) {
     int count = max;
     if (count <= 0) count = 10;
     if (count > 1000) count = 1000;
-    Map<String, List<MessageEvent>> destinationMessages = messages.get(namespace);
-    Map<String, List<MessageDTO>> response = new LinkedHashMap<>();
-
-    boolean hasEvents = true;
-    while (hasEvents && count != 0 && destinationMessages != null) {
-      hasEvents = false;
-      for (Map.Entry<String, List<MessageEvent>> entry : destinationMessages.entrySet()) {
-        if (!entry.getValue().isEmpty()) {
-          List<MessageDTO> returnEvents = response.computeIfAbsent(entry.getKey(), key -> new ArrayList<>());
-          MessageEvent msg = entry.getValue().remove(0);
-          returnEvents.add(convertToDTO(msg));
-          msg.getCompletionTask().run();
-          hasEvents = true;
-          count--;
-        }
-      }
+    SyncMessageBuffer buffer = messages.get(namespace);
+    if (buffer == null) {
+      return new LinkedHashMap<>();
     }
-    return response;
+    return buffer.drain(count, this::convertToDTO);
   }
 
   private MessageDTO convertToAsyncDTO(MessageEvent message) {
@@ -237,7 +290,7 @@ public class RestMessageListener implements MessageListener {
       try {
         MessageFormatter formatter = SchemaManager.getInstance().getMessageFormatter(config);
         if (formatter != null && !(formatter instanceof RawFormatter)) {
-          JsonObject jsonObject = formatter.parseToJson(payload, SchemaManager.getInstance().getDefaultParseMode());
+          JsonElement jsonObject = msg.getParsedJson(config.getUniqueId(), formatter);
           JsonObject wrapper = new JsonObject();
           wrapper.add("payload", jsonObject);
           wrapper.addProperty("schemaId", message.getMessage().getSchemaId());
@@ -274,27 +327,35 @@ public class RestMessageListener implements MessageListener {
   }
 
   public synchronized void close() {
+    closed = true;
     for (String key : sessionSubscriptionsMap.keySet()) {
       deregisterEventManager(key);
     }
-    closed = false;
     messages.clear();
     eventSinkMap.clear();
     sessionSubscriptionsMap.clear();
+    wakePollWaiters(null);
   }
 
-  @Data
-  @AllArgsConstructor
-  private static final class SseInfo {
-    private final Sse sse;
-    private final SseEventSink eventSink;
+  public static final class PollWaiter {
 
-    public void close() {
-      try {
-        eventSink.close();
-      } catch (IOException e) {
-        // ignore we are in an exception
-      }
+    private final String namespace;
+    private final Runnable ready;
+    private final AtomicBoolean claimed;
+
+    private PollWaiter(String namespace, Runnable ready) {
+      this.namespace = namespace;
+      this.ready = ready;
+      claimed = new AtomicBoolean(false);
+    }
+
+    private boolean isWaitingFor(String namespacePath) {
+      return namespace == null || namespace.isEmpty() || namespace.equals(namespacePath);
+    }
+
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
     }
   }
+
 }
@@ -0,0 +1,150 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.rest.api.impl.messaging.impl;
+
+import com.google.gson.Gson;
+import io.mapsmessaging.api.MessageEvent;
+import io.mapsmessaging.dto.rest.messaging.MessageDTO;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Streams the events of a single subscription over SSE. Events are queued without locking and whichever thread finds
+ * the stream idle drains it, packing up to batchSize events into one SSE frame. Only one frame is in flight at a time
+ * and the completion task of an event only runs once the frame carrying it has been written, so the subscription's credit, its max depth, bounds how far the
+ * engine can run ahead of a slow client.
+ * <p>
+ * With a batch size of 1 each frame holds a single message object, as it always has, larger batch sizes send a JSON
+ * array of messages in every frame.
+ */
+public class SseMessageStream {
+
+  private final Sse sse;
+  private final SseEventSink eventSink;
+  private final String namespacePath;
+  private final int batchSize;
+  private final Gson gson;
+  private final Function<MessageEvent, MessageDTO> converter;
+  private final Runnable closeHandler;
+
+  private final Queue<MessageEvent> queue;
+  private final AtomicBoolean draining;
+
+  public SseMessageStream(Sse sse, SseEventSink eventSink, String namespacePath, int batchSize, Gson gson,
+      Function<MessageEvent, MessageDTO> converter, Runnable closeHandler) {
+    this.sse = sse;
+    this.eventSink = eventSink;
+    this.namespacePath = namespacePath;
+    this.batchSize = Math.max(1, batchSize);
+    this.gson = gson;
+    this.converter = converter;
+    this.closeHandler = closeHandler;
+    queue = new ConcurrentLinkedQueue<>();
+    draining = new AtomicBoolean(false);
+  }
+
+  public void offer(MessageEvent messageEvent) {
+    queue.offer(messageEvent);
+    drain();
+  }
+
+  public void close() {
+    try {
+      eventSink.close();
+    } catch (IOException e) {
+      // ignore we are in an exception
+    }
+    complete(drainQueue(Integer.MAX_VALUE));
+  }
+
+  // The stream stays in the draining state until the frame in flight has been written, events queued meanwhile are
+  // picked up by whoever finishes the send. A send that completes straight away is handled in the loop rather than
+  // from its callback so a fast client cannot grow the stack.
+  private void drain() {
+    while (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+      List<MessageEvent> batch = drainQueue(batchSize);
+      CompletableFuture<?> pending;
+      try {
+        pending = batch.isEmpty() ? null : sendBatch(batch);
+      } catch (RuntimeException e) {
+        complete(batch);
+        draining.set(false);
+        throw e;
+      }
+      if (pending != null && !pending.isDone()) {
+        pending.whenComplete((result, throwable) -> {
+          complete(batch);
+          draining.set(false);
+          drain();
+        });
+        return;
+      }
+      if (pending != null) {
+        complete(batch);
+      }
+      draining.set(false);
+    }
+  }
+
+  private CompletableFuture<?> sendBatch(List<MessageEvent> batch) {
+    if (eventSink.isClosed()) {
+      complete(batch);
+      closeHandler.run();
+      return null;
+    }
+    String json;
+    if (batchSize == 1) {
+      json = gson.toJson(converter.apply(batch.get(0)));
+    } else {
+      List<MessageDTO> messages = new ArrayList<>(batch.size());
+      for (MessageEvent messageEvent : batch) {
+        messages.add(converter.apply(messageEvent));
+      }
+      json = gson.toJson(messages);
+    }
+    OutboundSseEvent event = sse.newEventBuilder().name(namespacePath).data(String.class, json).build();
+    return eventSink.send(event).toCompletableFuture();
+  }
+
+  private List<MessageEvent> drainQueue(int max) {
+    List<MessageEvent> batch = new ArrayList<>(Math.min(max, 64));
+    MessageEvent messageEvent;
+    while (batch.size() < max && (messageEvent = queue.poll()) != null) {
+      batch.add(messageEvent);
+    }
+    return batch;
+  }
+
+  private static void complete(List<MessageEvent> batch) {
+    for (MessageEvent messageEvent : batch) {
+      messageEvent.getCompletionTask().run();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.rest.api.impl.messaging.impl;
+
+import io.mapsmessaging.api.MessageEvent;
+import io.mapsmessaging.dto.rest.messaging.MessageDTO;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Holds the events of a single REST subscription until the client consumes them. Each physical destination has its own
+ * bounded queue, once full the oldest event is dropped and completed so the subscription's credit is released rather
+ * than leaked. Delivery never takes a lock, so a busy subscription no longer holds up the rest of the session.
+ */
+public class SyncMessageBuffer {
+
+  private final Map<String, Ring> destinations;
+  private final int maxDepth;
+
+  public SyncMessageBuffer(int maxDepth) {
+    this.maxDepth = Math.max(1, maxDepth);
+    destinations = new ConcurrentHashMap<>();
+  }
+
+  public void offer(MessageEvent messageEvent) {
+    destinations.computeIfAbsent(messageEvent.getDestinationName(), k -> new Ring()).offer(messageEvent);
+  }
+
+  public int depth() {
+    int depth = 0;
+    for (Ring ring : destinations.values()) {
+      depth += ring.size.get();
+    }
+    return depth;
+  }
+
+  public Set<String> getDestinations() {
+    return destinations.keySet();
+  }
+
+  /**
+   * Removes up to max events, taking them in turn from each destination so a busy destination does not starve the
+   * others. Each event is completed once it has been converted.
+   *
+   * @param max the maximum number of events to return
+   * @param converter converts the event into the DTO returned to the client
+   * @return the events keyed by the destination they arrived on
+   */
+  public Map<String, List<MessageDTO>> drain(int max, Function<MessageEvent, MessageDTO> converter) {
+    Map<String, List<MessageDTO>> response = new LinkedHashMap<>();
+    int count = max;
+    boolean hasEvents = true;
+    while (hasEvents && count > 0) {
+      hasEvents = false;
+      for (Map.Entry<String, Ring> entry : destinations.entrySet()) {
+        MessageEvent event = entry.getValue().poll();
+        if (event != null) {
+          response.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(converter.apply(event));
+          event.getCompletionTask().run();
+          hasEvents = true;
+          if (--count == 0) {
+            break;
+          }
+        }
+      }
+    }
+    return response;
+  }
+
+  private final class Ring {
+    private final Queue<MessageEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private void offer(MessageEvent messageEvent) {
+      events.offer(messageEvent);
+      if (size.incrementAndGet() > maxDepth) {
+        MessageEvent dropped = poll();
+        if (dropped != null) {
+          dropped.getCompletionTask().run();
+        }
+      }
+    }
+
+    private MessageEvent poll() {
+      MessageEvent event = events.poll();
+      if (event != null) {
+        size.decrementAndGet();
+      }
+      return event;
+    }
+  }
+}
@@ -0,0 +1,351 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.utilities.scheduler;
+
+import io.mapsmessaging.utilities.SystemProperties;
+import io.mapsmessaging.utilities.threads.SimpleTaskScheduler;
+import lombok.Getter;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A broker wide hierarchical timing wheel. Each of the 4 levels has 512 slots, level 0 slots are one tick wide, and each
+ * higher level slot covers a full rotation of the level below it. Adding or cancelling a timeout is O(1), and timeouts are
+ * cascaded down a level as their slot comes due, so a single thread can track any number of outstanding timeouts.
+ * <p>
+ * The worker thread only wakes when there is a level 0 slot with work or a cascade is due, and sleeps until the next
+ * timeout is added when there is nothing pending, so components that only register when they actually have work cost
+ * nothing while idle. Expired tasks are handed to an executor so slow tasks never hold up the wheel.
+ */
+@SuppressWarnings("java:S6548") // yes it is a singleton
+public class TimingWheel {
+
+  private static final int WHEEL_BITS = 9;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final int LEVELS = 4;
+  private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+  private static class Holder {
+    static final TimingWheel INSTANCE = new TimingWheel(
+        SystemProperties.getInstance().getLongProperty("TIMING_WHEEL_TICK_MS", 10),
+        task -> SimpleTaskScheduler.getInstance().submit(task)
+    );
+  }
+
+  public static TimingWheel getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private final long tickNanos;
+  private final long startNanos;
+  private final Executor executor;
+  private final ArrayDeque<Timeout>[][] wheels;
+
+  private long currentTick;
+  private long wakeTick;
+  private int pending;
+  private int pendingLevelZero;
+
+  @SuppressWarnings("unchecked")
+  TimingWheel(long tickMillis, Executor executor) {
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+    this.executor = executor;
+    startNanos = System.nanoTime();
+    wheels = new ArrayDeque[LEVELS][WHEEL_SIZE];
+    for (ArrayDeque<Timeout>[] wheel : wheels) {
+      for (int x = 0; x < WHEEL_SIZE; x++) {
+        wheel[x] = new ArrayDeque<>();
+      }
+    }
+    currentTick = 0;
+    wakeTick = Long.MAX_VALUE;
+    Thread worker = new Thread(this::run, "TimingWheel");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  public long getTickMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(tickNanos);
+  }
+
+  /**
+   * Schedules the task to run once the delay has passed
+   *
+   * @param task to run
+   * @param delay before the task is run
+   * @param unit of the delay
+   * @return a Timeout that can be used to cancel the task
+   */
+  public Timeout schedule(@NonNull @NotNull Runnable task, long delay, @NonNull @NotNull TimeUnit unit) {
+    return add(new Timeout(task, 0), unit.toNanos(delay));
+  }
+
+  /**
+   * Schedules the task to run at the wall clock time supplied
+   *
+   * @param task to run
+   * @param deadline time, in milliseconds since the epoch, that the task should run at
+   * @return a Timeout that can be used to cancel the task
+   */
+  public Timeout scheduleAt(@NonNull @NotNull Runnable task, long deadline) {
+    return schedule(task, deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Schedules the task to run repeatedly, every period, until the returned Timeout is cancelled
+   *
+   * @param task to run
+   * @param initialDelay before the first run
+   * @param period between runs
+   * @param unit of the delay and period
+   * @return a Timeout that can be used to cancel the task
+   */
+  public Timeout scheduleAtFixedRate(@NonNull @NotNull Runnable task, long initialDelay, long period, @NonNull @NotNull TimeUnit unit) {
+    return add(new Timeout(task, toTicks(unit.toNanos(period))), unit.toNanos(initialDelay));
+  }
+
+  public synchronized int size() {
+    return pending;
+  }
+
+  private synchronized Timeout add(Timeout timeout, long delayNanos) {
+    long now = nowTick();
+    if (pending == 0) {
+      // Nothing outstanding, so simply move the wheel to now and drop any cancelled entries left behind
+      clearSlots();
+      currentTick = now;
+    }
+    // The current tick is already partly over, so the extra tick stops a task ever running early
+    timeout.expiryTick = Math.max(now + toTicks(delayNanos) + 1, currentTick + 1);
+    place(timeout);
+    pending++;
+    if (timeout.expiryTick < wakeTick) {
+      notifyAll();
+    }
+    return timeout;
+  }
+
+  private synchronized boolean cancel(Timeout timeout) {
+    if (timeout.state != Timeout.PENDING) {
+      return false;
+    }
+    timeout.state = Timeout.CANCELLED;
+    pending--;
+    if (timeout.level == 0) {
+      pendingLevelZero--;
+    }
+    return true;
+  }
+
+  private void run() {
+    List<Timeout> expired = new ArrayList<>();
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        waitForWork(expired);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      for (Timeout timeout : expired) {
+        executor.execute(timeout.task);
+      }
+      expired.clear();
+    }
+  }
+
+  private synchronized void waitForWork(List<Timeout> expired) throws InterruptedException {
+    while (true) {
+      if (pending == 0) {
+        wakeTick = Long.MAX_VALUE;
+        wait();
+      } else {
+        long now = nowTick();
+        wakeTick = nextWorkTick();
+        if (wakeTick <= now) {
+          advance(now, expired);
+          if (!expired.isEmpty()) {
+            return;
+          }
+        } else {
+          TimeUnit.NANOSECONDS.timedWait(this, startNanos + wakeTick * tickNanos - System.nanoTime());
+        }
+      }
+    }
+  }
+
+  // Moves the wheel forward to the target tick, only stopping at ticks that can have work
+  void advance(long targetTick, List<Timeout> expired) {
+    while (currentTick < targetTick) {
+      if (pending == 0) {
+        currentTick = targetTick;
+        return;
+      }
+      long next = nextWorkTick();
+      if (next > targetTick) {
+        currentTick = targetTick;
+        return;
+      }
+      currentTick = next;
+      processTick(next, expired);
+    }
+  }
+
+  // Either the next level 0 slot holding timeouts or the next cascade, which ever comes first
+  private long nextWorkTick() {
+    long boundary = ((currentTick >> WHEEL_BITS) + 1) << WHEEL_BITS;
+    if (pendingLevelZero > 0) {
+      for (long tick = currentTick + 1; tick < boundary; tick++) {
+        if (!wheels[0][(int) (tick & WHEEL_MASK)].isEmpty()) {
+          return tick;
+        }
+      }
+    }
+    return boundary;
+  }
+
+  private void processTick(long tick, List<Timeout> expired) {
+    if ((tick & WHEEL_MASK) == 0) {
+      cascade(tick);
+    }
+    ArrayDeque<Timeout> slot = wheels[0][(int) (tick & WHEEL_MASK)];
+    List<Timeout> due = new ArrayList<>(slot);
+    slot.clear();
+    for (Timeout timeout : due) {
+      if (timeout.state == Timeout.PENDING) {
+        pendingLevelZero--;
+        expired.add(timeout);
+        if (timeout.periodTicks > 0) {
+          timeout.expiryTick = tick + timeout.periodTicks;
+          place(timeout);
+        } else {
+          timeout.state = Timeout.EXPIRED;
+          pending--;
+        }
+      }
+    }
+  }
+
+  private void cascade(long tick) {
+    long index = tick >> WHEEL_BITS;
+    for (int level = 1; level < LEVELS; level++) {
+      int slotIndex = (int) (index & WHEEL_MASK);
+      ArrayDeque<Timeout> slot = wheels[level][slotIndex];
+      List<Timeout> moving = new ArrayList<>(slot);
+      slot.clear();
+      for (Timeout timeout : moving) {
+        if (timeout.state == Timeout.PENDING) {
+          place(timeout);
+        }
+      }
+      if (slotIndex != 0) {
+        return;
+      }
+      index = index >> WHEEL_BITS;
+    }
+  }
+
+  private void place(Timeout timeout) {
+    long delta = Math.min(timeout.expiryTick - currentTick, MAX_TICKS);
+    if (delta < 0) {
+      delta = 0;
+    }
+    long expiry = currentTick + delta;
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+      level++;
+    }
+    timeout.level = level;
+    if (level == 0) {
+      pendingLevelZero++;
+    }
+    wheels[level][(int) ((expiry >> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+  }
+
+  private void clearSlots() {
+    for (ArrayDeque<Timeout>[] wheel : wheels) {
+      for (ArrayDeque<Timeout> slot : wheel) {
+        slot.clear();
+      }
+    }
+    pendingLevelZero = 0;
+  }
+
+  private long nowTick() {
+    return (System.nanoTime() - startNanos) / tickNanos;
+  }
+
+  // Round up so a task never runs early
+  private long toTicks(long nanos) {
+    if (nanos <= 0) {
+      return 0;
+    }
+    return Math.min((nanos + tickNanos - 1) / tickNanos, MAX_TICKS);
+  }
+
+  /**
+   * Handle for a task registered with the wheel
+   */
+  public final class Timeout {
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    @Getter
+    private final Runnable task;
+    private final long periodTicks;
+    private long expiryTick;
+    private int level;
+    private int state;
+
+    private Timeout(Runnable task, long periodTicks) {
+      this.task = task;
+      this.periodTicks = periodTicks;
+      state = PENDING;
+    }
+
+    /**
+     * Cancels the timeout, if it has not already run
+     *
+     * @return true if the timeout was pending and is now cancelled
+     */
+    public boolean cancel() {
+      return TimingWheel.this.cancel(this);
+    }
+
+    public boolean isCancelled() {
+      synchronized (TimingWheel.this) {
+        return state == CANCELLED;
+      }
+    }
+
+    public boolean isExpired() {
+      synchronized (TimingWheel.this) {
+        return state == EXPIRED;
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.api.message;
+
+import io.mapsmessaging.api.MessageBuilder;
+import io.mapsmessaging.api.features.Priority;
+import io.mapsmessaging.api.features.QualityOfService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of serialising a message into its storable form and back again, this is paid on every
+ * persistent publish and every reload from the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessagePackBenchmark {
+
+  @Param({"64", "1024", "16384"})
+  private int payloadSize;
+
+  private Message message;
+  private ByteBuffer[] packed;
+
+  @Setup
+  public void setup() throws IOException {
+    Map<String, String> meta = new LinkedHashMap<>();
+    meta.put("protocol", "MQTT");
+    meta.put("version", "4");
+    meta.put("sessionId", "benchmark-session");
+
+    Map<String, TypedData> dataMap = new LinkedHashMap<>();
+    dataMap.put("sensor", new TypedData("temperature"));
+    dataMap.put("reading", new TypedData(21.5d));
+
+    byte[] payload = new byte[payloadSize];
+    for (int x = 0; x < payload.length; x++) {
+      payload[x] = (byte) ('a' + (x % 26));
+    }
+    message = new MessageBuilder()
+        .setId(1)
+        .setMeta(meta)
+        .setDataMap(dataMap)
+        .setOpaqueData(payload)
+        .setContentType("application/octet-stream")
+        .setResponseTopic("benchmark/response")
+        .setCorrelationData("correlation")
+        .setPriority(Priority.NORMAL)
+        .setQoS(QualityOfService.AT_LEAST_ONCE)
+        .build();
+    packed = MessageFactory.getInstance().pack(message);
+  }
+
+  @Benchmark
+  public ByteBuffer[] pack() throws IOException {
+    return MessageFactory.getInstance().pack(message);
+  }
+
+  @Benchmark
+  public Message unpack() throws IOException {
+    ByteBuffer[] buffers = new ByteBuffer[packed.length];
+    for (int x = 0; x < packed.length; x++) {
+      buffers[x] = packed[x].duplicate();
+    }
+    return MessageFactory.getInstance().unpack(buffers);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination;
+
+import io.mapsmessaging.api.MessageBuilder;
+import io.mapsmessaging.api.features.DestinationType;
+import io.mapsmessaging.api.features.Priority;
+import io.mapsmessaging.api.features.QualityOfService;
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.dto.rest.session.SubscriptionStateDTO;
+import io.mapsmessaging.engine.destination.subscription.Subscribable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the full publish path of a non-persistent topic, from storeMessage through the resource store and the
+ * fan out to every subscriber. The subscribers consume the message as it is registered, so no interest remains and
+ * the destination stays at a steady state for the duration of the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DestinationStoreBenchmark {
+
+  @Param({"0", "1", "10", "100"})
+  private int subscribers;
+
+  @Param({"64", "1024"})
+  private int payloadSize;
+
+  private DestinationImpl destination;
+  private byte[] payload;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    destination = new DestinationImpl("/benchmark/store/" + subscribers, DestinationType.TOPIC);
+    for (int x = 0; x < subscribers; x++) {
+      BenchmarkSubscriber subscriber = new BenchmarkSubscriber("subscriber-" + x);
+      destination.subscriptionManager.put(subscriber.getSessionId(), subscriber);
+    }
+    payload = new byte[payloadSize];
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    destination.close();
+  }
+
+  @Benchmark
+  public int storeMessage() throws IOException {
+    Message message = new MessageBuilder()
+        .setOpaqueData(payload)
+        .setPriority(Priority.NORMAL)
+        .setQoS(QualityOfService.AT_MOST_ONCE)
+        .build();
+    return destination.storeMessage(message);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int storeMessageContended() throws IOException {
+    return storeMessage();
+  }
+
+  private static final class BenchmarkSubscriber implements Subscribable {
+
+    private final String name;
+    private final AtomicLong registered;
+
+    BenchmarkSubscriber(String name) {
+      this.name = name;
+      registered = new AtomicLong();
+    }
+
+    @Override
+    public int register(Message message) {
+      registered.incrementAndGet();
+      return 0;
+    }
+
+    @Override
+    public int register(long messageId) {
+      registered.incrementAndGet();
+      return 0;
+    }
+
+    @Override
+    public boolean hasMessage(long messageIdentifier) {
+      return false;
+    }
+
+    @Override
+    public boolean expired(long messageIdentifier) {
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return 0;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Queue<Long> getAll() {
+      return new LinkedList<>();
+    }
+
+    @Override
+    public Queue<Long> getAllAtRest() {
+      return new LinkedList<>();
+    }
+
+    @Override
+    public void pause() {
+      // Nothing to pause, messages are consumed as they are registered
+    }
+
+    @Override
+    public void resume() {
+      // Nothing to resume, messages are consumed as they are registered
+    }
+
+    @Override
+    public SubscriptionStateDTO getState() {
+      return null;
+    }
+
+    @Override
+    public String getSessionId() {
+      return name;
+    }
+
+    @Override
+    public void close() {
+      registered.set(0);
+    }
+  }
+}
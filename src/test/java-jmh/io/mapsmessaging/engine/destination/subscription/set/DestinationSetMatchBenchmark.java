@@ -0,0 +1,72 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription.set;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures wildcard subscription matching against a spread of topic names. Each invocation runs every
+ * subscription filter against every topic, similar to a new destination being offered to all wildcard subscribers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DestinationSetMatchBenchmark {
+
+  private static final String[] FILTERS = {
+      "sensors/+/temperature",
+      "sensors/#",
+      "sensors/building1/+/humidity",
+      "+/+/+/+",
+      "factory/line/+/status",
+      "#",
+      "sensors/building2/floor3/temperature",
+      "$SYS/#",
+  };
+
+  @Param({"64", "1024"})
+  private int topicCount;
+
+  private String[] topics;
+
+  @Setup
+  public void setup() {
+    String[] leaf = {"temperature", "humidity", "pressure", "status"};
+    topics = new String[topicCount];
+    for (int x = 0; x < topicCount; x++) {
+      topics[x] = "sensors/building" + (x % 8) + "/floor" + (x % 5) + "/" + leaf[x % leaf.length];
+    }
+  }
+
+  @Benchmark
+  public void matchAll(Blackhole blackhole) {
+    for (String filter : FILTERS) {
+      for (String topic : topics) {
+        blackhole.consume(DestinationSet.matches(filter, topic));
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription.state;
+
+import io.mapsmessaging.api.MessageBuilder;
+import io.mapsmessaging.api.features.Priority;
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.Constants;
+import io.mapsmessaging.utilities.collections.bitset.BitSetFactoryImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per subscription state tracking for a message, from registration through delivery to commit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageStateManagerBenchmark {
+
+  private static final int BATCH_SIZE = 1024;
+
+  private Message[] messages;
+  private MessageStateManagerImpl manager;
+  private long nextId;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    manager = new MessageStateManagerImpl("benchmark", 1L, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE));
+    messages = new Message[BATCH_SIZE];
+    nextId = 0;
+  }
+
+  @Setup(Level.Invocation)
+  public void createMessages() {
+    for (int x = 0; x < BATCH_SIZE; x++) {
+      messages[x] = new MessageBuilder()
+          .setId(nextId++)
+          .setPriority(Priority.NORMAL)
+          .build();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void registerAllocateCommit() {
+    for (Message message : messages) {
+      manager.register(message);
+    }
+    for (Message message : messages) {
+      manager.allocate(message);
+    }
+    for (Message message : messages) {
+      manager.commit(message.getIdentifier());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    manager.close();
+  }
+}
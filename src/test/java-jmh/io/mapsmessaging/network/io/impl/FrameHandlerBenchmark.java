@@ -0,0 +1,114 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.io.impl;
+
+import io.mapsmessaging.logging.LoggerFactory;
+import io.mapsmessaging.network.io.EndPoint;
+import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.io.ServerPacket;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the write path coalesces queued outbound frames into the shared buffer before handing it to the
+ * end point. The end point is a stub that accepts everything handed to it, so only the framing and queue handling
+ * is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameHandlerBenchmark {
+
+  private static final int FRAME_COUNT = 512;
+
+  @Param({"1", "10", "100"})
+  private int coalesceSize;
+
+  @Param({"32", "512"})
+  private int frameSize;
+
+  private WriteTask writeTask;
+  private ServerPacket[] frames;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    EndPoint endPoint = Mockito.mock(EndPoint.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(endPoint.sendPacket(Mockito.any(Packet.class))).thenAnswer(invocation -> {
+      Packet packet = invocation.getArgument(0);
+      int sent = packet.available();
+      packet.position(packet.limit());
+      return sent;
+    });
+    SelectorCallback selectorCallback = Mockito.mock(SelectorCallback.class);
+    Mockito.when(selectorCallback.getEndPoint()).thenReturn(endPoint);
+
+    writeTask = new WriteTask(selectorCallback, 64 * 1024, Mockito.mock(SelectorTask.class), LoggerFactory.getLogger(FrameHandlerBenchmark.class));
+    writeTask.setCoalesceSize(coalesceSize);
+    frames = new ServerPacket[FRAME_COUNT];
+    byte[] body = new byte[frameSize];
+    for (int x = 0; x < FRAME_COUNT; x++) {
+      frames[x] = new FixedFrame(body);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAME_COUNT)
+  public void coalesceAndWrite() {
+    for (ServerPacket frame : frames) {
+      writeTask.push(frame);
+    }
+    while (writeTask.size() > 0) {
+      writeTask.handleWrite();
+    }
+    writeTask.handleWrite();
+  }
+
+  private static final class FixedFrame implements ServerPacket {
+
+    private final byte[] body;
+
+    FixedFrame(byte[] body) {
+      this.body = body;
+    }
+
+    @Override
+    public int packFrame(Packet packet) {
+      packet.put(body);
+      return body.length;
+    }
+
+    @Override
+    public void complete() {
+      // Nothing to release
+    }
+
+    @Override
+    public SocketAddress getFromAddress() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl;
+
+import io.mapsmessaging.network.io.Packet;
+import io.mapsmessaging.network.protocol.impl.mqtt.MQTTProtocol;
+import io.mapsmessaging.network.protocol.impl.mqtt.packet.MQTTPacket;
+import io.mapsmessaging.network.protocol.impl.mqtt.packet.MalformedException;
+import io.mapsmessaging.network.protocol.impl.mqtt.packet.PacketFactory;
+import io.mapsmessaging.network.protocol.impl.nats.frames.NatsFrame;
+import io.mapsmessaging.network.protocol.impl.stomp.frames.Frame;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inbound frame parsing for the text and binary protocols, from the raw bytes in the read buffer to a
+ * fully populated frame ready to be handed to its listener.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolFrameParseBenchmark {
+
+  private static final int MAX_BUFFER_SIZE = 1024 * 1024;
+  private static final String TOPIC = "sensors/building1/floor2/temperature";
+
+  @Param({"64", "4096"})
+  private int payloadSize;
+
+  private PacketFactory mqttFactory;
+  private io.mapsmessaging.network.protocol.impl.nats.frames.FrameFactory natsFactory;
+  private io.mapsmessaging.network.protocol.impl.stomp.frames.FrameFactory stompFactory;
+
+  private Packet mqttPublish;
+  private Packet natsPublish;
+  private Packet stompSend;
+
+  @Setup
+  public void setup() throws IOException {
+    MQTTProtocol protocol = Mockito.mock(MQTTProtocol.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(protocol.getEndPoint().isClient()).thenReturn(false);
+    Mockito.when(protocol.getMaximumBufferSize()).thenReturn((long) MAX_BUFFER_SIZE);
+    mqttFactory = new PacketFactory(protocol);
+    natsFactory = new io.mapsmessaging.network.protocol.impl.nats.frames.FrameFactory(MAX_BUFFER_SIZE, false);
+    stompFactory = new io.mapsmessaging.network.protocol.impl.stomp.frames.FrameFactory(MAX_BUFFER_SIZE, false, false);
+
+    byte[] payload = new byte[payloadSize];
+    for (int x = 0; x < payload.length; x++) {
+      payload[x] = (byte) ('a' + (x % 26));
+    }
+    mqttPublish = new Packet(ByteBuffer.wrap(mqttPublish(payload)));
+    natsPublish = new Packet(ByteBuffer.wrap(natsPublish(payload)));
+    stompSend = new Packet(ByteBuffer.wrap(stompSend(payload)));
+  }
+
+  @Benchmark
+  public MQTTPacket mqttPublish() throws IOException, MalformedException {
+    mqttPublish.position(0);
+    return mqttFactory.parseFrame(mqttPublish);
+  }
+
+  @Benchmark
+  public NatsFrame natsPublish() throws IOException {
+    natsPublish.position(0);
+    NatsFrame frame = natsFactory.parseFrame(natsPublish);
+    frame.parseFrame(natsPublish);
+    return frame;
+  }
+
+  @Benchmark
+  public Frame stompSend() throws IOException {
+    stompSend.position(0);
+    Frame frame = stompFactory.parseFrame(stompSend);
+    frame.scanFrame(stompSend);
+    return frame;
+  }
+
+  private static byte[] mqttPublish(byte[] payload) {
+    byte[] topic = TOPIC.getBytes(StandardCharsets.UTF_8);
+    int remaining = 2 + topic.length + payload.length;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(0x30); // PUBLISH, QoS 0
+    do {
+      int digit = remaining % 128;
+      remaining = remaining / 128;
+      if (remaining > 0) {
+        digit = digit | 0x80;
+      }
+      out.write(digit);
+    } while (remaining > 0);
+    out.write((topic.length >> 8) & 0xff);
+    out.write(topic.length & 0xff);
+    out.writeBytes(topic);
+    out.writeBytes(payload);
+    return out.toByteArray();
+  }
+
+  private static byte[] natsPublish(byte[] payload) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.writeBytes(("PUB " + TOPIC.replace('/', '.') + " " + payload.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+    out.writeBytes(payload);
+    out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    return out.toByteArray();
+  }
+
+  private static byte[] stompSend(byte[] payload) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    String header = "SEND\n"
+        + "destination:/" + TOPIC + "\n"
+        + "content-type:application/octet-stream\n"
+        + "content-length:" + payload.length + "\n"
+        + "\n";
+    out.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+    out.writeBytes(payload);
+    out.write(0);
+    return out.toByteArray();
+  }
+}
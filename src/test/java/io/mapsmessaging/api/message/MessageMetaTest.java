@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.api.message;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MessageMetaTest {
+
+  @Test
+  void typedSlots_renderOnRequest_andMatchAnEquivalentMap() {
+    MessageMeta meta = new MessageMeta()
+        .setProtocol("MQTT")
+        .setVersion("4")
+        .setSessionId("session")
+        .setTimeMs(1234L);
+    meta.setLocation(1.5, -2.25);
+    meta.put("custom", "value");
+
+    Map<String, String> expected = new LinkedHashMap<>();
+    expected.put(MessageMeta.PROTOCOL, "MQTT");
+    expected.put(MessageMeta.VERSION, "4");
+    expected.put(MessageMeta.SESSION_ID, "session");
+    expected.put(MessageMeta.TIME_MS, "1234");
+    expected.put(MessageMeta.LONGITUDE, "1.5");
+    expected.put(MessageMeta.LATITUDE, "-2.25");
+    expected.put("custom", "value");
+
+    Assertions.assertEquals(expected, meta);
+    Assertions.assertEquals(meta, expected);
+    Assertions.assertEquals(expected.hashCode(), meta.hashCode());
+    Assertions.assertEquals(expected.toString(), meta.toString());
+    Assertions.assertEquals(1234L, meta.getTimeMs());
+  }
+
+  @Test
+  void putAndRemove_onSlotKeys_behaveLikeAMap() {
+    MessageMeta meta = new MessageMeta().setTimeMs(10L);
+
+    Assertions.assertEquals("10", meta.put(MessageMeta.TIME_MS, "20"));
+    Assertions.assertEquals(20L, meta.getTimeMs());
+    Assertions.assertEquals("20", meta.remove(MessageMeta.TIME_MS));
+    Assertions.assertFalse(meta.containsKey(MessageMeta.TIME_MS));
+    Assertions.assertEquals(-1L, meta.getTimeMs());
+    Assertions.assertTrue(meta.isEmpty());
+  }
+
+  @Test
+  void entrySetRemoval_clearsSlotsAndExtraKeys() {
+    MessageMeta meta = new MessageMeta().setProtocol("STOMP").setVersion("1.2");
+    meta.put("custom", "value");
+
+    meta.entrySet().removeIf(entry -> entry.getKey().equals(MessageMeta.VERSION) || entry.getKey().equals("custom"));
+
+    Assertions.assertEquals(1, meta.size());
+    Assertions.assertEquals("STOMP", meta.get(MessageMeta.PROTOCOL));
+    Assertions.assertNull(meta.get("custom"));
+  }
+
+  @Test
+  void typedSlots_concurrentReaders_neverSeeAMissingValue() throws InterruptedException {
+    int threads = 8;
+    AtomicInteger failures = new AtomicInteger();
+    for (int run = 0; run < 200; run++) {
+      MessageMeta meta = new MessageMeta().setTimeMs(1234L);
+      meta.setLocation(1.5, -2.25);
+      CountDownLatch start = new CountDownLatch(1);
+      CountDownLatch done = new CountDownLatch(threads);
+      for (int x = 0; x < threads; x++) {
+        new Thread(() -> {
+          try {
+            start.await();
+            if (!"1234".equals(meta.get(MessageMeta.TIME_MS))
+                || !"1.5".equals(meta.get(MessageMeta.LONGITUDE))
+                || !"-2.25".equals(meta.get(MessageMeta.LATITUDE))) {
+              failures.incrementAndGet();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            done.countDown();
+          }
+        }).start();
+      }
+      start.countDown();
+      done.await();
+    }
+    Assertions.assertEquals(0, failures.get());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.api.message;
+
+import io.mapsmessaging.api.MessageBuilder;
+import io.mapsmessaging.engine.schema.SchemaManager;
+import io.mapsmessaging.schemas.formatters.MessageFormatter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class MessageParsedPayloadTest {
+
+  private static final String JSON_SCHEMA = SchemaManager.DEFAULT_JSON_SCHEMA.toString();
+
+  private static Message build(String payload) {
+    MessageBuilder messageBuilder = new MessageBuilder();
+    messageBuilder.setOpaqueData(payload.getBytes(StandardCharsets.UTF_8));
+    messageBuilder.setSchemaId(JSON_SCHEMA);
+    return messageBuilder.build();
+  }
+
+  @Test
+  void getParsedObject_sameSchema_parsesOnce() throws IOException {
+    Message message = build("{\"a\":1,\"b\":\"x\"}");
+    Object first = message.getParsedObject(JSON_SCHEMA);
+    Assertions.assertNotNull(first);
+    Assertions.assertSame(first, message.getParsedObject(JSON_SCHEMA));
+    Assertions.assertEquals("x", message.get("b"));
+    Assertions.assertSame(first, message.getParsedObject(JSON_SCHEMA));
+  }
+
+  @Test
+  void getParsedJson_sameFormatter_returnsSharedElement() throws IOException {
+    Message message = build("{\"a\":1}");
+    MessageFormatter formatter = SchemaManager.getInstance().getMessageFormatter(JSON_SCHEMA);
+    Assertions.assertSame(message.getParsedJson(formatter), message.getParsedJson(formatter));
+    Assertions.assertTrue(message.getParsedJson(formatter).getAsJsonObject().has("a"));
+  }
+
+  @Test
+  void getParsedObject_unknownSchema_returnsNull() throws IOException {
+    Message message = build("{\"a\":1}");
+    Assertions.assertNull(message.getParsedObject((String) null));
+    Assertions.assertNull(message.getParsedObject("no-such-schema"));
+  }
+
+  @Test
+  void getParsedJson_alternatingSchemaIds_keepsEachEntry() throws IOException {
+    Message message = build("{\"a\":1}");
+    MessageFormatter formatter = SchemaManager.getInstance().getMessageFormatter(JSON_SCHEMA);
+    Object first = message.getParsedJson("schema-a", formatter);
+    Object second = message.getParsedJson("schema-b", formatter);
+    Assertions.assertNotSame(first, second);
+    for (int x = 0; x < 4; x++) {
+      Assertions.assertSame(first, message.getParsedJson("schema-a", formatter));
+      Assertions.assertSame(second, message.getParsedJson("schema-b", formatter));
+    }
+  }
+}
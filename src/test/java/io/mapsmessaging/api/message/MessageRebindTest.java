@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.api.message;
+
+import io.mapsmessaging.api.MessageBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+class MessageRebindTest {
+
+  @Test
+  void rebind_boundMessage_sharesPayloadAndIsUnbound() {
+    MessageBuilder messageBuilder = new MessageBuilder();
+    messageBuilder.setOpaqueData("payload".getBytes(StandardCharsets.UTF_8));
+    messageBuilder.setDataMap(Map.of("key", new TypedData("value")));
+    messageBuilder.setContentType("text/plain");
+    messageBuilder.setResponseTopic("/reply");
+    messageBuilder.setId(42);
+    Message message = messageBuilder.build();
+    message.setBound(true);
+
+    Message rebound = message.rebind();
+
+    Assertions.assertNotSame(message, rebound);
+    Assertions.assertFalse(rebound.isBound());
+    Assertions.assertEquals(0, rebound.getIdentifier());
+    Assertions.assertSame(message.getOpaqueData(), rebound.getOpaqueData());
+    Assertions.assertEquals("text/plain", rebound.getContentType());
+    Assertions.assertEquals("/reply", rebound.getResponseTopic());
+    Assertions.assertEquals("value", rebound.getDataMap().get("key").getData());
+    Assertions.assertTrue(message.isBound());
+  }
+}
@@ -93,6 +93,48 @@ class DelayedPublishTest extends MessageAPITest {
     close(session);
   }
 
+  @SneakyThrows
+  @Test
+  void delayedTransactionalPublishTest(TestInfo testInfo) throws LoginException, IOException {
+    String destinationName = "topic/delayTransactionTest";
+    AtomicLong counter = new AtomicLong(0);
+    String name = testInfo.getTestMethod().get().getName();
+
+    CountingMessageReceiver messageReceiver = new CountingMessageReceiver(counter);
+    SessionContextBuilder scb1 = new SessionContextBuilder(name+"_1", new ProtocolClientConnection(new FakeProtocol(messageReceiver)));
+    scb1.setReceiveMaximum(10);
+    scb1.setSessionExpiry(60);
+    scb1.setPersistentSession(true);
+    Session session = createSession(scb1, messageReceiver);
+
+    SubscriptionContextBuilder subContextBuilder = new SubscriptionContextBuilder(destinationName, ClientAcknowledgement.AUTO);
+    subContextBuilder.setReceiveMaximum(EVENT_COUNT)
+      .setQos(QualityOfService.AT_LEAST_ONCE);
+    Assertions.assertNotNull(session.addSubscription(subContextBuilder.build()));
+
+    Session publisher = createSession(name, 60, 60, false, new DropMessageReceiver());
+    Destination destination = publisher.findDestination(destinationName, DestinationType.TOPIC).get();
+    Assertions.assertNotNull(destination);
+    Transaction transaction = publisher.startTransaction(name + "_transaction");
+    for(int x=0;x<EVENT_COUNT;x++) {
+      MessageBuilder messageBuilder = new MessageBuilder();
+      messageBuilder.setOpaqueData("Here is a delayed transactional event".getBytes())
+        .storeOffline(true)
+        .setDelayed(2000)
+        .setQoS(QualityOfService.AT_LEAST_ONCE);
+      transaction.add(destination, messageBuilder.build());
+    }
+    transaction.commit();
+
+    // Nothing should arrive before the delay, everything should arrive once it has passed
+    WaitForState.waitFor(500, TimeUnit.MILLISECONDS, () -> counter.get() != 0);
+    Assertions.assertEquals(0, counter.get());
+
+    WaitForState.waitFor(10, TimeUnit.SECONDS, () -> counter.get() == EVENT_COUNT);
+    Assertions.assertEquals(EVENT_COUNT, counter.get());
+    close(publisher);
+    close(session);
+  }
 
   private static class CountingMessageReceiver implements MessageListener {
 
@@ -0,0 +1,58 @@
+package io.mapsmessaging.engine.destination;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Set;
+
+class DestinationIndexTest {
+
+  private DestinationImpl destination(String name) {
+    DestinationImpl d = Mockito.mock(DestinationImpl.class);
+    Mockito.when(d.getFullyQualifiedNamespace()).thenReturn(name);
+    return d;
+  }
+
+  @Test
+  void put_makesDestinationVisible_byNameAndWildcard() {
+    DestinationIndex index = new DestinationIndex();
+    DestinationImpl d1 = destination("a/b");
+
+    index.put(d1);
+
+    Assertions.assertSame(d1, index.get("a/b"));
+    Assertions.assertEquals(Set.of(d1), index.findMatching("a/+"));
+    Assertions.assertNull(index.get("a/c"));
+  }
+
+  @Test
+  void put_replacingDestination_onlyReturnsLatest() {
+    DestinationIndex index = new DestinationIndex();
+    DestinationImpl original = destination("a/b");
+    DestinationImpl replacement = destination("a/b");
+
+    index.put(original);
+    index.put(replacement);
+
+    Assertions.assertSame(replacement, index.get("a/b"));
+    Assertions.assertEquals(Set.of(replacement), index.findMatching("a/#"));
+  }
+
+  @Test
+  void remove_staleDestination_leavesCurrentInPlace() {
+    DestinationIndex index = new DestinationIndex();
+    DestinationImpl original = destination("a/b");
+    DestinationImpl replacement = destination("a/b");
+
+    index.put(original);
+    index.put(replacement);
+    index.remove(original);
+
+    Assertions.assertSame(replacement, index.get("a/b"));
+
+    index.remove(replacement);
+    Assertions.assertNull(index.get("a/b"));
+    Assertions.assertTrue(index.findMatching("#").isEmpty());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination;
+
+import io.mapsmessaging.api.*;
+import io.mapsmessaging.api.features.ClientAcknowledgement;
+import io.mapsmessaging.api.features.DestinationType;
+import io.mapsmessaging.api.features.QualityOfService;
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.resources.LazyResource;
+import io.mapsmessaging.engine.resources.ResourceImpl;
+import io.mapsmessaging.engine.resources.ResourceProperties;
+import io.mapsmessaging.engine.session.ProtocolMessageListener;
+import io.mapsmessaging.test.WaitForState;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+class ReloadedDestinationOrphanScanTest extends MessageAPITest implements ProtocolMessageListener {
+
+  private final Queue<Message> received = new ConcurrentLinkedQueue<>();
+
+  @Test
+  void publish_unloadedReloadedDestinationWithSubscriber_deliveredAndNotPruned(TestInfo testInfo) throws Exception {
+    DestinationManager destinationManager = md.getDestinationManager();
+    String name = destinationManager.calculateNamespace("reloadOrphanScan");
+    File directory = Files.createTempDirectory("reloadOrphanScan").toFile();
+    ResourceProperties properties = new ResourceProperties(new Date(), name, DestinationType.TOPIC.getName(), "0:0", "", "");
+    LazyResource resource = new LazyResource(name, false, properties, ResourceImpl::new);
+
+    // As the start up scan leaves it, recovered with the orphan scan waiting for the store to be opened
+    DestinationImpl reloaded = new DestinationImpl(name, directory.getAbsolutePath() + File.separator, resource, DestinationType.TOPIC, null);
+    destinationManager.addRecovered(reloaded);
+    reloaded.scanForOrphanedMessages();
+
+    Session session = createSession(testInfo.getTestMethod().get().getName(), 5, 60, false, this);
+    try {
+      SubscriptionContextBuilder builder = new SubscriptionContextBuilder("reloadOrphanScan", ClientAcknowledgement.INDIVIDUAL)
+          .setQos(QualityOfService.AT_LEAST_ONCE);
+      Assertions.assertNotNull(session.addSubscription(builder.build()));
+      Assertions.assertFalse(resource.isLoaded());
+
+      // The first publish is what opens the store and queues the orphan scan
+      MessageBuilder messageBuilder = new MessageBuilder();
+      messageBuilder.setOpaqueData("reloaded".getBytes());
+      messageBuilder.setQoS(QualityOfService.AT_LEAST_ONCE);
+      session.findDestination("reloadOrphanScan", DestinationType.TOPIC).get().storeMessage(messageBuilder.build());
+
+      WaitForState.waitFor(5, TimeUnit.SECONDS, () -> !received.isEmpty());
+      Assertions.assertEquals(1, received.size());
+      Assertions.assertTrue(resource.isLoaded());
+
+      // Give the scan and any removal it queued time to run, the unacknowledged message must still be held
+      delay(500);
+      Assertions.assertTrue(resource.contains(received.peek().getIdentifier()));
+      Assertions.assertEquals(1, reloaded.getStoredMessages());
+    } finally {
+      close(session);
+    }
+  }
+
+  @Override
+  public void sendMessage(@NotNull @NonNull MessageEvent messageEvent) {
+    received.add(messageEvent.getMessage());
+    messageEvent.getCompletionTask().run();
+  }
+
+  @Override
+  public void sendKeepAlive() {
+    // not required for this test
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription;
+
+import io.mapsmessaging.selector.IdentifierResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class SelectorIndexTest {
+
+  private static IdentifierResolver resolver(Map<String, Object> values) {
+    return values::get;
+  }
+
+  @Test
+  void extract_prefersEqualityOverRange() {
+    SelectorIndex.Predicate predicate = SelectorIndex.extract("temp > 10 AND deviceId = 'x'");
+    Assertions.assertNotNull(predicate);
+    Assertions.assertEquals("deviceId", predicate.identifier());
+    Assertions.assertEquals(SelectorIndex.Type.EQUALS, predicate.type());
+  }
+
+  @Test
+  void extract_topLevelOrOrUnknownForms_areNotIndexed() {
+    Assertions.assertNull(SelectorIndex.extract("a = 1 OR b = 2"));
+    Assertions.assertNull(SelectorIndex.extract("name LIKE 'a%'"));
+    Assertions.assertNull(SelectorIndex.extract("x <> 5"));
+    Assertions.assertNull(SelectorIndex.extract(null));
+    Assertions.assertNotNull(SelectorIndex.extract("(a = 1 OR b = 2) AND c = -3"));
+    Assertions.assertNotNull(SelectorIndex.extract("temp BETWEEN 5 AND 10"));
+  }
+
+  @Test
+  void getCandidates_equalityMatchesAcrossNumericTypes() {
+    SelectorIndex<String> index = new SelectorIndex<>();
+    Assertions.assertTrue(index.add("a", "a", "deviceId = 'x'"));
+    Assertions.assertTrue(index.add("b", "b", "deviceId = 'y'"));
+    Assertions.assertTrue(index.add("c", "c", "count = 5"));
+
+    Map<String, Object> values = new HashMap<>();
+    values.put("deviceId", "y");
+    values.put("count", 5L);
+    Assertions.assertEquals(List.of("b", "c"), index.getCandidates(resolver(values)).stream().sorted().toList());
+
+    values.put("count", 5.0);
+    values.put("deviceId", "z");
+    Assertions.assertEquals(List.of("c"), index.getCandidates(resolver(values)));
+  }
+
+  @Test
+  void getCandidates_rangesUseBounds() {
+    SelectorIndex<String> index = new SelectorIndex<>();
+    index.add("hot", "hot", "temp > 30");
+    index.add("cold", "cold", "temp < 0");
+    index.add("mild", "mild", "temp BETWEEN 10 AND 20");
+
+    Map<String, Object> values = new HashMap<>();
+    values.put("temp", 35);
+    Assertions.assertEquals(List.of("hot", "mild"), index.getCandidates(resolver(values)).stream().sorted().toList());
+    values.put("temp", -5);
+    Assertions.assertEquals(List.of("cold"), index.getCandidates(resolver(values)));
+    values.remove("temp");
+    Assertions.assertTrue(index.getCandidates(resolver(values)).isEmpty());
+  }
+
+  @Test
+  void remove_dropsSubscriptionFromIndex() {
+    SelectorIndex<String> index = new SelectorIndex<>();
+    index.add("a", "a", "deviceId = 'x'");
+    Assertions.assertFalse(index.add("b", "b", "a = 1 OR b = 2"));
+    Assertions.assertEquals(1, index.size());
+
+    Assertions.assertTrue(index.remove("a"));
+    Assertions.assertFalse(index.remove("a"));
+    Assertions.assertTrue(index.isEmpty());
+    Assertions.assertTrue(index.getCandidates(resolver(Map.of("deviceId", "x"))).isEmpty());
+  }
+}
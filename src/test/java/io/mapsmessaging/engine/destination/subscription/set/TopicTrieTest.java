@@ -0,0 +1,89 @@
+package io.mapsmessaging.engine.destination.subscription.set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class TopicTrieTest {
+
+  private static final List<String> TOPICS = List.of(
+      "test", "test/foo", "test/foo/bar", "test/foo/bar/baz", "test/nope/bar", "other/foo", "$SYS/server/uptime", "/root/topic"
+  );
+
+  private static final List<String> FILTERS = List.of(
+      "test/foo/bar", "test/+/bar", "test/#", "test/+/#", "test/+/+/baz", "test/+", "+/+", "#", "+/foo",
+      "$SYS/#", "$SYS/+/uptime", "/root/+", "+/root/topic", "test/nope/bar"
+  );
+
+  @Test
+  void findMatching_wildcards_returnsMatchingTopics() {
+    TopicTrie<String> trie = create(TOPICS);
+
+    Assertions.assertEquals(Set.of("test/foo/bar", "test/nope/bar"), trie.findMatching("test/+/bar"));
+    Assertions.assertEquals(Set.of("test", "test/foo", "test/foo/bar", "test/foo/bar/baz", "test/nope/bar"), trie.findMatching("test/#"));
+    Assertions.assertEquals(Set.of("test/foo"), trie.findMatching("test/+"));
+    Assertions.assertEquals(Set.of("test/foo", "other/foo"), trie.findMatching("+/foo"));
+    Assertions.assertEquals(Set.of("test/foo/bar"), trie.findMatching("test/foo/bar"));
+    Assertions.assertTrue(trie.findMatching("test/missing").isEmpty());
+  }
+
+  @Test
+  void findMatching_systemTopics_onlyMatchedBySystemFilters() {
+    TopicTrie<String> trie = create(TOPICS);
+
+    Assertions.assertFalse(trie.findMatching("#").contains("$SYS/server/uptime"));
+    Assertions.assertFalse(trie.findMatching("+/server/uptime").contains("$SYS/server/uptime"));
+    Assertions.assertEquals(Set.of("$SYS/server/uptime"), trie.findMatching("$SYS/#"));
+  }
+
+  @Test
+  void findInterested_topicName_returnsMatchingFilters() {
+    TopicTrie<String> trie = create(FILTERS);
+
+    Assertions.assertEquals(
+        Set.of("test/foo/bar", "test/+/bar", "test/#", "test/+/#", "#"),
+        trie.findInterested("test/foo/bar"));
+    Assertions.assertEquals(Set.of("$SYS/#", "$SYS/+/uptime"), trie.findInterested("$SYS/server/uptime"));
+    Assertions.assertEquals(Set.of("test/#", "#"), trie.findInterested("test"));
+  }
+
+  @Test
+  void bothDirections_agreeWith_destinationSetMatches() {
+    TopicTrie<String> topics = create(TOPICS);
+    TopicTrie<String> filters = create(FILTERS);
+
+    for (String filter : FILTERS) {
+      Set<String> matching = topics.findMatching(filter);
+      for (String topic : TOPICS) {
+        boolean expected = DestinationSet.matches(filter, topic);
+        Assertions.assertEquals(expected, matching.contains(topic), filter + " -> " + topic);
+        Assertions.assertEquals(expected, filters.findInterested(topic).contains(filter), topic + " <- " + filter);
+      }
+    }
+  }
+
+  @Test
+  void remove_lastValue_prunesEmptyLevels() {
+    TopicTrie<String> trie = new TopicTrie<>();
+    trie.put("a/b/c", "first");
+    trie.put("a/b/c", "second");
+
+    Assertions.assertTrue(trie.remove("a/b/c", "first"));
+    Assertions.assertEquals(Set.of("second"), trie.findMatching("a/#"));
+    Assertions.assertFalse(trie.remove("a/b/c", "first"));
+    Assertions.assertFalse(trie.remove("a/x", "second"));
+
+    Assertions.assertTrue(trie.remove("a/b/c", "second"));
+    Assertions.assertTrue(trie.isEmpty());
+  }
+
+  private TopicTrie<String> create(List<String> keys) {
+    TopicTrie<String> trie = new TopicTrie<>();
+    for (String key : keys) {
+      trie.put(key, key);
+    }
+    return trie;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.destination.subscription.state;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.Constants;
+import io.mapsmessaging.utilities.collections.bitset.BitSetFactoryImpl;
+import io.mapsmessaging.utilities.queue.EventReaperQueue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MessageInterestIndexTest {
+
+  @Test
+  void release_lastHolder_notifiesListener() {
+    List<Long> released = new ArrayList<>();
+    MessageInterestIndex index = new MessageInterestIndex(released::add);
+
+    index.acquire(10L);
+    index.acquire(10L);
+    Assertions.assertEquals(2, index.count(10L));
+
+    Assertions.assertFalse(index.release(10L));
+    Assertions.assertTrue(released.isEmpty());
+    Assertions.assertTrue(index.release(10L));
+    Assertions.assertEquals(List.of(10L), released);
+    Assertions.assertFalse(index.hasInterest(10L));
+    Assertions.assertEquals(0, index.size());
+  }
+
+  @Test
+  void discard_doesNotNotifyListener() {
+    List<Long> released = new ArrayList<>();
+    MessageInterestIndex index = new MessageInterestIndex(released::add);
+
+    index.acquire(5L);
+    index.discard(5L);
+
+    Assertions.assertFalse(index.hasInterest(5L));
+    Assertions.assertTrue(released.isEmpty());
+  }
+
+  @Test
+  void release_unknownId_isIgnored() {
+    MessageInterestIndex index = new MessageInterestIndex();
+    Assertions.assertFalse(index.release(99L));
+    Assertions.assertEquals(0, index.count(99L));
+  }
+
+  @Test
+  void acquireAndRelease_manyIds_keepsCountsThroughResizeAndRemoval() {
+    MessageInterestIndex index = new MessageInterestIndex();
+    int total = 50_000;
+    for (long id = 0; id < total; id++) {
+      index.acquire(id);
+      if (id % 3 == 0) {
+        index.acquire(id);
+      }
+    }
+    Assertions.assertEquals(total, index.size());
+
+    for (long id = 0; id < total; id += 2) {
+      index.release(id);
+    }
+    for (long id = 0; id < total; id++) {
+      int expected = (id % 3 == 0 ? 2 : 1) - (id % 2 == 0 ? 1 : 0);
+      Assertions.assertEquals(expected, index.count(id), "count for " + id);
+    }
+  }
+
+  @Test
+  void stateManager_registerAndCommit_tracksInterest() {
+    List<Long> released = new ArrayList<>();
+    MessageInterestIndex index = new MessageInterestIndex(released::add);
+    MessageStateManagerImpl first = createManager(index, 1L);
+    MessageStateManagerImpl second = createManager(index, 2L);
+
+    Message message = createMessage(10L, 3);
+    first.register(message);
+    first.register(message);
+    second.register(message);
+    Assertions.assertEquals(2, index.count(10L));
+
+    first.allocate(message);
+    first.commit(10L);
+    Assertions.assertEquals(1, index.count(10L));
+    Assertions.assertTrue(released.isEmpty());
+
+    second.allocate(message);
+    second.rollback(10L);
+    Assertions.assertEquals(1, index.count(10L));
+
+    second.expired(10L);
+    Assertions.assertEquals(0, index.count(10L));
+    Assertions.assertEquals(List.of(10L), released);
+  }
+
+  @Test
+  void stateManager_close_discardsHeldInterest() throws Exception {
+    List<Long> released = new ArrayList<>();
+    MessageInterestIndex index = new MessageInterestIndex(released::add);
+    MessageStateManagerImpl manager = createManager(index, 1L);
+
+    manager.register(20L);
+    manager.register(21L);
+    Assertions.assertEquals(2, index.size());
+
+    manager.close();
+    Assertions.assertEquals(0, index.size());
+    Assertions.assertTrue(released.isEmpty());
+  }
+
+  @Test
+  void limitedStateManager_trim_releasesInterest() {
+    List<Long> released = new ArrayList<>();
+    MessageInterestIndex index = new MessageInterestIndex(released::add);
+    LimitedMessageStateManager manager = new LimitedMessageStateManager("test", 1L,
+        new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE), 2, new EventReaperQueue(), index);
+
+    manager.register(10L);
+    manager.register(20L);
+    manager.register(30L);
+
+    Assertions.assertEquals(List.of(10L), released);
+    Assertions.assertFalse(index.hasInterest(10L));
+    Assertions.assertTrue(index.hasInterest(30L));
+  }
+
+  private MessageStateManagerImpl createManager(MessageInterestIndex index, long uniqueSessionId) {
+    return new MessageStateManagerImpl("test-" + uniqueSessionId, uniqueSessionId, new BitSetFactoryImpl(Constants.BITSET_BLOCK_SIZE), index);
+  }
+
+  private Message createMessage(long id, int priorityValue) {
+    Message message = Mockito.mock(Message.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(message.getIdentifier()).thenReturn(id);
+    Mockito.when(message.getPriority().getValue()).thenReturn(priorityValue);
+    return message;
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import io.mapsmessaging.api.MessageBuilder;
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.storage.Statistics;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class CachedResourceTest {
+
+  private static Message message() {
+    MessageBuilder messageBuilder = new MessageBuilder();
+    messageBuilder.setOpaqueData(new byte[]{1, 2, 3});
+    return messageBuilder.build();
+  }
+
+  private static CachedResource cached(Resource store, int messages) {
+    return new CachedResource(store, messages * CachedResource.weigh(message()), new MessageCacheBudget(Long.MAX_VALUE));
+  }
+
+  @Test
+  void get_afterAdd_isServedFromCache() throws IOException {
+    CountingResource store = new CountingResource();
+    CachedResource resource = cached(store, 4);
+    Message message = message();
+    resource.add(message);
+
+    Assertions.assertSame(message, resource.get(message.getIdentifier()));
+    Assertions.assertEquals(0, store.reads);
+    Assertions.assertEquals(1, resource.getHits());
+    Assertions.assertEquals(0, resource.getMisses());
+  }
+
+  @Test
+  void get_afterEviction_readsStoreOnceThenCaches() throws IOException {
+    CountingResource store = new CountingResource();
+    CachedResource resource = cached(store, 2);
+    for (int x = 0; x < 3; x++) {
+      resource.add(message());
+    }
+    Assertions.assertEquals(2, resource.getCacheSize());
+
+    resource.get(1);
+    resource.get(1);
+    Assertions.assertEquals(1, store.reads);
+    Assertions.assertEquals(1, resource.getMisses());
+  }
+
+  @Test
+  void evict_prefersUnreferencedMessages() throws IOException {
+    CountingResource store = new CountingResource();
+    CachedResource resource = cached(store, 2);
+    resource.setReferenceCheck(id -> id == 1);
+    for (int x = 0; x < 3; x++) {
+      resource.add(message());
+    }
+
+    resource.get(1);
+    Assertions.assertEquals(0, store.reads);
+    resource.get(2);
+    Assertions.assertEquals(1, store.reads);
+  }
+
+  @Test
+  void remove_andKeepOnly_dropCachedMessages() throws IOException {
+    CountingResource store = new CountingResource();
+    CachedResource resource = cached(store, 8);
+    for (int x = 0; x < 3; x++) {
+      resource.add(message());
+    }
+    resource.remove(1);
+    Assertions.assertNull(resource.get(1));
+
+    resource.keepOnly(List.of(3L));
+    Assertions.assertEquals(1, resource.getCacheSize());
+    Assertions.assertNull(resource.get(2));
+    Assertions.assertNotNull(resource.get(3));
+  }
+
+  @Test
+  void insert_sharedBudget_boundsAllResources() throws IOException {
+    long weight = CachedResource.weigh(message());
+    MessageCacheBudget budget = new MessageCacheBudget(3 * weight);
+    CachedResource first = new CachedResource(new CountingResource(), 8 * weight, budget);
+    CachedResource second = new CachedResource(new CountingResource(), 8 * weight, budget);
+    for (int x = 0; x < 4; x++) {
+      first.add(message());
+    }
+    Assertions.assertEquals(3, first.getCacheSize());
+
+    second.add(message());
+    Assertions.assertEquals(0, second.getCacheSize());
+    Assertions.assertEquals(3 * weight, budget.getUsed());
+
+    first.remove(4);
+    second.add(message());
+    Assertions.assertEquals(1, second.getCacheSize());
+    Assertions.assertEquals(weight, second.getCachedBytes());
+
+    first.close();
+    Assertions.assertEquals(weight, budget.getUsed());
+  }
+
+  @Test
+  void insert_largerThanCapacity_isNotCached() throws IOException {
+    CountingResource store = new CountingResource();
+    CachedResource resource = cached(store, 1);
+    MessageBuilder messageBuilder = new MessageBuilder();
+    messageBuilder.setOpaqueData(new byte[4096]);
+    resource.add(messageBuilder.build());
+    Assertions.assertEquals(0, resource.getCacheSize());
+    Assertions.assertEquals(0, resource.getCachedBytes());
+  }
+
+  private static final class CountingResource implements Resource {
+
+    private final Map<Long, Message> store = new LinkedHashMap<>();
+    private long nextId;
+    private int reads;
+
+    @Override
+    public void close() {
+      store.clear();
+    }
+
+    @Override
+    public void add(Message message) {
+      message.setIdentifier(getNextIdentifier());
+      store.put(message.getIdentifier(), message);
+    }
+
+    @Override
+    public void keepOnly(List<Long> validKeys) {
+      store.keySet().retainAll(Set.copyOf(validKeys));
+    }
+
+    @Override
+    public void checkLoaded() {
+      // nothing to load
+    }
+
+    @Override
+    public long getNextIdentifier() {
+      return ++nextId;
+    }
+
+    @Override
+    public void remove(long key) {
+      store.remove(key);
+    }
+
+    @Override
+    public void delete() {
+      store.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return store.isEmpty();
+    }
+
+    @Override
+    public Message get(long key) {
+      reads++;
+      return store.get(key);
+    }
+
+    @Override
+    public boolean contains(Long id) {
+      return store.containsKey(id);
+    }
+
+    @Override
+    public List<Long> getKeys() {
+      return new ArrayList<>(store.keySet());
+    }
+
+    @Override
+    public long size() {
+      return store.size();
+    }
+
+    @Override
+    public @Nullable Statistics getStatistics() {
+      return null;
+    }
+
+    @Override
+    public String getName() {
+      return "counting";
+    }
+
+    @Override
+    public boolean isPersistent() {
+      return true;
+    }
+
+    @Override
+    public ResourceProperties getResourceProperties() {
+      return null;
+    }
+  }
+}
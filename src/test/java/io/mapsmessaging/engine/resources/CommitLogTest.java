@@ -0,0 +1,223 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class CommitLogTest {
+
+  @TempDir
+  File directory;
+
+  @Test
+  void putAndRemove_reopen_rebuildsEachStreamIndex() throws IOException {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog.Stream a = log.openStream(first);
+    CommitLog.Stream b = log.openStream(second);
+    log.put(a, 1, payload(1, 10));
+    log.put(b, 1, payload(2, 20));
+    log.put(a, 2, payload(3, 30));
+    log.remove(a, 1);
+    log.release();
+
+    CommitLog reopened = CommitLog.acquire(directory, 4096, false);
+    a = reopened.openStream(first);
+    b = reopened.openStream(second);
+    Assertions.assertEquals(List.of(2L), a.getKeys());
+    Assertions.assertEquals(List.of(1L), b.getKeys());
+    Assertions.assertEquals(2, a.getLastKey());
+    assertPayload(reopened.read(a.get(2)), 3, 30);
+    assertPayload(reopened.read(b.get(1)), 2, 20);
+    reopened.release();
+  }
+
+  @Test
+  void acquire_sameDirectory_sharesTheLog() throws IOException {
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog other = CommitLog.acquire(directory, 4096, false);
+    Assertions.assertSame(log, other);
+    other.release();
+    log.release();
+  }
+
+  @Test
+  void drop_reopen_streamIsEmpty() throws IOException {
+    UUID id = UUID.randomUUID();
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog.Stream stream = log.openStream(id);
+    for (int x = 1; x <= 10; x++) {
+      log.put(stream, x, payload(x, 8));
+    }
+    log.drop(stream);
+    log.release();
+
+    CommitLog reopened = CommitLog.acquire(directory, 4096, false);
+    Assertions.assertEquals(0, reopened.openStream(id).size());
+    reopened.release();
+  }
+
+  @Test
+  void removeAll_oldSegmentsAreReclaimed() throws IOException {
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog.Stream stream = log.openStream(UUID.randomUUID());
+    for (int x = 1; x <= 200; x++) {
+      log.put(stream, x, payload(x, 100));
+    }
+    Assertions.assertTrue(log.getSegmentCount() > 1);
+    for (int x = 1; x <= 200; x++) {
+      log.remove(stream, x);
+    }
+    Assertions.assertEquals(1, log.getSegmentCount());
+    log.release();
+  }
+
+  @Test
+  void removeAllButOldest_oldestIsCompactedAndSegmentsReclaimed() throws IOException {
+    UUID id = UUID.randomUUID();
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog.Stream stream = log.openStream(id);
+    for (int x = 1; x <= 200; x++) {
+      log.put(stream, x, payload(x, 100));
+    }
+    int segments = log.getSegmentCount();
+    for (int x = 2; x <= 200; x++) {
+      log.remove(stream, x);
+    }
+    Assertions.assertTrue(log.getSegmentCount() < segments);
+    Assertions.assertTrue(log.getSegmentCount() <= 2);
+    assertPayload(log.read(stream.get(1)), 1, 100);
+    log.release();
+
+    CommitLog reopened = CommitLog.acquire(directory, 4096, false);
+    stream = reopened.openStream(id);
+    Assertions.assertEquals(List.of(1L), stream.getKeys());
+    assertPayload(reopened.read(stream.get(1)), 1, 100);
+    reopened.release();
+  }
+
+  @Test
+  void acquire_differentSettings_isRejected() throws IOException {
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    Assertions.assertThrows(IOException.class, () -> CommitLog.acquire(directory, 8192, false));
+    Assertions.assertThrows(IOException.class, () -> CommitLog.acquire(directory, 4096, true));
+    log.release();
+  }
+
+  @Test
+  void oversizedRecord_getsItsOwnSegment() throws IOException {
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog.Stream stream = log.openStream(UUID.randomUUID());
+    log.put(stream, 1, payload(7, 10_000));
+    assertPayload(log.read(stream.get(1)), 7, 10_000);
+    log.release();
+  }
+
+  @Test
+  void tornTail_reopen_keepsEverythingBeforeIt() throws IOException {
+    UUID id = UUID.randomUUID();
+    CommitLog log = CommitLog.acquire(directory, 4096, false);
+    CommitLog.Stream stream = log.openStream(id);
+    log.put(stream, 1, payload(1, 10));
+    log.put(stream, 2, payload(2, 10));
+    log.release();
+
+    // Corrupt the last byte of the second record
+    File segment = new File(directory, "commit-0.log");
+    int recordLength = 8 + 1 + 16 + 8 + 4 + 4 + 10;
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.seek(2L * recordLength - 1);
+      file.write(0x7f);
+    }
+
+    CommitLog reopened = CommitLog.acquire(directory, 4096, false);
+    stream = reopened.openStream(id);
+    Assertions.assertEquals(List.of(1L), stream.getKeys());
+    reopened.put(stream, 3, payload(3, 10));
+    reopened.release();
+
+    reopened = CommitLog.acquire(directory, 4096, false);
+    Assertions.assertEquals(List.of(1L, 3L), reopened.openStream(id).getKeys());
+    reopened.release();
+  }
+
+  @Test
+  void syncedWriters_concurrentPuts_allBecomeDurable() throws Exception {
+    CommitLog log = CommitLog.acquire(directory, 1 << 16, true);
+    List<UUID> ids = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        UUID id = UUID.randomUUID();
+        ids.add(id);
+        CommitLog.Stream stream = log.openStream(id);
+        futures.add(executor.submit(() -> {
+          for (int x = 1; x <= 250; x++) {
+            log.awaitDurable(log.put(stream, x, payload(x, 64)));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    log.release();
+
+    CommitLog reopened = CommitLog.acquire(directory, 1 << 16, true);
+    for (UUID id : ids) {
+      Assertions.assertEquals(250, reopened.openStream(id).size());
+    }
+    reopened.release();
+  }
+
+  private static ByteBuffer[] payload(int value, int length) {
+    byte[] data = new byte[length];
+    Arrays.fill(data, (byte) value);
+    return new ByteBuffer[]{ByteBuffer.wrap(new byte[]{(byte) value}), ByteBuffer.wrap(data)};
+  }
+
+  private static void assertPayload(ByteBuffer[] buffers, int value, int length) {
+    Assertions.assertEquals(2, buffers.length);
+    Assertions.assertEquals((byte) value, buffers[0].get(0));
+    Assertions.assertEquals(length, buffers[1].remaining());
+    for (int x = 0; x < length; x++) {
+      Assertions.assertEquals((byte) value, buffers[1].get(x));
+    }
+  }
+}
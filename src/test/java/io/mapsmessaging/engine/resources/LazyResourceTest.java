@@ -0,0 +1,184 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.resources;
+
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.storage.Statistics;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LazyResourceTest {
+
+  @Test
+  void construct_doesNotOpenTheStore() {
+    AtomicInteger opened = new AtomicInteger();
+    LazyResource resource = new LazyResource("lazy", false, null, () -> {
+      opened.incrementAndGet();
+      return new KeyResource(1, 2, 3);
+    });
+    Assertions.assertFalse(resource.isLoaded());
+    Assertions.assertNull(resource.getStatistics());
+    Assertions.assertEquals("lazy", resource.getName());
+    Assertions.assertEquals(0, opened.get());
+  }
+
+  @Test
+  void firstUse_opensOnceAndRunsListenersFirst() throws IOException {
+    AtomicInteger opened = new AtomicInteger();
+    LazyResource resource = new LazyResource("lazy", false, null, () -> {
+      opened.incrementAndGet();
+      return new KeyResource(1, 2, 3);
+    });
+    resource.onLoad(() -> resource.keepOnly(List.of(2L, 3L)));
+    Assertions.assertEquals(2, resource.size());
+    Assertions.assertEquals(List.of(2L, 3L), resource.getKeys());
+    Assertions.assertTrue(resource.isLoaded());
+    Assertions.assertEquals(1, opened.get());
+  }
+
+  @Test
+  void onLoad_alreadyLoaded_runsImmediately() throws IOException {
+    LazyResource resource = new LazyResource("lazy", false, null, () -> new KeyResource(1));
+    Assertions.assertTrue(resource.contains(1L));
+    AtomicInteger called = new AtomicInteger();
+    resource.onLoad(called::incrementAndGet);
+    Assertions.assertEquals(1, called.get());
+  }
+
+  @Test
+  void failingListener_stillLoads() throws IOException {
+    LazyResource resource = new LazyResource("lazy", false, null, () -> new KeyResource(1));
+    resource.onLoad(() -> {
+      throw new IOException("scan failed");
+    });
+    Assertions.assertEquals(1, resource.size());
+  }
+
+  @Test
+  void closeBeforeUse_neverOpens() throws IOException {
+    AtomicInteger opened = new AtomicInteger();
+    LazyResource resource = new LazyResource("lazy", false, null, () -> {
+      opened.incrementAndGet();
+      return new KeyResource();
+    });
+    resource.close();
+    Assertions.assertThrows(IOException.class, resource::size);
+    Assertions.assertEquals(0, opened.get());
+  }
+
+  private static final class KeyResource implements Resource {
+
+    private final Set<Long> keys = new TreeSet<>();
+
+    KeyResource(long... initial) {
+      for (long key : initial) {
+        keys.add(key);
+      }
+    }
+
+    @Override
+    public void close() {
+      keys.clear();
+    }
+
+    @Override
+    public void add(Message message) {
+      keys.add(message.getIdentifier());
+    }
+
+    @Override
+    public void keepOnly(List<Long> validKeys) {
+      keys.retainAll(Set.copyOf(validKeys));
+    }
+
+    @Override
+    public void checkLoaded() {
+      // nothing to load
+    }
+
+    @Override
+    public long getNextIdentifier() {
+      return keys.size() + 1L;
+    }
+
+    @Override
+    public void remove(long key) {
+      keys.remove(key);
+    }
+
+    @Override
+    public void delete() {
+      keys.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return keys.isEmpty();
+    }
+
+    @Override
+    public Message get(long key) {
+      return null;
+    }
+
+    @Override
+    public boolean contains(Long id) {
+      return keys.contains(id);
+    }
+
+    @Override
+    public List<Long> getKeys() {
+      return new ArrayList<>(keys);
+    }
+
+    @Override
+    public long size() {
+      return keys.size();
+    }
+
+    @Override
+    public @Nullable Statistics getStatistics() {
+      return null;
+    }
+
+    @Override
+    public String getName() {
+      return "keys";
+    }
+
+    @Override
+    public boolean isPersistent() {
+      return false;
+    }
+
+    @Override
+    public ResourceProperties getResourceProperties() {
+      return null;
+    }
+  }
+}
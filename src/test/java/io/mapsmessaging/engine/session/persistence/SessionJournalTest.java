@@ -0,0 +1,123 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.session.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class SessionJournalTest {
+
+  @TempDir
+  File directory;
+
+  @Test
+  void putAndDelete_reopen_recoversLatestState() throws IOException {
+    SessionJournal journal = new SessionJournal(directory, 4096, Long.MAX_VALUE);
+    Assertions.assertTrue(journal.open().isEmpty());
+    journal.put("a", new byte[]{1});
+    journal.put("b", new byte[]{2});
+    journal.put("a", new byte[]{3, 4});
+    journal.delete("b");
+    journal.close();
+
+    SessionJournal reopened = new SessionJournal(directory, 4096, Long.MAX_VALUE);
+    Map<String, byte[]> records = reopened.open();
+    Assertions.assertEquals(1, records.size());
+    Assertions.assertArrayEquals(new byte[]{3, 4}, records.get("a"));
+    reopened.close();
+  }
+
+  @Test
+  void churn_compactsAndRecoversEveryLiveSession() throws IOException {
+    Map<String, byte[]> expected = new HashMap<>();
+    Random random = new Random(7);
+    SessionJournal journal = new SessionJournal(directory, 4096, 8192);
+    journal.open();
+    for (int x = 0; x < 20_000; x++) {
+      String key = "session-" + random.nextInt(200);
+      if (random.nextInt(4) == 0) {
+        journal.delete(key);
+        expected.remove(key);
+      } else {
+        byte[] payload = new byte[random.nextInt(200)];
+        random.nextBytes(payload);
+        journal.put(key, payload);
+        expected.put(key, payload);
+      }
+    }
+    Assertions.assertTrue(journal.getGeneration() > 0);
+    journal.close();
+
+    SessionJournal reopened = new SessionJournal(directory, 4096, 8192);
+    Map<String, byte[]> records = reopened.open();
+    Assertions.assertEquals(expected.size(), records.size());
+    for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+      Assertions.assertArrayEquals(entry.getValue(), records.get(entry.getKey()));
+    }
+    String[] files = directory.list();
+    Assertions.assertNotNull(files);
+    Assertions.assertEquals(2, files.length); // Only the current checkpoint and journal remain
+    reopened.close();
+  }
+
+  @Test
+  void corruptRecord_isDiscardedWithTheRemainder() throws IOException {
+    SessionJournal journal = new SessionJournal(directory, 4096, Long.MAX_VALUE);
+    journal.open();
+    journal.put("kept", new byte[]{1, 2, 3});
+    journal.put("torn", new byte[]{9, 9, 9});
+    journal.close();
+
+    File log = new File(directory, "sessions-0.log");
+    try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+      byte[] contents = new byte[(int) file.length()];
+      file.readFully(contents);
+      int index = 0;
+      for (int x = 0; x < contents.length - 2; x++) {
+        if (contents[x] == 9 && contents[x + 1] == 9 && contents[x + 2] == 9) {
+          index = x;
+        }
+      }
+      file.seek(index);
+      file.write(7);
+    }
+
+    SessionJournal reopened = new SessionJournal(directory, 4096, Long.MAX_VALUE);
+    Map<String, byte[]> records = reopened.open();
+    Assertions.assertTrue(records.containsKey("kept"));
+    Assertions.assertFalse(records.containsKey("torn"));
+    reopened.put("after", new byte[]{5});
+    reopened.close();
+
+    SessionJournal recoveredJournal = new SessionJournal(directory, 4096, Long.MAX_VALUE);
+    Map<String, byte[]> recovered = recoveredJournal.open();
+    Assertions.assertTrue(recovered.containsKey("after"));
+    Assertions.assertFalse(recovered.containsKey("torn"));
+    recoveredJournal.close();
+  }
+}
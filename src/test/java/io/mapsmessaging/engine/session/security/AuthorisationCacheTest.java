@@ -0,0 +1,66 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.session.security;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+class AuthorisationCacheTest {
+
+  private static AuthorisationCache.Key key(String resource) {
+    return new AuthorisationCache.Key(new UUID(0, 1), 4L, "Topic", resource, null);
+  }
+
+  @Test
+  void get_afterPut_hitsUntilVersionChanges() {
+    AuthorisationCache cache = new AuthorisationCache(16);
+    Assertions.assertNull(cache.get(1, key("/a")));
+    cache.put(1, key("/a"), true);
+    Assertions.assertEquals(Boolean.TRUE, cache.get(1, key("/a")));
+
+    Assertions.assertNull(cache.get(2, key("/a")));
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  @Test
+  void put_withStaleVersion_isDiscarded() {
+    AuthorisationCache cache = new AuthorisationCache(16);
+    cache.get(2, key("/a"));
+    cache.put(1, key("/a"), false);
+    Assertions.assertNull(cache.get(2, key("/a")));
+  }
+
+  @Test
+  void put_beyondCapacity_evictsLeastRecentlyUsed() {
+    AuthorisationCache cache = new AuthorisationCache(2);
+    cache.get(1, key("/a"));
+    cache.put(1, key("/a"), true);
+    cache.put(1, key("/b"), true);
+    cache.get(1, key("/a"));
+    cache.put(1, key("/c"), false);
+
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertNotNull(cache.get(1, key("/a")));
+    Assertions.assertNull(cache.get(1, key("/b")));
+    Assertions.assertEquals(Boolean.FALSE, cache.get(1, key("/c")));
+  }
+}
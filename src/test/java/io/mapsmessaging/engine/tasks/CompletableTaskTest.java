@@ -0,0 +1,66 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.engine.tasks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+class CompletableTaskTest {
+
+  @Test
+  void call_withDirectResponse_completesImmediately() throws Exception {
+    CompletableTask task = new CompletableTask(() -> new LongResponse(5));
+    Assertions.assertFalse(task.getCompletion().isDone());
+
+    task.call();
+
+    Assertions.assertTrue(task.getCompletion().isDone());
+    Assertions.assertEquals(5, ((LongResponse) task.getCompletion().get()).getResponse());
+  }
+
+  @Test
+  void call_withNestedCompletableResponse_waitsForNestedCompletion() throws Exception {
+    CompletableFuture<Response> nested = new CompletableFuture<>();
+    CompletableTask task = new CompletableTask(() -> new FutureResponse(nested));
+
+    task.call();
+    Assertions.assertFalse(task.getCompletion().isDone());
+
+    nested.complete(new LongResponse(12));
+    Assertions.assertTrue(task.getCompletion().isDone());
+    Assertions.assertEquals(12, ((LongResponse) task.getCompletion().get()).getResponse());
+  }
+
+  @Test
+  void call_whenTaskThrows_completesExceptionally() {
+    CompletableTask task = new CompletableTask(() -> {
+      throw new IOException("store failed");
+    });
+
+    Assertions.assertThrows(IOException.class, task::call);
+    Assertions.assertTrue(task.getCompletion().isCompletedExceptionally());
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> task.getCompletion().get());
+    Assertions.assertInstanceOf(IOException.class, exception.getCause());
+  }
+}
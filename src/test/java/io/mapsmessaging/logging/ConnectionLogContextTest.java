@@ -0,0 +1,54 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.logging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class ConnectionLogContextTest {
+
+  @Test
+  void update_unchangedValues_returnsTheSameContext() {
+    ConnectionLogContext context = new ConnectionLogContext("endpoint", "session");
+    Map<String, String> first = context.update("tcp://localhost:1883", "session-1");
+    Map<String, String> second = context.update("tcp://localhost:1883", new String("session-1"));
+    Assertions.assertSame(first, second);
+    Assertions.assertEquals("session-1", first.get("session"));
+  }
+
+  @Test
+  void update_changedValue_rebuildsTheContext() {
+    ConnectionLogContext context = new ConnectionLogContext("endpoint", "session");
+    Map<String, String> first = context.update("tcp://localhost:1883", null);
+    Map<String, String> second = context.update("tcp://localhost:1883", "session-1");
+    Assertions.assertNotSame(first, second);
+    Assertions.assertFalse(first.containsKey("session"));
+    Assertions.assertEquals("session-1", second.get("session"));
+  }
+
+  @Test
+  void update_returnsAnImmutableContext() {
+    ConnectionLogContext context = new ConnectionLogContext("endpoint");
+    Map<String, String> map = context.update("tcp://localhost:1883");
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> map.put("endpoint", "other"));
+  }
+}
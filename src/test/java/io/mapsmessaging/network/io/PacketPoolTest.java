@@ -0,0 +1,70 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+class PacketPoolTest {
+
+  @Test
+  void borrow_afterRelease_reusesTheBuffer() {
+    PacketPool pool = PacketPool.getInstance();
+    Packet packet = pool.borrow(4093, true);
+    ByteBuffer raw = packet.getRawBuffer();
+    pool.release(packet);
+
+    long reused = pool.getReused();
+    Packet again = pool.borrow(4093, true);
+    Assertions.assertSame(raw, again.getRawBuffer());
+    Assertions.assertEquals(reused + 1, pool.getReused());
+    pool.release(again);
+  }
+
+  @Test
+  void release_clearsPositionAndAddress() {
+    PacketPool pool = PacketPool.getInstance();
+    Packet packet = pool.borrow(4091, false);
+    packet.put(new byte[]{1, 2, 3});
+    packet.setFromAddress(new InetSocketAddress("localhost", 1883));
+    pool.release(packet);
+
+    Packet again = pool.borrow(4091, false);
+    Assertions.assertEquals(0, again.position());
+    Assertions.assertEquals(4091, again.limit());
+    Assertions.assertNull(again.getFromAddress());
+    pool.release(again);
+  }
+
+  @Test
+  void borrow_directAndHeap_useSeparateSlabs() {
+    PacketPool pool = PacketPool.getInstance();
+    Packet heap = pool.borrow(4087, false);
+    pool.release(heap);
+
+    Packet direct = pool.borrow(4087, true);
+    Assertions.assertTrue(direct.getRawBuffer().isDirect());
+    Assertions.assertNotSame(heap.getRawBuffer(), direct.getRawBuffer());
+    pool.release(direct);
+  }
+}
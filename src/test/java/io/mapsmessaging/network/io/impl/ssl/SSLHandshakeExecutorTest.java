@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.io.impl.ssl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class SSLHandshakeExecutorTest {
+
+  @Test
+  void submit_runsOnTheHandshakePool() throws Exception {
+    SSLHandshakeExecutor executor = SSLHandshakeExecutor.getInstance();
+    long offloaded = executor.getOffloaded();
+    CompletableFuture<String> threadName = new CompletableFuture<>();
+    Assertions.assertTrue(executor.submit(() -> threadName.complete(Thread.currentThread().getName())));
+    Assertions.assertTrue(threadName.get(10, TimeUnit.SECONDS).startsWith("ssl-handshake-"));
+    Assertions.assertEquals(offloaded + 1, executor.getOffloaded());
+  }
+
+  @Test
+  void handshakeCompleted_updatesTheMetrics() {
+    SSLHandshakeExecutor executor = SSLHandshakeExecutor.getInstance();
+    long handshakes = executor.getHandshakes();
+    executor.handshakeCompleted(TimeUnit.SECONDS.toNanos(5));
+    Assertions.assertEquals(handshakes + 1, executor.getHandshakes());
+    Assertions.assertTrue(executor.getMaxHandshakeTime() >= 5000);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.coap;
+
+import io.mapsmessaging.network.protocol.impl.coap.packet.BasePacket;
+import io.mapsmessaging.network.protocol.impl.coap.packet.Code;
+import io.mapsmessaging.network.protocol.impl.coap.packet.TYPE;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class DuplicationManagerTest {
+
+  private static BasePacket response(int messageId) {
+    return new BasePacket(0, TYPE.ACK, Code.CONTENT, 1, messageId, new byte[0]);
+  }
+
+  @Test
+  void getResponse_knownMessageId_returnsResponse() {
+    DuplicationManager manager = new DuplicationManager(4, 1, TimeUnit.MINUTES);
+    BasePacket first = response(1);
+    BasePacket second = response(2);
+    manager.put(first);
+    manager.put(second);
+    Assertions.assertSame(first, manager.getResponse(1));
+    Assertions.assertSame(second, manager.getResponse(2));
+    Assertions.assertNull(manager.getResponse(3));
+  }
+
+  @Test
+  void put_overCapacity_evictsOldest() {
+    DuplicationManager manager = new DuplicationManager(2, 1, TimeUnit.MINUTES);
+    manager.put(response(1));
+    manager.put(response(2));
+    manager.put(response(3));
+    Assertions.assertEquals(2, manager.size());
+    Assertions.assertNull(manager.getResponse(1));
+    Assertions.assertNotNull(manager.getResponse(2));
+    Assertions.assertNotNull(manager.getResponse(3));
+  }
+
+  @Test
+  void put_reusedMessageId_evictionKeepsNewerResponse() {
+    DuplicationManager manager = new DuplicationManager(2, 1, TimeUnit.MINUTES);
+    manager.put(response(1));
+    BasePacket reused = response(1);
+    manager.put(reused);
+    manager.put(response(2));
+    Assertions.assertSame(reused, manager.getResponse(1));
+  }
+
+  @Test
+  void getResponse_afterLifetime_returnsNull() throws InterruptedException {
+    DuplicationManager manager = new DuplicationManager(4, 10, TimeUnit.MILLISECONDS);
+    manager.put(response(1));
+    Thread.sleep(50);
+    Assertions.assertNull(manager.getResponse(1));
+    Assertions.assertEquals(0, manager.size());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.coap.blockwise;
+
+import io.mapsmessaging.network.io.PacketPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+class ReceivePacketTest {
+
+  private static byte[] block(int size, int value) {
+    byte[] block = new byte[size];
+    Arrays.fill(block, (byte) value);
+    return block;
+  }
+
+  @Test
+  void getFull_outOfOrderBlocks_reassemblesInOrder() throws IOException {
+    ReceivePacket receivePacket = new ReceivePacket(0); // 16 byte blocks
+    receivePacket.add(2, block(5, 3));
+    receivePacket.add(0, block(16, 1));
+    receivePacket.add(1, block(16, 2));
+    byte[] full = receivePacket.getFull();
+    Assertions.assertEquals(37, full.length);
+    Assertions.assertEquals(1, full[0]);
+    Assertions.assertEquals(2, full[16]);
+    Assertions.assertEquals(3, full[36]);
+  }
+
+  @Test
+  void add_retransmittedBlock_overwritesSlot() throws IOException {
+    ReceivePacket receivePacket = new ReceivePacket(0);
+    receivePacket.add(0, block(16, 1));
+    receivePacket.add(1, block(8, 2));
+    receivePacket.add(1, block(8, 2));
+    Assertions.assertEquals(24, receivePacket.size());
+  }
+
+  @Test
+  void add_missingBlock_gapIsZeroFilled() throws IOException {
+    // Dirty a pooled buffer first, so the gap would expose it if it was not cleared
+    ReceivePacket dirty = new ReceivePacket(0);
+    dirty.add(0, block(64, 9));
+    dirty.release();
+
+    ReceivePacket receivePacket = new ReceivePacket(0);
+    receivePacket.add(2, block(4, 7));
+    byte[] full = receivePacket.getFull();
+    Assertions.assertEquals(36, full.length);
+    for (int x = 0; x < 32; x++) {
+      Assertions.assertEquals(0, full[x]);
+    }
+    Assertions.assertEquals(7, full[32]);
+  }
+
+  @Test
+  void add_pastMaximumMessageSize_isRejected() throws IOException {
+    ReceivePacket receivePacket = new ReceivePacket(0, 64, 1024);
+    Assertions.assertTrue(receivePacket.add(3, block(16, 1)));
+    Assertions.assertFalse(receivePacket.add(4, block(1, 1)));
+    Assertions.assertFalse(receivePacket.add(1 << 20, block(16, 1)));
+    Assertions.assertEquals(64, receivePacket.size());
+    receivePacket.release();
+  }
+
+  @Test
+  void release_largeBuffer_isNotPooled() throws IOException {
+    ReceivePacket receivePacket = new ReceivePacket(0, 4096, 32);
+    receivePacket.add(100, block(16, 1)); // grows the buffer to 2048 bytes
+    int pooled = PacketPool.getInstance().getPooled();
+    receivePacket.release();
+    Assertions.assertEquals(pooled, PacketPool.getInstance().getPooled());
+  }
+
+  @Test
+  void getFull_afterRelease_fails() throws IOException {
+    ReceivePacket receivePacket = new ReceivePacket(0);
+    receivePacket.add(0, block(16, 1));
+    receivePacket.release();
+    Assertions.assertThrows(IOException.class, receivePacket::getFull);
+    Assertions.assertThrows(IOException.class, () -> receivePacket.add(1, block(16, 2)));
+  }
+}
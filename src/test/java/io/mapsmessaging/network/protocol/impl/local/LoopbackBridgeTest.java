@@ -0,0 +1,184 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.local;
+
+import io.mapsmessaging.api.MessageBuilder;
+import io.mapsmessaging.api.message.Message;
+import io.mapsmessaging.engine.destination.BaseDestination;
+import io.mapsmessaging.logging.Logger;
+import io.mapsmessaging.logging.LoggerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LoopbackBridgeTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoopbackBridgeTest.class);
+
+  private static Message build(int id) {
+    MessageBuilder messageBuilder = new MessageBuilder();
+    messageBuilder.setOpaqueData(new byte[]{(byte) id});
+    return messageBuilder.build();
+  }
+
+  private static final class RecordingDestination implements BaseDestination {
+    private final List<Message> stored = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+    @Override
+    public int storeMessage(Message message) {
+      stored.add(message);
+      threads.add(Thread.currentThread());
+      return 1;
+    }
+
+    @Override
+    public String getFullyQualifiedNamespace() {
+      return "/loop/target";
+    }
+  }
+
+  @Test
+  void send_manyMessages_storedInOrderAndCompleted() throws Exception {
+    LoopbackEngineExecutor executor = new LoopbackEngineExecutor(2, 32, "test-loopback", false);
+    try {
+      RecordingDestination destination = new RecordingDestination();
+      AtomicInteger lookups = new AtomicInteger();
+      LoopbackBridge bridge = new LoopbackBridge(name -> {
+        lookups.incrementAndGet();
+        return CompletableFuture.completedFuture(destination);
+      }, executor, 4, logger);
+
+      int count = 100;
+      CountDownLatch completed = new CountDownLatch(count);
+      Message[] messages = new Message[count];
+      for (int x = 0; x < count; x++) {
+        messages[x] = build(x);
+        bridge.send("/loop/target", messages[x], completed::countDown);
+      }
+
+      Assertions.assertTrue(completed.await(5, TimeUnit.SECONDS));
+      Assertions.assertEquals(count, destination.stored.size());
+      for (int x = 0; x < count; x++) {
+        Assertions.assertSame(messages[x], destination.stored.get(x));
+      }
+      // The target queue is retired whenever it drains, so a fast consumer may look the destination up again
+      Assertions.assertTrue(lookups.get() >= 1);
+      Assertions.assertEquals(0, bridge.getPendingCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void send_unknownDestination_completesWithoutStoring() throws Exception {
+    LoopbackEngineExecutor executor = new LoopbackEngineExecutor(1, 32, "test-loopback", false);
+    try {
+      LoopbackBridge bridge = new LoopbackBridge(name -> CompletableFuture.completedFuture(null), executor, 4, logger);
+      CountDownLatch completed = new CountDownLatch(10);
+      for (int x = 0; x < 10; x++) {
+        bridge.send("/loop/missing", build(x), completed::countDown);
+      }
+      Assertions.assertTrue(completed.await(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void send_executorSaturated_drainsOnCallingThread() throws Exception {
+    LoopbackEngineExecutor executor = new LoopbackEngineExecutor(1, 1, "test-loopback", false);
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    try {
+      Assertions.assertTrue(executor.submit(() -> {
+        started.countDown();
+        try {
+          blocker.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+      Assertions.assertTrue(started.await(2, TimeUnit.SECONDS));
+      Assertions.assertTrue(executor.submit(() -> {}));
+
+      RecordingDestination destination = new RecordingDestination();
+      LoopbackBridge bridge = new LoopbackBridge(name -> CompletableFuture.completedFuture(destination), executor, 4, logger);
+      AtomicInteger completed = new AtomicInteger();
+      bridge.send("/loop/target", build(1), completed::incrementAndGet);
+
+      Assertions.assertEquals(1, completed.get());
+      Assertions.assertSame(Thread.currentThread(), destination.threads.get(0));
+    } finally {
+      blocker.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void send_drained_targetQueueRetired() throws Exception {
+    LoopbackEngineExecutor executor = new LoopbackEngineExecutor(1, 32, "test-loopback", false);
+    try {
+      RecordingDestination destination = new RecordingDestination();
+      LoopbackBridge bridge = new LoopbackBridge(name -> CompletableFuture.completedFuture(destination), executor, 4, logger);
+      CountDownLatch completed = new CountDownLatch(20);
+      for (int x = 0; x < 20; x++) {
+        bridge.send("/loop/target" + (x % 5), build(x), completed::countDown);
+      }
+      Assertions.assertTrue(completed.await(5, TimeUnit.SECONDS));
+      long end = System.currentTimeMillis() + 5000;
+      while (bridge.getTargetCount() > 0 && System.currentTimeMillis() < end) {
+        Thread.sleep(10);
+      }
+      Assertions.assertEquals(0, bridge.getTargetCount());
+      Assertions.assertEquals(20, destination.stored.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void close_pendingMessages_completedWithoutStoring() throws Exception {
+    LoopbackEngineExecutor executor = new LoopbackEngineExecutor(1, 32, "test-loopback", false);
+    try {
+      // The lookup never completes, so every message stays queued
+      LoopbackBridge bridge = new LoopbackBridge(name -> new CompletableFuture<>(), executor, 4, logger);
+      AtomicInteger completed = new AtomicInteger();
+      for (int x = 0; x < 10; x++) {
+        bridge.send("/loop/target", build(x), completed::incrementAndGet);
+      }
+      bridge.close();
+      Assertions.assertEquals(10, completed.get());
+      Assertions.assertEquals(0, bridge.getPendingCount());
+
+      bridge.send("/loop/target", build(11), completed::incrementAndGet);
+      Assertions.assertEquals(11, completed.get());
+      Assertions.assertEquals(0, bridge.getTargetCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.mqtt;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class PacketIdManagerTest {
+
+  @Test
+  void allocateAndComplete_tracksOutstanding() {
+    PacketIdManager manager = new PacketIdManager();
+    int id = manager.nextPacketIdentifier(null, 42);
+    Assertions.assertNotEquals(0, id);
+    Assertions.assertEquals(1, manager.size());
+    Assertions.assertEquals(42, manager.receivedPacket(id).getMessageId());
+    Assertions.assertEquals(42, manager.completePacketId(id).getMessageId());
+    Assertions.assertNull(manager.completePacketId(id));
+    Assertions.assertEquals(0, manager.size());
+  }
+
+  @Test
+  void wrapAround_skipsIdentifiersStillOutstanding() {
+    PacketIdManager manager = new PacketIdManager();
+    int held = manager.nextPacketIdentifier(null, 1);
+    for (int x = 0; x < 70_000; x++) {
+      int id = manager.nextPacketIdentifier(null, x);
+      Assertions.assertNotEquals(0, id);
+      Assertions.assertNotEquals(held, id);
+      manager.completePacketId(id);
+    }
+    Assertions.assertEquals(1, manager.size());
+    Assertions.assertEquals(1, manager.receivedPacket(held).getMessageId());
+  }
+
+  @Test
+  void fullRing_throws() {
+    PacketIdManager manager = new PacketIdManager();
+    Set<Integer> ids = new HashSet<>();
+    for (int x = 0; x < 65535; x++) {
+      Assertions.assertTrue(ids.add(manager.nextPacketIdentifier(null, x)));
+    }
+    Assertions.assertThrows(IllegalStateException.class, () -> manager.nextPacketIdentifier(null, 0));
+    manager.completePacketId(1000);
+    Assertions.assertEquals(1000, manager.nextPacketIdentifier(null, 0));
+  }
+
+  @Test
+  void concurrentAllocation_neverHandsOutTheSameIdentifierTwice() throws Exception {
+    PacketIdManager manager = new PacketIdManager();
+    Set<Integer> live = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int x = 0; x < 50_000; x++) {
+            int id = manager.nextPacketIdentifier(null, x);
+            Assertions.assertTrue(live.add(id), "Duplicate packet id " + id);
+            Assertions.assertTrue(live.remove(id));
+            manager.completePacketId(id);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    Assertions.assertEquals(0, manager.size());
+  }
+
+  @Test
+  void scanForTimeOut_recentOrCompleted_isFalse() {
+    PacketIdManager manager = new PacketIdManager();
+    Assertions.assertFalse(manager.scanForTimeOut());
+    int id = manager.nextPacketIdentifier(null, 1);
+    Assertions.assertFalse(manager.scanForTimeOut());
+    manager.completePacketId(id);
+    Assertions.assertFalse(manager.scanForTimeOut());
+  }
+}
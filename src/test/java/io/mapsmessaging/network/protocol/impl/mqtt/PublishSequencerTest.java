@@ -0,0 +1,70 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.mqtt;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class PublishSequencerTest {
+
+  @Test
+  void submit_completesInSubmissionOrder_evenWhenEarlierStageIsSlower() {
+    PublishSequencer sequencer = new PublishSequencer();
+    List<Integer> order = new ArrayList<>();
+    CompletableFuture<Void> slow = new CompletableFuture<>();
+
+    sequencer.submit(() -> slow.thenRun(() -> order.add(1)));
+    sequencer.submit(() -> {
+      order.add(2);
+      return CompletableFuture.completedFuture(null);
+    });
+
+    Assertions.assertFalse(sequencer.isIdle());
+    Assertions.assertTrue(order.isEmpty());
+
+    slow.complete(null);
+    Assertions.assertEquals(List.of(1, 2), order);
+    Assertions.assertTrue(sequencer.isIdle());
+  }
+
+  @Test
+  void submit_afterFailure_continuesWithNextStage() {
+    PublishSequencer sequencer = new PublishSequencer();
+    CompletableFuture<Void> failed = sequencer.submit(() -> CompletableFuture.failedFuture(new IllegalStateException("store failed")));
+    CompletableFuture<Integer> next = sequencer.submit(() -> CompletableFuture.completedFuture(5));
+
+    Assertions.assertTrue(failed.isCompletedExceptionally());
+    Assertions.assertEquals(5, next.join());
+  }
+
+  @Test
+  void submit_whenStageThrows_returnsFailedFuture() {
+    PublishSequencer sequencer = new PublishSequencer();
+    CompletableFuture<Void> result = sequencer.submit(() -> {
+      throw new IllegalArgumentException("bad publish");
+    });
+    Assertions.assertTrue(result.isCompletedExceptionally());
+    Assertions.assertTrue(sequencer.isIdle());
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.network.protocol.impl.mqtt.packet;
+
+import io.mapsmessaging.api.features.QualityOfService;
+import io.mapsmessaging.network.io.Packet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class PublishEncodingTest {
+
+  private static byte[] pack(Publish publish) {
+    Packet packet = new Packet(1024, false);
+    publish.packFrame(packet);
+    packet.flip();
+    byte[] data = new byte[packet.available()];
+    packet.get(data, 0, data.length);
+    return data;
+  }
+
+  @Test
+  void packFrame_withSharedHeader_matchesPerSubscriberEncoding() {
+    byte[] payload = "shared payload".getBytes(StandardCharsets.UTF_8);
+    Publish.EncodedHeaders headers = Publish.createEncodedHeaders(Publish.ENCODED_FRAME_KEY);
+    for (QualityOfService qos : new QualityOfService[]{QualityOfService.AT_MOST_ONCE, QualityOfService.AT_LEAST_ONCE, QualityOfService.EXACTLY_ONCE}) {
+      Publish.EncodedHeader header = headers.get(true, qos, "sensor/1", payload.length);
+      for (int packetId : new int[]{1, 300, 65535}) {
+        byte[] expected = pack(new Publish(true, payload, qos, packetId, "sensor/1"));
+        byte[] shared = pack(new Publish(true, payload, qos, packetId, "sensor/1", header));
+        Assertions.assertArrayEquals(expected, shared);
+      }
+    }
+  }
+
+  @Test
+  void encodedHeaders_sameFields_returnsSharedHeader() {
+    Publish.EncodedHeaders headers = Publish.createEncodedHeaders(Publish.ENCODED_FRAME_KEY);
+    Publish.EncodedHeader header = headers.get(false, QualityOfService.AT_LEAST_ONCE, "a/b", 10);
+    Assertions.assertSame(header, headers.get(false, QualityOfService.AT_LEAST_ONCE, "a/b", 10));
+    Assertions.assertNotSame(header, headers.get(false, QualityOfService.AT_MOST_ONCE, "a/b", 10));
+    Assertions.assertEquals(3 + 2 + 2 + 10, header.remaining());
+  }
+
+  @Test
+  void encodeHeader_multiByteTopic_usesUtf8Length() {
+    String topic = "capteur/temp\u00e9ratures";
+    byte[] payload = new byte[4];
+    Publish.EncodedHeader header = Publish.encodeHeader(false, QualityOfService.AT_MOST_ONCE, topic, payload.length);
+    Assertions.assertEquals(topic.getBytes(StandardCharsets.UTF_8).length + 2L + payload.length, header.remaining());
+  }
+
+  @Test
+  void packAdvancedFrame_largeSharedPayload_writesPayloadWithoutCopy() {
+    byte[] payload = new byte[4096];
+    Publish.EncodedHeader header = Publish.encodeHeader(false, QualityOfService.AT_LEAST_ONCE, "a/b", payload.length);
+    Packet packet = new Packet(8192, false);
+    Packet[] parts = new Publish(false, payload, QualityOfService.AT_LEAST_ONCE, 7, "a/b", header).packAdvancedFrame(packet);
+    Assertions.assertEquals(2, parts.length);
+    Assertions.assertSame(payload, parts[1].getRawBuffer().array());
+    Assertions.assertEquals(header.header().length + 2, packet.position());
+  }
+}
@@ -24,6 +24,7 @@ import io.mapsmessaging.dto.rest.messaging.MessageDTO;
 import io.mapsmessaging.dto.rest.messaging.PublishRequestDTO;
 import io.mapsmessaging.dto.rest.messaging.SubscriptionRequestDTO;
 import io.mapsmessaging.rest.ApiTestBase;
+import io.mapsmessaging.rest.responses.ConsumedMessages;
 import io.mapsmessaging.rest.responses.ConsumedResponse;
 import io.mapsmessaging.rest.responses.StatusResponse;
 import io.mapsmessaging.rest.responses.SubscriptionDepthResponse;
@@ -35,6 +36,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 public class MessagingApiTest extends ApiTestBase {
 
@@ -113,6 +117,73 @@ public class MessagingApiTest extends ApiTestBase {
     Assertions.assertTrue(hasNonBlankStatusMessage(unsubscribeResponse));
   }
 
+  @Test
+  void poll_emptySubscription_returnsAfterTimeout() {
+    String topic = "/it_messaging_poll_" + System.currentTimeMillis();
+    givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildSubscriptionRequest(topic))
+        .when()
+        .post(BASE_PATH + "/subscribe")
+        .then()
+        .statusCode(200);
+
+    long start = System.currentTimeMillis();
+    Response pollResponse = givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildConsumeRequest(topic, 10))
+        .queryParam("timeout", 200)
+        .when()
+        .post(BASE_PATH + "/consume/poll")
+        .then()
+        .statusCode(200)
+        .contentType(ContentType.JSON)
+        .extract()
+        .response();
+
+    Assertions.assertTrue(System.currentTimeMillis() - start >= 200);
+    Assertions.assertNotNull(pollResponse.as(ConsumedResponse.class));
+
+    givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildSubscriptionRequest(topic))
+        .when()
+        .post(BASE_PATH + "/unsubscribe")
+        .then()
+        .statusCode(200);
+  }
+
+  @Test
+  void poll_bufferedMessages_returnsImmediately() {
+    String topic = "/it_messaging_poll_buffered_" + System.currentTimeMillis();
+    subscribe(topic);
+    publish(topic, "buffered");
+    // Let the delivery reach the subscription's buffer before polling
+    waitForDepth(topic);
+
+    long start = System.currentTimeMillis();
+    ConsumedResponse consumed = poll(topic, 5000);
+    Assertions.assertTrue(System.currentTimeMillis() - start < 4000);
+    Assertions.assertEquals(1, countMessages(consumed));
+    unsubscribe(topic);
+  }
+
+  @Test
+  void poll_messageArrivesDuringWait_returnsMessage() throws Exception {
+    String topic = "/it_messaging_poll_arrives_" + System.currentTimeMillis();
+    subscribe(topic);
+
+    long start = System.currentTimeMillis();
+    CompletableFuture<ConsumedResponse> polled = CompletableFuture.supplyAsync(() -> poll(topic, 5000));
+    Thread.sleep(250);
+    publish(topic, "arrived");
+
+    ConsumedResponse consumed = polled.get(10, TimeUnit.SECONDS);
+    Assertions.assertTrue(System.currentTimeMillis() - start < 4000);
+    Assertions.assertEquals(1, countMessages(consumed));
+    unsubscribe(topic);
+  }
+
   @Test
   void publish_blankDestination_returns400() {
     MessageDTO message = new MessageDTO();
@@ -188,6 +259,83 @@ public class MessagingApiTest extends ApiTestBase {
     Assertions.assertTrue(hasNonBlankStatusMessage(response));
   }
 
+  private void subscribe(String topic) {
+    givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildSubscriptionRequest(topic))
+        .when()
+        .post(BASE_PATH + "/subscribe")
+        .then()
+        .statusCode(200);
+  }
+
+  private void unsubscribe(String topic) {
+    givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildSubscriptionRequest(topic))
+        .when()
+        .post(BASE_PATH + "/unsubscribe")
+        .then()
+        .statusCode(200);
+  }
+
+  private void publish(String topic, String payload) {
+    MessageDTO message = new MessageDTO();
+    message.setPayload(Base64.getEncoder().encodeToString(payload.getBytes()));
+    givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildPublishRequest(topic, message))
+        .when()
+        .post(BASE_PATH + "/publish")
+        .then()
+        .statusCode(200);
+  }
+
+  private ConsumedResponse poll(String topic, long timeout) {
+    return givenAuthenticated()
+        .contentType(ContentType.JSON)
+        .body(buildConsumeRequest(topic, 10))
+        .queryParam("timeout", timeout)
+        .when()
+        .post(BASE_PATH + "/consume/poll")
+        .then()
+        .statusCode(200)
+        .contentType(ContentType.JSON)
+        .extract()
+        .response()
+        .as(ConsumedResponse.class);
+  }
+
+  private void waitForDepth(String topic) {
+    long end = System.currentTimeMillis() + 5000;
+    while (System.currentTimeMillis() < end) {
+      SubscriptionDepthResponse depth = givenAuthenticated()
+          .contentType(ContentType.JSON)
+          .body(buildConsumeRequest(topic, 10))
+          .when()
+          .post(BASE_PATH + "/subscriptionDepth")
+          .then()
+          .statusCode(200)
+          .extract()
+          .response()
+          .as(SubscriptionDepthResponse.class);
+      if (!depth.getSubscriptionDepths().isEmpty() && depth.getSubscriptionDepths().get(0).getDepth() > 0) {
+        return;
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+  }
+
+  private int countMessages(ConsumedResponse consumed) {
+    int count = 0;
+    for (ConsumedMessages consumedMessages : consumed.getConsumedMessages()) {
+      for (List<MessageDTO> messages : consumedMessages.getMessages().values()) {
+        count += messages.size();
+      }
+    }
+    return count;
+  }
+
   private Object buildPublishRequest(String destinationName, MessageDTO message) {
     PublishRequestDTO publishRequestDTO = new PublishRequestDTO();
     publishRequestDTO.setDestinationName(destinationName);
@@ -0,0 +1,76 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.rest.api.impl.messaging.impl;
+
+import io.mapsmessaging.api.MessageEvent;
+import io.mapsmessaging.dto.rest.messaging.MessageDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SyncMessageBufferTest {
+
+  @Test
+  void offer_whenFull_dropsAndCompletesTheOldest() {
+    SyncMessageBuffer buffer = new SyncMessageBuffer(2);
+    List<String> completed = new ArrayList<>();
+    buffer.offer(event("topic", "first", completed));
+    buffer.offer(event("topic", "second", completed));
+    buffer.offer(event("topic", "third", completed));
+
+    Assertions.assertEquals(2, buffer.depth());
+    Assertions.assertEquals(List.of("first"), completed);
+  }
+
+  @Test
+  void drain_takesEventsInTurnFromEachDestination() {
+    SyncMessageBuffer buffer = new SyncMessageBuffer(10);
+    List<String> completed = new ArrayList<>();
+    for (int x = 0; x < 3; x++) {
+      buffer.offer(event("a", "a" + x, completed));
+      buffer.offer(event("b", "b" + x, completed));
+    }
+    AtomicInteger converted = new AtomicInteger();
+    Map<String, List<MessageDTO>> drained = buffer.drain(4, messageEvent -> {
+      converted.incrementAndGet();
+      return new MessageDTO();
+    });
+
+    Assertions.assertEquals(2, drained.get("a").size());
+    Assertions.assertEquals(2, drained.get("b").size());
+    Assertions.assertEquals(4, converted.get());
+    Assertions.assertEquals(4, completed.size());
+    Assertions.assertEquals(2, buffer.depth());
+  }
+
+  @Test
+  void drain_emptyBuffer_returnsNothing() {
+    SyncMessageBuffer buffer = new SyncMessageBuffer(10);
+    Assertions.assertTrue(buffer.drain(10, messageEvent -> new MessageDTO()).isEmpty());
+  }
+
+  private static MessageEvent event(String destination, String name, List<String> completed) {
+    return new MessageEvent(destination, null, null, () -> completed.add(name));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ *
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.mapsmessaging.utilities.scheduler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TimingWheelTest {
+
+  private TimingWheel createWheel() {
+    return new TimingWheel(1, Runnable::run);
+  }
+
+  @Test
+  void schedule_runsTasksInDeadlineOrder() throws InterruptedException {
+    TimingWheel wheel = createWheel();
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(3);
+
+    wheel.schedule(() -> { order.add(3); latch.countDown(); }, 60, TimeUnit.MILLISECONDS);
+    wheel.schedule(() -> { order.add(1); latch.countDown(); }, 10, TimeUnit.MILLISECONDS);
+    wheel.schedule(() -> { order.add(2); latch.countDown(); }, 30, TimeUnit.MILLISECONDS);
+
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(List.of(1, 2, 3), order);
+    Assertions.assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void schedule_beyondFirstLevel_cascadesAndNeverRunsEarly() throws InterruptedException {
+    TimingWheel wheel = createWheel();
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+    long[] ranAfter = new long[1];
+
+    TimingWheel.Timeout timeout = wheel.schedule(() -> {
+      ranAfter[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      latch.countDown();
+    }, 700, TimeUnit.MILLISECONDS);
+
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertTrue(ranAfter[0] >= 700, "Ran after " + ranAfter[0] + "ms");
+    Assertions.assertTrue(timeout.isExpired());
+  }
+
+  @Test
+  void cancel_pendingTimeout_neverRuns() throws InterruptedException {
+    TimingWheel wheel = createWheel();
+    AtomicInteger counter = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    TimingWheel.Timeout cancelled = wheel.schedule(counter::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+    wheel.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+    Assertions.assertTrue(cancelled.cancel());
+    Assertions.assertFalse(cancelled.cancel());
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(0, counter.get());
+    Assertions.assertTrue(cancelled.isCancelled());
+  }
+
+  @Test
+  void scheduleAtFixedRate_repeatsUntilCancelled() throws InterruptedException {
+    TimingWheel wheel = createWheel();
+    CountDownLatch latch = new CountDownLatch(3);
+
+    TimingWheel.Timeout timeout = wheel.scheduleAtFixedRate(latch::countDown, 5, 5, TimeUnit.MILLISECONDS);
+
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertTrue(timeout.cancel());
+    Assertions.assertEquals(0, wheel.size());
+  }
+}